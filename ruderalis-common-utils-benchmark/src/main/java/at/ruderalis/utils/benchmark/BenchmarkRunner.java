@@ -0,0 +1,33 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks of this module with the {@link GCProfiler} attached, so
+ * that the allocation rate of each benchmark is reported next to its score.
+ * All JMH command line options are supported, e.g. a benchmark name pattern
+ * to run a subset of the benchmarks.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+public final class BenchmarkRunner {
+
+	private BenchmarkRunner() {
+		super();
+	}
+
+	public static void main(final String[] args) throws RunnerException,
+			CommandLineOptionException {
+		new Runner(new OptionsBuilder().parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class).build()).run();
+	}
+}
@@ -0,0 +1,138 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.benchmark.common.collection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import at.ruderalis.utils.common.collection.CollectionUtils;
+import at.ruderalis.utils.common.collection.PropertyIndex;
+import at.ruderalis.utils.common.reflection.PropertyPath;
+
+/**
+ * Benchmarks the sequential and the parallel search of
+ * {@link CollectionUtils} against an index lookup. The source sizes span the
+ * crossover point, below which the parallel search does not pay off. The
+ * forced benchmarks search in parallel regardless of
+ * {@link CollectionUtils#PARALLEL_THRESHOLD}, so comparing them with the
+ * sequential search shows the crossover point of the running machine.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionUtilsBenchmark {
+
+	/**
+	 * The number of elements of the source.
+	 */
+	@Param({ "1000", "4000", "16000", "100000", "1000000" })
+	public int size;
+
+	private List<Item> source;
+	private Item condition;
+	private PropertyPath path;
+	private ForkJoinPool pool;
+	private PropertyIndex<String, Item> index;
+
+	@Setup
+	public void setup() {
+		source = new ArrayList<Item>(size);
+		for (int i = 0; i < size; i++) {
+			source.add(new Item(new Group("group" + (i % 100))));
+		}
+		condition = new Item(new Group("group42"));
+		path = PropertyPath.of("group.name");
+		pool = ForkJoinPool.commonPool();
+		index = CollectionUtils.index(source, "group.name");
+	}
+
+	@Benchmark
+	public List<Item> search() {
+		return CollectionUtils.search(source, condition, "group.name");
+	}
+
+	@Benchmark
+	public List<Item> parallelSearch() {
+		return CollectionUtils.parallelSearch(source, condition, "group.name");
+	}
+
+	@Benchmark
+	public List<Item> parallelSearchForced() {
+		return CollectionUtils.parallelSearch(source, condition, path, pool,
+				true, 0);
+	}
+
+	@Benchmark
+	public List<Item> parallelSearchUnorderedForced() {
+		return CollectionUtils.parallelSearch(source, condition, path, pool,
+				false, 0);
+	}
+
+	@Benchmark
+	public Item parallelFindAnyForced() {
+		return CollectionUtils.parallelFindAny(source, condition, path, pool,
+				0);
+	}
+
+	@Benchmark
+	public List<Item> indexLookup() {
+		return index.get("group42");
+	}
+
+	/**
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	public static class Group {
+
+		private final String name;
+
+		public Group(final String name) {
+			super();
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+
+	/**
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	public static class Item {
+
+		private final Group group;
+
+		public Item(final Group group) {
+			super();
+			this.group = group;
+		}
+
+		public Group getGroup() {
+			return group;
+		}
+	}
+}
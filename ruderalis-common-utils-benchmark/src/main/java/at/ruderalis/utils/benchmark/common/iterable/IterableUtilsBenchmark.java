@@ -0,0 +1,223 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.benchmark.common.iterable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import at.ruderalis.utils.common.iterable.IterableUtils;
+import at.ruderalis.utils.common.primitive.IntHashSet;
+
+/**
+ * Benchmarks the collection conversions of {@link IterableUtils} over
+ * materialized {@link ArrayList} sources, iterables which report their size by
+ * their spliterator and lazy iterables, which know neither their size nor
+ * support splitting.<br>
+ * Run with the GC profiler to compare the allocation rate of the presized
+ * conversions.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IterableUtilsBenchmark {
+
+	/**
+	 * The number of elements of the source, larger sources like 10M can be
+	 * set by the -p option.
+	 */
+	@Param({ "10", "1000", "100000", "1000000" })
+	public int size;
+
+	/**
+	 * The kind of the source, either an array list, an iterable reporting its
+	 * size by its spliterator only or a lazy iterable.
+	 */
+	@Param({ "ARRAY_LIST", "SIZED", "LAZY" })
+	public String source;
+
+	/**
+	 * The number of elements taken by the top k benchmarks.
+	 */
+	private static final int K = 10;
+
+	private Iterable<Integer> iterable;
+
+	@Setup
+	public void setup() {
+		final List<Integer> elements = new ArrayList<Integer>(size);
+		for (int i = 0; i < size; i++) {
+			elements.add(Integer.valueOf(i * 31));
+		}
+		if ("ARRAY_LIST".equals(source)) {
+			iterable = elements;
+		} else if ("SIZED".equals(source)) {
+			iterable = new SizedIterable(elements);
+		} else {
+			iterable = new LazyIterable(elements);
+		}
+	}
+
+	@Benchmark
+	public List<Integer> toArrayList() {
+		return IterableUtils.toArrayList(iterable);
+	}
+
+	@Benchmark
+	public Set<Integer> toHashSet() {
+		return IterableUtils.toHashSet(iterable);
+	}
+
+	@Benchmark
+	public Set<Integer> toTreeSet() {
+		return IterableUtils.toTreeSet(iterable);
+	}
+
+	@Benchmark
+	public List<Integer> parallelToArrayList() {
+		return IterableUtils.parallelToArrayList(iterable);
+	}
+
+	@Benchmark
+	public Set<Integer> parallelToHashSet() {
+		return IterableUtils.parallelToHashSet(iterable);
+	}
+
+	@Benchmark
+	public Set<Integer> parallelToTreeSet() {
+		return IterableUtils.parallelToTreeSet(iterable, null);
+	}
+
+	@Benchmark
+	public int[] toIntArray() {
+		return IterableUtils.toIntArray(iterable);
+	}
+
+	@Benchmark
+	public IntHashSet toIntHashSet() {
+		return IterableUtils.toIntHashSet(iterable);
+	}
+
+	/**
+	 * Takes the 10 smallest elements from a fully built tree set, as the
+	 * baseline of {@link #bottomK()} and {@link #sortedIterator()}.
+	 */
+	@Benchmark
+	public List<Integer> treeSetFirstK() {
+		return firstK(IterableUtils.toTreeSet(iterable).iterator());
+	}
+
+	@Benchmark
+	public List<Integer> bottomK() {
+		return IterableUtils.bottomK(iterable, K, null);
+	}
+
+	@Benchmark
+	public List<Integer> sortedIterator() {
+		return firstK(IterableUtils.sortedIterator(iterable, null));
+	}
+
+	private static List<Integer> firstK(final Iterator<Integer> it) {
+		final List<Integer> result = new ArrayList<Integer>(K);
+		while ((result.size() < K) && (it.hasNext())) {
+			result.add(it.next());
+		}
+		return result;
+	}
+
+	/**
+	 * An iterable which hides the backing collection, so that no size or
+	 * bulk operation is available to the conversions.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class LazyIterable implements Iterable<Integer> {
+
+		private final List<Integer> elements;
+
+		/**
+		 * @param elements
+		 */
+		private LazyIterable(final List<Integer> elements) {
+			super();
+			this.elements = elements;
+		}
+
+		public Iterator<Integer> iterator() {
+			return new Iterator<Integer>() {
+
+				private int idx;
+
+				public boolean hasNext() {
+					return idx < elements.size();
+				}
+
+				public Integer next() {
+					if (idx >= elements.size()) {
+						throw new NoSuchElementException();
+					}
+					return elements.get(idx++);
+				}
+
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+	}
+
+	/**
+	 * An iterable which hides the backing collection, but reports its size by
+	 * its spliterator.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class SizedIterable implements Iterable<Integer> {
+
+		private final List<Integer> elements;
+
+		/**
+		 * @param elements
+		 */
+		private SizedIterable(final List<Integer> elements) {
+			super();
+			this.elements = elements;
+		}
+
+		public Iterator<Integer> iterator() {
+			return elements.iterator();
+		}
+
+		@Override
+		public Spliterator<Integer> spliterator() {
+			return Spliterators.spliterator(elements.iterator(),
+					elements.size(), Spliterator.ORDERED);
+		}
+	}
+}
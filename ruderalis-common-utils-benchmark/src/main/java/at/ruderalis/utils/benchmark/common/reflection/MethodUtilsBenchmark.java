@@ -0,0 +1,111 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.benchmark.common.reflection;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import at.ruderalis.utils.common.reflection.MethodUtils;
+
+/**
+ * Benchmarks the method lookups of {@link MethodUtils} for found and missing
+ * methods, as well as the compiled getter accessor against a direct call.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodUtilsBenchmark {
+
+	/**
+	 * The probed method name, either declared on the class, inherited from
+	 * a super class or interface, or not existing at all.
+	 */
+	@Param({ "size", "hashCode", "forEach", "doesNotExist" })
+	public String name;
+
+	private Bean bean;
+	private Function<Bean, String> getter;
+
+	@Setup
+	public void setup() {
+		bean = new Bean();
+		bean.setName("bean");
+		getter = MethodUtils.getGetterAccessor(Bean.class, "name");
+	}
+
+	@Benchmark
+	public boolean hasMethod() {
+		return MethodUtils.hasMethod(ArrayList.class, name);
+	}
+
+	@Benchmark
+	public boolean hasMethodTraverse() {
+		return MethodUtils.hasMethodTraverse(ArrayList.class, name);
+	}
+
+	@Benchmark
+	public Class<?> getClassImplementsMethod() {
+		return MethodUtils.getClassImplementsMethod(ArrayList.class, name);
+	}
+
+	@Benchmark
+	public Class<?> getInterfaceDeclaresMethod() {
+		return MethodUtils.getInterfaceDeclaresMethod(List.class, name);
+	}
+
+	@Benchmark
+	public Class<?> getClassImplementsMethod_abstract() {
+		return MethodUtils.getClassImplementsMethod(AbstractList.class, name);
+	}
+
+	@Benchmark
+	public String getter_direct() {
+		return bean.getName();
+	}
+
+	@Benchmark
+	public String getter_accessor() {
+		return getter.apply(bean);
+	}
+
+	/**
+	 * A simple bean to benchmark the getter accessors.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	public static class Bean {
+
+		private String name;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(final String name) {
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,97 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.benchmark.common.string;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import at.ruderalis.utils.common.string.StringUtils;
+
+/**
+ * Benchmarks the camel case conversions and the empty check of
+ * {@link StringUtils} over ASCII and Unicode identifiers of different length.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringUtilsBenchmark {
+
+	private static final String[] ASCII_WORDS = { "customer", "Order", "Id",
+			"Line", "Item", "Price", "Total", "Amount" };
+
+	private static final String[] UNICODE_WORDS = { "kunde", "Größe",
+			"Straße", "Émile", "Ärger", "Ωmega", "Über", "Ñandú" };
+
+	/**
+	 * The character set of the identifiers.
+	 */
+	@Param({ "ASCII", "UNICODE" })
+	public String shape;
+
+	/**
+	 * The number of words of the identifiers.
+	 */
+	@Param({ "2", "8", "32" })
+	public int words;
+
+	private String camel;
+	private String[] parts;
+	private String blank;
+
+	@Setup
+	public void setup() {
+		final String[] vocabulary = ("ASCII".equals(shape)) ? ASCII_WORDS
+				: UNICODE_WORDS;
+		parts = new String[words];
+		final StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < words; i++) {
+			parts[i] = vocabulary[i % vocabulary.length];
+			builder.append(Character.toUpperCase(parts[i].charAt(0)))
+					.append(parts[i].substring(1));
+		}
+		camel = builder.toString();
+		final StringBuilder spaces = new StringBuilder();
+		for (int i = 0; i < words; i++) {
+			spaces.append(' ');
+		}
+		blank = spaces.toString();
+	}
+
+	@Benchmark
+	public boolean isEmpty() {
+		return StringUtils.isEmpty(camel);
+	}
+
+	@Benchmark
+	public boolean isEmpty_blank() {
+		return StringUtils.isEmpty(blank);
+	}
+
+	@Benchmark
+	public String[] splitCamel() {
+		return StringUtils.splitCamel(camel);
+	}
+
+	@Benchmark
+	public String toCamel() {
+		return StringUtils.toCamel(parts);
+	}
+}
@@ -0,0 +1,152 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.benchmark.message.queue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Control;
+
+import at.ruderalis.utils.message.queue.MpscRingQueue;
+import at.ruderalis.utils.message.queue.SpscRingQueue;
+
+/**
+ * Benchmarks the throughput of {@link SpscRingQueue} and {@link MpscRingQueue}
+ * against the JDK queues, with one producer thread and one consumer thread
+ * per group. The consumer either polls message by message or drains in
+ * batches, the drained messages are reported as the drained counter.<br>
+ * Contended producers are measured by running the groups with e.g.
+ * <code>-tg 3,1</code> and without the SPSC queue. Run with the GC profiler
+ * to compare the allocation per message of the linked queues.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @see MessageQueueLatencyBenchmark
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageQueueBenchmark {
+
+	private static final Integer MESSAGE = Integer.valueOf(42);
+
+	/**
+	 * The maximum number of messages drained at once.
+	 */
+	private static final int BATCH = 64;
+
+	@Param({ "SPSC", "MPSC", "ARRAY_BLOCKING", "LINKED_BLOCKING",
+			"CONCURRENT_LINKED" })
+	public String queue;
+
+	@Param({ "1024" })
+	public int capacity;
+
+	private QueueChannel channel;
+
+	/**
+	 * Counts the messages removed by the drain benchmark.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class DrainCounter {
+
+		public long drained;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			drained = 0;
+		}
+	}
+
+	/**
+	 * A fresh queue per iteration, so messages left over by a stopped
+	 * consumer do not spill into the next iteration.
+	 */
+	@Setup(Level.Iteration)
+	public void setup() {
+		channel = QueueChannel.create(queue, capacity);
+	}
+
+	@Benchmark
+	@Group("offerPoll")
+	@GroupThreads(1)
+	public boolean offer(final Control control) {
+		return offerUntilStopped(control);
+	}
+
+	@Benchmark
+	@Group("offerPoll")
+	@GroupThreads(1)
+	public Object poll(final Control control) {
+		Object message;
+		while ((message = channel.poll()) == null) {
+			if (control.stopMeasurement) {
+				return null;
+			}
+		}
+		return message;
+	}
+
+	@Benchmark
+	@Group("offerDrain")
+	@GroupThreads(1)
+	public boolean offerToDrain(final Control control) {
+		return offerUntilStopped(control);
+	}
+
+	@Benchmark
+	@Group("offerDrain")
+	@GroupThreads(1)
+	public int drain(final DrainCounter counter) {
+		final int count = channel.drain(Sink.INSTANCE, BATCH);
+		counter.drained += count;
+		return count;
+	}
+
+	private boolean offerUntilStopped(final Control control) {
+		while (!channel.offer(MESSAGE)) {
+			if (control.stopMeasurement) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Discards the drained messages, the drain result is consumed by JMH.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class Sink implements Consumer<Object> {
+
+		private static final Sink INSTANCE = new Sink();
+
+		public void accept(final Object message) {
+			// discarded
+		}
+	}
+}
@@ -0,0 +1,97 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.benchmark.message.queue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the round trip latency of the queues: the benchmark thread
+ * sends a message through one queue to an echo thread, which sends it back
+ * through a second queue. Sample time mode reports the percentiles of the
+ * round trips, so outliers caused by locks or allocation are visible next to
+ * the mean. Both threads yield while they wait, so the results stay
+ * comparable on machines with few cores.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @see MessageQueueBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageQueueLatencyBenchmark {
+
+	private static final Integer MESSAGE = Integer.valueOf(42);
+
+	@Param({ "SPSC", "MPSC", "ARRAY_BLOCKING", "LINKED_BLOCKING",
+			"CONCURRENT_LINKED" })
+	public String queue;
+
+	@Param({ "1024" })
+	public int capacity;
+
+	private QueueChannel requests;
+	private QueueChannel responses;
+	private Thread echo;
+	private volatile boolean running;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		requests = QueueChannel.create(queue, capacity);
+		responses = QueueChannel.create(queue, capacity);
+		running = true;
+		echo = new Thread(new Runnable() {
+
+			public void run() {
+				while (running) {
+					final Object message = requests.poll();
+					if (message == null) {
+						Thread.yield();
+					} else {
+						while (!responses.offer(message)) {
+							Thread.yield();
+						}
+					}
+				}
+			}
+		}, "queue-echo");
+		echo.setDaemon(true);
+		echo.start();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws InterruptedException {
+		running = false;
+		echo.join();
+	}
+
+	@Benchmark
+	public Object roundTrip() {
+		while (!requests.offer(MESSAGE)) {
+			Thread.yield();
+		}
+		Object message;
+		while ((message = responses.poll()) == null) {
+			Thread.yield();
+		}
+		return message;
+	}
+}
@@ -0,0 +1,145 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.benchmark.message.queue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+import at.ruderalis.utils.message.queue.MessageQueue;
+import at.ruderalis.utils.message.queue.MpscRingQueue;
+import at.ruderalis.utils.message.queue.SpscRingQueue;
+
+/**
+ * Adapts the ring queues and the JDK queues to the operations used by the
+ * queue benchmarks, so all queues are measured by the same code.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+abstract class QueueChannel {
+
+	abstract boolean offer(Object message);
+
+	abstract Object poll();
+
+	/**
+	 * Removes up to max messages in a batch, by
+	 * {@link BlockingQueue#drainTo(java.util.Collection, int)} for the JDK
+	 * queues supporting it.
+	 */
+	abstract int drain(Consumer<Object> consumer, int max);
+
+	/**
+	 * @param type
+	 *            SPSC, MPSC, ARRAY_BLOCKING, LINKED_BLOCKING or
+	 *            CONCURRENT_LINKED
+	 * @param capacity
+	 *            the capacity of the bounded queues
+	 * @return the channel of a new queue of the type
+	 */
+	static QueueChannel create(final String type, final int capacity) {
+		if ("SPSC".equals(type)) {
+			return new RingChannel(new SpscRingQueue<Object>(capacity));
+		} else if ("MPSC".equals(type)) {
+			return new RingChannel(new MpscRingQueue<Object>(capacity));
+		} else if ("ARRAY_BLOCKING".equals(type)) {
+			return new JdkChannel(new ArrayBlockingQueue<Object>(capacity));
+		} else if ("LINKED_BLOCKING".equals(type)) {
+			return new JdkChannel(new LinkedBlockingQueue<Object>(capacity));
+		} else if ("CONCURRENT_LINKED".equals(type)) {
+			return new JdkChannel(new ConcurrentLinkedQueue<Object>());
+		}
+		throw new IllegalArgumentException("Unknown queue type " + type);
+	}
+
+	/**
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class RingChannel extends QueueChannel {
+
+		private final MessageQueue<Object> queue;
+
+		/**
+		 * @param queue
+		 */
+		private RingChannel(final MessageQueue<Object> queue) {
+			super();
+			this.queue = queue;
+		}
+
+		@Override
+		boolean offer(final Object message) {
+			return queue.offer(message);
+		}
+
+		@Override
+		Object poll() {
+			return queue.poll();
+		}
+
+		@Override
+		int drain(final Consumer<Object> consumer, final int max) {
+			return queue.drain(consumer, max);
+		}
+	}
+
+	/**
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class JdkChannel extends QueueChannel {
+
+		private final Queue<Object> queue;
+
+		/**
+		 * The reused target of {@link BlockingQueue#drainTo}.
+		 */
+		private final List<Object> batch = new ArrayList<Object>();
+
+		/**
+		 * @param queue
+		 */
+		private JdkChannel(final Queue<Object> queue) {
+			super();
+			this.queue = queue;
+		}
+
+		@Override
+		boolean offer(final Object message) {
+			return queue.offer(message);
+		}
+
+		@Override
+		Object poll() {
+			return queue.poll();
+		}
+
+		@Override
+		int drain(final Consumer<Object> consumer, final int max) {
+			if (!(queue instanceof BlockingQueue)) {
+				int count = 0;
+				Object message;
+				while ((count < max) && ((message = queue.poll()) != null)) {
+					count++;
+					consumer.accept(message);
+				}
+				return count;
+			}
+			final int count = ((BlockingQueue<Object>) queue).drainTo(batch,
+					max);
+			for (int i = 0; i < count; i++) {
+				consumer.accept(batch.get(i));
+			}
+			batch.clear();
+			return count;
+		}
+	}
+}
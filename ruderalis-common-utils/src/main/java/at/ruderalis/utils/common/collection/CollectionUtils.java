@@ -3,20 +3,347 @@
  */
 package at.ruderalis.utils.common.collection;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+
+import at.ruderalis.utils.common.iterable.IterableUtils;
+import at.ruderalis.utils.common.reflection.PropertyPath;
 
 /**
+ * This class provides utility methods for searching elements of
+ * {@link Iterable} instances by their properties.
+ * 
  * @author Thomas Herzog
  * @date Feb 12, 2014
  */
 public class CollectionUtils {
 
+	/**
+	 * The default number of elements below which a parallel search falls back
+	 * to a sequential search. The crossover point depends on the costs of the
+	 * property path and on the number of cores. The benchmarks of the
+	 * parallel search with a threshold of 0 show it for a workload, which can
+	 * then pass its own threshold to the parallel search.
+	 */
+	public static final int PARALLEL_THRESHOLD = 8192;
+
+	/**
+	 * The minimal number of elements searched by a single parallel task.
+	 */
+	private static final int MIN_LEAF_SIZE = 1024;
+
+	/**
+	 * Searches all elements whose value of the given property path equals the
+	 * value of the property path on the condition instance.
+	 * 
+	 * @param source
+	 *            the elements to be searched
+	 * @param condition
+	 *            the instance providing the searched property value
+	 * @param propertyPath
+	 *            the dotted property path, e.g. 'address.street'
+	 * @return the list of matching elements in iteration order, an empty list
+	 *         if the source is null or empty
+	 * @throws IllegalArgumentException
+	 *             if the property path is null or empty, or if a property
+	 *             cannot be resolved on an element
+	 * @see #search(Iterable, Object, PropertyPath)
+	 */
 	public static <T> List<T> search(final Iterable<T> source,
 			final T condition, final String propertyPath) {
-		final List<T> target = new LinkedList<T>();
-		if ((source != null) && (source.iterator().hasNext())) {
+		return search(source, condition, PropertyPath.of(propertyPath));
+	}
+
+	/**
+	 * Searches all elements whose value of the given property path equals the
+	 * value of the property path on the condition instance. The path is
+	 * resolved null safe, so a null intermediate value resolves to null and
+	 * matches a condition whose value resolves to null as well.
+	 * 
+	 * @param source
+	 *            the elements to be searched
+	 * @param condition
+	 *            the instance providing the searched property value
+	 * @param propertyPath
+	 *            the property path to be compared
+	 * @return the list of matching elements in iteration order, an empty list
+	 *         if the source is null or empty
+	 * @throws IllegalArgumentException
+	 *             if the property path is null, or if a property cannot be
+	 *             resolved on an element
+	 */
+	public static <T> List<T> search(final Iterable<T> source,
+			final T condition, final PropertyPath propertyPath) {
+		if (propertyPath == null) {
+			throw new IllegalArgumentException("Path must not be null");
+		}
+		final List<T> target = new ArrayList<T>();
+		if (!IterableUtils.isEmpty(source)) {
+			final Object expected = propertyPath.resolve(condition);
+			for (final T element : source) {
+				if (matches(expected, propertyPath.resolve(element))) {
+					target.add(element);
+				}
+			}
 		}
 		return target;
 	}
+
+	/**
+	 * Builds an index over the values of the given property path. Repeated
+	 * searches by this property are then answered by a hash lookup instead of
+	 * a scan over all elements.
+	 * 
+	 * @param source
+	 *            the elements to be indexed, may be null
+	 * @param propertyPath
+	 *            the dotted property path, e.g. 'address.street'
+	 * @return the index supporting equality lookups
+	 * @throws IllegalArgumentException
+	 *             if the property path is null or empty, or if a property
+	 *             cannot be resolved on an element
+	 * @see PropertyIndex
+	 */
+	public static <K, T> PropertyIndex<K, T> index(final Iterable<T> source,
+			final String propertyPath) {
+		return new PropertyIndex<K, T>(source, PropertyPath.of(propertyPath));
+	}
+
+	/**
+	 * Builds a sorted index over the values of the given property path, which
+	 * supports equality and range lookups. The property values must be
+	 * {@link Comparable}.
+	 * 
+	 * @param source
+	 *            the elements to be indexed, may be null
+	 * @param propertyPath
+	 *            the dotted property path, e.g. 'address.street'
+	 * @return the index supporting equality and range lookups
+	 * @throws IllegalArgumentException
+	 *             if the property path is null or empty, or if a property
+	 *             cannot be resolved on an element
+	 * @see #sortedIndex(Iterable, String, Comparator)
+	 */
+	public static <K, T> PropertyIndex<K, T> sortedIndex(
+			final Iterable<T> source, final String propertyPath) {
+		return sortedIndex(source, propertyPath, (Comparator<K>) null);
+	}
+
+	/**
+	 * Builds a sorted index over the values of the given property path, which
+	 * supports equality and range lookups. Equality lookups are hash lookups
+	 * like in an unsorted index, the comparator only orders the ranges.
+	 * 
+	 * @param source
+	 *            the elements to be indexed, may be null
+	 * @param propertyPath
+	 *            the dotted property path, e.g. 'address.street'
+	 * @param comparator
+	 *            the comparator of the property values, null for natural
+	 *            ordering
+	 * @return the index supporting equality and range lookups
+	 * @throws IllegalArgumentException
+	 *             if the property path is null or empty, or if a property
+	 *             cannot be resolved on an element
+	 * @see PropertyIndex
+	 */
+	public static <K, T> PropertyIndex<K, T> sortedIndex(
+			final Iterable<T> source, final String propertyPath,
+			final Comparator<? super K> comparator) {
+		return new PropertyIndex<K, T>(source, PropertyPath.of(propertyPath),
+				comparator);
+	}
+
+	/**
+	 * Searches the elements in parallel on the common {@link ForkJoinPool}
+	 * and keeps the encounter order of the matches.
+	 * 
+	 * @param source
+	 *            the elements to be searched
+	 * @param condition
+	 *            the instance providing the searched property value
+	 * @param propertyPath
+	 *            the dotted property path, e.g. 'address.street'
+	 * @return the list of matching elements in encounter order, an empty list
+	 *         if the source is null or empty
+	 * @throws IllegalArgumentException
+	 *             if the property path is null or empty, or if a property
+	 *             cannot be resolved on an element
+	 * @see #parallelSearch(Iterable, Object, PropertyPath, ForkJoinPool,
+	 *      boolean)
+	 */
+	public static <T> List<T> parallelSearch(final Iterable<T> source,
+			final T condition, final String propertyPath) {
+		return parallelSearch(source, condition, PropertyPath.of(propertyPath),
+				ForkJoinPool.commonPool(), true);
+	}
+
+	/**
+	 * Searches the elements in parallel on the given {@link ForkJoinPool}
+	 * with the default {@link #PARALLEL_THRESHOLD}.
+	 * 
+	 * @param source
+	 *            the elements to be searched
+	 * @param condition
+	 *            the instance providing the searched property value
+	 * @param propertyPath
+	 *            the property path to be compared
+	 * @param pool
+	 *            the pool to run the search on
+	 * @param ordered
+	 *            true if the matches have to be returned in encounter order,
+	 *            false if any order is acceptable
+	 * @return the list of matching elements, an empty list if the source is
+	 *         null or empty
+	 * @throws IllegalArgumentException
+	 *             if the property path or pool is null, or if a property
+	 *             cannot be resolved on an element
+	 * @see #parallelSearch(Iterable, Object, PropertyPath, ForkJoinPool,
+	 *      boolean, int)
+	 */
+	public static <T> List<T> parallelSearch(final Iterable<T> source,
+			final T condition, final PropertyPath propertyPath,
+			final ForkJoinPool pool, final boolean ordered) {
+		return parallelSearch(source, condition, propertyPath, pool, ordered,
+				PARALLEL_THRESHOLD);
+	}
+
+	/**
+	 * Searches the elements in parallel on the given {@link ForkJoinPool}.
+	 * Only {@link Collection} sources are split, any other {@link Iterable} as
+	 * well as collections smaller than the threshold are searched
+	 * sequentially.
+	 * 
+	 * @param source
+	 *            the elements to be searched
+	 * @param condition
+	 *            the instance providing the searched property value
+	 * @param propertyPath
+	 *            the property path to be compared
+	 * @param pool
+	 *            the pool to run the search on
+	 * @param ordered
+	 *            true if the matches have to be returned in encounter order,
+	 *            false if any order is acceptable
+	 * @param threshold
+	 *            the number of elements below which the search is sequential
+	 * @return the list of matching elements, an empty list if the source is
+	 *         null or empty
+	 * @throws IllegalArgumentException
+	 *             if the property path or pool is null, the threshold is
+	 *             negative, or if a property cannot be resolved on an element
+	 */
+	public static <T> List<T> parallelSearch(final Iterable<T> source,
+			final T condition, final PropertyPath propertyPath,
+			final ForkJoinPool pool, final boolean ordered, final int threshold) {
+		checkParallel(propertyPath, pool, threshold);
+		if (!isParallel(source, threshold)) {
+			return search(source, condition, propertyPath);
+		}
+		final Spliterator<T> spliterator = source.spliterator();
+		final Queue<List<T>> unorderedResults = (ordered) ? null
+				: new ConcurrentLinkedQueue<List<T>>();
+		final ParallelSearchTask<T> task = new ParallelSearchTask<T>(
+				spliterator, propertyPath, propertyPath.resolve(condition),
+				leafSize(spliterator, pool), unorderedResults, null);
+		pool.invoke(task);
+		final List<T> target;
+		if (ordered) {
+			target = new ArrayList<T>(task.size());
+			task.collect(target);
+		} else {
+			int size = 0;
+			for (final List<T> result : unorderedResults) {
+				size += result.size();
+			}
+			target = new ArrayList<T>(size);
+			for (final List<T> result : unorderedResults) {
+				target.addAll(result);
+			}
+		}
+		return target;
+	}
+
+	/**
+	 * Searches in parallel on the given {@link ForkJoinPool} for any element,
+	 * whose value of the property path equals the value of the property path
+	 * on the condition instance. The first match found stops the search, so
+	 * the result is not necessarily the first match in encounter order. Only
+	 * {@link Collection} sources are split, any other {@link Iterable} as well
+	 * as collections smaller than the threshold are searched sequentially.
+	 * 
+	 * @param source
+	 *            the elements to be searched
+	 * @param condition
+	 *            the instance providing the searched property value
+	 * @param propertyPath
+	 *            the property path to be compared
+	 * @param pool
+	 *            the pool to run the search on
+	 * @param threshold
+	 *            the number of elements below which the search is sequential
+	 * @return any matching element, null if no element matches or the source
+	 *         is null, null elements are never returned
+	 * @throws IllegalArgumentException
+	 *             if the property path or pool is null, the threshold is
+	 *             negative, or if a property cannot be resolved on an element
+	 */
+	public static <T> T parallelFindAny(final Iterable<T> source,
+			final T condition, final PropertyPath propertyPath,
+			final ForkJoinPool pool, final int threshold) {
+		checkParallel(propertyPath, pool, threshold);
+		final Object expected = propertyPath.resolve(condition);
+		if (!isParallel(source, threshold)) {
+			if (source != null) {
+				for (final T element : source) {
+					if ((element != null)
+							&& (matches(expected, propertyPath.resolve(element)))) {
+						return element;
+					}
+				}
+			}
+			return null;
+		}
+		final Spliterator<T> spliterator = source.spliterator();
+		final AtomicReference<T> any = new AtomicReference<T>();
+		pool.invoke(new ParallelSearchTask<T>(spliterator, propertyPath,
+				expected, leafSize(spliterator, pool), null, any));
+		return any.get();
+	}
+
+	private static void checkParallel(final PropertyPath propertyPath,
+			final ForkJoinPool pool, final int threshold) {
+		if ((propertyPath == null) || (pool == null)) {
+			throw new IllegalArgumentException(
+					"Path and pool must not be null");
+		}
+		if (threshold < 0) {
+			throw new IllegalArgumentException(
+					"Threshold must not be negative");
+		}
+	}
+
+	private static boolean isParallel(final Iterable<?> source,
+			final int threshold) {
+		return (source instanceof Collection)
+				&& (((Collection<?>) source).size() >= threshold);
+	}
+
+	private static long leafSize(final Spliterator<?> spliterator,
+			final ForkJoinPool pool) {
+		return Math.max(MIN_LEAF_SIZE,
+				spliterator.estimateSize() / (pool.getParallelism() << 2));
+	}
+
+	static boolean matches(final Object expected, final Object value) {
+		return (expected == value)
+				|| ((expected != null) && (expected.equals(value)));
+	}
 }
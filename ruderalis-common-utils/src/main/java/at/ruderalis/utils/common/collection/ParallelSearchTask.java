@@ -0,0 +1,155 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.collection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import at.ruderalis.utils.common.reflection.PropertyPath;
+
+/**
+ * This task searches the elements of a {@link Spliterator} in parallel. The
+ * spliterator is split until a chunk is smaller than the leaf size, each leaf
+ * collects its matches into its own list. As a {@link CountedCompleter} no
+ * task waits for its subtasks, the last completed subtask completes its
+ * parent instead.<br>
+ * If the encounter order has to be kept, the leaf lists are kept in the task
+ * tree and collected in order afterwards. Otherwise each leaf publishes its
+ * list to a shared queue as soon as it has finished. If only any match is
+ * searched, the first match completes the whole search and the remaining
+ * leaves stop.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <T>
+ */
+final class ParallelSearchTask<T> extends CountedCompleter<Void> implements
+		Consumer<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Spliterator<T> spliterator;
+	private final PropertyPath propertyPath;
+	private final Object expected;
+	private final long leafSize;
+	private final Queue<List<T>> unorderedResults;
+	private final AtomicReference<T> any;
+
+	private ParallelSearchTask<T> left;
+	private ParallelSearchTask<T> right;
+	private List<T> result;
+
+	/**
+	 * @param spliterator
+	 *            the elements to be searched
+	 * @param propertyPath
+	 *            the property path to be compared
+	 * @param expected
+	 *            the searched property value
+	 * @param leafSize
+	 *            the size below which a chunk is searched sequentially
+	 * @param unorderedResults
+	 *            the queue receiving the leaf results, null if the encounter
+	 *            order has to be kept or only any match is searched
+	 * @param any
+	 *            the reference receiving the first match, null if all
+	 *            matches are searched
+	 */
+	ParallelSearchTask(final Spliterator<T> spliterator,
+			final PropertyPath propertyPath, final Object expected,
+			final long leafSize, final Queue<List<T>> unorderedResults,
+			final AtomicReference<T> any) {
+		this(null, spliterator, propertyPath, expected, leafSize,
+				unorderedResults, any);
+	}
+
+	private ParallelSearchTask(final ParallelSearchTask<T> parent,
+			final Spliterator<T> spliterator, final PropertyPath propertyPath,
+			final Object expected, final long leafSize,
+			final Queue<List<T>> unorderedResults, final AtomicReference<T> any) {
+		super(parent);
+		this.spliterator = spliterator;
+		this.propertyPath = propertyPath;
+		this.expected = expected;
+		this.leafSize = leafSize;
+		this.unorderedResults = unorderedResults;
+		this.any = any;
+	}
+
+	@Override
+	public void compute() {
+		if ((any != null) && (any.get() != null)) {
+			tryComplete();
+			return;
+		}
+		final Spliterator<T> prefix = (spliterator.estimateSize() > leafSize) ? spliterator
+				.trySplit() : null;
+		if (prefix != null) {
+			left = new ParallelSearchTask<T>(this, prefix, propertyPath,
+					expected, leafSize, unorderedResults, any);
+			right = new ParallelSearchTask<T>(this, spliterator, propertyPath,
+					expected, leafSize, unorderedResults, any);
+			setPendingCount(1);
+			right.fork();
+			left.compute();
+		} else if (any != null) {
+			while ((any.get() == null) && (spliterator.tryAdvance(this))) {
+				// stops on the first match of any leaf
+			}
+			tryComplete();
+		} else {
+			result = new ArrayList<T>();
+			spliterator.forEachRemaining(this);
+			if ((unorderedResults != null) && (!result.isEmpty())) {
+				unorderedResults.add(result);
+				result = null;
+			}
+			tryComplete();
+		}
+	}
+
+	/**
+	 * Adds the element to the leaf result if it matches, or completes the
+	 * search if only any match is searched.
+	 */
+	public void accept(final T element) {
+		if (CollectionUtils.matches(expected, propertyPath.resolve(element))) {
+			if (any == null) {
+				result.add(element);
+			} else if ((element != null) && (any.compareAndSet(null, element))) {
+				quietlyCompleteRoot();
+			}
+		}
+	}
+
+	/**
+	 * @return the number of matches of this completed task tree, which were
+	 *         kept in encounter order
+	 */
+	int size() {
+		return (result != null) ? result.size()
+				: ((left != null) ? left.size() + right.size() : 0);
+	}
+
+	/**
+	 * Adds the matches of this completed task tree in encounter order to the
+	 * target list.
+	 * 
+	 * @param target
+	 *            the list receiving the matches
+	 */
+	void collect(final List<T> target) {
+		if (result != null) {
+			target.addAll(result);
+		} else if (left != null) {
+			left.collect(target);
+			right.collect(target);
+		}
+	}
+}
@@ -0,0 +1,379 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.collection;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+
+import at.ruderalis.utils.common.reflection.PropertyPath;
+
+/**
+ * This class indexes elements by the value of a property path, so that
+ * repeated searches by the same property cost a single hash lookup instead of
+ * a scan over all elements.<br>
+ * A sorted index additionally keeps the keys in a {@link NavigableMap}, which
+ * is only used for range lookups, equality lookups are hash lookups in every
+ * index. So equality lookups compare the keys by equals, while ranges compare
+ * them by the comparator: the BigDecimal values 1.0 and 1.00 are different
+ * keys, which are ordered as one key within a range. Null keys are supported
+ * by equality lookups, but are never part of a range.<br>
+ * All returned lists and iterables are read-only views on the index, so no
+ * elements are copied. These views reflect later modifications of the index,
+ * as long as their key stays indexed.<br>
+ * The index itself is not thread safe, concurrent reads are only safe as long
+ * as the index is not modified.<br>
+ * The property values of indexed elements must not change while they are
+ * indexed, otherwise they cannot be found or removed anymore.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <K>
+ *            the type of the indexed property values
+ * @param <T>
+ *            the type of the indexed elements
+ */
+public class PropertyIndex<K, T> {
+
+	private final PropertyPath propertyPath;
+	private final Map<K, Bucket<T>> buckets = new HashMap<K, Bucket<T>>();
+	/**
+	 * The buckets of the non null keys by the comparator, the buckets of keys
+	 * the comparator considers equal are grouped in insertion order.
+	 */
+	private final NavigableMap<K, List<Bucket<T>>> sortedBuckets;
+	private int size;
+
+	/**
+	 * Creates an unsorted index, which supports equality lookups only.
+	 * 
+	 * @param source
+	 *            the elements to be indexed, may be null
+	 * @param propertyPath
+	 *            the property path whose values are the keys of the index
+	 * @throws IllegalArgumentException
+	 *             if the property path is null
+	 */
+	public PropertyIndex(final Iterable<T> source,
+			final PropertyPath propertyPath) {
+		this(source, propertyPath, false, null);
+	}
+
+	/**
+	 * Creates a sorted index, which supports equality and range lookups.
+	 * 
+	 * @param source
+	 *            the elements to be indexed, may be null
+	 * @param propertyPath
+	 *            the property path whose values are the keys of the index
+	 * @param comparator
+	 *            the comparator of the keys, null for natural ordering
+	 * @throws IllegalArgumentException
+	 *             if the property path is null
+	 */
+	public PropertyIndex(final Iterable<T> source,
+			final PropertyPath propertyPath,
+			final Comparator<? super K> comparator) {
+		this(source, propertyPath, true, comparator);
+	}
+
+	private PropertyIndex(final Iterable<T> source,
+			final PropertyPath propertyPath, final boolean sorted,
+			final Comparator<? super K> comparator) {
+		super();
+		if (propertyPath == null) {
+			throw new IllegalArgumentException("Path must not be null");
+		}
+		this.propertyPath = propertyPath;
+		this.sortedBuckets = (sorted) ? new TreeMap<K, List<Bucket<T>>>(
+				orderOf(comparator)) : null;
+		if (source != null) {
+			for (final T element : source) {
+				add(element);
+			}
+		}
+	}
+
+	/**
+	 * Adds the element to the index.
+	 * 
+	 * @param element
+	 *            the element to be added
+	 */
+	public void add(final T element) {
+		final K key = keyOf(element);
+		Bucket<T> bucket = buckets.get(key);
+		if (bucket == null) {
+			bucket = new Bucket<T>();
+			buckets.put(key, bucket);
+			if ((sortedBuckets != null) && (key != null)) {
+				List<Bucket<T>> group = sortedBuckets.get(key);
+				if (group == null) {
+					group = new ArrayList<Bucket<T>>(1);
+					sortedBuckets.put(key, group);
+				}
+				group.add(bucket);
+			}
+		}
+		bucket.append(element);
+		size++;
+	}
+
+	/**
+	 * Removes the first occurrence of the element from the index. The element
+	 * is searched in the bucket of its current property value.
+	 * 
+	 * @param element
+	 *            the element to be removed
+	 * @return true if the element was removed, false if it was not indexed
+	 */
+	public boolean remove(final T element) {
+		final K key = keyOf(element);
+		final Bucket<T> bucket = buckets.get(key);
+		boolean removed = false;
+		if ((bucket != null) && (bucket.delete(element))) {
+			removed = true;
+			size--;
+			if (bucket.isEmpty()) {
+				buckets.remove(key);
+				if ((sortedBuckets != null) && (key != null)) {
+					unlink(key, bucket);
+				}
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Returns all elements whose property value equals the given key.
+	 * 
+	 * @param key
+	 *            the property value to search for, may be null
+	 * @return the read-only view of the matching elements in insertion order,
+	 *         an empty list if no element matches
+	 */
+	public List<T> get(final K key) {
+		final Bucket<T> bucket = buckets.get(key);
+		return (bucket != null) ? bucket : Collections.<T> emptyList();
+	}
+
+	/**
+	 * Answers the question if any element has the given property value.
+	 * 
+	 * @param key
+	 *            the property value to search for, may be null
+	 * @return true if at least one element has this property value
+	 */
+	public boolean contains(final K key) {
+		return buckets.containsKey(key);
+	}
+
+	/**
+	 * Returns all elements whose property value lies within the given range.
+	 * The elements are ordered by their keys and within the same key by
+	 * insertion order.
+	 * 
+	 * @param from
+	 *            the lower bound, null for an unbounded range
+	 * @param fromInclusive
+	 *            true if the lower bound is part of the range
+	 * @param to
+	 *            the upper bound, null for an unbounded range
+	 * @param toInclusive
+	 *            true if the upper bound is part of the range
+	 * @return the read-only view of the matching elements
+	 * @throws IllegalStateException
+	 *             if this index is not sorted
+	 */
+	public Iterable<T> range(final K from, final boolean fromInclusive,
+			final K to, final boolean toInclusive) {
+		if (sortedBuckets == null) {
+			throw new IllegalStateException(
+					"Range lookups require a sorted index");
+		}
+		NavigableMap<K, List<Bucket<T>>> range = sortedBuckets;
+		if (from != null) {
+			range = range.tailMap(from, fromInclusive);
+		}
+		if (to != null) {
+			range = range.headMap(to, toInclusive);
+		}
+		final Iterable<List<Bucket<T>>> bucketsInRange = range.values();
+		return new Iterable<T>() {
+			public Iterator<T> iterator() {
+				return new BucketIterator<T>(bucketsInRange.iterator());
+			}
+		};
+	}
+
+	/**
+	 * @return the read-only view of all indexed property values
+	 */
+	public Set<K> keys() {
+		return Collections.unmodifiableSet(buckets.keySet());
+	}
+
+	/**
+	 * @return the number of indexed elements
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return true if this index supports range lookups
+	 */
+	public boolean isSorted() {
+		return sortedBuckets != null;
+	}
+
+	/**
+	 * @return the property path of the indexed values
+	 */
+	public PropertyPath getPropertyPath() {
+		return propertyPath;
+	}
+
+	/**
+	 * Removes the emptied bucket from the group of its key, and the group if
+	 * it has no buckets left.
+	 */
+	private void unlink(final K key, final Bucket<T> bucket) {
+		final List<Bucket<T>> group = sortedBuckets.get(key);
+		for (int i = 0; i < group.size(); i++) {
+			// buckets are lists, so they are compared by identity
+			if (group.get(i) == bucket) {
+				group.remove(i);
+				break;
+			}
+		}
+		if (group.isEmpty()) {
+			sortedBuckets.remove(key);
+		}
+	}
+
+	/**
+	 * @return the comparator, or the natural ordering if it is null
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static <K> Comparator<? super K> orderOf(
+			final Comparator<? super K> comparator) {
+		return (comparator != null) ? comparator
+				: (Comparator) Comparator.naturalOrder();
+	}
+
+	@SuppressWarnings("unchecked")
+	private K keyOf(final T element) {
+		return (K) propertyPath.resolve(element);
+	}
+
+	/**
+	 * The elements of a single key. The bucket is a read-only list for
+	 * callers, only the index modifies it.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 * @param <T>
+	 */
+	private static final class Bucket<T> extends AbstractList<T> {
+
+		private Object[] elements = new Object[2];
+		private int count;
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public T get(final int index) {
+			if (index >= count) {
+				throw new IndexOutOfBoundsException("Index: " + index
+						+ ", Size: " + count);
+			}
+			return (T) elements[index];
+		}
+
+		@Override
+		public int size() {
+			return count;
+		}
+
+		private void append(final T element) {
+			if (count == elements.length) {
+				elements = Arrays.copyOf(elements, count << 1);
+			}
+			elements[count++] = element;
+			modCount++;
+		}
+
+		private boolean delete(final T element) {
+			final int idx = indexOf(element);
+			if (idx >= 0) {
+				System.arraycopy(elements, idx + 1, elements, idx, count - idx
+						- 1);
+				elements[--count] = null;
+				modCount++;
+			}
+			return idx >= 0;
+		}
+	}
+
+	/**
+	 * Iterates the elements of a sequence of bucket groups.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 * @param <T>
+	 */
+	private static final class BucketIterator<T> implements Iterator<T> {
+
+		private final Iterator<List<Bucket<T>>> groups;
+		private List<Bucket<T>> group = Collections.emptyList();
+		private int groupIdx;
+		private Bucket<T> current;
+		private int idx;
+
+		/**
+		 * @param groups
+		 */
+		private BucketIterator(final Iterator<List<Bucket<T>>> groups) {
+			super();
+			this.groups = groups;
+		}
+
+		public boolean hasNext() {
+			while ((current == null) || (idx >= current.size())) {
+				if (groupIdx < group.size()) {
+					current = group.get(groupIdx++);
+					idx = 0;
+				} else if (groups.hasNext()) {
+					group = groups.next();
+					groupIdx = 0;
+				} else {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return current.get(idx++);
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException(
+					"Index views disallow removing of elements");
+		}
+	}
+}
@@ -0,0 +1,317 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * This {@link Iterable} implementation reads the records of a file through
+ * {@link FileChannel#map(MapMode, long, long)}, so files larger than the heap
+ * can be iterated. The records are decoded lazily by a {@link RecordCodec}
+ * directly from the mapped memory, no bytes are copied onto the heap.<br>
+ * A record file either consists of records of a fixed size, or of records
+ * which are prefixed by their size as a big-endian int, as written by the
+ * {@link RecordFileWriter}.<br>
+ * Each iterator maps the file in windows of a bounded size, so files beyond
+ * 2 GB can be read. If a record crosses the end of a window, the next window
+ * is mapped starting at this record. The file is expected not to change while
+ * it is open, its size is taken when it is opened.<br>
+ * The iterators disallow removing of elements and are not thread safe, but
+ * multiple iterators may be used concurrently. After {@link #close()} no
+ * records can be read anymore.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <T>
+ *            the type of the records
+ */
+public final class MappedFileIterable<T> implements Iterable<T>, Closeable {
+
+	/**
+	 * The default size of a mapped window.
+	 */
+	public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+	/**
+	 * The size of the length prefix of a record.
+	 */
+	static final int PREFIX_SIZE = 4;
+
+	private final FileChannel channel;
+	private final long fileSize;
+	private final int recordSize;
+	private final RecordCodec<T> codec;
+	private final int windowSize;
+	private volatile boolean closed;
+
+	/**
+	 * @param file
+	 *            the file to be read
+	 * @param recordSize
+	 *            the fixed size of the records, 0 for length prefixed records
+	 * @param codec
+	 *            the codec of the records
+	 * @param windowSize
+	 *            the maximum size of a mapped window
+	 * @throws IOException
+	 *             if the file cannot be opened
+	 */
+	private MappedFileIterable(final Path file, final int recordSize,
+			final RecordCodec<T> codec, final int windowSize)
+			throws IOException {
+		super();
+		if ((file == null) || (codec == null)) {
+			throw new IllegalArgumentException(
+					"File and codec must not be null");
+		}
+		if (windowSize <= 0) {
+			throw new IllegalArgumentException(
+					"Window size must be greater than zero");
+		}
+		this.channel = FileChannel.open(file, StandardOpenOption.READ);
+		this.fileSize = channel.size();
+		this.recordSize = recordSize;
+		this.codec = codec;
+		this.windowSize = windowSize;
+		if ((recordSize > 0) && ((fileSize % recordSize) != 0)) {
+			channel.close();
+			throw new IllegalArgumentException("Size " + fileSize
+					+ " of file '" + file + "' is no multiple of the record size "
+					+ recordSize);
+		}
+	}
+
+	/**
+	 * Opens a file of records with a fixed size.
+	 * 
+	 * @param file
+	 *            the file to be read
+	 * @param recordSize
+	 *            the size of each record
+	 * @param codec
+	 *            the codec of the records
+	 * @return the iterable over the records of the file
+	 * @throws IOException
+	 *             if the file cannot be opened
+	 * @throws IllegalArgumentException
+	 *             if an argument is null, the record size is not positive, or
+	 *             the file size is no multiple of the record size
+	 */
+	public static <T> MappedFileIterable<T> fixed(final Path file,
+			final int recordSize, final RecordCodec<T> codec)
+			throws IOException {
+		return fixed(file, recordSize, codec, DEFAULT_WINDOW_SIZE);
+	}
+
+	/**
+	 * Opens a file of records with a fixed size.
+	 * 
+	 * @param file
+	 *            the file to be read
+	 * @param recordSize
+	 *            the size of each record
+	 * @param codec
+	 *            the codec of the records
+	 * @param windowSize
+	 *            the maximum size of a mapped window
+	 * @return the iterable over the records of the file
+	 * @throws IOException
+	 *             if the file cannot be opened
+	 * @throws IllegalArgumentException
+	 *             if an argument is null, a size is not positive, or the file
+	 *             size is no multiple of the record size
+	 */
+	public static <T> MappedFileIterable<T> fixed(final Path file,
+			final int recordSize, final RecordCodec<T> codec,
+			final int windowSize) throws IOException {
+		if (recordSize <= 0) {
+			throw new IllegalArgumentException(
+					"Record size must be greater than zero");
+		}
+		return new MappedFileIterable<T>(file, recordSize, codec, windowSize);
+	}
+
+	/**
+	 * Opens a file of length prefixed records.
+	 * 
+	 * @param file
+	 *            the file to be read
+	 * @param codec
+	 *            the codec of the records
+	 * @return the iterable over the records of the file
+	 * @throws IOException
+	 *             if the file cannot be opened
+	 * @throws IllegalArgumentException
+	 *             if an argument is null
+	 */
+	public static <T> MappedFileIterable<T> lengthPrefixed(final Path file,
+			final RecordCodec<T> codec) throws IOException {
+		return lengthPrefixed(file, codec, DEFAULT_WINDOW_SIZE);
+	}
+
+	/**
+	 * Opens a file of length prefixed records.
+	 * 
+	 * @param file
+	 *            the file to be read
+	 * @param codec
+	 *            the codec of the records
+	 * @param windowSize
+	 *            the maximum size of a mapped window, larger records are
+	 *            mapped in a window of their own
+	 * @return the iterable over the records of the file
+	 * @throws IOException
+	 *             if the file cannot be opened
+	 * @throws IllegalArgumentException
+	 *             if an argument is null or the window size is not positive
+	 */
+	public static <T> MappedFileIterable<T> lengthPrefixed(final Path file,
+			final RecordCodec<T> codec, final int windowSize)
+			throws IOException {
+		return new MappedFileIterable<T>(file, 0, codec, windowSize);
+	}
+
+	/**
+	 * @throws IllegalStateException
+	 *             if this iterable is closed
+	 */
+	public Iterator<T> iterator() {
+		ensureOpen();
+		return new RecordIterator();
+	}
+
+	/**
+	 * The spliterator of a file of fixed size records knows the number of
+	 * records, so conversions can presize their targets.
+	 */
+	@Override
+	public Spliterator<T> spliterator() {
+		final long count = getRecordCount();
+		if (count >= 0) {
+			return Spliterators.spliterator(iterator(), count,
+					Spliterator.ORDERED);
+		}
+		return Spliterators.spliteratorUnknownSize(iterator(),
+				Spliterator.ORDERED);
+	}
+
+	/**
+	 * @return the number of records of a file of fixed size records, -1 for
+	 *         a file of length prefixed records
+	 */
+	public long getRecordCount() {
+		return (recordSize > 0) ? fileSize / recordSize : -1;
+	}
+
+	/**
+	 * @return the size of the file in bytes
+	 */
+	public long getFileSize() {
+		return fileSize;
+	}
+
+	/**
+	 * Closes the file. Already mapped windows are released when they are
+	 * garbage collected.
+	 */
+	public void close() throws IOException {
+		closed = true;
+		channel.close();
+	}
+
+	private void ensureOpen() {
+		if (closed) {
+			throw new IllegalStateException("Record file is closed");
+		}
+	}
+
+	/**
+	 * Iterates the records by moving the position and limit of the current
+	 * window, so decoding a record allocates nothing but the record itself.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private final class RecordIterator implements Iterator<T> {
+
+		private long position;
+		private MappedByteBuffer window;
+		private long windowStart;
+
+		public boolean hasNext() {
+			return position < fileSize;
+		}
+
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			ensureOpen();
+			long start = position;
+			int length = recordSize;
+			if (recordSize <= 0) {
+				if (position + PREFIX_SIZE > fileSize) {
+					throw new IllegalStateException(
+							"Truncated record prefix at offset " + position);
+				}
+				length = map(position, PREFIX_SIZE).getInt(
+						(int) (position - windowStart));
+				start += PREFIX_SIZE;
+				if ((length < 0) || (start + length > fileSize)) {
+					throw new IllegalStateException("Corrupt record at offset "
+							+ position + " with length " + length);
+				}
+			}
+			final MappedByteBuffer buffer = map(start, length);
+			final int offset = (int) (start - windowStart);
+			buffer.position(offset);
+			buffer.limit(offset + length);
+			position = start + length;
+			return codec.decode(buffer);
+		}
+
+		/**
+		 * @see java.util.Iterator#remove()
+		 * @throws UnsupportedOperationException
+		 *             if someone tries to remove elements of this
+		 *             {@link Iterator}
+		 */
+		public void remove() {
+			throw new UnsupportedOperationException(
+					"Record file iterator disallowes removing of elements");
+		}
+
+		/**
+		 * Returns the cleared window containing the given range, a new window
+		 * is mapped starting at the range if the current one does not contain
+		 * it.
+		 */
+		private MappedByteBuffer map(final long start, final int length) {
+			if ((window == null) || (start < windowStart)
+					|| (start + length > windowStart + window.capacity())) {
+				final long size = Math.max(length,
+						Math.min(windowSize, fileSize - start));
+				try {
+					window = channel.map(MapMode.READ_ONLY, start, size);
+				} catch (final IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				windowStart = start;
+			}
+			window.clear();
+			return window;
+		}
+	}
+}
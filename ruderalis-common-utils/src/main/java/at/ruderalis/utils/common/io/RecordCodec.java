@@ -0,0 +1,52 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This interface specifies the conversion of records from and to their binary
+ * representation within a record file.<br>
+ * The buffers handed to a codec are shared views on the file and the write
+ * buffer, so a codec must only use relative operations, or absolute ones
+ * offset by the buffer position, and must not keep a reference to them.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <T>
+ *            the type of the records
+ * @see MappedFileIterable
+ * @see RecordFileWriter
+ */
+public interface RecordCodec<T> {
+
+	/**
+	 * @param record
+	 *            the record to be encoded
+	 * @return the number of bytes {@link #encode(Object, ByteBuffer)} writes
+	 *         for this record
+	 */
+	int size(T record);
+
+	/**
+	 * Writes the record at the position of the target buffer, which has at
+	 * least {@link #size(Object)} bytes remaining.
+	 * 
+	 * @param record
+	 *            the record to be encoded
+	 * @param target
+	 *            the buffer receiving the bytes of the record
+	 */
+	void encode(T record, ByteBuffer target);
+
+	/**
+	 * Reads a record from the source buffer, whose position is the start and
+	 * whose limit is the end of the record.
+	 * 
+	 * @param source
+	 *            the buffer holding the bytes of the record
+	 * @return the decoded record
+	 */
+	T decode(ByteBuffer source);
+}
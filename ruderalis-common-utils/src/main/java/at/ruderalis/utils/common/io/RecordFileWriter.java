@@ -0,0 +1,207 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.io;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class writes record files, which can be read by the
+ * {@link MappedFileIterable}. The records are encoded by a
+ * {@link RecordCodec} into a direct buffer, which is written to the file
+ * whenever it is full.<br>
+ * An existing file is replaced. The writer is not thread safe.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <T>
+ *            the type of the records
+ */
+public final class RecordFileWriter<T> implements Closeable, Flushable {
+
+	/**
+	 * The default size of the write buffer.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	private final FileChannel channel;
+	private final int recordSize;
+	private final RecordCodec<T> codec;
+	private final ByteBuffer buffer;
+	private long count;
+
+	/**
+	 * @param file
+	 *            the file to be written
+	 * @param recordSize
+	 *            the fixed size of the records, 0 for length prefixed records
+	 * @param codec
+	 *            the codec of the records
+	 * @throws IOException
+	 *             if the file cannot be created
+	 */
+	private RecordFileWriter(final Path file, final int recordSize,
+			final RecordCodec<T> codec) throws IOException {
+		super();
+		if ((file == null) || (codec == null)) {
+			throw new IllegalArgumentException(
+					"File and codec must not be null");
+		}
+		this.recordSize = recordSize;
+		this.codec = codec;
+		this.buffer = ByteBuffer.allocateDirect(DEFAULT_BUFFER_SIZE);
+		this.channel = FileChannel.open(file, StandardOpenOption.WRITE,
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+	}
+
+	/**
+	 * Creates a writer of records with a fixed size.
+	 * 
+	 * @param file
+	 *            the file to be written
+	 * @param recordSize
+	 *            the size of each record
+	 * @param codec
+	 *            the codec of the records
+	 * @return the writer of the file
+	 * @throws IOException
+	 *             if the file cannot be created
+	 * @throws IllegalArgumentException
+	 *             if an argument is null or the record size is not positive
+	 */
+	public static <T> RecordFileWriter<T> fixed(final Path file,
+			final int recordSize, final RecordCodec<T> codec)
+			throws IOException {
+		if (recordSize <= 0) {
+			throw new IllegalArgumentException(
+					"Record size must be greater than zero");
+		}
+		return new RecordFileWriter<T>(file, recordSize, codec);
+	}
+
+	/**
+	 * Creates a writer of length prefixed records.
+	 * 
+	 * @param file
+	 *            the file to be written
+	 * @param codec
+	 *            the codec of the records
+	 * @return the writer of the file
+	 * @throws IOException
+	 *             if the file cannot be created
+	 * @throws IllegalArgumentException
+	 *             if an argument is null
+	 */
+	public static <T> RecordFileWriter<T> lengthPrefixed(final Path file,
+			final RecordCodec<T> codec) throws IOException {
+		return new RecordFileWriter<T>(file, 0, codec);
+	}
+
+	/**
+	 * @param record
+	 *            the record to be written
+	 * @throws IOException
+	 *             if the buffer cannot be written to the file
+	 * @throws IllegalArgumentException
+	 *             if the size of a fixed size record does not match
+	 * @throws IllegalStateException
+	 *             if the codec does not write the number of bytes it reports
+	 */
+	public void write(final T record) throws IOException {
+		final int size = codec.size(record);
+		if ((recordSize > 0) && (size != recordSize)) {
+			throw new IllegalArgumentException("Record size " + size
+					+ " does not match the fixed record size " + recordSize);
+		}
+		final int frameSize = (recordSize > 0) ? size : size
+				+ MappedFileIterable.PREFIX_SIZE;
+		if (frameSize > buffer.remaining()) {
+			flushBuffer();
+		}
+		final ByteBuffer target = (frameSize <= buffer.remaining()) ? buffer
+				: ByteBuffer.allocate(frameSize);
+		final int frameStart = target.position();
+		if (recordSize <= 0) {
+			target.putInt(size);
+		}
+		final int start = target.position();
+		try {
+			codec.encode(record, target);
+		} catch (final RuntimeException e) {
+			// drop the partially encoded record
+			target.position(frameStart);
+			throw e;
+		}
+		if (target.position() - start != size) {
+			final int written = target.position() - start;
+			target.position(frameStart);
+			throw new IllegalStateException("Codec wrote " + written
+					+ " bytes instead of " + size);
+		}
+		if (target != buffer) {
+			target.flip();
+			writeFully(target);
+		}
+		count++;
+	}
+
+	/**
+	 * @param records
+	 *            the records to be written, may be null
+	 * @throws IOException
+	 *             if the buffer cannot be written to the file
+	 * @see #write(Object)
+	 */
+	public void writeAll(final Iterable<? extends T> records)
+			throws IOException {
+		if (records != null) {
+			for (final T record : records) {
+				write(record);
+			}
+		}
+	}
+
+	/**
+	 * @return the number of written records
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Writes the buffered records to the file.
+	 */
+	public void flush() throws IOException {
+		flushBuffer();
+		channel.force(false);
+	}
+
+	/**
+	 * Writes the buffered records and closes the file.
+	 */
+	public void close() throws IOException {
+		try {
+			flushBuffer();
+		} finally {
+			channel.close();
+		}
+	}
+
+	private void flushBuffer() throws IOException {
+		buffer.flip();
+		writeFully(buffer);
+		buffer.clear();
+	}
+
+	private void writeFully(final ByteBuffer source) throws IOException {
+		while (source.hasRemaining()) {
+			channel.write(source);
+		}
+	}
+}
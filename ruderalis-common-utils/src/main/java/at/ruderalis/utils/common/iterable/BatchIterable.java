@@ -0,0 +1,66 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.iterable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This {@link Iterable} implementation returns a {@link BatchIterator} over
+ * the iterator of the wrapped iterable. With a maximum delay each iterator
+ * reads ahead the source on its own thread, so an iterator which is not
+ * consumed up to its end has to be closed.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <T>
+ *            the type of the elements
+ * @see BatchIterator
+ */
+public final class BatchIterable<T> implements Iterable<Chunk<T>> {
+
+	private final Iterable<T> iterable;
+	private final int size;
+	private final long maxDelayNanos;
+	private final boolean recycle;
+
+	/**
+	 * @param iterable
+	 *            the iterable to be batched
+	 * @param size
+	 *            the maximum number of elements of a chunk
+	 * @param maxDelay
+	 *            the maximum delay of a chunk, 0 for no delay bound
+	 * @param unit
+	 *            the unit of the maximum delay
+	 * @param recycle
+	 *            true if each iterator refills a single chunk
+	 * @throws IllegalArgumentException
+	 *             if the iterable is null, the size is not positive, the
+	 *             delay is negative or the unit is null
+	 */
+	public BatchIterable(final Iterable<T> iterable, final int size,
+			final long maxDelay, final TimeUnit unit, final boolean recycle) {
+		super();
+		if (iterable == null) {
+			throw new IllegalArgumentException("Iterable must not be null");
+		}
+		if (size <= 0) {
+			throw new IllegalArgumentException(
+					"Size must be greater than zero");
+		}
+		if ((maxDelay < 0) || (unit == null)) {
+			throw new IllegalArgumentException(
+					"Delay must not be negative and unit must not be null");
+		}
+		this.iterable = iterable;
+		this.size = size;
+		this.maxDelayNanos = unit.toNanos(maxDelay);
+		this.recycle = recycle;
+	}
+
+	public BatchIterator<T> iterator() {
+		return new BatchIterator<T>(iterable.iterator(), size, maxDelayNanos,
+				recycle);
+	}
+}
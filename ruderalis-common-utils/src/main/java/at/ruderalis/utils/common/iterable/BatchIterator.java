@@ -0,0 +1,138 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.iterable;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This iterator groups the elements of a source iterator into chunks. A chunk
+ * is completed when it is full, when the source is exhausted or, if a maximum
+ * delay is set, when the delay has elapsed since the first element of the
+ * chunk.<br>
+ * With a maximum delay, the source is read ahead by a {@link PrefetchIterator}
+ * holding at most one chunk of elements, so the delay also completes a chunk
+ * while the source blocks on its next element. Such an iterator has to be
+ * closed if it is not consumed up to its end, which stops the reading
+ * ahead.<br>
+ * If the source fails while a chunk is filled, the elements taken so far are
+ * returned as a partial chunk, and the exception of the source is thrown by
+ * the following call of {@link #hasNext()} or {@link #next()}.<br>
+ * If chunks are recycled, the same chunk instance is refilled on each call of
+ * {@link #next()}, so the caller has to finish with a chunk before requesting
+ * the next one.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <T>
+ *            the type of the elements
+ */
+public final class BatchIterator<T> implements Iterator<Chunk<T>>, Closeable {
+
+	private final Iterator<T> source;
+	private final PrefetchIterator<T> prefetch;
+	private final int size;
+	private final long maxDelayNanos;
+	private final boolean recycle;
+	private Chunk<T> chunk;
+	private Throwable failure;
+
+	/**
+	 * @param source
+	 *            the iterator providing the elements
+	 * @param size
+	 *            the maximum number of elements of a chunk
+	 * @param maxDelayNanos
+	 *            the maximum delay of a chunk in nanoseconds, 0 for no delay
+	 *            bound
+	 * @param recycle
+	 *            true if a single chunk is refilled on each call
+	 */
+	BatchIterator(final Iterator<T> source, final int size,
+			final long maxDelayNanos, final boolean recycle) {
+		super();
+		this.prefetch = (maxDelayNanos > 0) ? new PrefetchIterator<T>(source,
+				size, null) : null;
+		this.source = (prefetch != null) ? prefetch : source;
+		this.size = size;
+		this.maxDelayNanos = maxDelayNanos;
+		this.recycle = recycle;
+	}
+
+	public boolean hasNext() {
+		throwFailure();
+		return source.hasNext();
+	}
+
+	public Chunk<T> next() {
+		throwFailure();
+		if (!source.hasNext()) {
+			throw new NoSuchElementException();
+		}
+		final Chunk<T> next;
+		if ((recycle) && (chunk != null)) {
+			next = chunk;
+			next.reset();
+		} else {
+			next = new Chunk<T>(size);
+			chunk = (recycle) ? next : null;
+		}
+		next.append(source.next());
+		try {
+			if (prefetch != null) {
+				final long deadline = System.nanoTime() + maxDelayNanos;
+				long remaining;
+				while ((!next.isFull())
+						&& ((remaining = deadline - System.nanoTime()) > 0)
+						&& (prefetch.await(remaining)) && (prefetch.hasNext())) {
+					next.append(prefetch.next());
+				}
+			} else {
+				while ((!next.isFull()) && (source.hasNext())) {
+					next.append(source.next());
+				}
+			}
+		} catch (final RuntimeException | Error e) {
+			// the taken elements are handed back before the failure
+			failure = e;
+		}
+		return next;
+	}
+
+	/**
+	 * Throws the pending failure of the source once.
+	 */
+	private void throwFailure() {
+		final Throwable cause = failure;
+		if (cause != null) {
+			failure = null;
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw (RuntimeException) cause;
+		}
+	}
+
+	/**
+	 * @see java.util.Iterator#remove()
+	 * @throws UnsupportedOperationException
+	 *             if someone tries to remove elements of this
+	 *             {@link Iterator}
+	 */
+	public void remove() {
+		throw new UnsupportedOperationException(
+				"Batch iterator disallowes removing of elements");
+	}
+
+	/**
+	 * Stops the reading ahead of the source, if there is a maximum delay.
+	 * Afterwards this iterator has no further chunks.
+	 */
+	public void close() {
+		if (prefetch != null) {
+			prefetch.close();
+		}
+	}
+}
@@ -0,0 +1,151 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.iterable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This heap keeps the smallest elements offered to it, up to its capacity.
+ * The root of the heap is the greatest element kept, so an offered element
+ * only has to be compared with the root to be rejected, and replacing the
+ * root takes O(log k).<br>
+ * Elements are ordered by the comparator and then by their encounter order,
+ * so of equal elements the first offered ones are kept and none is dropped
+ * for being equal to another one.<br>
+ * The arrays of the heap grow up to the capacity, so a large capacity does
+ * not allocate memory for elements which are never offered.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <T>
+ */
+final class BoundedHeap<T> {
+
+	private final Comparator<? super T> comparator;
+	private final int capacity;
+	private Object[] elements;
+	private long[] sequences;
+	private int size;
+	private long count;
+
+	/**
+	 * @param capacity
+	 *            the maximum number of kept elements
+	 * @param initialCapacity
+	 *            the number of elements the arrays are allocated for
+	 * @param comparator
+	 *            the ordering of the elements
+	 */
+	BoundedHeap(final int capacity, final int initialCapacity,
+			final Comparator<? super T> comparator) {
+		super();
+		this.comparator = comparator;
+		this.capacity = capacity;
+		final int length = Math.min(capacity, Math.max(initialCapacity, 1));
+		this.elements = new Object[length];
+		this.sequences = new long[length];
+	}
+
+	/**
+	 * @param element
+	 *            the element to be offered
+	 */
+	@SuppressWarnings("unchecked")
+	void offer(final T element) {
+		final long sequence = count++;
+		if (size < capacity) {
+			if (size == elements.length) {
+				grow();
+			}
+			elements[size] = element;
+			sequences[size] = sequence;
+			siftUp(size++);
+		} else if ((size > 0)
+				&& (comparator.compare(element, (T) elements[0]) < 0)) {
+			// an equal element is offered later than the root, so it is
+			// greater and rejected
+			elements[0] = element;
+			sequences[0] = sequence;
+			siftDown(0);
+		}
+	}
+
+	/**
+	 * @return the kept elements in ascending order
+	 */
+	@SuppressWarnings("unchecked")
+	List<T> toSortedList() {
+		final Integer[] order = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+			public int compare(final Integer first, final Integer second) {
+				return BoundedHeap.this.compare(first, second);
+			}
+		});
+		final List<T> list = new ArrayList<T>(size);
+		for (final Integer idx : order) {
+			list.add((T) elements[idx]);
+		}
+		return list;
+	}
+
+	@SuppressWarnings("unchecked")
+	private int compare(final int first, final int second) {
+		final int result = comparator.compare((T) elements[first],
+				(T) elements[second]);
+		return (result != 0) ? result : Long.compare(sequences[first],
+				sequences[second]);
+	}
+
+	private void siftUp(final int index) {
+		int child = index;
+		while (child > 0) {
+			final int parent = (child - 1) >>> 1;
+			if (compare(child, parent) <= 0) {
+				return;
+			}
+			swap(child, parent);
+			child = parent;
+		}
+	}
+
+	private void siftDown(final int index) {
+		int parent = index;
+		while (true) {
+			final int left = (parent << 1) + 1;
+			if (left >= size) {
+				return;
+			}
+			final int right = left + 1;
+			final int greater = ((right < size) && (compare(right,
+					left) > 0)) ? right : left;
+			if (compare(greater, parent) <= 0) {
+				return;
+			}
+			swap(parent, greater);
+			parent = greater;
+		}
+	}
+
+	private void grow() {
+		final int length = (int) Math.min(capacity,
+				(long) elements.length << 1);
+		elements = Arrays.copyOf(elements, length);
+		sequences = Arrays.copyOf(sequences, length);
+	}
+
+	private void swap(final int first, final int second) {
+		final Object element = elements[first];
+		elements[first] = elements[second];
+		elements[second] = element;
+		final long sequence = sequences[first];
+		sequences[first] = sequences[second];
+		sequences[second] = sequence;
+	}
+}
@@ -0,0 +1,82 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.iterable;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * This class is a read-only list of a fixed capacity, which holds a batch of
+ * elements produced by {@link IterableUtils#batched(Iterable, int)}. Only the
+ * batching iterator fills a chunk, so a recycled chunk can be refilled without
+ * allocating.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <T>
+ *            the type of the elements
+ */
+public final class Chunk<T> extends AbstractList<T> implements RandomAccess {
+
+	private final Object[] elements;
+	private int size;
+
+	/**
+	 * @param capacity
+	 *            the maximum number of elements
+	 */
+	Chunk(final int capacity) {
+		super();
+		this.elements = new Object[capacity];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get(final int index) {
+		if ((index < 0) || (index >= size)) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: "
+					+ size);
+		}
+		return (T) elements[index];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Object[] toArray() {
+		return Arrays.copyOf(elements, size);
+	}
+
+	/**
+	 * @return the maximum number of elements of this chunk
+	 */
+	public int capacity() {
+		return elements.length;
+	}
+
+	/**
+	 * @return true if this chunk holds its maximum number of elements
+	 */
+	public boolean isFull() {
+		return size == elements.length;
+	}
+
+	void append(final T element) {
+		elements[size++] = element;
+		modCount++;
+	}
+
+	/**
+	 * Empties the chunk and releases the references to its elements.
+	 */
+	void reset() {
+		Arrays.fill(elements, 0, size, null);
+		size = 0;
+		modCount++;
+	}
+}
@@ -3,15 +3,33 @@
  */
 package at.ruderalis.utils.common.iterable;
 
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.Spliterator;
 import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import at.ruderalis.utils.common.persistent.PersistentHashSet;
+import at.ruderalis.utils.common.persistent.PersistentVector;
+import at.ruderalis.utils.common.primitive.IntHashSet;
+import at.ruderalis.utils.common.primitive.IntList;
+import at.ruderalis.utils.common.primitive.LongHashSet;
+import at.ruderalis.utils.common.primitive.LongList;
 
 /**
  * This class provides utility methods for wrapping {@link Iterable} isntance to
@@ -24,7 +42,19 @@ import java.util.TreeSet;
 public class IterableUtils {
 
 	/**
-	 * Returns a unmodifiable {@link Iterable} instance
+	 * The number of elements below which a parallel conversion falls back to
+	 * a sequential one.
+	 */
+	public static final int PARALLEL_THRESHOLD = 8192;
+
+	/**
+	 * The minimal number of elements collected by a single parallel task.
+	 */
+	private static final int MIN_LEAF_SIZE = 1024;
+
+	/**
+	 * Returns a unmodifiable {@link Iterable} instance. An already
+	 * unmodifiable iterable is returned as it is.
 	 * 
 	 * @param iterable
 	 *            the iterable to be wrapped
@@ -33,12 +63,16 @@ public class IterableUtils {
 	 */
 	public static <T> UnmodifiableIterable<T> unmodifiableIterable(
 			final Iterable<T> iterable) {
+		if (iterable instanceof UnmodifiableIterable) {
+			return (UnmodifiableIterable<T>) iterable;
+		}
 		return (iterable != null) ? new UnmodifiableIterable<T>(iterable)
 				: null;
 	}
 
 	/**
-	 * Returns a unmodifiable {@link Iterator} instance
+	 * Returns a unmodifiable {@link Iterator} instance. An already
+	 * unmodifiable iterator is returned as it is.
 	 * 
 	 * @param iterator
 	 *            the iterator to be wrapped
@@ -47,10 +81,170 @@ public class IterableUtils {
 	 */
 	public static <T> UnmodifiableIterator<T> unmodifiableIterator(
 			final Iterator<T> iterator) {
+		if (iterator instanceof UnmodifiableIterator) {
+			return (UnmodifiableIterator<T>) iterator;
+		}
 		return (iterator != null) ? new UnmodifiableIterator<T>(iterator)
 				: null;
 	}
 
+	/**
+	 * Returns a lazy {@link Pipeline} over the {@link Iterable} instance,
+	 * whose stages are evaluated within a single pass when it is iterated.
+	 * 
+	 * @param iterable
+	 *            the source of the pipeline, null is treated as empty
+	 * @return the pipeline providing the elements of the iterable
+	 * @see Pipeline
+	 */
+	public static <T> Pipeline<T> pipeline(final Iterable<T> iterable) {
+		return Pipeline.of(iterable);
+	}
+
+	/**
+	 * Groups the elements of the {@link Iterable} instance into chunks of the
+	 * given size, the last chunk may hold fewer elements. Each chunk is a new
+	 * read-only list.
+	 * 
+	 * @param iterable
+	 *            the iterable to be batched, null is treated as empty
+	 * @param size
+	 *            the maximum number of elements of a chunk
+	 * @return the iterable providing the chunks
+	 * @throws IllegalArgumentException
+	 *             if the size is not positive
+	 * @see #batched(Iterable, int, long, TimeUnit, boolean)
+	 */
+	public static <T> BatchIterable<T> batched(final Iterable<T> iterable,
+			final int size) {
+		return batched(iterable, size, false);
+	}
+
+	/**
+	 * Groups the elements of the {@link Iterable} instance into chunks of the
+	 * given size, the last chunk may hold fewer elements.
+	 * 
+	 * @param iterable
+	 *            the iterable to be batched, null is treated as empty
+	 * @param size
+	 *            the maximum number of elements of a chunk
+	 * @param recycle
+	 *            true if each iterator refills a single chunk, which is only
+	 *            valid until the next chunk is requested
+	 * @return the iterable providing the chunks
+	 * @throws IllegalArgumentException
+	 *             if the size is not positive
+	 * @see #batched(Iterable, int, long, TimeUnit, boolean)
+	 */
+	public static <T> BatchIterable<T> batched(final Iterable<T> iterable,
+			final int size, final boolean recycle) {
+		return batched(iterable, size, 0, TimeUnit.NANOSECONDS, recycle);
+	}
+
+	/**
+	 * Groups the elements of the {@link Iterable} instance into chunks, which
+	 * are completed when they are full, when the iterable is exhausted or when
+	 * the maximum delay has elapsed since the first element of the chunk.<br>
+	 * With a maximum delay, each iterator reads ahead the iterable on a
+	 * virtual or daemon thread, so a partial chunk is completed on time even
+	 * if the iterable blocks on its next element. Such an iterator has to be
+	 * closed if it is not consumed up to its end.<br>
+	 * If chunks are recycled, each iterator refills a single chunk, so that
+	 * batching without a maximum delay allocates nothing once the chunk
+	 * exists. A recycled chunk is
+	 * only valid until the next chunk is requested.<br>
+	 * The iterators of the returned iterable disallow removing of elements,
+	 * like the {@link UnmodifiableIterator}.
+	 * 
+	 * @param iterable
+	 *            the iterable to be batched, null is treated as empty
+	 * @param size
+	 *            the maximum number of elements of a chunk
+	 * @param maxDelay
+	 *            the maximum delay of a chunk, 0 for no delay bound
+	 * @param unit
+	 *            the unit of the maximum delay
+	 * @param recycle
+	 *            true if each iterator refills a single chunk
+	 * @return the iterable providing the chunks
+	 * @throws IllegalArgumentException
+	 *             if the size is not positive, the delay is negative or the
+	 *             unit is null
+	 * @see BatchIterator
+	 */
+	public static <T> BatchIterable<T> batched(final Iterable<T> iterable,
+			final int size, final long maxDelay, final TimeUnit unit,
+			final boolean recycle) {
+		return new BatchIterable<T>((iterable != null) ? iterable
+				: Collections.<T> emptyList(), size, maxDelay, unit, recycle);
+	}
+
+	/**
+	 * Returns an {@link Iterable} instance, whose iterators read ahead the
+	 * elements of the given iterable on a virtual thread, or a daemon thread
+	 * if the runtime provides no virtual threads.
+	 * 
+	 * @param iterable
+	 *            the iterable to read ahead, null is treated as empty
+	 * @param bufferSize
+	 *            the maximum number of buffered elements per iterator
+	 * @return the prefetching iterable
+	 * @throws IllegalArgumentException
+	 *             if the buffer size is not positive
+	 * @see PrefetchIterator
+	 */
+	public static <T> PrefetchIterable<T> prefetching(
+			final Iterable<T> iterable, final int bufferSize) {
+		return prefetching(iterable, bufferSize, null);
+	}
+
+	/**
+	 * Returns an {@link Iterable} instance, whose iterators read ahead the
+	 * elements of the given iterable on the given executor.
+	 * 
+	 * @param iterable
+	 *            the iterable to read ahead, null is treated as empty
+	 * @param bufferSize
+	 *            the maximum number of buffered elements per iterator
+	 * @param executor
+	 *            the executor to run the producers on, null for virtual or
+	 *            daemon threads
+	 * @return the prefetching iterable
+	 * @throws IllegalArgumentException
+	 *             if the buffer size is not positive
+	 * @see PrefetchIterator
+	 */
+	public static <T> PrefetchIterable<T> prefetching(
+			final Iterable<T> iterable, final int bufferSize,
+			final Executor executor) {
+		return new PrefetchIterable<T>((iterable != null) ? iterable
+				: Collections.<T> emptyList(), bufferSize, executor);
+	}
+
+	/**
+	 * Returns an {@link Iterator} instance, which reads ahead the elements of
+	 * the given iterator on the given executor.
+	 * 
+	 * @param iterator
+	 *            the iterator to read ahead
+	 * @param bufferSize
+	 *            the maximum number of buffered elements
+	 * @param executor
+	 *            the executor to run the producer on, null for a virtual or
+	 *            daemon thread
+	 * @return the prefetching iterator, which has to be closed if it is not
+	 *         consumed up to its end, null if the iterator is null
+	 * @throws IllegalArgumentException
+	 *             if the buffer size is not positive
+	 * @see PrefetchIterator
+	 */
+	public static <T> PrefetchIterator<T> prefetchingIterator(
+			final Iterator<T> iterator, final int bufferSize,
+			final Executor executor) {
+		return (iterator != null) ? new PrefetchIterator<T>(iterator,
+				bufferSize, executor) : null;
+	}
+
 	/**
 	 * Answers the question if this {@link Iterable} instance is empty or not.
 	 * 
@@ -83,38 +277,569 @@ public class IterableUtils {
 	 * @return the linked list containing all elements of the iterable
 	 */
 	public static <T> List<T> toLinkedList(final Iterable<T> iterable) {
-		return (List<T>) toCollection(new LinkedList<T>(), iterable);
+		final Iterable<T> source = unwrap(iterable);
+		if (source instanceof Collection) {
+			return new LinkedList<T>((Collection<T>) source);
+		}
+		return (List<T>) toCollection(new LinkedList<T>(), source);
 	}
 
 	/**
-	 * Converts the {@link Iterator} instance to a {@link ArrayList}.
+	 * Converts the {@link Iterator} instance to a {@link ArrayList}. The list
+	 * is presized if the size of the iterable is known, a {@link Collection}
+	 * is copied in bulk.
 	 * 
 	 * @param iterable
 	 *            the iterable instance to be converted
 	 * @return the array list containing all elements of the iterable
 	 */
 	public static <T> List<T> toArrayList(final Iterable<T> iterable) {
-		return (List<T>) toCollection(new ArrayList<T>(), iterable);
+		final Iterable<T> source = unwrap(iterable);
+		if (source instanceof Collection) {
+			return new ArrayList<T>((Collection<T>) source);
+		}
+		final Spliterator<T> spliterator = spliterator(source);
+		final long size = exactSize(spliterator);
+		return (List<T>) toCollection(
+				(size > 0) ? new ArrayList<T>((int) size) : new ArrayList<T>(),
+				spliterator);
 	}
 
+	/**
+	 * Converts the {@link Iterator} instance to a {@link HashSet}. The set is
+	 * presized if the size of the iterable is known, so that it is never
+	 * rehashed while it is filled.
+	 * 
+	 * @param iterable
+	 *            the iterable instance to be converted
+	 * @return the hash set containing all elements of the iterable
+	 */
 	public static <T> Set<T> toHashSet(final Iterable<T> iterable) {
-		return (Set<T>) toCollection(new HashSet<T>(), iterable);
+		final Iterable<T> source = unwrap(iterable);
+		if (source instanceof Collection) {
+			final Collection<T> collection = (Collection<T>) source;
+			final Set<T> set = new HashSet<T>(hashCapacity(collection.size()));
+			set.addAll(collection);
+			return set;
+		}
+		final Spliterator<T> spliterator = spliterator(source);
+		final long size = exactSize(spliterator);
+		return (Set<T>) toCollection(
+				(size > 0) ? new HashSet<T>(hashCapacity(size))
+						: new HashSet<T>(), spliterator);
 	}
 
 	public static <T> Set<T> toTreeSet(final Iterable<T> iterable) {
 		return toTreeSet(iterable, (Comparator<T>) null);
 	}
 
+	/**
+	 * Converts the {@link Iterator} instance to a {@link TreeSet}. If the
+	 * iterable is a {@link SortedSet} with the same ordering, the tree is
+	 * built in linear time from the already sorted elements.
+	 * 
+	 * @param iterable
+	 *            the iterable instance to be converted
+	 * @param comparator
+	 *            the comparator of the tree set, null for natural ordering
+	 * @return the tree set containing all elements of the iterable
+	 */
 	public static <T> Set<T> toTreeSet(final Iterable<T> iterable,
 			final Comparator<T> comparator) {
-		return (Set<T>) toCollection(new TreeSet<T>(comparator), iterable);
+		final Iterable<T> source = unwrap(iterable);
+		final TreeSet<T> set = new TreeSet<T>(comparator);
+		if (source instanceof Collection) {
+			// addAll on an empty tree set takes the linear path for sorted
+			// sets of the same ordering
+			set.addAll((Collection<T>) source);
+			return set;
+		}
+		return (Set<T>) toCollection(set, spliterator(source));
+	}
+
+	/**
+	 * Returns the k smallest elements of the {@link Iterable} instance in
+	 * ascending order. Instead of sorting all elements, a bounded heap of the
+	 * k smallest elements seen so far is kept, which takes O(n log k) time
+	 * and O(k) memory. Unlike {@link #toTreeSet(Iterable, Comparator)} equal
+	 * elements are all kept, ordered by their encounter order.
+	 * 
+	 * @param iterable
+	 *            the iterable instance providing the elements
+	 * @param k
+	 *            the maximum number of returned elements
+	 * @param comparator
+	 *            the ordering of the elements, null for natural ordering
+	 * @return the list of the k smallest elements
+	 * @throws IllegalArgumentException
+	 *             if k is negative
+	 */
+	public static <T> List<T> bottomK(final Iterable<T> iterable, final int k,
+			final Comparator<T> comparator) {
+		return selectK(iterable, k, naturalIfNull(comparator));
+	}
+
+	/**
+	 * Returns the k greatest elements of the {@link Iterable} instance in
+	 * descending order. Equal elements are all kept, ordered by their
+	 * encounter order.
+	 * 
+	 * @param iterable
+	 *            the iterable instance providing the elements
+	 * @param k
+	 *            the maximum number of returned elements
+	 * @param comparator
+	 *            the ordering of the elements, null for natural ordering
+	 * @return the list of the k greatest elements
+	 * @throws IllegalArgumentException
+	 *             if k is negative
+	 * @see #bottomK(Iterable, int, Comparator)
+	 */
+	public static <T> List<T> topK(final Iterable<T> iterable, final int k,
+			final Comparator<T> comparator) {
+		return selectK(iterable, k, naturalIfNull(comparator).reversed());
+	}
+
+	/**
+	 * Returns an {@link Iterator} over the elements of the {@link Iterable}
+	 * instance in ascending order, which sorts the elements lazily. The
+	 * elements are copied and arranged as a heap in O(n), each element is
+	 * then taken in O(log n), so taking the first elements only is much
+	 * cheaper than sorting all of them. Equal elements are all returned,
+	 * ordered by their encounter order.
+	 * 
+	 * @param iterable
+	 *            the iterable instance providing the elements
+	 * @param comparator
+	 *            the ordering of the elements, null for natural ordering
+	 * @return the iterator returning the elements in ascending order
+	 */
+	public static <T> Iterator<T> sortedIterator(final Iterable<T> iterable,
+			final Comparator<T> comparator) {
+		final Iterable<T> source = unwrap(iterable);
+		// toArray of a collection returns a new array, which the iterator
+		// is allowed to modify
+		final Object[] elements;
+		if (source instanceof Collection) {
+			elements = ((Collection<T>) source).toArray();
+		} else {
+			elements = toArrayList(source).toArray();
+		}
+		return new SortedIterator<T>(elements, naturalIfNull(comparator));
+	}
+
+	/**
+	 * Converts the {@link Iterable} instance to a {@link PersistentVector},
+	 * which is filled by a builder without copying its nodes.
+	 * 
+	 * @param iterable
+	 *            the iterable instance to be converted
+	 * @return the persistent vector containing all elements of the iterable
+	 *         in iteration order
+	 */
+	public static <T> PersistentVector<T> toPersistentVector(
+			final Iterable<T> iterable) {
+		return PersistentVector.copyOf(unwrap(iterable));
+	}
+
+	/**
+	 * Converts the {@link Iterable} instance to a {@link PersistentHashSet},
+	 * which is filled by a builder without copying its nodes.
+	 * 
+	 * @param iterable
+	 *            the iterable instance to be converted
+	 * @return the persistent hash set containing all elements of the iterable
+	 */
+	public static <T> PersistentHashSet<T> toPersistentHashSet(
+			final Iterable<T> iterable) {
+		return PersistentHashSet.copyOf(unwrap(iterable));
+	}
+
+	/**
+	 * Converts the {@link Iterable} instance to an {@link ArrayList} in
+	 * parallel on the common {@link ForkJoinPool}.
+	 * 
+	 * @param iterable
+	 *            the iterable instance to be converted
+	 * @return the array list containing all elements of the iterable in
+	 *         encounter order
+	 * @see #parallelToArrayList(Iterable, ForkJoinPool)
+	 */
+	public static <T> List<T> parallelToArrayList(final Iterable<T> iterable) {
+		return parallelToArrayList(iterable, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Converts the {@link Iterable} instance to an {@link ArrayList} in
+	 * parallel on the given {@link ForkJoinPool}. The source is split by its
+	 * spliterator, each task collects its part into its own list and the
+	 * lists are concatenated in encounter order. Sources whose size is
+	 * unknown or smaller than {@link #PARALLEL_THRESHOLD} are converted
+	 * sequentially.
+	 * 
+	 * @param iterable
+	 *            the iterable instance to be converted
+	 * @param pool
+	 *            the pool to run the conversion on
+	 * @return the array list containing all elements of the iterable in
+	 *         encounter order
+	 * @throws IllegalArgumentException
+	 *             if the pool is null
+	 */
+	public static <T> List<T> parallelToArrayList(final Iterable<T> iterable,
+			final ForkJoinPool pool) {
+		final Spliterator<T> spliterator = parallelSpliterator(iterable, pool);
+		if (spliterator == null) {
+			return toArrayList(iterable);
+		}
+		final ParallelCollectTask<T> task = new ParallelCollectTask<T>(
+				spliterator, leafSize(spliterator, pool), false);
+		pool.invoke(task);
+		final List<T> list = new ArrayList<T>(task.size());
+		task.collect(list);
+		return list;
+	}
+
+	/**
+	 * Converts the {@link Iterable} instance to a {@link HashSet} in parallel
+	 * on the common {@link ForkJoinPool}.
+	 * 
+	 * @param iterable
+	 *            the iterable instance to be converted
+	 * @return the hash set containing all elements of the iterable
+	 * @see #parallelToHashSet(Iterable, ForkJoinPool)
+	 */
+	public static <T> Set<T> parallelToHashSet(final Iterable<T> iterable) {
+		return parallelToHashSet(iterable, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Converts the {@link Iterable} instance to a {@link HashSet} in parallel
+	 * on the given {@link ForkJoinPool}. The source is split by its
+	 * spliterator, each task collects its part into its own hash set and the
+	 * sets are merged pairwise in parallel. Sources whose size is unknown or
+	 * smaller than {@link #PARALLEL_THRESHOLD} are converted sequentially.
+	 * 
+	 * @param iterable
+	 *            the iterable instance to be converted
+	 * @param pool
+	 *            the pool to run the conversion on
+	 * @return the hash set containing all elements of the iterable
+	 * @throws IllegalArgumentException
+	 *             if the pool is null
+	 */
+	public static <T> Set<T> parallelToHashSet(final Iterable<T> iterable,
+			final ForkJoinPool pool) {
+		final Spliterator<T> spliterator = parallelSpliterator(iterable, pool);
+		if (spliterator == null) {
+			return toHashSet(iterable);
+		}
+		final ParallelCollectTask<T> task = new ParallelCollectTask<T>(
+				spliterator, leafSize(spliterator, pool), true);
+		pool.invoke(task);
+		return task.getSet();
+	}
+
+	/**
+	 * Converts the {@link Iterable} instance to a {@link TreeSet} in parallel
+	 * on the common {@link ForkJoinPool}.
+	 * 
+	 * @param iterable
+	 *            the iterable instance to be converted
+	 * @param comparator
+	 *            the comparator of the tree set, null for natural ordering
+	 * @return the tree set containing all elements of the iterable
+	 * @see #parallelToTreeSet(Iterable, Comparator, ForkJoinPool)
+	 */
+	public static <T> Set<T> parallelToTreeSet(final Iterable<T> iterable,
+			final Comparator<T> comparator) {
+		return parallelToTreeSet(iterable, comparator,
+				ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Converts the {@link Iterable} instance to a {@link TreeSet}. The
+	 * elements are collected in parallel on the given {@link ForkJoinPool}
+	 * and sorted by {@link Arrays#parallelSort(Object[], Comparator)}, which
+	 * runs on the common pool. The tree is then built in linear time from the
+	 * sorted elements, instead of inserting each element on its own. Of equal
+	 * elements the first one in encounter order is kept, as by
+	 * {@link TreeSet#add(Object)}. Sources whose size is unknown or smaller
+	 * than {@link #PARALLEL_THRESHOLD} are converted sequentially.
+	 * 
+	 * @param iterable
+	 *            the iterable instance to be converted
+	 * @param comparator
+	 *            the comparator of the tree set, null for natural ordering
+	 * @param pool
+	 *            the pool to collect the elements on
+	 * @return the tree set containing all elements of the iterable
+	 * @throws IllegalArgumentException
+	 *             if the pool is null
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Set<T> parallelToTreeSet(final Iterable<T> iterable,
+			final Comparator<T> comparator, final ForkJoinPool pool) {
+		final Spliterator<T> spliterator = parallelSpliterator(iterable, pool);
+		if (spliterator == null) {
+			return toTreeSet(iterable, comparator);
+		}
+		final ParallelCollectTask<T> task = new ParallelCollectTask<T>(
+				spliterator, leafSize(spliterator, pool), false);
+		pool.invoke(task);
+		final List<T> list = new ArrayList<T>(task.size());
+		task.collect(list);
+		final T[] elements = (T[]) list.toArray();
+		// the parallel sort is stable, so the first of equal elements stays
+		// the first one
+		Arrays.parallelSort(elements, comparator);
+		final TreeSet<T> set = new TreeSet<T>(comparator);
+		set.addAll(new SortedArraySet<T>(elements, comparator));
+		return set;
+	}
+
+	private static <T> List<T> selectK(final Iterable<T> iterable,
+			final int k, final Comparator<T> comparator) {
+		if (k < 0) {
+			throw new IllegalArgumentException("k must not be negative");
+		}
+		final Spliterator<T> spliterator = spliterator(unwrap(iterable));
+		if ((spliterator == null) || (k == 0)) {
+			return new ArrayList<T>(0);
+		}
+		final long size = exactSize(spliterator);
+		final BoundedHeap<T> heap = new BoundedHeap<T>(k,
+				(size >= 0) ? (int) Math.min(size, k) : 16, comparator);
+		spliterator.forEachRemaining(new Consumer<T>() {
+			public void accept(final T element) {
+				heap.offer(element);
+			}
+		});
+		return heap.toSortedList();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> Comparator<T> naturalIfNull(
+			final Comparator<T> comparator) {
+		return (comparator != null) ? comparator
+				: (Comparator<T>) Comparator.naturalOrder();
+	}
+
+	/**
+	 * Returns the spliterator of the iterable if it is worth to be split,
+	 * null if the iterable has to be converted sequentially.
+	 */
+	private static <T> Spliterator<T> parallelSpliterator(
+			final Iterable<T> iterable, final ForkJoinPool pool) {
+		if (pool == null) {
+			throw new IllegalArgumentException("Pool must not be null");
+		}
+		final Spliterator<T> spliterator = spliterator(unwrap(iterable));
+		if ((spliterator == null)
+				|| (exactSize(spliterator) < PARALLEL_THRESHOLD)) {
+			return null;
+		}
+		return spliterator;
+	}
+
+	private static long leafSize(final Spliterator<?> spliterator,
+			final ForkJoinPool pool) {
+		return Math.max(MIN_LEAF_SIZE,
+				spliterator.estimateSize() / (pool.getParallelism() << 2));
+	}
+
+	/**
+	 * Converts the {@link Iterable} instance to an int array.
+	 * 
+	 * @param iterable
+	 *            the iterable instance to be converted
+	 * @return the array containing all unboxed elements of the iterable
+	 * @throws NullPointerException
+	 *             if the iterable contains null
+	 */
+	public static int[] toIntArray(final Iterable<Integer> iterable) {
+		final Spliterator<Integer> spliterator = spliterator(unwrap(iterable));
+		if (spliterator == null) {
+			return new int[0];
+		}
+		final long size = exactSize(spliterator);
+		final IntArrayConsumer consumer = new IntArrayConsumer(
+				(size > 0) ? (int) size : 10);
+		spliterator.forEachRemaining(consumer);
+		return consumer.toArray();
+	}
+
+	/**
+	 * Converts the {@link Iterable} instance to a long array.
+	 * 
+	 * @param iterable
+	 *            the iterable instance to be converted
+	 * @return the array containing all unboxed elements of the iterable
+	 * @throws NullPointerException
+	 *             if the iterable contains null
+	 */
+	public static long[] toLongArray(final Iterable<Long> iterable) {
+		final Spliterator<Long> spliterator = spliterator(unwrap(iterable));
+		if (spliterator == null) {
+			return new long[0];
+		}
+		final long size = exactSize(spliterator);
+		final LongArrayConsumer consumer = new LongArrayConsumer(
+				(size > 0) ? (int) size : 10);
+		spliterator.forEachRemaining(consumer);
+		return consumer.toArray();
+	}
+
+	/**
+	 * Converts the {@link Iterable} instance to a double array.
+	 * 
+	 * @param iterable
+	 *            the iterable instance to be converted
+	 * @return the array containing all unboxed elements of the iterable
+	 * @throws NullPointerException
+	 *             if the iterable contains null
+	 */
+	public static double[] toDoubleArray(final Iterable<Double> iterable) {
+		final Spliterator<Double> spliterator = spliterator(unwrap(iterable));
+		if (spliterator == null) {
+			return new double[0];
+		}
+		final long size = exactSize(spliterator);
+		final DoubleArrayConsumer consumer = new DoubleArrayConsumer(
+				(size > 0) ? (int) size : 10);
+		spliterator.forEachRemaining(consumer);
+		return consumer.toArray();
+	}
+
+	/**
+	 * Converts the {@link Iterable} instance to an {@link IntList}. The list
+	 * is presized if the size of the iterable is known.
+	 * 
+	 * @param iterable
+	 *            the iterable instance to be converted
+	 * @return the list containing all unboxed elements of the iterable
+	 * @throws NullPointerException
+	 *             if the iterable contains null
+	 */
+	public static IntList toIntList(final Iterable<Integer> iterable) {
+		final Spliterator<Integer> spliterator = spliterator(unwrap(iterable));
+		final long size = exactSize(spliterator);
+		final IntList list = new IntList((size > 0) ? (int) size : 0);
+		if (spliterator != null) {
+			spliterator.forEachRemaining(new Consumer<Integer>() {
+				public void accept(final Integer value) {
+					list.add(value.intValue());
+				}
+			});
+		}
+		return list;
+	}
+
+	/**
+	 * Converts the {@link Iterable} instance to a {@link LongList}. The list
+	 * is presized if the size of the iterable is known.
+	 * 
+	 * @param iterable
+	 *            the iterable instance to be converted
+	 * @return the list containing all unboxed elements of the iterable
+	 * @throws NullPointerException
+	 *             if the iterable contains null
+	 */
+	public static LongList toLongList(final Iterable<Long> iterable) {
+		final Spliterator<Long> spliterator = spliterator(unwrap(iterable));
+		final long size = exactSize(spliterator);
+		final LongList list = new LongList((size > 0) ? (int) size : 0);
+		if (spliterator != null) {
+			spliterator.forEachRemaining(new Consumer<Long>() {
+				public void accept(final Long value) {
+					list.add(value.longValue());
+				}
+			});
+		}
+		return list;
+	}
+
+	/**
+	 * Converts the {@link Iterable} instance to an {@link IntHashSet}. The
+	 * set is presized if the size of the iterable is known.
+	 * 
+	 * @param iterable
+	 *            the iterable instance to be converted
+	 * @return the set containing all unboxed elements of the iterable
+	 * @throws NullPointerException
+	 *             if the iterable contains null
+	 */
+	public static IntHashSet toIntHashSet(final Iterable<Integer> iterable) {
+		final Spliterator<Integer> spliterator = spliterator(unwrap(iterable));
+		final long size = exactSize(spliterator);
+		final IntHashSet set = new IntHashSet((size > 0) ? (int) size : 0);
+		if (spliterator != null) {
+			spliterator.forEachRemaining(new Consumer<Integer>() {
+				public void accept(final Integer value) {
+					set.add(value.intValue());
+				}
+			});
+		}
+		return set;
+	}
+
+	/**
+	 * Converts the {@link Iterable} instance to a {@link LongHashSet}. The set
+	 * is presized if the size of the iterable is known.
+	 * 
+	 * @param iterable
+	 *            the iterable instance to be converted
+	 * @return the set containing all unboxed elements of the iterable
+	 * @throws NullPointerException
+	 *             if the iterable contains null
+	 */
+	public static LongHashSet toLongHashSet(final Iterable<Long> iterable) {
+		final Spliterator<Long> spliterator = spliterator(unwrap(iterable));
+		final long size = exactSize(spliterator);
+		final LongHashSet set = new LongHashSet((size > 0) ? (int) size : 0);
+		if (spliterator != null) {
+			spliterator.forEachRemaining(new Consumer<Long>() {
+				public void accept(final Long value) {
+					set.add(value.longValue());
+				}
+			});
+		}
+		return set;
+	}
+
+	/**
+	 * Returns the initial capacity of a hash based collection with the default
+	 * load factor, which holds the given number of elements without being
+	 * rehashed.
+	 */
+	static int hashCapacity(final long size) {
+		return (int) Math.min((long) (size / 0.75f) + 1, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Unwraps an {@link UnmodifiableIterable}, because the internal
+	 * conversions only read the source and never remove elements.
+	 */
+	private static <T> Iterable<T> unwrap(final Iterable<T> iterable) {
+		Iterable<T> source = iterable;
+		while (source instanceof UnmodifiableIterable) {
+			source = ((UnmodifiableIterable<T>) source).iterable;
+		}
+		return source;
+	}
+
+	private static <T> Spliterator<T> spliterator(final Iterable<T> iterable) {
+		return (iterable != null) ? iterable.spliterator() : null;
+	}
+
+	private static long exactSize(final Spliterator<?> spliterator) {
+		return (spliterator != null) ? spliterator.getExactSizeIfKnown() : -1;
 	}
 
 	private static <T> Collection<T> toCollection(
 			final Collection<T> collection, final Iterable<T> iterable) {
-		if (!isEmpty(iterable)) {
-			final Iterator<T> it = IterableUtils.unmodifiableIterable(iterable)
-					.iterator();
+		if (iterable != null) {
+			final Iterator<T> it = iterable.iterator();
 			while (it.hasNext()) {
 				collection.add(it.next());
 			}
@@ -122,10 +847,234 @@ public class IterableUtils {
 		return collection;
 	}
 
+	private static <T> Collection<T> toCollection(
+			final Collection<T> collection, final Spliterator<T> spliterator) {
+		if (spliterator != null) {
+			spliterator.forEachRemaining(new Consumer<T>() {
+				public void accept(final T element) {
+					collection.add(element);
+				}
+			});
+		}
+		return collection;
+	}
+
+	/**
+	 * A read-only {@link SortedSet} view on sorted elements, which skips
+	 * consecutive equal elements. It is handed to
+	 * {@link TreeSet#addAll(Collection)}, which builds the tree in linear
+	 * time from a sorted set of the same ordering, so only the methods used
+	 * by this build are supported.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 * @param <T>
+	 */
+	private static final class SortedArraySet<T> extends AbstractSet<T>
+			implements SortedSet<T> {
+
+		private final T[] elements;
+		private final Comparator<T> comparator;
+		private final int size;
+
+		/**
+		 * @param elements
+		 *            the sorted elements, which are compacted in place
+		 * @param comparator
+		 *            the comparator the elements are sorted by, null for
+		 *            natural ordering
+		 */
+		private SortedArraySet(final T[] elements,
+				final Comparator<T> comparator) {
+			super();
+			this.elements = elements;
+			this.comparator = comparator;
+			int count = 0;
+			for (int i = 0; i < elements.length; i++) {
+				if ((count == 0)
+						|| (compare(elements[count - 1], elements[i]) != 0)) {
+					elements[count++] = elements[i];
+				}
+			}
+			this.size = count;
+		}
+
+		@SuppressWarnings("unchecked")
+		private int compare(final T first, final T second) {
+			return (comparator != null) ? comparator.compare(first, second)
+					: ((Comparable<T>) first).compareTo(second);
+		}
+
+		@Override
+		public Iterator<T> iterator() {
+			return new Iterator<T>() {
+
+				private int idx;
+
+				public boolean hasNext() {
+					return idx < size;
+				}
+
+				public T next() {
+					if (idx >= size) {
+						throw new NoSuchElementException();
+					}
+					return elements[idx++];
+				}
+
+				public void remove() {
+					throw new UnsupportedOperationException(
+							"Sorted array view disallowes removing of elements");
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		public Comparator<? super T> comparator() {
+			return comparator;
+		}
+
+		public T first() {
+			if (size == 0) {
+				throw new NoSuchElementException();
+			}
+			return elements[0];
+		}
+
+		public T last() {
+			if (size == 0) {
+				throw new NoSuchElementException();
+			}
+			return elements[size - 1];
+		}
+
+		public SortedSet<T> subSet(final T fromElement, final T toElement) {
+			throw new UnsupportedOperationException();
+		}
+
+		public SortedSet<T> headSet(final T toElement) {
+			throw new UnsupportedOperationException();
+		}
+
+		public SortedSet<T> tailSet(final T fromElement) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	/**
+	 * Collects unboxed ints into a growing array.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class IntArrayConsumer implements Consumer<Integer> {
+
+		private int[] values;
+		private int size;
+
+		/**
+		 * @param capacity
+		 */
+		private IntArrayConsumer(final int capacity) {
+			super();
+			this.values = new int[capacity];
+		}
+
+		public void accept(final Integer value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size + (size >> 1) + 1);
+			}
+			values[size++] = value.intValue();
+		}
+
+		private int[] toArray() {
+			return (size == values.length) ? values : Arrays.copyOf(values,
+					size);
+		}
+	}
+
+	/**
+	 * Collects unboxed longs into a growing array.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class LongArrayConsumer implements Consumer<Long> {
+
+		private long[] values;
+		private int size;
+
+		/**
+		 * @param capacity
+		 */
+		private LongArrayConsumer(final int capacity) {
+			super();
+			this.values = new long[capacity];
+		}
+
+		public void accept(final Long value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size + (size >> 1) + 1);
+			}
+			values[size++] = value.longValue();
+		}
+
+		private long[] toArray() {
+			return (size == values.length) ? values : Arrays.copyOf(values,
+					size);
+		}
+	}
+
+	/**
+	 * Collects unboxed doubles into a growing array.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class DoubleArrayConsumer implements Consumer<Double> {
+
+		private double[] values;
+		private int size;
+
+		/**
+		 * @param capacity
+		 */
+		private DoubleArrayConsumer(final int capacity) {
+			super();
+			this.values = new double[capacity];
+		}
+
+		public void accept(final Double value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size + (size >> 1) + 1);
+			}
+			values[size++] = value.doubleValue();
+		}
+
+		private double[] toArray() {
+			return (size == values.length) ? values : Arrays.copyOf(values,
+					size);
+		}
+	}
+
 	/**
 	 * This {@link Iterable} implementation returns a
 	 * {@link UnmodifiableIterator} which disallows the removing of this
-	 * iterator.
+	 * iterator.<br>
+	 * The spliterator and the internal iteration are forwarded to the wrapped
+	 * iterable, because neither of them can remove elements, so the wrapped
+	 * iterable keeps its sized and splittable spliterator. The iterator of an
+	 * {@link ArrayList}, a list of {@link Arrays#asList(Object...)} or a
+	 * {@link Chunk} accesses the elements by their index. Other
+	 * {@link RandomAccess} lists are iterated by their own iterator, because
+	 * their iterator may provide guarantees an index based iteration does not,
+	 * like the snapshot of a {@link java.util.concurrent.CopyOnWriteArrayList},
+	 * or may be cheaper than an index access, like the iterator of a
+	 * {@link PersistentVector}, which walks its trie once per leaf.
 	 * 
 	 * @author Thomas Herzog
 	 * @date Feb 13, 2014
@@ -134,6 +1083,8 @@ public class IterableUtils {
 	 */
 	public static class UnmodifiableIterable<T> implements Iterable<T> {
 
+		private static final Class<?> ARRAYS_LIST = Arrays.asList().getClass();
+
 		private final Iterable<T> iterable;
 
 		/**
@@ -145,12 +1096,44 @@ public class IterableUtils {
 		}
 
 		public Iterator<T> iterator() {
+			if (isIndexed(iterable)) {
+				return new UnmodifiableIterator<T>((List<T>) iterable);
+			}
 			return new UnmodifiableIterator<T>(iterable.iterator());
 		}
+
+		/**
+		 * @return true if the iterable is a list known to be iterated by index
+		 *         with the same result as by its iterator
+		 */
+		private static boolean isIndexed(final Iterable<?> iterable) {
+			final Class<?> type = iterable.getClass();
+			return (type == ArrayList.class) || (type == ARRAYS_LIST)
+					|| (type == Chunk.class);
+		}
+
+		/**
+		 * @see java.lang.Iterable#forEach(java.util.function.Consumer)
+		 */
+		@Override
+		public void forEach(final Consumer<? super T> action) {
+			iterable.forEach(action);
+		}
+
+		/**
+		 * @see java.lang.Iterable#spliterator()
+		 */
+		@Override
+		public Spliterator<T> spliterator() {
+			return iterable.spliterator();
+		}
 	}
 
 	/**
-	 * This iterator disallows removing of elements of this iterator.
+	 * This iterator disallows removing of elements of this iterator.<br>
+	 * Created for a known random access list, the iterator reads the
+	 * elements by their index instead of delegating to an iterator of the
+	 * list, so it does not detect concurrent modifications of the list.
 	 * 
 	 * @author Thomas Herzog
 	 * @date Feb 13, 2014
@@ -159,6 +1142,8 @@ public class IterableUtils {
 	public static class UnmodifiableIterator<T> implements Iterator<T> {
 
 		private final Iterator<T> iterator;
+		private final List<T> list;
+		private int index;
 
 		/**
 		 * @param iterator
@@ -166,6 +1151,17 @@ public class IterableUtils {
 		public UnmodifiableIterator(final Iterator<T> iterator) {
 			super();
 			this.iterator = iterator;
+			this.list = null;
+		}
+
+		/**
+		 * @param list
+		 *            the random access list to be iterated by index
+		 */
+		private UnmodifiableIterator(final List<T> list) {
+			super();
+			this.iterator = null;
+			this.list = list;
 		}
 
 		/**
@@ -173,7 +1169,7 @@ public class IterableUtils {
 		 * @see java.util.Iterator#hasNext()
 		 */
 		public boolean hasNext() {
-			return iterator.hasNext();
+			return (list != null) ? index < list.size() : iterator.hasNext();
 		}
 
 		/**
@@ -181,7 +1177,31 @@ public class IterableUtils {
 		 * @see java.util.Iterator#next()
 		 */
 		public T next() {
-			return iterator.next();
+			if (list == null) {
+				return iterator.next();
+			}
+			if (index >= list.size()) {
+				throw new NoSuchElementException();
+			}
+			return list.get(index++);
+		}
+
+		/**
+		 * @see java.util.Iterator#forEachRemaining(java.util.function.Consumer)
+		 */
+		@Override
+		public void forEachRemaining(final Consumer<? super T> action) {
+			if (list == null) {
+				iterator.forEachRemaining(action);
+				return;
+			}
+			if (action == null) {
+				throw new NullPointerException();
+			}
+			final int size = list.size();
+			while (index < size) {
+				action.accept(list.get(index++));
+			}
 		}
 
 		/**
@@ -0,0 +1,132 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.iterable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * This task collects the elements of a {@link Spliterator} in parallel. The
+ * spliterator is split until a chunk is smaller than the leaf size, each leaf
+ * collects its elements into its own list or hash set.<br>
+ * Leaf lists are kept in the task tree and concatenated in encounter order
+ * afterwards. Leaf hash sets are merged pairwise while the task tree
+ * completes, so the merging runs in parallel as well.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <T>
+ */
+final class ParallelCollectTask<T> extends RecursiveAction implements
+		Consumer<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Spliterator<T> spliterator;
+	private final long leafSize;
+	private final boolean hashed;
+
+	private ParallelCollectTask<T> left;
+	private ParallelCollectTask<T> right;
+	private Collection<T> result;
+
+	/**
+	 * @param spliterator
+	 *            the elements to be collected
+	 * @param leafSize
+	 *            the size below which a chunk is collected sequentially
+	 * @param hashed
+	 *            true if the elements are collected into hash sets, false if
+	 *            they are collected into lists in encounter order
+	 */
+	ParallelCollectTask(final Spliterator<T> spliterator, final long leafSize,
+			final boolean hashed) {
+		super();
+		this.spliterator = spliterator;
+		this.leafSize = leafSize;
+		this.hashed = hashed;
+	}
+
+	@Override
+	protected void compute() {
+		final long estimate = spliterator.estimateSize();
+		final Spliterator<T> prefix = (estimate > leafSize) ? spliterator
+				.trySplit() : null;
+		if (prefix != null) {
+			left = new ParallelCollectTask<T>(prefix, leafSize, hashed);
+			right = new ParallelCollectTask<T>(spliterator, leafSize, hashed);
+			invokeAll(left, right);
+			if (hashed) {
+				result = merge(left.result, right.result);
+				left = null;
+				right = null;
+			}
+		} else {
+			final int capacity = (int) Math.min(estimate, Integer.MAX_VALUE);
+			result = (hashed) ? new HashSet<T>(
+					IterableUtils.hashCapacity(capacity)) : new ArrayList<T>(
+					capacity);
+			spliterator.forEachRemaining(this);
+		}
+	}
+
+	/**
+	 * Adds the element to the leaf result.
+	 */
+	public void accept(final T element) {
+		result.add(element);
+	}
+
+	/**
+	 * @return the number of elements of this completed task tree
+	 */
+	int size() {
+		return (result != null) ? result.size()
+				: ((left != null) ? left.size() + right.size() : 0);
+	}
+
+	/**
+	 * Adds the elements of this completed list task tree in encounter order
+	 * to the target list.
+	 * 
+	 * @param target
+	 *            the list receiving the elements
+	 */
+	void collect(final List<T> target) {
+		if (result != null) {
+			target.addAll(result);
+		} else if (left != null) {
+			left.collect(target);
+			right.collect(target);
+		}
+	}
+
+	/**
+	 * @return the merged set of this completed hash set task tree
+	 */
+	@SuppressWarnings("unchecked")
+	Set<T> getSet() {
+		return (Set<T>) result;
+	}
+
+	/**
+	 * Adds the smaller set to the larger one, so that fewer elements have to
+	 * be rehashed.
+	 */
+	private static <T> Collection<T> merge(final Collection<T> first,
+			final Collection<T> second) {
+		if (first.size() >= second.size()) {
+			first.addAll(second);
+			return first;
+		}
+		second.addAll(first);
+		return second;
+	}
+}
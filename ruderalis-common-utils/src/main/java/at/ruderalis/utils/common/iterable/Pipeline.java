@@ -0,0 +1,454 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.iterable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * This class provides a lazy pipeline of operations over an {@link Iterable}.
+ * No operation is executed until the pipeline is iterated, then all stages
+ * are evaluated element by element within a single pass over the source, so
+ * no intermediate collection is created.<br>
+ * Apart from {@link #distinct()}, which has to remember the seen elements,
+ * the stages allocate nothing per element beyond what the given functions
+ * allocate.<br>
+ * A pipeline is immutable, each operation returns a new pipeline and the
+ * pipeline can be iterated multiple times, as long as its source can. Like
+ * the {@link IterableUtils.UnmodifiableIterator} the iterators of a pipeline
+ * disallow removing of elements.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <T>
+ *            the type of the elements of this pipeline
+ */
+public final class Pipeline<T> implements Iterable<T> {
+
+	private final Iterable<T> iterable;
+
+	/**
+	 * @param iterable
+	 *            the iterable providing the iterators of this pipeline
+	 */
+	private Pipeline(final Iterable<T> iterable) {
+		super();
+		this.iterable = iterable;
+	}
+
+	/**
+	 * Creates a pipeline over the given source. A null source is treated as
+	 * an empty source.
+	 * 
+	 * @param source
+	 *            the source of the pipeline
+	 * @return the pipeline providing the elements of the source
+	 */
+	public static <T> Pipeline<T> of(final Iterable<T> source) {
+		if (source instanceof Pipeline) {
+			return (Pipeline<T>) source;
+		}
+		if (source == null) {
+			return new Pipeline<T>(Collections.<T> emptyList());
+		}
+		// the stages wrap the source iterator, the root pipeline must too, an
+		// already unmodifiable source is used as it is
+		return new Pipeline<T>(IterableUtils.unmodifiableIterable(source));
+	}
+
+	public Iterator<T> iterator() {
+		return iterable.iterator();
+	}
+
+	/**
+	 * @param predicate
+	 *            the predicate the elements have to match
+	 * @return the pipeline providing only the matching elements
+	 */
+	public Pipeline<T> filter(final Predicate<? super T> predicate) {
+		requireNonNull(predicate, "Predicate");
+		return new Pipeline<T>(new Iterable<T>() {
+			public Iterator<T> iterator() {
+				return new FilterIterator<T>(iterable.iterator(), predicate);
+			}
+		});
+	}
+
+	/**
+	 * @param mapper
+	 *            the function transforming each element
+	 * @return the pipeline providing the transformed elements
+	 */
+	public <R> Pipeline<R> map(final Function<? super T, ? extends R> mapper) {
+		requireNonNull(mapper, "Mapper");
+		return new Pipeline<R>(new Iterable<R>() {
+			public Iterator<R> iterator() {
+				return new MapIterator<T, R>(iterable.iterator(), mapper);
+			}
+		});
+	}
+
+	/**
+	 * @param mapper
+	 *            the function returning the elements replacing each element,
+	 *            a returned null is treated as no elements
+	 * @return the pipeline providing the concatenated returned elements
+	 */
+	public <R> Pipeline<R> flatMap(
+			final Function<? super T, ? extends Iterable<? extends R>> mapper) {
+		requireNonNull(mapper, "Mapper");
+		return new Pipeline<R>(new Iterable<R>() {
+			public Iterator<R> iterator() {
+				return new FlatMapIterator<T, R>(iterable.iterator(), mapper);
+			}
+		});
+	}
+
+	/**
+	 * @param maxSize
+	 *            the maximum number of elements
+	 * @return the pipeline providing at most the first maxSize elements
+	 * @throws IllegalArgumentException
+	 *             if the maximum size is negative
+	 */
+	public Pipeline<T> limit(final long maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException(
+					"Maximum size must not be negative");
+		}
+		return new Pipeline<T>(new Iterable<T>() {
+			public Iterator<T> iterator() {
+				return new LimitIterator<T>(iterable.iterator(), maxSize);
+			}
+		});
+	}
+
+	/**
+	 * @param count
+	 *            the number of elements to be skipped
+	 * @return the pipeline providing all but the first count elements
+	 * @throws IllegalArgumentException
+	 *             if the count is negative
+	 */
+	public Pipeline<T> skip(final long count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("Count must not be negative");
+		}
+		return new Pipeline<T>(new Iterable<T>() {
+			public Iterator<T> iterator() {
+				return new SkipIterator<T>(iterable.iterator(), count);
+			}
+		});
+	}
+
+	/**
+	 * The elements are compared by {@link Object#equals(Object)}, the first
+	 * occurrence is kept.
+	 * 
+	 * @return the pipeline providing each element only once
+	 */
+	public Pipeline<T> distinct() {
+		return new Pipeline<T>(new Iterable<T>() {
+			public Iterator<T> iterator() {
+				return new DistinctIterator<T>(iterable.iterator());
+			}
+		});
+	}
+
+	/**
+	 * @param predicate
+	 *            the predicate the elements have to match
+	 * @return the pipeline providing the elements up to, but excluding, the
+	 *         first element not matching the predicate
+	 */
+	public Pipeline<T> takeWhile(final Predicate<? super T> predicate) {
+		requireNonNull(predicate, "Predicate");
+		return new Pipeline<T>(new Iterable<T>() {
+			public Iterator<T> iterator() {
+				return new TakeWhileIterator<T>(iterable.iterator(), predicate);
+			}
+		});
+	}
+
+	/**
+	 * Iterates the pipeline once and collects the elements.
+	 * 
+	 * @return the array list containing all elements of this pipeline
+	 */
+	public List<T> toList() {
+		return (List<T>) collect(new ArrayList<T>());
+	}
+
+	/**
+	 * Iterates the pipeline once and collects the distinct elements.
+	 * 
+	 * @return the hash set containing all elements of this pipeline
+	 */
+	public Set<T> toSet() {
+		return (Set<T>) collect(new HashSet<T>());
+	}
+
+	private Collection<T> collect(final Collection<T> collection) {
+		final Iterator<T> it = iterable.iterator();
+		while (it.hasNext()) {
+			collection.add(it.next());
+		}
+		return collection;
+	}
+
+	private static void requireNonNull(final Object value, final String name) {
+		if (value == null) {
+			throw new IllegalArgumentException(name + " must not be null");
+		}
+	}
+
+	/**
+	 * Base class of all stage iterators, which disallows removing of
+	 * elements.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 * @param <T>
+	 */
+	private abstract static class StageIterator<T> implements Iterator<T> {
+
+		/**
+		 * @see java.util.Iterator#remove()
+		 * @throws UnsupportedOperationException
+		 *             if someone tries to remove elements of this
+		 *             {@link Iterator}
+		 */
+		public final void remove() {
+			throw new UnsupportedOperationException(
+					"Pipeline iterator disallowes removing of elements");
+		}
+	}
+
+	/**
+	 * Base class of all stages, which have to look ahead to know whether a
+	 * next element exists.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 * @param <T>
+	 */
+	private abstract static class LookaheadIterator<T> extends
+			StageIterator<T> {
+
+		private T next;
+		private boolean ready;
+		private boolean done;
+
+		/**
+		 * Computes the next element and hands it over by
+		 * {@link #found(Object)}.
+		 * 
+		 * @return true if a next element was found, false if this stage is
+		 *         exhausted
+		 */
+		protected abstract boolean advance();
+
+		protected final boolean found(final T element) {
+			next = element;
+			return true;
+		}
+
+		public final boolean hasNext() {
+			if ((!ready) && (!done)) {
+				ready = advance();
+				done = !ready;
+			}
+			return ready;
+		}
+
+		public final T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			final T element = next;
+			next = null;
+			ready = false;
+			return element;
+		}
+	}
+
+	private static final class FilterIterator<T> extends LookaheadIterator<T> {
+
+		private final Iterator<T> source;
+		private final Predicate<? super T> predicate;
+
+		private FilterIterator(final Iterator<T> source,
+				final Predicate<? super T> predicate) {
+			super();
+			this.source = source;
+			this.predicate = predicate;
+		}
+
+		@Override
+		protected boolean advance() {
+			while (source.hasNext()) {
+				final T element = source.next();
+				if (predicate.test(element)) {
+					return found(element);
+				}
+			}
+			return false;
+		}
+	}
+
+	private static final class MapIterator<T, R> extends StageIterator<R> {
+
+		private final Iterator<T> source;
+		private final Function<? super T, ? extends R> mapper;
+
+		private MapIterator(final Iterator<T> source,
+				final Function<? super T, ? extends R> mapper) {
+			super();
+			this.source = source;
+			this.mapper = mapper;
+		}
+
+		public boolean hasNext() {
+			return source.hasNext();
+		}
+
+		public R next() {
+			return mapper.apply(source.next());
+		}
+	}
+
+	private static final class FlatMapIterator<T, R> extends
+			LookaheadIterator<R> {
+
+		private final Iterator<T> source;
+		private final Function<? super T, ? extends Iterable<? extends R>> mapper;
+		private Iterator<? extends R> current;
+
+		private FlatMapIterator(final Iterator<T> source,
+				final Function<? super T, ? extends Iterable<? extends R>> mapper) {
+			super();
+			this.source = source;
+			this.mapper = mapper;
+		}
+
+		@Override
+		protected boolean advance() {
+			while ((current == null) || (!current.hasNext())) {
+				if (!source.hasNext()) {
+					current = null;
+					return false;
+				}
+				final Iterable<? extends R> elements = mapper.apply(source
+						.next());
+				current = (elements != null) ? elements.iterator() : null;
+			}
+			return found(current.next());
+		}
+	}
+
+	private static final class LimitIterator<T> extends StageIterator<T> {
+
+		private final Iterator<T> source;
+		private long remaining;
+
+		private LimitIterator(final Iterator<T> source, final long maxSize) {
+			super();
+			this.source = source;
+			this.remaining = maxSize;
+		}
+
+		public boolean hasNext() {
+			return (remaining > 0) && (source.hasNext());
+		}
+
+		public T next() {
+			if (remaining <= 0) {
+				throw new NoSuchElementException();
+			}
+			remaining--;
+			return source.next();
+		}
+	}
+
+	private static final class SkipIterator<T> extends StageIterator<T> {
+
+		private final Iterator<T> source;
+		private long remaining;
+
+		private SkipIterator(final Iterator<T> source, final long count) {
+			super();
+			this.source = source;
+			this.remaining = count;
+		}
+
+		public boolean hasNext() {
+			while ((remaining > 0) && (source.hasNext())) {
+				source.next();
+				remaining--;
+			}
+			return source.hasNext();
+		}
+
+		public T next() {
+			hasNext();
+			return source.next();
+		}
+	}
+
+	private static final class DistinctIterator<T> extends
+			LookaheadIterator<T> {
+
+		private final Iterator<T> source;
+		private final Set<T> seen = new HashSet<T>();
+
+		private DistinctIterator(final Iterator<T> source) {
+			super();
+			this.source = source;
+		}
+
+		@Override
+		protected boolean advance() {
+			while (source.hasNext()) {
+				final T element = source.next();
+				if (seen.add(element)) {
+					return found(element);
+				}
+			}
+			return false;
+		}
+	}
+
+	private static final class TakeWhileIterator<T> extends
+			LookaheadIterator<T> {
+
+		private final Iterator<T> source;
+		private final Predicate<? super T> predicate;
+
+		private TakeWhileIterator(final Iterator<T> source,
+				final Predicate<? super T> predicate) {
+			super();
+			this.source = source;
+			this.predicate = predicate;
+		}
+
+		@Override
+		protected boolean advance() {
+			if (source.hasNext()) {
+				final T element = source.next();
+				if (predicate.test(element)) {
+					return found(element);
+				}
+			}
+			return false;
+		}
+	}
+}
@@ -0,0 +1,55 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.iterable;
+
+import java.util.concurrent.Executor;
+
+/**
+ * This {@link Iterable} implementation returns a {@link PrefetchIterator} over
+ * the iterator of the wrapped iterable. Each iterator starts its own producer,
+ * so an iterator which is not consumed up to its end has to be closed.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <T>
+ *            the type of the elements
+ * @see PrefetchIterator
+ */
+public final class PrefetchIterable<T> implements Iterable<T> {
+
+	private final Iterable<T> iterable;
+	private final int bufferSize;
+	private final Executor executor;
+
+	/**
+	 * @param iterable
+	 *            the iterable to read ahead
+	 * @param bufferSize
+	 *            the maximum number of buffered elements per iterator
+	 * @param executor
+	 *            the executor to run the producers on, null for virtual or
+	 *            daemon threads
+	 * @throws IllegalArgumentException
+	 *             if the iterable is null or the buffer size is not positive
+	 */
+	public PrefetchIterable(final Iterable<T> iterable, final int bufferSize,
+			final Executor executor) {
+		super();
+		if (iterable == null) {
+			throw new IllegalArgumentException("Iterable must not be null");
+		}
+		if (bufferSize <= 0) {
+			throw new IllegalArgumentException(
+					"Buffer size must be greater than zero");
+		}
+		this.iterable = iterable;
+		this.bufferSize = bufferSize;
+		this.executor = executor;
+	}
+
+	public PrefetchIterator<T> iterator() {
+		return new PrefetchIterator<T>(iterable.iterator(), bufferSize,
+				executor);
+	}
+}
@@ -0,0 +1,336 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.iterable;
+
+import java.io.Closeable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This iterator reads ahead the elements of a source iterator on another
+ * thread into a bounded buffer, so that a slow source produces its next
+ * elements while the consumer processes the previous ones.<br>
+ * The producer blocks while the buffer is full, so at most the buffer size of
+ * elements is held in memory. Exceptions of the source are rethrown to the
+ * consumer by {@link #hasNext()} or {@link #next()}, once all elements
+ * produced before have been consumed.<br>
+ * The producer runs on the given executor, or if none is given on a virtual
+ * thread if the runtime provides them, otherwise on a daemon thread. An
+ * iterator which is not consumed up to its end has to be closed, which
+ * interrupts the producer and releases the buffered elements.<br>
+ * The iterator disallows removing of elements and must only be consumed by a
+ * single thread.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <T>
+ *            the type of the elements
+ */
+public final class PrefetchIterator<T> implements Iterator<T>, Closeable {
+
+	/**
+	 * Marks the end of the source in the buffer.
+	 */
+	private static final Object END = new Object();
+
+	/**
+	 * Stands for a null element in the buffer.
+	 */
+	private static final Object NULL = new Object();
+
+	private static final MethodHandle START_VIRTUAL_THREAD = findStartVirtualThread();
+
+	private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+	/**
+	 * The interval in which a producer waiting on a full buffer checks whether
+	 * the iterator was closed.
+	 */
+	private static final long CLOSE_POLL_MILLIS = 100;
+
+	private final BlockingQueue<Object> buffer;
+	private final Object lock = new Object();
+	private volatile boolean closed;
+	private Thread producer;
+	private boolean finished;
+	private Object next;
+
+	/**
+	 * Creates the iterator and starts the producer.
+	 * 
+	 * @param source
+	 *            the iterator to read ahead
+	 * @param bufferSize
+	 *            the maximum number of buffered elements
+	 * @param executor
+	 *            the executor to run the producer on, null for a virtual or
+	 *            daemon thread
+	 * @throws IllegalArgumentException
+	 *             if the source is null or the buffer size is not positive
+	 */
+	public PrefetchIterator(final Iterator<T> source, final int bufferSize,
+			final Executor executor) {
+		super();
+		if (source == null) {
+			throw new IllegalArgumentException("Source must not be null");
+		}
+		if (bufferSize <= 0) {
+			throw new IllegalArgumentException(
+					"Buffer size must be greater than zero");
+		}
+		this.buffer = new ArrayBlockingQueue<Object>(bufferSize);
+		start(new Producer(source), executor);
+	}
+
+	public boolean hasNext() {
+		if (closed) {
+			return false;
+		}
+		if (next == null) {
+			try {
+				next = buffer.take();
+			} catch (final InterruptedException e) {
+				throw interrupted(e);
+			}
+			if (closed) {
+				// woken up by a close of another thread
+				next = END;
+			}
+		}
+		if (next instanceof Failure) {
+			final Throwable cause = ((Failure) next).cause;
+			next = END;
+			close();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new UndeclaredThrowableException(cause);
+		}
+		return next != END;
+	}
+
+	/**
+	 * Waits at most the given time for the producer to provide the next
+	 * element, the end of the source or its exception.
+	 * 
+	 * @param timeoutNanos
+	 *            the maximum time to wait in nanoseconds
+	 * @return true if {@link #hasNext()} answers without waiting, false if
+	 *         the time has elapsed
+	 * @throws IllegalStateException
+	 *             if the thread has been interrupted while waiting
+	 */
+	boolean await(final long timeoutNanos) {
+		if ((closed) || (next != null)) {
+			return true;
+		}
+		try {
+			next = buffer.poll(timeoutNanos, TimeUnit.NANOSECONDS);
+		} catch (final InterruptedException e) {
+			throw interrupted(e);
+		}
+		if ((next != null) && (closed)) {
+			next = END;
+		}
+		return next != null;
+	}
+
+	@SuppressWarnings("unchecked")
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		final Object element = next;
+		next = null;
+		return (element != NULL) ? (T) element : null;
+	}
+
+	/**
+	 * @see java.util.Iterator#remove()
+	 * @throws UnsupportedOperationException
+	 *             if someone tries to remove elements of this
+	 *             {@link Iterator}
+	 */
+	public void remove() {
+		throw new UnsupportedOperationException(
+				"Prefetch iterator disallowes removing of elements");
+	}
+
+	/**
+	 * Stops the producer and releases the buffered elements. Afterwards this
+	 * iterator has no further elements. May be called by another thread than
+	 * the consumer, which is woken up if it waits for the next element.
+	 */
+	public void close() {
+		synchronized (lock) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			if ((producer != null) && (!finished)) {
+				producer.interrupt();
+			}
+		}
+		// a producer within offer may still add an element after the clear
+		do {
+			buffer.clear();
+		} while (!buffer.offer(END));
+	}
+
+	/**
+	 * Closes this iterator and restores the interrupt of the consumer.
+	 * 
+	 * @return the exception to be thrown to the consumer
+	 */
+	private IllegalStateException interrupted(final InterruptedException e) {
+		close();
+		Thread.currentThread().interrupt();
+		return new IllegalStateException(
+				"Interrupted while waiting for the next element", e);
+	}
+
+	/**
+	 * @return true if this iterator has been closed
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	private void start(final Runnable task, final Executor executor) {
+		if (executor != null) {
+			executor.execute(task);
+			return;
+		}
+		if (START_VIRTUAL_THREAD != null) {
+			try {
+				final Thread thread = (Thread) START_VIRTUAL_THREAD
+						.invokeExact(task);
+				if (thread != null) {
+					return;
+				}
+			} catch (final Throwable e) {
+				// fall through to a platform thread
+			}
+		}
+		final Thread thread = new Thread(task, "prefetch-"
+				+ THREAD_COUNT.incrementAndGet());
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Looks up Thread.startVirtualThread(Runnable), which is only provided by
+	 * runtimes with virtual threads.
+	 */
+	private static MethodHandle findStartVirtualThread() {
+		try {
+			return MethodHandles.publicLookup().findStatic(Thread.class,
+					"startVirtualThread",
+					MethodType.methodType(Thread.class, Runnable.class));
+		} catch (final NoSuchMethodException | IllegalAccessException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Reads the source into the buffer until the source is exhausted, fails,
+	 * or the iterator is closed.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private final class Producer implements Runnable {
+
+		private final Iterator<T> source;
+
+		/**
+		 * @param source
+		 */
+		private Producer(final Iterator<T> source) {
+			super();
+			this.source = source;
+		}
+
+		public void run() {
+			synchronized (lock) {
+				if (closed) {
+					return;
+				}
+				producer = Thread.currentThread();
+			}
+			try {
+				boolean open = true;
+				while ((open) && (source.hasNext())) {
+					final T element = source.next();
+					open = enqueue((element != null) ? element : NULL);
+				}
+				if (open) {
+					enqueue(END);
+				}
+			} catch (final InterruptedException e) {
+				// closed by the consumer
+			} catch (final Throwable e) {
+				try {
+					enqueue(new Failure(e));
+				} catch (final InterruptedException e1) {
+					// closed by the consumer
+				}
+			} finally {
+				synchronized (lock) {
+					finished = true;
+					producer = null;
+				}
+				// a pooled thread must not keep the interrupt of a close
+				Thread.interrupted();
+			}
+		}
+	}
+
+	/**
+	 * Waits until the buffer accepts the element. The wait is bounded, so a
+	 * source swallowing the interrupt of a close does not block the producer
+	 * forever.
+	 * 
+	 * @return false if the iterator was closed
+	 */
+	private boolean enqueue(final Object element) throws InterruptedException {
+		while (!closed) {
+			if (buffer.offer(element, CLOSE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Carries an exception of the source to the consumer.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class Failure {
+
+		private final Throwable cause;
+
+		/**
+		 * @param cause
+		 */
+		private Failure(final Throwable cause) {
+			super();
+			this.cause = cause;
+		}
+	}
+}
@@ -0,0 +1,111 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.iterable;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This iterator returns the elements in ascending order, sorting them
+ * incrementally. The elements are arranged as a binary heap in O(n) when the
+ * iterator is created, and each call of {@link #next()} removes the smallest
+ * element in O(log n), so taking the first k elements costs O(n + k log n)
+ * instead of sorting all of them.<br>
+ * Equal elements are returned in encounter order and none of them is dropped.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <T>
+ */
+final class SortedIterator<T> implements Iterator<T> {
+
+	private final Comparator<? super T> comparator;
+	private final Object[] elements;
+
+	/**
+	 * The heap of the indices of the remaining elements, the index decides
+	 * between equal elements.
+	 */
+	private final int[] heap;
+	private int size;
+
+	/**
+	 * @param elements
+	 *            the elements in encounter order, which are owned by this
+	 *            iterator
+	 * @param comparator
+	 *            the ordering of the elements
+	 */
+	SortedIterator(final Object[] elements,
+			final Comparator<? super T> comparator) {
+		super();
+		this.comparator = comparator;
+		this.elements = elements;
+		this.size = elements.length;
+		this.heap = new int[size];
+		for (int i = 0; i < size; i++) {
+			heap[i] = i;
+		}
+		for (int i = (size >>> 1) - 1; i >= 0; i--) {
+			siftDown(i);
+		}
+	}
+
+	public boolean hasNext() {
+		return size > 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	public T next() {
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		final int idx = heap[0];
+		final T element = (T) elements[idx];
+		// release the element, the iterator must not keep it reachable
+		elements[idx] = null;
+		heap[0] = heap[--size];
+		siftDown(0);
+		return element;
+	}
+
+	/**
+	 * @see java.util.Iterator#remove()
+	 * @throws UnsupportedOperationException
+	 *             if someone tries to remove elements of this
+	 *             {@link Iterator}
+	 */
+	public void remove() {
+		throw new UnsupportedOperationException(
+				"Sorted iterator disallowes removing of elements");
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean less(final int first, final int second) {
+		final int result = comparator.compare((T) elements[first],
+				(T) elements[second]);
+		return (result != 0) ? result < 0 : first < second;
+	}
+
+	private void siftDown(final int index) {
+		final int top = heap[index];
+		int parent = index;
+		while (true) {
+			final int left = (parent << 1) + 1;
+			if (left >= size) {
+				break;
+			}
+			final int right = left + 1;
+			final int smaller = ((right < size) && (less(heap[right],
+					heap[left]))) ? right : left;
+			if (!less(heap[smaller], top)) {
+				break;
+			}
+			heap[parent] = heap[smaller];
+			parent = smaller;
+		}
+		heap[parent] = top;
+	}
+}
@@ -0,0 +1,761 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.persistent;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * This class is an immutable map, whose modified copies share the most of
+ * their structure with the original map. The entries are held in a hash array
+ * mapped trie, each node consumes 5 bits of the hash and holds its entries
+ * and child nodes in an array compacted by a bitmap. Keys with equal hashes
+ * are held in a collision node. Looking up, adding and removing a key touch
+ * one path of the trie, so they take O(log32 n).<br>
+ * The mutators of {@link Map} throw an {@link UnsupportedOperationException},
+ * a modified copy is returned by {@link #plus(Object, Object)} and
+ * {@link #minus(Object)}. Many entries are added efficiently with a
+ * {@link Builder}, which modifies the nodes it has created in place.<br>
+ * Null keys and values are allowed.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <K>
+ *            the type of the keys
+ * @param <V>
+ *            the type of the values
+ */
+public final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+
+	private static final int BITS = 5;
+	private static final int MASK = (1 << BITS) - 1;
+
+	/**
+	 * Stands for the null key in the trie, where a null key marks a child
+	 * node.
+	 */
+	private static final Object NULL_KEY = new Object();
+
+	private static final Object NOT_FOUND = new Object();
+
+	private static final PersistentHashMap<Object, Object> EMPTY = new PersistentHashMap<Object, Object>(
+			0, null);
+
+	private final int size;
+	private final Node root;
+	private Set<Map.Entry<K, V>> entrySet;
+
+	/**
+	 * @param size
+	 * @param root
+	 */
+	private PersistentHashMap(final int size, final Node root) {
+		super();
+		this.size = size;
+		this.root = root;
+	}
+
+	/**
+	 * @return the empty map
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K, V> PersistentHashMap<K, V> empty() {
+		return (PersistentHashMap<K, V>) EMPTY;
+	}
+
+	/**
+	 * @param map
+	 *            the entries of the map, null is treated as empty
+	 * @return the map holding the entries, the same instance if the map is a
+	 *         persistent hash map
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K, V> PersistentHashMap<K, V> copyOf(
+			final Map<? extends K, ? extends V> map) {
+		if (map instanceof PersistentHashMap) {
+			return (PersistentHashMap<K, V>) map;
+		}
+		return PersistentHashMap.<K, V> builder().putAll(map).build();
+	}
+
+	/**
+	 * @return a builder starting with an empty map
+	 */
+	public static <K, V> Builder<K, V> builder() {
+		return new Builder<K, V>(PersistentHashMap.<K, V> empty());
+	}
+
+	/**
+	 * @return a builder starting with the entries of this map, which leaves
+	 *         this map unchanged
+	 */
+	public Builder<K, V> toBuilder() {
+		return new Builder<K, V>(this);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(final Object key) {
+		return find(root, key) != NOT_FOUND;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(final Object key) {
+		final Object value = find(root, key);
+		return (value != NOT_FOUND) ? (V) value : null;
+	}
+
+	/**
+	 * @param key
+	 *            the key to be added or replaced
+	 * @param value
+	 *            the value of the key
+	 * @return the copy of this map with the key mapped to the value, this map
+	 *         if the key is already mapped to the same value
+	 */
+	public PersistentHashMap<K, V> plus(final K key, final V value) {
+		final Object maskedKey = mask(key);
+		final Node base = (root != null) ? root : BitmapNode.EMPTY;
+		final Change change = new Change();
+		final Node newRoot = base.assoc(null, 0, hash(maskedKey), maskedKey,
+				value, change);
+		if (newRoot == root) {
+			return this;
+		}
+		return new PersistentHashMap<K, V>((change.sizeChanged) ? size + 1
+				: size, newRoot);
+	}
+
+	/**
+	 * @param key
+	 *            the key to be removed
+	 * @return the copy of this map without the key, this map if it does not
+	 *         contain the key
+	 */
+	public PersistentHashMap<K, V> minus(final Object key) {
+		if (root == null) {
+			return this;
+		}
+		final Object maskedKey = mask(key);
+		final Change change = new Change();
+		final Node newRoot = root.without(null, 0, hash(maskedKey), maskedKey,
+				change);
+		if (!change.sizeChanged) {
+			return this;
+		}
+		return (size == 1) ? PersistentHashMap.<K, V> empty()
+				: new PersistentHashMap<K, V>(size - 1, newRoot);
+	}
+
+	@Override
+	public Set<Map.Entry<K, V>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new AbstractSet<Map.Entry<K, V>>() {
+
+				@Override
+				public Iterator<Map.Entry<K, V>> iterator() {
+					return new NodeIterator<Map.Entry<K, V>>(root) {
+
+						@Override
+						@SuppressWarnings("unchecked")
+						Map.Entry<K, V> element(final Object key,
+								final Object value) {
+							return new SimpleImmutableEntry<K, V>(
+									(K) unmask(key), (V) value);
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+
+				@Override
+				public boolean contains(final Object o) {
+					if (!(o instanceof Map.Entry)) {
+						return false;
+					}
+					final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+					final Object value = find(root, entry.getKey());
+					return (value != NOT_FOUND)
+							&& ((value == null) ? entry.getValue() == null
+									: value.equals(entry.getValue()));
+				}
+			};
+		}
+		return entrySet;
+	}
+
+	/**
+	 * @return an iterator over the keys of the given trie
+	 */
+	static <K> Iterator<K> keyIterator(final PersistentHashMap<K, ?> map) {
+		return new NodeIterator<K>(map.root) {
+
+			@Override
+			@SuppressWarnings("unchecked")
+			K element(final Object key, final Object value) {
+				return (K) unmask(key);
+			}
+		};
+	}
+
+	private static Object find(final Node root, final Object key) {
+		if (root == null) {
+			return NOT_FOUND;
+		}
+		final Object maskedKey = mask(key);
+		return root.find(0, hash(maskedKey), maskedKey);
+	}
+
+	private static Object mask(final Object key) {
+		return (key != null) ? key : NULL_KEY;
+	}
+
+	private static Object unmask(final Object key) {
+		return (key != NULL_KEY) ? key : null;
+	}
+
+	/**
+	 * Spreads the higher bits of the hash code, because the trie is indexed
+	 * by the lower bits first.
+	 */
+	private static int hash(final Object maskedKey) {
+		final int h = maskedKey.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Records whether an operation added or removed a key.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class Change {
+
+		private boolean sizeChanged;
+	}
+
+	/**
+	 * A node of the trie. The array holds pairs of a key and a value, a null
+	 * key marks a child node in place of the value.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private abstract static class Node {
+
+		/**
+		 * The builder, which is allowed to modify this node in place.
+		 */
+		final Object edit;
+		Object[] array;
+
+		/**
+		 * @param edit
+		 * @param array
+		 */
+		Node(final Object edit, final Object[] array) {
+			super();
+			this.edit = edit;
+			this.array = array;
+		}
+
+		boolean isEditable(final Object edit) {
+			return (edit != null) && (this.edit == edit);
+		}
+
+		abstract Object find(int shift, int hash, Object key);
+
+		abstract Node assoc(Object edit, int shift, int hash, Object key,
+				Object value, Change change);
+
+		/**
+		 * @return the node without the key, null if the node became empty
+		 */
+		abstract Node without(Object edit, int shift, int hash, Object key,
+				Change change);
+	}
+
+	/**
+	 * A node holding the entries and child nodes of the hash fragments set in
+	 * its bitmap, ordered by their fragment.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class BitmapNode extends Node {
+
+		private static final BitmapNode EMPTY = new BitmapNode(null, 0,
+				new Object[0]);
+
+		private int bitmap;
+
+		/**
+		 * @param edit
+		 * @param bitmap
+		 * @param array
+		 */
+		private BitmapNode(final Object edit, final int bitmap,
+				final Object[] array) {
+			super(edit, array);
+			this.bitmap = bitmap;
+		}
+
+		private static int bit(final int hash, final int shift) {
+			return 1 << ((hash >>> shift) & MASK);
+		}
+
+		private int index(final int bit) {
+			return Integer.bitCount(bitmap & (bit - 1));
+		}
+
+		@Override
+		Object find(final int shift, final int hash, final Object key) {
+			final int bit = bit(hash, shift);
+			if ((bitmap & bit) == 0) {
+				return NOT_FOUND;
+			}
+			final int idx = index(bit) << 1;
+			final Object current = array[idx];
+			if (current == null) {
+				return ((Node) array[idx + 1]).find(shift + BITS, hash, key);
+			}
+			return (key.equals(current)) ? array[idx + 1] : NOT_FOUND;
+		}
+
+		@Override
+		Node assoc(final Object edit, final int shift, final int hash,
+				final Object key, final Object value, final Change change) {
+			final int bit = bit(hash, shift);
+			final int idx = index(bit) << 1;
+			if ((bitmap & bit) == 0) {
+				final int count = Integer.bitCount(bitmap) << 1;
+				final Object[] newArray = new Object[count + 2];
+				System.arraycopy(array, 0, newArray, 0, idx);
+				newArray[idx] = key;
+				newArray[idx + 1] = value;
+				System.arraycopy(array, idx, newArray, idx + 2, count - idx);
+				change.sizeChanged = true;
+				if (isEditable(edit)) {
+					bitmap |= bit;
+					array = newArray;
+					return this;
+				}
+				return new BitmapNode(edit, bitmap | bit, newArray);
+			}
+			final Object current = array[idx];
+			final Object currentValue = array[idx + 1];
+			if (current == null) {
+				final Node child = ((Node) currentValue).assoc(edit, shift
+						+ BITS, hash, key, value, change);
+				return (child == currentValue) ? this : set(edit, idx + 1,
+						child);
+			}
+			if (key.equals(current)) {
+				return (value == currentValue) ? this : set(edit, idx + 1,
+						value);
+			}
+			change.sizeChanged = true;
+			final Node child = createNode(edit, shift + BITS, current,
+					currentValue, hash, key, value);
+			final BitmapNode result = (BitmapNode) set(edit, idx, null);
+			result.array[idx + 1] = child;
+			return result;
+		}
+
+		@Override
+		Node without(final Object edit, final int shift, final int hash,
+				final Object key, final Change change) {
+			final int bit = bit(hash, shift);
+			if ((bitmap & bit) == 0) {
+				return this;
+			}
+			final int idx = index(bit) << 1;
+			final Object current = array[idx];
+			if (current == null) {
+				final Node child = ((Node) array[idx + 1]).without(edit, shift
+						+ BITS, hash, key, change);
+				if (child == array[idx + 1]) {
+					return this;
+				}
+				if (child != null) {
+					return set(edit, idx + 1, child);
+				}
+			} else if (!key.equals(current)) {
+				return this;
+			} else {
+				change.sizeChanged = true;
+			}
+			if (bitmap == bit) {
+				return null;
+			}
+			final Object[] newArray = new Object[array.length - 2];
+			System.arraycopy(array, 0, newArray, 0, idx);
+			System.arraycopy(array, idx + 2, newArray, idx, newArray.length
+					- idx);
+			if (isEditable(edit)) {
+				bitmap ^= bit;
+				array = newArray;
+				return this;
+			}
+			return new BitmapNode(edit, bitmap ^ bit, newArray);
+		}
+
+		/**
+		 * @return this node if it is editable, otherwise a copy, with the
+		 *         array slot set to the value
+		 */
+		private Node set(final Object edit, final int idx, final Object value) {
+			final BitmapNode result = (isEditable(edit)) ? this
+					: new BitmapNode(edit, bitmap, array.clone());
+			result.array[idx] = value;
+			return result;
+		}
+
+		/**
+		 * Creates the node holding two keys, whose hashes are equal up to the
+		 * given shift.
+		 */
+		private static Node createNode(final Object edit, final int shift,
+				final Object key1, final Object value1, final int hash2,
+				final Object key2, final Object value2) {
+			final int hash1 = hash(key1);
+			if (hash1 == hash2) {
+				return new CollisionNode(edit, hash1, new Object[] { key1,
+						value1, key2, value2 });
+			}
+			final Change change = new Change();
+			return EMPTY.assoc(edit, shift, hash1, key1, value1, change)
+					.assoc(edit, shift, hash2, key2, value2, change);
+		}
+	}
+
+	/**
+	 * A node holding the entries of keys with the same hash.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class CollisionNode extends Node {
+
+		private final int hash;
+
+		/**
+		 * @param edit
+		 * @param hash
+		 * @param array
+		 */
+		private CollisionNode(final Object edit, final int hash,
+				final Object[] array) {
+			super(edit, array);
+			this.hash = hash;
+		}
+
+		private int indexOf(final Object key) {
+			for (int i = 0; i < array.length; i += 2) {
+				if (key.equals(array[i])) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		Object find(final int shift, final int hash, final Object key) {
+			if (hash != this.hash) {
+				return NOT_FOUND;
+			}
+			final int idx = indexOf(key);
+			return (idx >= 0) ? array[idx + 1] : NOT_FOUND;
+		}
+
+		@Override
+		Node assoc(final Object edit, final int shift, final int hash,
+				final Object key, final Object value, final Change change) {
+			if (hash != this.hash) {
+				// nest this node into a bitmap node and add the key there
+				return new BitmapNode(edit, BitmapNode.bit(this.hash, shift),
+						new Object[] { null, this }).assoc(edit, shift, hash,
+						key, value, change);
+			}
+			final int idx = indexOf(key);
+			if (idx >= 0) {
+				if (array[idx + 1] == value) {
+					return this;
+				}
+				final CollisionNode result = editable(edit);
+				result.array[idx + 1] = value;
+				return result;
+			}
+			final Object[] newArray = new Object[array.length + 2];
+			System.arraycopy(array, 0, newArray, 0, array.length);
+			newArray[array.length] = key;
+			newArray[array.length + 1] = value;
+			change.sizeChanged = true;
+			if (isEditable(edit)) {
+				array = newArray;
+				return this;
+			}
+			return new CollisionNode(edit, hash, newArray);
+		}
+
+		@Override
+		Node without(final Object edit, final int shift, final int hash,
+				final Object key, final Change change) {
+			final int idx = (hash == this.hash) ? indexOf(key) : -1;
+			if (idx < 0) {
+				return this;
+			}
+			change.sizeChanged = true;
+			if (array.length == 2) {
+				return null;
+			}
+			final Object[] newArray = new Object[array.length - 2];
+			System.arraycopy(array, 0, newArray, 0, idx);
+			System.arraycopy(array, idx + 2, newArray, idx, newArray.length
+					- idx);
+			if (isEditable(edit)) {
+				array = newArray;
+				return this;
+			}
+			return new CollisionNode(edit, hash, newArray);
+		}
+
+		private CollisionNode editable(final Object edit) {
+			return (isEditable(edit)) ? this : new CollisionNode(edit, hash,
+					array.clone());
+		}
+	}
+
+	/**
+	 * This iterator walks the trie depth first with an explicit stack of the
+	 * visited node arrays.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 * @param <E>
+	 */
+	private abstract static class NodeIterator<E> implements Iterator<E> {
+
+		/**
+		 * 32 bit hashes need at most 7 bitmap levels plus a collision node.
+		 */
+		private static final int MAX_DEPTH = 8;
+
+		private final Object[][] arrays = new Object[MAX_DEPTH][];
+		private final int[] indices = new int[MAX_DEPTH];
+		private int depth = -1;
+		private Object nextKey;
+		private Object nextValue;
+		private boolean hasNext;
+
+		/**
+		 * @param root
+		 *            the root of the trie, null if the trie is empty
+		 */
+		NodeIterator(final Node root) {
+			super();
+			if (root != null) {
+				depth = 0;
+				arrays[0] = root.array;
+				advance();
+			}
+		}
+
+		abstract E element(Object key, Object value);
+
+		public boolean hasNext() {
+			return hasNext;
+		}
+
+		public E next() {
+			if (!hasNext) {
+				throw new NoSuchElementException();
+			}
+			final E element = element(nextKey, nextValue);
+			advance();
+			return element;
+		}
+
+		/**
+		 * @see java.util.Iterator#remove()
+		 * @throws UnsupportedOperationException
+		 *             if someone tries to remove elements of this
+		 *             {@link Iterator}
+		 */
+		public void remove() {
+			throw new UnsupportedOperationException(
+					"Persistent map iterator disallowes removing of elements");
+		}
+
+		private void advance() {
+			while (depth >= 0) {
+				final Object[] array = arrays[depth];
+				final int idx = indices[depth];
+				if (idx >= array.length) {
+					arrays[depth] = null;
+					depth--;
+					continue;
+				}
+				indices[depth] = idx + 2;
+				if (array[idx] == null) {
+					depth++;
+					arrays[depth] = ((Node) array[idx + 1]).array;
+					indices[depth] = 0;
+					continue;
+				}
+				nextKey = array[idx];
+				nextValue = array[idx + 1];
+				hasNext = true;
+				return;
+			}
+			nextKey = null;
+			nextValue = null;
+			hasNext = false;
+		}
+	}
+
+	/**
+	 * This builder collects entries for a new map. It modifies the nodes it
+	 * has created in place instead of copying them, nodes shared with another
+	 * map are copied once before they are modified.<br>
+	 * A builder must not be used anymore after {@link #build()} and is not
+	 * thread safe.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 * @param <K>
+	 *            the type of the keys
+	 * @param <V>
+	 *            the type of the values
+	 */
+	public static final class Builder<K, V> {
+
+		private Object edit;
+		private int size;
+		private Node root;
+
+		/**
+		 * @param map
+		 *            the map to start with
+		 */
+		private Builder(final PersistentHashMap<K, V> map) {
+			super();
+			this.edit = new Object();
+			this.size = map.size;
+			this.root = map.root;
+		}
+
+		/**
+		 * @param key
+		 *            the key to be added or replaced
+		 * @param value
+		 *            the value of the key
+		 * @return this builder
+		 * @throws IllegalStateException
+		 *             if the map has already been built
+		 */
+		public Builder<K, V> put(final K key, final V value) {
+			ensureEditable();
+			final Object maskedKey = mask(key);
+			final Change change = new Change();
+			root = ((root != null) ? root : BitmapNode.EMPTY).assoc(edit, 0,
+					hash(maskedKey), maskedKey, value, change);
+			if (change.sizeChanged) {
+				size++;
+			}
+			return this;
+		}
+
+		/**
+		 * @param map
+		 *            the entries to be added or replaced, null is treated as
+		 *            empty
+		 * @return this builder
+		 * @throws IllegalStateException
+		 *             if the map has already been built
+		 */
+		public Builder<K, V> putAll(final Map<? extends K, ? extends V> map) {
+			ensureEditable();
+			if (map != null) {
+				for (final Map.Entry<? extends K, ? extends V> entry : map
+						.entrySet()) {
+					put(entry.getKey(), entry.getValue());
+				}
+			}
+			return this;
+		}
+
+		/**
+		 * @param key
+		 *            the key to be removed
+		 * @return this builder
+		 * @throws IllegalStateException
+		 *             if the map has already been built
+		 */
+		public Builder<K, V> remove(final Object key) {
+			ensureEditable();
+			if (root != null) {
+				final Object maskedKey = mask(key);
+				final Change change = new Change();
+				root = root.without(edit, 0, hash(maskedKey), maskedKey,
+						change);
+				if (change.sizeChanged) {
+					size--;
+				}
+			}
+			return this;
+		}
+
+		/**
+		 * @param key
+		 *            the key to be looked up
+		 * @return the value of the key, null if the key is not contained
+		 */
+		@SuppressWarnings("unchecked")
+		public V get(final Object key) {
+			final Object value = find(root, key);
+			return (value != NOT_FOUND) ? (V) value : null;
+		}
+
+		/**
+		 * @return the number of entries added so far
+		 */
+		public int size() {
+			return size;
+		}
+
+		/**
+		 * Builds the map. Afterwards this builder can not be used anymore.
+		 * 
+		 * @return the map holding the added entries
+		 * @throws IllegalStateException
+		 *             if the map has already been built
+		 */
+		public PersistentHashMap<K, V> build() {
+			ensureEditable();
+			edit = null;
+			return (size > 0) ? new PersistentHashMap<K, V>(size, root)
+					: PersistentHashMap.<K, V> empty();
+		}
+
+		private void ensureEditable() {
+			if (edit == null) {
+				throw new IllegalStateException(
+						"Builder has already been built");
+			}
+		}
+	}
+}
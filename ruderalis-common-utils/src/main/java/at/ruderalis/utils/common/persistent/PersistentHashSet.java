@@ -0,0 +1,202 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.persistent;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+
+/**
+ * This class is an immutable set, whose modified copies share the most of
+ * their structure with the original set. The elements are the keys of a
+ * {@link PersistentHashMap}, so adding and removing an element takes
+ * O(log32 n).<br>
+ * The mutators of {@link java.util.Set} throw an
+ * {@link UnsupportedOperationException}, a modified copy is returned by
+ * {@link #plus(Object)} and {@link #minus(Object)}. Many elements are added
+ * efficiently with a {@link Builder}.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <T>
+ *            the type of the elements
+ */
+public final class PersistentHashSet<T> extends AbstractSet<T> {
+
+	private static final PersistentHashSet<Object> EMPTY = new PersistentHashSet<Object>(
+			PersistentHashMap.<Object, Boolean> empty());
+
+	private final PersistentHashMap<T, Boolean> map;
+
+	/**
+	 * @param map
+	 */
+	private PersistentHashSet(final PersistentHashMap<T, Boolean> map) {
+		super();
+		this.map = map;
+	}
+
+	/**
+	 * @return the empty set
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> PersistentHashSet<T> empty() {
+		return (PersistentHashSet<T>) EMPTY;
+	}
+
+	/**
+	 * @param iterable
+	 *            the elements of the set, null is treated as empty
+	 * @return the set holding the elements, the same instance if the iterable
+	 *         is a persistent hash set
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> PersistentHashSet<T> copyOf(
+			final Iterable<? extends T> iterable) {
+		if (iterable instanceof PersistentHashSet) {
+			return (PersistentHashSet<T>) iterable;
+		}
+		return PersistentHashSet.<T> builder().addAll(iterable).build();
+	}
+
+	/**
+	 * @return a builder starting with an empty set
+	 */
+	public static <T> Builder<T> builder() {
+		return new Builder<T>(PersistentHashMap.<T, Boolean> empty());
+	}
+
+	/**
+	 * @return a builder starting with the elements of this set, which leaves
+	 *         this set unchanged
+	 */
+	public Builder<T> toBuilder() {
+		return new Builder<T>(map);
+	}
+
+	@Override
+	public int size() {
+		return map.size();
+	}
+
+	@Override
+	public boolean contains(final Object o) {
+		return map.containsKey(o);
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return PersistentHashMap.keyIterator(map);
+	}
+
+	/**
+	 * @param element
+	 *            the element to be added
+	 * @return the copy of this set with the element, this set if it already
+	 *         contains the element
+	 */
+	public PersistentHashSet<T> plus(final T element) {
+		final PersistentHashMap<T, Boolean> newMap = map.plus(element,
+				Boolean.TRUE);
+		return (newMap != map) ? new PersistentHashSet<T>(newMap) : this;
+	}
+
+	/**
+	 * @param element
+	 *            the element to be removed
+	 * @return the copy of this set without the element, this set if it does
+	 *         not contain the element
+	 */
+	public PersistentHashSet<T> minus(final Object element) {
+		final PersistentHashMap<T, Boolean> newMap = map.minus(element);
+		if (newMap == map) {
+			return this;
+		}
+		return (newMap.isEmpty()) ? PersistentHashSet.<T> empty()
+				: new PersistentHashSet<T>(newMap);
+	}
+
+	/**
+	 * This builder collects elements for a new set. A builder must not be used
+	 * anymore after {@link #build()} and is not thread safe.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 * @param <T>
+	 *            the type of the elements
+	 * @see PersistentHashMap.Builder
+	 */
+	public static final class Builder<T> {
+
+		private final PersistentHashMap.Builder<T, Boolean> builder;
+
+		/**
+		 * @param map
+		 *            the map of the set to start with
+		 */
+		private Builder(final PersistentHashMap<T, Boolean> map) {
+			super();
+			this.builder = map.toBuilder();
+		}
+
+		/**
+		 * @param element
+		 *            the element to be added
+		 * @return this builder
+		 * @throws IllegalStateException
+		 *             if the set has already been built
+		 */
+		public Builder<T> add(final T element) {
+			builder.put(element, Boolean.TRUE);
+			return this;
+		}
+
+		/**
+		 * @param iterable
+		 *            the elements to be added, null is treated as empty
+		 * @return this builder
+		 * @throws IllegalStateException
+		 *             if the set has already been built
+		 */
+		public Builder<T> addAll(final Iterable<? extends T> iterable) {
+			if (iterable != null) {
+				for (final T element : iterable) {
+					builder.put(element, Boolean.TRUE);
+				}
+			}
+			return this;
+		}
+
+		/**
+		 * @param element
+		 *            the element to be removed
+		 * @return this builder
+		 * @throws IllegalStateException
+		 *             if the set has already been built
+		 */
+		public Builder<T> remove(final Object element) {
+			builder.remove(element);
+			return this;
+		}
+
+		/**
+		 * @return the number of elements added so far
+		 */
+		public int size() {
+			return builder.size();
+		}
+
+		/**
+		 * Builds the set. Afterwards this builder can not be used anymore.
+		 * 
+		 * @return the set holding the added elements
+		 * @throws IllegalStateException
+		 *             if the set has already been built
+		 */
+		public PersistentHashSet<T> build() {
+			final PersistentHashMap<T, Boolean> map = builder.build();
+			return (map.isEmpty()) ? PersistentHashSet.<T> empty()
+					: new PersistentHashSet<T>(map);
+		}
+	}
+}
@@ -0,0 +1,553 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.persistent;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * This class is an immutable list, whose modified copies share the most of
+ * their structure with the original list. The elements are held in the leaves
+ * of a trie with 32 children per node, plus a tail array holding the last up
+ * to 32 elements. Reading, replacing and removing the last element touch one
+ * path of the trie, so they take O(log32 n), appending mostly copies the tail
+ * only.<br>
+ * The mutators of {@link java.util.List} throw an
+ * {@link UnsupportedOperationException}, a modified copy is returned by
+ * {@link #plus(Object)}, {@link #with(int, Object)} and {@link #pop()}. Many
+ * elements are added efficiently with a {@link Builder}, which modifies the
+ * nodes it has created in place.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <T>
+ *            the type of the elements
+ */
+public final class PersistentVector<T> extends AbstractList<T> implements
+		RandomAccess {
+
+	private static final int BITS = 5;
+	private static final int WIDTH = 1 << BITS;
+	private static final int MASK = WIDTH - 1;
+
+	private static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+
+	private static final PersistentVector<Object> EMPTY = new PersistentVector<Object>(
+			0, BITS, EMPTY_NODE, new Object[0]);
+
+	private final int size;
+	private final int shift;
+	private final Node root;
+	private final Object[] tail;
+
+	/**
+	 * @param size
+	 * @param shift
+	 * @param root
+	 * @param tail
+	 */
+	private PersistentVector(final int size, final int shift, final Node root,
+			final Object[] tail) {
+		super();
+		this.size = size;
+		this.shift = shift;
+		this.root = root;
+		this.tail = tail;
+	}
+
+	/**
+	 * @return the empty vector
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> PersistentVector<T> empty() {
+		return (PersistentVector<T>) EMPTY;
+	}
+
+	/**
+	 * @param iterable
+	 *            the elements of the vector, null is treated as empty
+	 * @return the vector holding the elements in iteration order, the same
+	 *         instance if the iterable is a persistent vector
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> PersistentVector<T> copyOf(
+			final Iterable<? extends T> iterable) {
+		if (iterable instanceof PersistentVector) {
+			return (PersistentVector<T>) iterable;
+		}
+		return PersistentVector.<T> builder().addAll(iterable).build();
+	}
+
+	/**
+	 * @return a builder starting with an empty vector
+	 */
+	public static <T> Builder<T> builder() {
+		return new Builder<T>(PersistentVector.<T> empty());
+	}
+
+	/**
+	 * @return a builder starting with the elements of this vector, which
+	 *         leaves this vector unchanged
+	 */
+	public Builder<T> toBuilder() {
+		return new Builder<T>(this);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get(final int index) {
+		checkIndex(index, size);
+		return (T) leaf(index, size, shift, root, tail)[index & MASK];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param element
+	 *            the element to be appended
+	 * @return the copy of this vector with the element appended
+	 */
+	public PersistentVector<T> plus(final T element) {
+		final int tailSize = size - tailOffset(size);
+		if (tailSize < WIDTH) {
+			final Object[] newTail = Arrays.copyOf(tail, tailSize + 1);
+			newTail[tailSize] = element;
+			return new PersistentVector<T>(size + 1, shift, root, newTail);
+		}
+		final Node tailNode = new Node(null, tail);
+		final Node newRoot;
+		int newShift = shift;
+		if ((size >>> BITS) > (1 << shift)) {
+			newRoot = new Node(null, new Object[WIDTH]);
+			newRoot.array[0] = root;
+			newRoot.array[1] = newPath(null, shift, tailNode);
+			newShift += BITS;
+		} else {
+			newRoot = pushTail(null, size, shift, root, tailNode);
+		}
+		return new PersistentVector<T>(size + 1, newShift, newRoot,
+				new Object[] { element });
+	}
+
+	/**
+	 * @param iterable
+	 *            the elements to be appended, null is treated as empty
+	 * @return the copy of this vector with the elements appended
+	 */
+	public PersistentVector<T> plusAll(final Iterable<? extends T> iterable) {
+		return toBuilder().addAll(iterable).build();
+	}
+
+	/**
+	 * @param index
+	 *            the index of the element to be replaced, the size appends
+	 *            the element
+	 * @param element
+	 *            the new element
+	 * @return the copy of this vector with the element replaced
+	 * @throws IndexOutOfBoundsException
+	 *             if the index is negative or greater than the size
+	 */
+	public PersistentVector<T> with(final int index, final T element) {
+		if (index == size) {
+			return plus(element);
+		}
+		checkIndex(index, size);
+		if (index >= tailOffset(size)) {
+			final Object[] newTail = tail.clone();
+			newTail[index & MASK] = element;
+			return new PersistentVector<T>(size, shift, root, newTail);
+		}
+		return new PersistentVector<T>(size, shift, assoc(null, shift, root,
+				index, element), tail);
+	}
+
+	/**
+	 * @return the copy of this vector without its last element
+	 * @throws IllegalStateException
+	 *             if this vector is empty
+	 */
+	public PersistentVector<T> pop() {
+		if (size == 0) {
+			throw new IllegalStateException("Vector is empty");
+		}
+		if (size == 1) {
+			return empty();
+		}
+		final int tailSize = size - tailOffset(size);
+		if (tailSize > 1) {
+			return new PersistentVector<T>(size - 1, shift, root,
+					Arrays.copyOf(tail, tailSize - 1));
+		}
+		final Object[] newTail = leaf(size - 2, size, shift, root, tail);
+		Node newRoot = popTail(size, shift, root);
+		int newShift = shift;
+		if (newRoot == null) {
+			newRoot = EMPTY_NODE;
+		}
+		if ((shift > BITS) && (newRoot.array[1] == null)) {
+			newRoot = (Node) newRoot.array[0];
+			newShift -= BITS;
+		}
+		return new PersistentVector<T>(size - 1, newShift, newRoot, newTail);
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new VectorIterator<T>(size, shift, root, tail);
+	}
+
+	private static void checkIndex(final int index, final int size) {
+		if ((index < 0) || (index >= size)) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: "
+					+ size);
+		}
+	}
+
+	/**
+	 * @return the index of the first element held by the tail
+	 */
+	private static int tailOffset(final int size) {
+		return (size < WIDTH) ? 0 : ((size - 1) >>> BITS) << BITS;
+	}
+
+	/**
+	 * @return the leaf array holding the element at the given index
+	 */
+	private static Object[] leaf(final int index, final int size,
+			final int shift, final Node root, final Object[] tail) {
+		if (index >= tailOffset(size)) {
+			return tail;
+		}
+		Node node = root;
+		for (int level = shift; level > 0; level -= BITS) {
+			node = (Node) node.array[(index >>> level) & MASK];
+		}
+		return node.array;
+	}
+
+	/**
+	 * Returns the node itself if it has been created by the given builder,
+	 * otherwise a copy owned by the builder. Without builder a node is always
+	 * copied.
+	 */
+	private static Node editable(final Object edit, final Node node) {
+		if ((edit != null) && (node.edit == edit)) {
+			return node;
+		}
+		return new Node(edit, node.array.clone());
+	}
+
+	/**
+	 * Creates the path of single child nodes from the given level down to the
+	 * given node.
+	 */
+	private static Node newPath(final Object edit, final int level,
+			final Node node) {
+		Node result = node;
+		for (int i = level; i > 0; i -= BITS) {
+			final Node parent = new Node(edit, new Object[WIDTH]);
+			parent.array[0] = result;
+			result = parent;
+		}
+		return result;
+	}
+
+	/**
+	 * Inserts the full tail as the last leaf of the trie of the given size.
+	 */
+	private static Node pushTail(final Object edit, final int size,
+			final int level, final Node parent, final Node tailNode) {
+		final Node result = editable(edit, parent);
+		final int index = ((size - 1) >>> level) & MASK;
+		final Node child;
+		if (level == BITS) {
+			child = tailNode;
+		} else {
+			final Node current = (Node) parent.array[index];
+			child = (current != null) ? pushTail(edit, size, level - BITS,
+					current, tailNode) : newPath(edit, level - BITS, tailNode);
+		}
+		result.array[index] = child;
+		return result;
+	}
+
+	private static Node assoc(final Object edit, final int level,
+			final Node node, final int index, final Object element) {
+		final Node result = editable(edit, node);
+		if (level == 0) {
+			result.array[index & MASK] = element;
+		} else {
+			final int child = (index >>> level) & MASK;
+			result.array[child] = assoc(edit, level - BITS,
+					(Node) node.array[child], index, element);
+		}
+		return result;
+	}
+
+	/**
+	 * Removes the last leaf of the trie of the given size.
+	 * 
+	 * @return the node without the leaf, null if the node became empty
+	 */
+	private static Node popTail(final int size, final int level,
+			final Node node) {
+		final int index = ((size - 2) >>> level) & MASK;
+		if (level > BITS) {
+			final Node child = popTail(size, level - BITS,
+					(Node) node.array[index]);
+			if ((child == null) && (index == 0)) {
+				return null;
+			}
+			final Node result = new Node(null, node.array.clone());
+			result.array[index] = child;
+			return result;
+		}
+		if (index == 0) {
+			return null;
+		}
+		final Node result = new Node(null, node.array.clone());
+		result.array[index] = null;
+		return result;
+	}
+
+	/**
+	 * A node of the trie. The array holds the child nodes, or the elements if
+	 * the node is a leaf.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class Node {
+
+		/**
+		 * The builder, which is allowed to modify this node in place.
+		 */
+		private final Object edit;
+		private final Object[] array;
+
+		/**
+		 * @param edit
+		 * @param array
+		 */
+		private Node(final Object edit, final Object[] array) {
+			super();
+			this.edit = edit;
+			this.array = array;
+		}
+	}
+
+	/**
+	 * This iterator reads the elements leaf by leaf, so it descends the trie
+	 * once per 32 elements.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 * @param <T>
+	 */
+	private static final class VectorIterator<T> implements Iterator<T> {
+
+		private final int size;
+		private final int shift;
+		private final Node root;
+		private final Object[] tail;
+		private Object[] leaf;
+		private int index;
+
+		/**
+		 * @param size
+		 * @param shift
+		 * @param root
+		 * @param tail
+		 */
+		private VectorIterator(final int size, final int shift,
+				final Node root, final Object[] tail) {
+			super();
+			this.size = size;
+			this.shift = shift;
+			this.root = root;
+			this.tail = tail;
+		}
+
+		public boolean hasNext() {
+			return index < size;
+		}
+
+		@SuppressWarnings("unchecked")
+		public T next() {
+			if (index >= size) {
+				throw new NoSuchElementException();
+			}
+			if ((index & MASK) == 0) {
+				leaf = leaf(index, size, shift, root, tail);
+			}
+			return (T) leaf[index++ & MASK];
+		}
+
+		/**
+		 * @see java.util.Iterator#remove()
+		 * @throws UnsupportedOperationException
+		 *             if someone tries to remove elements of this
+		 *             {@link Iterator}
+		 */
+		public void remove() {
+			throw new UnsupportedOperationException(
+					"Persistent vector iterator disallowes removing of elements");
+		}
+	}
+
+	/**
+	 * This builder collects elements for a new vector. It modifies the nodes
+	 * it has created in place instead of copying them, nodes shared with
+	 * another vector are copied once before they are modified.<br>
+	 * A builder must not be used anymore after {@link #build()} and is not
+	 * thread safe.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 * @param <T>
+	 *            the type of the elements
+	 */
+	public static final class Builder<T> {
+
+		private Object edit;
+		private int size;
+		private int shift;
+		private Node root;
+		private Object[] tail;
+
+		/**
+		 * @param vector
+		 *            the vector to start with
+		 */
+		private Builder(final PersistentVector<T> vector) {
+			super();
+			this.edit = new Object();
+			this.size = vector.size;
+			this.shift = vector.shift;
+			this.root = editable(edit, vector.root);
+			this.tail = Arrays.copyOf(vector.tail, WIDTH);
+		}
+
+		/**
+		 * @param element
+		 *            the element to be appended
+		 * @return this builder
+		 * @throws IllegalStateException
+		 *             if the vector has already been built
+		 */
+		public Builder<T> add(final T element) {
+			ensureEditable();
+			final int tailSize = size - tailOffset(size);
+			if (tailSize < WIDTH) {
+				tail[tailSize] = element;
+				size++;
+				return this;
+			}
+			final Node tailNode = new Node(edit, tail);
+			tail = new Object[WIDTH];
+			tail[0] = element;
+			if ((size >>> BITS) > (1 << shift)) {
+				final Node newRoot = new Node(edit, new Object[WIDTH]);
+				newRoot.array[0] = root;
+				newRoot.array[1] = newPath(edit, shift, tailNode);
+				root = newRoot;
+				shift += BITS;
+			} else {
+				root = pushTail(edit, size, shift, root, tailNode);
+			}
+			size++;
+			return this;
+		}
+
+		/**
+		 * @param iterable
+		 *            the elements to be appended, null is treated as empty
+		 * @return this builder
+		 * @throws IllegalStateException
+		 *             if the vector has already been built
+		 */
+		public Builder<T> addAll(final Iterable<? extends T> iterable) {
+			ensureEditable();
+			if (iterable != null) {
+				for (final T element : iterable) {
+					add(element);
+				}
+			}
+			return this;
+		}
+
+		/**
+		 * @param index
+		 *            the index of the element to be replaced
+		 * @param element
+		 *            the new element
+		 * @return this builder
+		 * @throws IndexOutOfBoundsException
+		 *             if the index is out of range
+		 * @throws IllegalStateException
+		 *             if the vector has already been built
+		 */
+		public Builder<T> set(final int index, final T element) {
+			ensureEditable();
+			checkIndex(index, size);
+			if (index >= tailOffset(size)) {
+				tail[index & MASK] = element;
+			} else {
+				root = assoc(edit, shift, root, index, element);
+			}
+			return this;
+		}
+
+		/**
+		 * @param index
+		 *            the index of the element
+		 * @return the element at the given index
+		 * @throws IndexOutOfBoundsException
+		 *             if the index is out of range
+		 */
+		@SuppressWarnings("unchecked")
+		public T get(final int index) {
+			checkIndex(index, size);
+			return (T) leaf(index, size, shift, root, tail)[index & MASK];
+		}
+
+		/**
+		 * @return the number of elements added so far
+		 */
+		public int size() {
+			return size;
+		}
+
+		/**
+		 * Builds the vector. Afterwards this builder can not be used anymore.
+		 * 
+		 * @return the vector holding the added elements
+		 * @throws IllegalStateException
+		 *             if the vector has already been built
+		 */
+		public PersistentVector<T> build() {
+			ensureEditable();
+			edit = null;
+			if (size == 0) {
+				return empty();
+			}
+			return new PersistentVector<T>(size, shift, root, Arrays.copyOf(
+					tail, size - tailOffset(size)));
+		}
+
+		private void ensureEditable() {
+			if (edit == null) {
+				throw new IllegalStateException(
+						"Builder has already been built");
+			}
+		}
+	}
+}
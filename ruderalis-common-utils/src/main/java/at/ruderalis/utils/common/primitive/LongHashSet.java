@@ -0,0 +1,334 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.primitive;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * This class is a hash set of long values, which are stored unboxed in a single
+ * open addressing table with linear probing. Compared to a set of
+ * {@link Long} it needs neither entry nor boxed objects, so it needs a
+ * fraction of the heap.<br>
+ * The value 0 marks a free slot of the table, so the value 0 itself is kept
+ * in a separate flag. Removed values are not replaced by tombstones, instead
+ * the following values of the probe sequence are shifted back.<br>
+ * The set is not thread safe.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+public class LongHashSet {
+
+	/**
+	 * The maximum ratio of used slots, linear probing degrades quickly on
+	 * fuller tables.
+	 */
+	private static final float LOAD_FACTOR = 0.5f;
+
+	private static final int MIN_CAPACITY = 8;
+
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	private long[] table;
+	private int mask;
+	private int threshold;
+	private int size;
+	private boolean containsZero;
+
+	/**
+	 * Creates an empty set.
+	 */
+	public LongHashSet() {
+		this(0);
+	}
+
+	/**
+	 * Creates an empty set, which holds the given number of values without
+	 * being rehashed.
+	 * 
+	 * @param expectedSize
+	 *            the expected number of values
+	 * @throws IllegalArgumentException
+	 *             if the expected size is negative
+	 */
+	public LongHashSet(final int expectedSize) {
+		super();
+		if (expectedSize < 0) {
+			throw new IllegalArgumentException(
+					"Expected size must not be negative");
+		}
+		allocate(tableSize(expectedSize));
+	}
+
+	/**
+	 * @param value
+	 *            the value to be added
+	 * @return true if the value was added, false if it was already contained
+	 */
+	public boolean add(final long value) {
+		if (value == 0) {
+			if (containsZero) {
+				return false;
+			}
+			containsZero = true;
+			size++;
+			return true;
+		}
+		int idx = mix(value) & mask;
+		long current;
+		while ((current = table[idx]) != 0) {
+			if (current == value) {
+				return false;
+			}
+			idx = (idx + 1) & mask;
+		}
+		table[idx] = value;
+		if (++size > threshold) {
+			rehash(table.length << 1);
+		}
+		return true;
+	}
+
+	/**
+	 * @param values
+	 *            the values to be added
+	 * @return true if at least one value was added
+	 */
+	public boolean addAll(final long... values) {
+		boolean changed = false;
+		if (values != null) {
+			for (final long value : values) {
+				changed |= add(value);
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * @param value
+	 *            the value to search for
+	 * @return true if the value is contained
+	 */
+	public boolean contains(final long value) {
+		if (value == 0) {
+			return containsZero;
+		}
+		int idx = mix(value) & mask;
+		long current;
+		while ((current = table[idx]) != 0) {
+			if (current == value) {
+				return true;
+			}
+			idx = (idx + 1) & mask;
+		}
+		return false;
+	}
+
+	/**
+	 * @param value
+	 *            the value to be removed
+	 * @return true if the value was removed, false if it was not contained
+	 */
+	public boolean remove(final long value) {
+		if (value == 0) {
+			if (!containsZero) {
+				return false;
+			}
+			containsZero = false;
+			size--;
+			return true;
+		}
+		int idx = mix(value) & mask;
+		long current;
+		while ((current = table[idx]) != 0) {
+			if (current == value) {
+				shiftBack(idx);
+				size--;
+				return true;
+			}
+			idx = (idx + 1) & mask;
+		}
+		return false;
+	}
+
+	/**
+	 * @return the number of values
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return true if this set contains no values
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Removes all values, the capacity is kept.
+	 */
+	public void clear() {
+		Arrays.fill(table, 0);
+		containsZero = false;
+		size = 0;
+	}
+
+	/**
+	 * @return the values in no particular order
+	 */
+	public long[] toArray() {
+		final long[] result = new long[size];
+		int pos = 0;
+		if (containsZero) {
+			result[pos++] = 0;
+		}
+		for (final long value : table) {
+			if (value != 0) {
+				result[pos++] = value;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * The returned iterator does not support removing of values and does not
+	 * detect concurrent modifications.
+	 * 
+	 * @return the iterator over the values in no particular order
+	 */
+	public PrimitiveIterator.OfLong iterator() {
+		return new PrimitiveIterator.OfLong() {
+
+			private boolean zeroPending = containsZero;
+			private int idx = nextSlot(0);
+
+			public boolean hasNext() {
+				return (zeroPending) || (idx < table.length);
+			}
+
+			public long nextLong() {
+				if (zeroPending) {
+					zeroPending = false;
+					return 0;
+				}
+				if (idx >= table.length) {
+					throw new NoSuchElementException();
+				}
+				final long value = table[idx];
+				idx = nextSlot(idx + 1);
+				return value;
+			}
+		};
+	}
+
+	@Override
+	public int hashCode() {
+		int result = 0;
+		for (final long value : table) {
+			result += (int) (value ^ (value >>> 32));
+		}
+		return result;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof LongHashSet)) {
+			return false;
+		}
+		final LongHashSet other = (LongHashSet) obj;
+		if ((size != other.size) || (containsZero != other.containsZero)) {
+			return false;
+		}
+		for (final long value : table) {
+			if ((value != 0) && (!other.contains(value))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+
+	private int nextSlot(final int from) {
+		int idx = from;
+		while ((idx < table.length) && (table[idx] == 0)) {
+			idx++;
+		}
+		return idx;
+	}
+
+	/**
+	 * Empties the slot and moves each following value of the cluster, whose
+	 * home slot does not lie between the emptied slot and itself, into the
+	 * emptied slot.
+	 */
+	private void shiftBack(final int removed) {
+		int gap = removed;
+		int idx = removed;
+		while (true) {
+			idx = (idx + 1) & mask;
+			final long current = table[idx];
+			if (current == 0) {
+				break;
+			}
+			final int home = mix(current) & mask;
+			if (((idx - home) & mask) >= ((idx - gap) & mask)) {
+				table[gap] = current;
+				gap = idx;
+			}
+		}
+		table[gap] = 0;
+	}
+
+	private void rehash(final int capacity) {
+		if ((capacity <= 0) || (capacity > MAX_CAPACITY)) {
+			throw new IllegalStateException(
+					"Set exceeds the maximum capacity of " + MAX_CAPACITY);
+		}
+		final long[] previous = table;
+		allocate(capacity);
+		for (final long value : previous) {
+			if (value != 0) {
+				int idx = mix(value) & mask;
+				while (table[idx] != 0) {
+					idx = (idx + 1) & mask;
+				}
+				table[idx] = value;
+			}
+		}
+	}
+
+	private void allocate(final int capacity) {
+		table = new long[capacity];
+		mask = capacity - 1;
+		threshold = (int) (capacity * LOAD_FACTOR);
+	}
+
+	private static int tableSize(final int expectedSize) {
+		final long required = (long) Math.ceil(expectedSize / LOAD_FACTOR);
+		if (required >= MAX_CAPACITY) {
+			return MAX_CAPACITY;
+		}
+		return (required <= MIN_CAPACITY) ? MIN_CAPACITY : Integer
+				.highestOneBit((int) required - 1) << 1;
+	}
+
+	/**
+	 * Spreads the bits of the value by the golden ratio, so that sequential
+	 * values do not form clusters.
+	 */
+	private static int mix(final long value) {
+		final long h = value * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+}
@@ -0,0 +1,279 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.primitive;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * This class is a growable list of long values, which are stored unboxed in a
+ * single array. Compared to a list of {@link Long} it needs a fraction of
+ * the heap and iterating it does not box.<br>
+ * The list is not thread safe.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+public class LongList {
+
+	private static final int DEFAULT_CAPACITY = 10;
+
+	private static final long[] EMPTY = new long[0];
+
+	private long[] values;
+	private int size;
+
+	/**
+	 * Creates an empty list.
+	 */
+	public LongList() {
+		this(0);
+	}
+
+	/**
+	 * Creates an empty list, which holds the given number of values without
+	 * growing.
+	 * 
+	 * @param capacity
+	 *            the initial capacity
+	 * @throws IllegalArgumentException
+	 *             if the capacity is negative
+	 */
+	public LongList(final int capacity) {
+		super();
+		if (capacity < 0) {
+			throw new IllegalArgumentException(
+					"Capacity must not be negative");
+		}
+		this.values = (capacity > 0) ? new long[capacity] : EMPTY;
+	}
+
+	/**
+	 * @param value
+	 *            the value to be appended
+	 */
+	public void add(final long value) {
+		if (size == values.length) {
+			grow(size + 1);
+		}
+		values[size++] = value;
+	}
+
+	/**
+	 * @param source
+	 *            the values to be appended
+	 */
+	public void addAll(final long... source) {
+		if (source != null) {
+			ensureCapacity(size + source.length);
+			System.arraycopy(source, 0, values, size, source.length);
+			size += source.length;
+		}
+	}
+
+	/**
+	 * @param idx
+	 *            the index of the value
+	 * @return the value at the given index
+	 * @throws IndexOutOfBoundsException
+	 *             if the index is out of range
+	 */
+	public long get(final int idx) {
+		checkIndex(idx);
+		return values[idx];
+	}
+
+	/**
+	 * @param idx
+	 *            the index of the value
+	 * @param value
+	 *            the new value
+	 * @return the replaced value
+	 * @throws IndexOutOfBoundsException
+	 *             if the index is out of range
+	 */
+	public long set(final int idx, final long value) {
+		checkIndex(idx);
+		final long previous = values[idx];
+		values[idx] = value;
+		return previous;
+	}
+
+	/**
+	 * Removes the value at the given index and shifts all following values to
+	 * the left.
+	 * 
+	 * @param idx
+	 *            the index of the value
+	 * @return the removed value
+	 * @throws IndexOutOfBoundsException
+	 *             if the index is out of range
+	 */
+	public long removeAt(final int idx) {
+		checkIndex(idx);
+		final long previous = values[idx];
+		System.arraycopy(values, idx + 1, values, idx, size - idx - 1);
+		size--;
+		return previous;
+	}
+
+	/**
+	 * @param value
+	 *            the value to search for
+	 * @return the index of the first occurrence, -1 if not contained
+	 */
+	public int indexOf(final long value) {
+		for (int i = 0; i < size; i++) {
+			if (values[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @param value
+	 *            the value to search for
+	 * @return true if the value is contained
+	 */
+	public boolean contains(final long value) {
+		return indexOf(value) >= 0;
+	}
+
+	/**
+	 * @return the number of values
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return true if this list contains no values
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Removes all values, the capacity is kept.
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Sorts the values in ascending order.
+	 */
+	public void sort() {
+		Arrays.sort(values, 0, size);
+	}
+
+	/**
+	 * Grows the backing array, so that it holds at least the given number of
+	 * values.
+	 * 
+	 * @param capacity
+	 *            the minimum capacity
+	 */
+	public void ensureCapacity(final int capacity) {
+		if (capacity > values.length) {
+			grow(capacity);
+		}
+	}
+
+	/**
+	 * Shrinks the backing array to the number of values.
+	 */
+	public void trimToSize() {
+		if (size < values.length) {
+			values = (size > 0) ? Arrays.copyOf(values, size) : EMPTY;
+		}
+	}
+
+	/**
+	 * @return a copy of the values
+	 */
+	public long[] toArray() {
+		return Arrays.copyOf(values, size);
+	}
+
+	/**
+	 * The returned iterator does not support removing of values and does not
+	 * detect concurrent modifications.
+	 * 
+	 * @return the iterator over the values
+	 */
+	public PrimitiveIterator.OfLong iterator() {
+		return new PrimitiveIterator.OfLong() {
+
+			private int idx;
+
+			public boolean hasNext() {
+				return idx < size;
+			}
+
+			public long nextLong() {
+				if (idx >= size) {
+					throw new NoSuchElementException();
+				}
+				return values[idx++];
+			}
+		};
+	}
+
+	@Override
+	public int hashCode() {
+		int result = 1;
+		for (int i = 0; i < size; i++) {
+			result = 31 * result + (int) (values[i] ^ (values[i] >>> 32));
+		}
+		return result;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof LongList)) {
+			return false;
+		}
+		final LongList other = (LongList) obj;
+		if (size != other.size) {
+			return false;
+		}
+		for (int i = 0; i < size; i++) {
+			if (values[i] != other.values[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(values[i]);
+		}
+		return sb.append(']').toString();
+	}
+
+	private void grow(final int minCapacity) {
+		final int capacity = Math.max(minCapacity,
+				Math.max(DEFAULT_CAPACITY, values.length + (values.length >> 1)));
+		values = Arrays.copyOf(values, capacity);
+	}
+
+	private void checkIndex(final int idx) {
+		if ((idx < 0) || (idx >= size)) {
+			throw new IndexOutOfBoundsException("Index: " + idx + ", Size: "
+					+ size);
+		}
+	}
+}
@@ -0,0 +1,164 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.reflection;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * This class compiles getter and setter methods to {@link Function} and
+ * {@link BiConsumer} instances.<br>
+ * If possible the accessors are spun through the {@link LambdaMetafactory}, so
+ * after JIT warm-up they are as fast as a direct call. If the declaring class
+ * cannot be linked by a lambda of this library, e.g. because it is not public
+ * or it was loaded by a child class loader, the accessor falls back to
+ * invoking a {@link MethodHandle}.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+final class AccessorFactory {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(
+			Object.class, Object.class);
+
+	private static final MethodType SETTER_TYPE = MethodType.methodType(
+			void.class, Object.class, Object.class);
+
+	private AccessorFactory() {
+		super();
+	}
+
+	/**
+	 * Compiles the given getter method to a {@link Function}.
+	 * 
+	 * @param getter
+	 *            the getter method to compile
+	 * @return the compiled accessor
+	 * @throws IllegalStateException
+	 *             if the getter cannot be accessed
+	 */
+	@SuppressWarnings("unchecked")
+	static <T, R> Function<T, R> compileGetter(final Method getter) {
+		final MethodHandle handle = unreflect(getter);
+		if (isLinkable(getter)) {
+			try {
+				final CallSite site = LambdaMetafactory.metafactory(LOOKUP,
+						"apply", MethodType.methodType(Function.class),
+						GETTER_TYPE, handle, MethodType.methodType(
+								box(getter.getReturnType()),
+								getter.getDeclaringClass()));
+				return (Function<T, R>) site.getTarget().invoke();
+			} catch (final Throwable e) {
+				// fall through to the method handle based accessor
+			}
+		}
+		final MethodHandle generic = handle.asType(GETTER_TYPE);
+		return new Function<T, R>() {
+			public R apply(final T target) {
+				try {
+					return (R) generic.invokeExact((Object) target);
+				} catch (final RuntimeException | Error e) {
+					throw e;
+				} catch (final Throwable e) {
+					throw new UndeclaredThrowableException(e);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Compiles the given setter method to a {@link BiConsumer}.
+	 * 
+	 * @param setter
+	 *            the setter method to compile
+	 * @return the compiled accessor
+	 * @throws IllegalStateException
+	 *             if the setter cannot be accessed
+	 */
+	@SuppressWarnings("unchecked")
+	static <T, V> BiConsumer<T, V> compileSetter(final Method setter) {
+		final MethodHandle handle = unreflect(setter);
+		if (isLinkable(setter)) {
+			try {
+				final CallSite site = LambdaMetafactory.metafactory(LOOKUP,
+						"accept", MethodType.methodType(BiConsumer.class),
+						SETTER_TYPE, handle, MethodType.methodType(void.class,
+								setter.getDeclaringClass(),
+								box(setter.getParameterTypes()[0])));
+				return (BiConsumer<T, V>) site.getTarget().invoke();
+			} catch (final Throwable e) {
+				// fall through to the method handle based accessor
+			}
+		}
+		final MethodHandle generic = handle.asType(SETTER_TYPE);
+		return new BiConsumer<T, V>() {
+			public void accept(final T target, final V value) {
+				try {
+					generic.invokeExact((Object) target, (Object) value);
+				} catch (final RuntimeException | Error e) {
+					throw e;
+				} catch (final Throwable e) {
+					throw new UndeclaredThrowableException(e);
+				}
+			}
+		};
+	}
+
+	private static MethodHandle unreflect(final Method method) {
+		try {
+			return LOOKUP.unreflect(method);
+		} catch (final IllegalAccessException e) {
+			// the cached method instance is shared, so only a copy is opened
+			try {
+				final Method copy = MethodUtils.copy(method);
+				copy.setAccessible(true);
+				return LOOKUP.unreflect(copy);
+			} catch (final Exception e1) {
+				throw new IllegalStateException("Cannot access method '"
+						+ method + "'", e1);
+			}
+		}
+	}
+
+	/**
+	 * Answers the question if a lambda spun for this library can link the
+	 * given method. This requires a public method of a public class, which is
+	 * visible to the class loader of this library.
+	 */
+	private static boolean isLinkable(final Method method) {
+		final Class<?> declaringClass = method.getDeclaringClass();
+		return (Modifier.isPublic(method.getModifiers()))
+				&& (Modifier.isPublic(declaringClass.getModifiers()))
+				&& (isVisible(declaringClass.getClassLoader()));
+	}
+
+	private static boolean isVisible(final ClassLoader loader) {
+		if (loader == null) {
+			return true;
+		}
+		ClassLoader current = AccessorFactory.class.getClassLoader();
+		while ((current != null) && (current != loader)) {
+			current = current.getParent();
+		}
+		return current == loader;
+	}
+
+	private static Class<?> box(final Class<?> type) {
+		if (!type.isPrimitive()) {
+			return type;
+		}
+		return MethodType.methodType(type).wrap().returnType();
+	}
+}
@@ -0,0 +1,240 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.reflection;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This class holds the reflection metadata of a single class. The metadata is
+ * created once per class and cached through a {@link ClassValue}, so the cache
+ * entries are bound to the lifecycle of the class and do not prevent class
+ * loaders from being unloaded.<br>
+ * All methods are grouped by their names, so that a lookup by name costs a
+ * single hash probe and does not copy any method arrays.<br>
+ * The {@link Method} instances held by this class are shared, therefore
+ * callers must not change their accessibility.<br>
+ * Additionally the compiled property accessors of the class are cached here
+ * per property name.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+final class ClassMetadata {
+
+	private static final ClassValue<ClassMetadata> CACHE = new ClassValue<ClassMetadata>() {
+		@Override
+		protected ClassMetadata computeValue(final Class<?> type) {
+			return new ClassMetadata(type);
+		}
+	};
+
+	private final Class<?> type;
+	private final Map<String, MethodGroup> declaredMethods;
+	private volatile Map<String, MethodGroup> publicMethods;
+	private final ConcurrentMap<String, Object> getterAccessors;
+	private final ConcurrentMap<String, Object> setterAccessors;
+
+	/**
+	 * @param type
+	 *            the class to hold the metadata for
+	 */
+	private ClassMetadata(final Class<?> type) {
+		super();
+		this.type = type;
+		this.declaredMethods = group(type.getDeclaredMethods());
+		this.getterAccessors = new ConcurrentHashMap<String, Object>(4);
+		this.setterAccessors = new ConcurrentHashMap<String, Object>(4);
+	}
+
+	/**
+	 * Returns the cached metadata of the given class.
+	 * 
+	 * @param type
+	 *            the class to get the metadata for
+	 * @return the metadata of the class, never null
+	 */
+	static ClassMetadata of(final Class<?> type) {
+		return CACHE.get(type);
+	}
+
+	/**
+	 * @return the class this metadata belongs to
+	 */
+	Class<?> getType() {
+		return type;
+	}
+
+	/**
+	 * Returns the methods declared by this class with the given name. Methods
+	 * of super classes or interfaces are not considered.
+	 * 
+	 * @param name
+	 *            the name of the methods
+	 * @return the group of methods, null if no method with this name is
+	 *         declared
+	 */
+	MethodGroup getDeclaredMethods(final String name) {
+		return declaredMethods.get(name);
+	}
+
+	/**
+	 * Returns the public methods of the resolved class hierarchy with the
+	 * given name. This covers the same methods as {@link Class#getMethods()}.
+	 * 
+	 * @param name
+	 *            the name of the methods
+	 * @return the group of methods, null if no public method with this name
+	 *         exists
+	 */
+	MethodGroup getPublicMethods(final String name) {
+		Map<String, MethodGroup> methods = publicMethods;
+		if (methods == null) {
+			// racy but idempotent, all threads compute an equal map
+			methods = group(type.getMethods());
+			publicMethods = methods;
+		}
+		return methods.get(name);
+	}
+
+	/**
+	 * Answers the question if this class declares a method with the given
+	 * name.
+	 * 
+	 * @param name
+	 *            the name of the method
+	 * @return true if the method is declared by this class, false otherwise
+	 */
+	boolean declaresMethod(final String name) {
+		return declaredMethods.containsKey(name);
+	}
+
+	/**
+	 * @return the read-only names of all methods declared by this class
+	 */
+	Set<String> getDeclaredMethodNames() {
+		return declaredMethods.keySet();
+	}
+
+	/**
+	 * @return the cache of compiled getter accessors keyed by property name
+	 */
+	ConcurrentMap<String, Object> getGetterAccessors() {
+		return getterAccessors;
+	}
+
+	/**
+	 * @return the cache of compiled setter accessors keyed by property name
+	 */
+	ConcurrentMap<String, Object> getSetterAccessors() {
+		return setterAccessors;
+	}
+
+	private static Map<String, MethodGroup> group(final Method[] methods) {
+		final Map<String, List<Method>> grouped = new LinkedHashMap<String, List<Method>>();
+		for (final Method method : methods) {
+			List<Method> group = grouped.get(method.getName());
+			if (group == null) {
+				group = new ArrayList<Method>(1);
+				grouped.put(method.getName(), group);
+			}
+			group.add(method);
+		}
+		final Map<String, MethodGroup> result = new HashMap<String, MethodGroup>(
+				(int) (grouped.size() / 0.75f) + 1);
+		for (final Map.Entry<String, List<Method>> entry : grouped.entrySet()) {
+			result.put(entry.getKey(), new MethodGroup(entry.getValue()
+					.toArray(new Method[entry.getValue().size()])));
+		}
+		return Collections.unmodifiableMap(result);
+	}
+
+	/**
+	 * This class holds all methods with the same name together with their
+	 * parameter types, so that overloads can be resolved without cloning the
+	 * parameter type arrays on every lookup.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	static final class MethodGroup {
+
+		private static final Class<?>[] NO_PARAMETERS = new Class<?>[0];
+
+		private final Method[] methods;
+		private final Class<?>[][] parameterTypes;
+
+		/**
+		 * @param methods
+		 */
+		private MethodGroup(final Method[] methods) {
+			super();
+			this.methods = methods;
+			this.parameterTypes = new Class<?>[methods.length][];
+			for (int i = 0; i < methods.length; i++) {
+				parameterTypes[i] = methods[i].getParameterTypes();
+			}
+		}
+
+		/**
+		 * Returns the method with the given parameter types. Bridge methods
+		 * are only returned if no other method matches.
+		 * 
+		 * @param types
+		 *            the parameter types of the method
+		 * @return the found method, null if no method matches
+		 */
+		Method find(final Class<?>... types) {
+			final Class<?>[] searched = (types != null) ? types
+					: NO_PARAMETERS;
+			Method found = null;
+			int i = 0;
+			while ((i < methods.length)
+					&& ((found == null) || (found.isBridge()))) {
+				if (Arrays.equals(parameterTypes[i], searched)) {
+					if ((found == null) || (!methods[i].isBridge())) {
+						found = methods[i];
+					}
+				}
+				i++;
+			}
+			return found;
+		}
+
+		/**
+		 * @return the number of methods in this group
+		 */
+		int size() {
+			return methods.length;
+		}
+
+		/**
+		 * @param idx
+		 *            the index of the method
+		 * @return the method at the given index
+		 */
+		Method get(final int idx) {
+			return methods[idx];
+		}
+
+		/**
+		 * @param idx
+		 *            the index of the method
+		 * @return the shared parameter types of the method at the given
+		 *         index, which must not be modified
+		 */
+		Class<?>[] getParameterTypes(final int idx) {
+			return parameterTypes[idx];
+		}
+	}
+}
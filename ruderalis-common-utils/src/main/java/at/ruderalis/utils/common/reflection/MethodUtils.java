@@ -4,7 +4,12 @@
 package at.ruderalis.utils.common.reflection;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
+import at.ruderalis.utils.common.reflection.ClassMetadata.MethodGroup;
 import at.ruderalis.utils.common.string.StringUtils;
 
 /**
@@ -13,31 +18,211 @@ import at.ruderalis.utils.common.string.StringUtils;
  */
 public class MethodUtils {
 
+	/**
+	 * Marks a property without getter or setter in the accessor caches.
+	 */
+	private static final Object NO_ACCESSOR = new Object();
+
+	/**
+	 * Returns the public getter method of the given property. A getter is
+	 * either named 'get' + property or for boolean properties 'is' + property
+	 * and takes no parameters. The returned {@link Method} instance is cached
+	 * and shared by all callers, so it must not be made accessible.
+	 * 
+	 * @param target
+	 *            the class to search the getter on
+	 * @param name
+	 *            the name of the property
+	 * @return the found getter, null if the class has no getter for this
+	 *         property
+	 * @throws IllegalArgumentException
+	 *             if the target or name is null
+	 */
 	public static <T> Method getGetter(final Class<T> target, final String name) {
-		return null;
+		if ((target == null) || (StringUtils.isEmpty(name))) {
+			throw new IllegalArgumentException(
+					"Target and name must not be null");
+		}
+		return findGetter(ClassMetadata.of(target), name);
+	}
+
+	/**
+	 * Returns the shared getter instance of the class metadata.
+	 */
+	private static Method findGetter(final ClassMetadata metadata,
+			final String name) {
+		final String suffix = capitalize(name);
+		Method getter = findAccessor(metadata.getPublicMethods("get" + suffix),
+				0, null);
+		if (getter == null) {
+			getter = findAccessor(metadata.getPublicMethods("is" + suffix), 0,
+					null);
+			if ((getter != null) && (getter.getReturnType() != boolean.class)
+					&& (getter.getReturnType() != Boolean.class)) {
+				getter = null;
+			}
+		}
+		return getter;
+	}
+
+	/**
+	 * Returns the public setter method of the given property. A setter is
+	 * named 'set' + property and takes a single parameter. If the setter is
+	 * overloaded, the one accepting the getter's return type is preferred.
+	 * The returned {@link Method} instance is cached and shared by all
+	 * callers, so it must not be made accessible.
+	 * 
+	 * @param target
+	 *            the class to search the setter on
+	 * @param name
+	 *            the name of the property
+	 * @return the found setter, null if the class has no setter for this
+	 *         property
+	 * @throws IllegalArgumentException
+	 *             if the target or name is null
+	 */
+	public static <T> Method getSetter(final Class<T> target, final String name) {
+		if ((target == null) || (StringUtils.isEmpty(name))) {
+			throw new IllegalArgumentException(
+					"Target and name must not be null");
+		}
+		return findSetter(ClassMetadata.of(target), name);
+	}
+
+	/**
+	 * Returns the shared setter instance of the class metadata.
+	 */
+	private static Method findSetter(final ClassMetadata metadata,
+			final String name) {
+		final Method getter = findGetter(metadata, name);
+		return findAccessor(
+				metadata.getPublicMethods("set" + capitalize(name)), 1,
+				(getter != null) ? getter.getReturnType() : null);
+	}
+
+	/**
+	 * Returns the compiled getter of the given property. The accessor is
+	 * compiled once per class and property and invokes the getter without
+	 * reflection, so its invocation costs about the same as a direct call.
+	 * 
+	 * @param target
+	 *            the class to get the accessor for
+	 * @param name
+	 *            the name of the property
+	 * @return the accessor returning the property value of a given instance,
+	 *         null if the class has no getter for this property
+	 * @throws IllegalArgumentException
+	 *             if the target or name is null
+	 * @see #getGetter(Class, String)
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T, R> Function<T, R> getGetterAccessor(
+			final Class<T> target, final String name) {
+		if ((target == null) || (StringUtils.isEmpty(name))) {
+			throw new IllegalArgumentException(
+					"Target and name must not be null");
+		}
+		final ClassMetadata metadata = ClassMetadata.of(target);
+		final ConcurrentMap<String, Object> cache = metadata
+				.getGetterAccessors();
+		Object accessor = cache.get(name);
+		if (accessor == null) {
+			final Method getter = findGetter(metadata, name);
+			accessor = (getter != null) ? AccessorFactory
+					.<T, R> compileGetter(getter) : NO_ACCESSOR;
+			final Object existing = cache.putIfAbsent(name, accessor);
+			accessor = (existing != null) ? existing : accessor;
+		}
+		return (accessor != NO_ACCESSOR) ? (Function<T, R>) accessor : null;
+	}
+
+	/**
+	 * Returns the compiled setter of the given property. The accessor is
+	 * compiled once per class and property and invokes the setter without
+	 * reflection, so its invocation costs about the same as a direct call.
+	 * 
+	 * @param target
+	 *            the class to get the accessor for
+	 * @param name
+	 *            the name of the property
+	 * @return the accessor setting the property value of a given instance,
+	 *         null if the class has no setter for this property
+	 * @throws IllegalArgumentException
+	 *             if the target or name is null
+	 * @see #getSetter(Class, String)
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T, V> BiConsumer<T, V> getSetterAccessor(
+			final Class<T> target, final String name) {
+		if ((target == null) || (StringUtils.isEmpty(name))) {
+			throw new IllegalArgumentException(
+					"Target and name must not be null");
+		}
+		final ClassMetadata metadata = ClassMetadata.of(target);
+		final ConcurrentMap<String, Object> cache = metadata
+				.getSetterAccessors();
+		Object accessor = cache.get(name);
+		if (accessor == null) {
+			final Method setter = findSetter(metadata, name);
+			accessor = (setter != null) ? AccessorFactory
+					.<T, V> compileSetter(setter) : NO_ACCESSOR;
+			final Object existing = cache.putIfAbsent(name, accessor);
+			accessor = (existing != null) ? existing : accessor;
+		}
+		return (accessor != NO_ACCESSOR) ? (BiConsumer<T, V>) accessor : null;
 	}
 
+	/**
+	 * Returns the method of the target's class with the given name and
+	 * parameter types. Only the methods declared by the class are searched.
+	 * 
+	 * @param target
+	 *            the instance whose class declares the method
+	 * @param name
+	 *            the name of the method
+	 * @param parameterTypes
+	 *            the parameter types of the method
+	 * @return the found method, null if the class declares no such method
+	 * @throws IllegalArgumentException
+	 *             if the target or name is null
+	 * @see #getMethod(Class, String, Class...)
+	 */
 	public static <T> Method getMethod(final T target, final String name,
 			final Class<?>... parameterTypes) {
 
 		return MethodUtils.getMethod(target != null ? target.getClass()
-				: null, name);
+				: null, name, parameterTypes);
 	}
 
+	/**
+	 * Returns the method declared by the target class with the given name and
+	 * parameter types. The method is resolved from the cached class metadata,
+	 * so unlike {@link Class#getDeclaredMethod(String, Class...)} no copy is
+	 * created per call: the returned {@link Method} instance is shared by all
+	 * callers, so it must not be made accessible by
+	 * {@link Method#setAccessible(boolean)}. A caller needing an accessible
+	 * method has to look up its own copy by
+	 * {@link Class#getDeclaredMethod(String, Class...)}.
+	 * 
+	 * @param target
+	 *            the class which declares the method
+	 * @param name
+	 *            the name of the method
+	 * @param parameterTypes
+	 *            the parameter types of the method
+	 * @return the found method, null if the class declares no such method
+	 * @throws IllegalArgumentException
+	 *             if the target or name is null
+	 */
 	public static Method getMethod(final Class<?> target, final String name,
 			final Class<?>... parameterTypes) {
 		if ((target == null) || (StringUtils.isEmpty(name))) {
 			throw new IllegalArgumentException(
 					"Target and name must not be null");
 		}
-		Method method = null;
-		try {
-			target.getDeclaredMethod(name, parameterTypes);
-		} catch (NoSuchMethodException e) {
-			// TODO: handle exception
-		}
-
-		return method;
+		final MethodGroup group = ClassMetadata.of(target).getDeclaredMethods(
+				name);
+		return (group != null) ? group.find(parameterTypes) : null;
 	}
 
 	/**
@@ -50,17 +235,20 @@ public class MethodUtils {
 	 *            the name of the method
 	 * @return true if the method could be found on a interface or a super
 	 *         class, false otherwise
+	 * @see TypeHierarchy
 	 */
 	public static boolean hasMethodTraverse(final Class<?> traverseClass,
 			final String name) {
-		return (getInterfaceDeclaresMethod(traverseClass, name) != null)
-				|| (getClassImplementsMethod(traverseClass, name) != null);
+		return (traverseClass != null) && (!StringUtils.isEmpty(name))
+				&& (TypeHierarchy.of(traverseClass).declaresMethod(name));
 	}
 
 	/**
 	 * Answers the question if the given class either interface or class
 	 * contains a method with the given name. All declared methods of the class
 	 * will be searched. Super classes or interfaces of this class are ignored.
+	 * The declared methods are cached per class, so this lookup neither copies
+	 * the methods of the class nor scans them.
 	 * 
 	 * @param clazz
 	 *            the class to search for method with the given name
@@ -69,21 +257,14 @@ public class MethodUtils {
 	 * @return true if the method could be found.
 	 */
 	public static boolean hasMethod(final Class<?> clazz, final String name) {
-		boolean found = Boolean.FALSE;
-		if ((clazz != null) && (!StringUtils.isEmpty(name))) {
-			int i = 0;
-			final Method[] methods = clazz.getDeclaredMethods();
-			while ((i < methods.length) && (!found)) {
-				found = methods[i].getName().equals(name);
-				i++;
-			}
-		}
-		return found;
+		return (clazz != null) && (!StringUtils.isEmpty(name))
+				&& (ClassMetadata.of(clazz).declaresMethod(name));
 	}
 
 	/**
 	 * Traverses the class and returns the (super) class which implements the
-	 * searched method.
+	 * searched method. The whole super class chain including {@link Object} is
+	 * searched.
 	 * 
 	 * @param traverseClass
 	 *            the class to traversed
@@ -91,27 +272,19 @@ public class MethodUtils {
 	 *            the name of the method to be found
 	 * @return the found class, null if traverseClass, name is null or if the
 	 *         given traverseClass is no class
+	 * @see TypeHierarchy#getImplementingClass(String)
 	 */
 	public static Class<?> getClassImplementsMethod(
 			final Class<?> traverseClass, final String name) {
-		Class<?> clazz = traverseClass;
-		Class<?> foundClazz = null;
-		if ((clazz != null) && (!StringUtils.isEmpty(name))
-				&& (!clazz.isInterface())) {
-			while ((foundClazz == null) && (clazz.getSuperclass() != null)) {
-				if (hasMethod(clazz, name)) {
-					foundClazz = clazz;
-				} else {
-					clazz = clazz.getSuperclass();
-				}
-			}
-		}
-		return foundClazz;
+		return ((traverseClass != null) && (!StringUtils.isEmpty(name)) && (!traverseClass
+				.isInterface())) ? TypeHierarchy.of(traverseClass)
+				.getImplementingClass(name) : null;
 	}
 
 	/**
-	 * Traverses the class and returns the interface which defines the searched
-	 * method.
+	 * Traverses the interface and returns the interface which defines the
+	 * searched method. The interface itself and all of its transitive super
+	 * interfaces are searched.
 	 * 
 	 * @param traverseInterface
 	 *            the class to traversed
@@ -119,24 +292,76 @@ public class MethodUtils {
 	 *            the name of the method to be found
 	 * @return the found interface, null if interface, name is null or the given
 	 *         class is no interface
+	 * @see TypeHierarchy#getDeclaringInterface(String)
 	 */
 	public static Class<?> getInterfaceDeclaresMethod(
 			final Class<?> traverseInterface, final String name) {
-		Class<?> interfaze = traverseInterface;
-		Class<?> foundInterfaze = null;
-		if ((interfaze != null) && (!StringUtils.isEmpty(name))
-				&& (interfaze.isInterface())) {
-			int i = 0;
-			final Class<?>[] interfaces = traverseInterface.getInterfaces();
-			while ((foundInterfaze == null) && (i < interfaces.length)) {
-				if (hasMethod(interfaze, name)) {
-					foundInterfaze = interfaze;
-				} else {
-					interfaze = interfaces[i];
-					i++;
+		return ((traverseInterface != null) && (!StringUtils.isEmpty(name)) && (traverseInterface
+				.isInterface())) ? TypeHierarchy.of(traverseInterface)
+				.getDeclaringInterface(name) : null;
+	}
+
+	/**
+	 * Copies a shared method instance of the class metadata, so the copy can
+	 * be made accessible without affecting the other callers.
+	 * 
+	 * @param method
+	 *            the shared method
+	 * @return a new instance of the method, null if the method is null
+	 * @throws IllegalStateException
+	 *             if the method cannot be looked up again
+	 */
+	static Method copy(final Method method) {
+		if (method == null) {
+			return null;
+		}
+		try {
+			final Method copy = method.getDeclaringClass().getDeclaredMethod(
+					method.getName(), method.getParameterTypes());
+			if (copy.equals(method)) {
+				return copy;
+			}
+			// a bridge method with a less specific return type
+			for (final Method declared : method.getDeclaringClass()
+					.getDeclaredMethods()) {
+				if (declared.equals(method)) {
+					return declared;
 				}
 			}
+			throw new NoSuchMethodException(method.toString());
+		} catch (final NoSuchMethodException | SecurityException e) {
+			throw new IllegalStateException("Cannot copy method '" + method
+					+ "'", e);
 		}
-		return foundInterfaze;
+	}
+
+	private static String capitalize(final String name) {
+		return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+	}
+
+	/**
+	 * Returns the first non static method of the group with the given
+	 * parameter count. If a preferred parameter type is given, the method
+	 * accepting this type is returned if present.
+	 */
+	private static Method findAccessor(final MethodGroup group,
+			final int parameterCount, final Class<?> preferredType) {
+		Method found = null;
+		if (group != null) {
+			for (int i = 0; i < group.size(); i++) {
+				final Method method = group.get(i);
+				final Class<?>[] types = group.getParameterTypes(i);
+				if ((types.length == parameterCount)
+						&& (!Modifier.isStatic(method.getModifiers()))
+						&& ((parameterCount > 0) || (method.getReturnType() != void.class))) {
+					if ((found == null)
+							|| ((found.isBridge()) && (!method.isBridge()))
+							|| ((preferredType != null) && (types[0] == preferredType))) {
+						found = method;
+					}
+				}
+			}
+		}
+		return found;
 	}
 }
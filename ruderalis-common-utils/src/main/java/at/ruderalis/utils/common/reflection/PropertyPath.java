@@ -0,0 +1,209 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.reflection;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import at.ruderalis.utils.common.string.StringUtils;
+
+/**
+ * This class represents a parsed dotted property path like 'address.street'.
+ * The path is parsed once into a chain of segments, where each segment holds
+ * the compiled getter accessor of the last class it was resolved on. Resolving
+ * the path on an instance therefore walks the chain without any string
+ * parsing or reflection lookup, as long as the classes of the traversed
+ * instances do not change.<br>
+ * The accessors of a segment are bound to the classes through a
+ * {@link ClassValue} and the segment refers to its last binding weakly only,
+ * so a cached path does not keep classes and their class loaders from being
+ * unloaded.<br>
+ * Instances are immutable from the caller's point of view, thread safe and
+ * cached per path, so they can be shared freely. The cache holds at most
+ * {@link #MAX_CACHE_SIZE} paths, further paths are parsed on each request
+ * without being cached, so arbitrary path strings can not exhaust the heap.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+public final class PropertyPath {
+
+	/**
+	 * The maximum number of cached paths.
+	 */
+	public static final int MAX_CACHE_SIZE = 4096;
+
+	private static final ConcurrentMap<String, PropertyPath> CACHE = new ConcurrentHashMap<String, PropertyPath>();
+
+	private final String path;
+	private final Segment[] segments;
+
+	/**
+	 * @param path
+	 *            the dotted property path
+	 */
+	private PropertyPath(final String path) {
+		super();
+		this.path = path;
+		final String[] properties = path.split("\\.", -1);
+		this.segments = new Segment[properties.length];
+		for (int i = 0; i < properties.length; i++) {
+			if (StringUtils.isEmpty(properties[i])) {
+				throw new IllegalArgumentException("Property path '" + path
+						+ "' contains an empty property");
+			}
+			segments[i] = new Segment(properties[i].trim());
+		}
+	}
+
+	/**
+	 * Returns the property path for the given dotted path. The path is parsed
+	 * on the first request only, further requests return the cached instance,
+	 * unless the cache is full.
+	 * 
+	 * @param path
+	 *            the dotted property path
+	 * @return the parsed property path
+	 * @throws IllegalArgumentException
+	 *             if the path is null, empty or contains empty properties
+	 */
+	public static PropertyPath of(final String path) {
+		if (StringUtils.isEmpty(path)) {
+			throw new IllegalArgumentException("Path must not be null");
+		}
+		final PropertyPath cached = CACHE.get(path);
+		if (cached != null) {
+			return cached;
+		}
+		final PropertyPath propertyPath = new PropertyPath(path);
+		if (CACHE.size() >= MAX_CACHE_SIZE) {
+			return propertyPath;
+		}
+		final PropertyPath existing = CACHE.putIfAbsent(path, propertyPath);
+		return (existing != null) ? existing : propertyPath;
+	}
+
+	/**
+	 * Resolves the value of this property path on the given instance. The
+	 * resolution is null safe, so if the instance or any intermediate value
+	 * is null, null is returned.
+	 * 
+	 * @param root
+	 *            the instance to resolve the path on
+	 * @return the resolved value, null if the root or an intermediate value
+	 *         is null
+	 * @throws IllegalArgumentException
+	 *             if a traversed class has no getter for the property
+	 */
+	public Object resolve(final Object root) {
+		Object value = root;
+		int i = 0;
+		while ((value != null) && (i < segments.length)) {
+			value = segments[i].get(value);
+			i++;
+		}
+		return value;
+	}
+
+	/**
+	 * @return the dotted property path
+	 */
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * @return the number of properties of this path
+	 */
+	public int size() {
+		return segments.length;
+	}
+
+	/**
+	 * @param idx
+	 *            the index of the property
+	 * @return the property name at the given index
+	 */
+	public String getProperty(final int idx) {
+		return segments[idx].property;
+	}
+
+	@Override
+	public String toString() {
+		return path;
+	}
+
+	/**
+	 * A single property of the path, which binds the accessor per class and
+	 * caches the binding of the last resolved class.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class Segment extends ClassValue<Binding> {
+
+		private final String property;
+		private volatile WeakReference<Binding> last;
+
+		/**
+		 * @param property
+		 */
+		private Segment(final String property) {
+			super();
+			this.property = property;
+			this.last = new WeakReference<Binding>(null);
+		}
+
+		private Object get(final Object target) {
+			final Class<?> type = target.getClass();
+			Binding current = last.get();
+			if ((current == null) || (current.type != type)) {
+				current = get(type);
+				last = current.reference;
+			}
+			return current.accessor.apply(target);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		protected Binding computeValue(final Class<?> type) {
+			final Function<Object, Object> accessor = MethodUtils
+					.getGetterAccessor((Class<Object>) type, property);
+			if (accessor == null) {
+				throw new IllegalArgumentException("Class '" + type.getName()
+						+ "' has no getter for property '" + property + "'");
+			}
+			return new Binding(type, accessor);
+		}
+	}
+
+	/**
+	 * An immutable pair of a class and the getter accessor of this class, so
+	 * that both are published together. The binding is held strongly by its
+	 * class only.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class Binding {
+
+		private final Class<?> type;
+		private final Function<Object, Object> accessor;
+		private final WeakReference<Binding> reference;
+
+		/**
+		 * @param type
+		 * @param accessor
+		 */
+		private Binding(final Class<?> type,
+				final Function<Object, Object> accessor) {
+			super();
+			this.type = type;
+			this.accessor = accessor;
+			this.reference = new WeakReference<Binding>(this);
+		}
+	}
+}
@@ -0,0 +1,323 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.reflection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This class represents the flattened type hierarchy of a class. It holds the
+ * linearized super class chain, the transitive set of interfaces and a map of
+ * method names to the types declaring a method with this name.<br>
+ * The hierarchy is built once per class and cached through a
+ * {@link ClassValue}. It is built on top of the cached hierarchy of the super
+ * class, whose method name maps are shared: a hierarchy only maps the names
+ * declared by its class or by the interfaces not implemented by the super
+ * class already. So deep hierarchies like proxies or generated subclasses
+ * only hold the names of the types that are not known yet. The result of a
+ * traversal query is memoized per hierarchy for found and missing names, so
+ * repeated queries cost a single map lookup, even for names no type of a
+ * deep hierarchy declares.<br>
+ * The interfaces not implemented by the super class come first, followed by
+ * the interfaces of the super class in their order.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+public final class TypeHierarchy {
+
+	private static final ClassValue<TypeHierarchy> CACHE = new ClassValue<TypeHierarchy>() {
+		@Override
+		protected TypeHierarchy computeValue(final Class<?> type) {
+			return new TypeHierarchy(type);
+		}
+	};
+
+	/**
+	 * The maximum number of memoized names per hierarchy, further names are
+	 * resolved without being memoized.
+	 */
+	public static final int MAX_LOOKUPS = 1024;
+
+	/**
+	 * The result for a name no type of the hierarchy declares.
+	 */
+	private static final Lookup MISS = new Lookup(
+			Collections.<Class<?>> emptyList(), null, null);
+
+	private final Class<?> type;
+	private final TypeHierarchy parent;
+	private final List<Class<?>> classes;
+	private final List<Class<?>> interfaces;
+
+	/**
+	 * The declaring types of the names, which are declared by the types this
+	 * hierarchy adds to the hierarchy of the super class.
+	 */
+	private final Map<String, List<Class<?>>> declaringTypes;
+	private final Map<String, Class<?>> implementingClasses;
+	private final Map<String, Class<?>> declaringInterfaces;
+
+	/**
+	 * The memoized results of the queries, including the missing names.
+	 */
+	private final ConcurrentMap<String, Lookup> lookups = new ConcurrentHashMap<String, Lookup>();
+
+	/**
+	 * @param type
+	 *            the class to build the hierarchy for
+	 */
+	private TypeHierarchy(final Class<?> type) {
+		super();
+		this.type = type;
+		this.parent = (type.getSuperclass() != null) ? of(type
+				.getSuperclass()) : null;
+
+		final List<Class<?>> classChain = new ArrayList<Class<?>>();
+		if (!type.isInterface()) {
+			classChain.add(type);
+			if (parent != null) {
+				classChain.addAll(parent.classes);
+			}
+		}
+
+		final Set<Class<?>> added = new LinkedHashSet<Class<?>>();
+		if (type.isInterface()) {
+			added.add(type);
+		}
+		for (final Class<?> interfaze : type.getInterfaces()) {
+			added.addAll(of(interfaze).interfaces);
+		}
+		if (parent != null) {
+			added.removeAll(parent.interfaces);
+		}
+		final List<Class<?>> interfaceList = new ArrayList<Class<?>>(added);
+		if (parent != null) {
+			interfaceList.addAll(parent.interfaces);
+		}
+
+		final Map<String, List<Class<?>>> declaringClasses = new HashMap<String, List<Class<?>>>();
+		final Map<String, List<Class<?>>> declaringAdded = new HashMap<String, List<Class<?>>>();
+		final Map<String, Class<?>> implementing = new HashMap<String, Class<?>>();
+		final Map<String, Class<?>> declaringInterface = new HashMap<String, Class<?>>();
+		if (!type.isInterface()) {
+			register(type, declaringClasses, implementing);
+		}
+		for (final Class<?> interfaze : added) {
+			register(interfaze, declaringAdded, declaringInterface);
+		}
+		final Set<String> names = new HashSet<String>(declaringClasses.keySet());
+		names.addAll(declaringAdded.keySet());
+		final Map<String, List<Class<?>>> declaringLists = new HashMap<String, List<Class<?>>>(
+				(int) (names.size() / 0.75f) + 1);
+		for (final String name : names) {
+			declaringLists.put(name, declaringTypes(name,
+					declaringClasses.get(name), declaringAdded.get(name)));
+		}
+
+		this.classes = Collections.unmodifiableList(classChain);
+		this.interfaces = Collections.unmodifiableList(interfaceList);
+		this.declaringTypes = declaringLists;
+		this.implementingClasses = implementing;
+		this.declaringInterfaces = declaringInterface;
+	}
+
+	/**
+	 * Merges the types this hierarchy adds with the declaring types of the
+	 * super class, the classes first and the interfaces last.
+	 */
+	private List<Class<?>> declaringTypes(final String name,
+			final List<Class<?>> declaringClass,
+			final List<Class<?>> declaringAdded) {
+		final List<Class<?>> inherited = (parent != null) ? parent
+				.getDeclaringTypes(name) : Collections.<Class<?>> emptyList();
+		int split = 0;
+		while ((split < inherited.size())
+				&& (!inherited.get(split).isInterface())) {
+			split++;
+		}
+		final List<Class<?>> merged = new ArrayList<Class<?>>();
+		if (declaringClass != null) {
+			merged.addAll(declaringClass);
+		}
+		merged.addAll(inherited.subList(0, split));
+		if (declaringAdded != null) {
+			merged.addAll(declaringAdded);
+		}
+		merged.addAll(inherited.subList(split, inherited.size()));
+		return Collections.unmodifiableList(Arrays.asList(merged
+				.toArray(new Class<?>[merged.size()])));
+	}
+
+	/**
+	 * Returns the cached hierarchy of the given class.
+	 * 
+	 * @param type
+	 *            the class to get the hierarchy for
+	 * @return the hierarchy of the class
+	 * @throws IllegalArgumentException
+	 *             if the type is null
+	 */
+	public static TypeHierarchy of(final Class<?> type) {
+		if (type == null) {
+			throw new IllegalArgumentException("Type must not be null");
+		}
+		return CACHE.get(type);
+	}
+
+	/**
+	 * @return the class this hierarchy belongs to
+	 */
+	public Class<?> getType() {
+		return type;
+	}
+
+	/**
+	 * @return the linearized super class chain starting with the class itself
+	 *         and ending with {@link Object}, an empty list for interfaces
+	 */
+	public List<Class<?>> getClasses() {
+		return classes;
+	}
+
+	/**
+	 * @return the transitive interfaces of the class, for interfaces starting
+	 *         with the interface itself
+	 */
+	public List<Class<?>> getInterfaces() {
+		return interfaces;
+	}
+
+	/**
+	 * Returns all types of this hierarchy declaring a method with the given
+	 * name. The classes of the super class chain come first, followed by the
+	 * interfaces.
+	 * 
+	 * @param name
+	 *            the name of the method
+	 * @return the declaring types, an empty list if no type declares such a
+	 *         method
+	 */
+	public List<Class<?>> getDeclaringTypes(final String name) {
+		return lookup(name).declaringTypes;
+	}
+
+	/**
+	 * Answers the question if any type of this hierarchy declares a method
+	 * with the given name.
+	 * 
+	 * @param name
+	 *            the name of the method
+	 * @return true if the method is declared within this hierarchy
+	 */
+	public boolean declaresMethod(final String name) {
+		return lookup(name) != MISS;
+	}
+
+	/**
+	 * @param name
+	 *            the name of the method
+	 * @return the first class of the super class chain declaring the method,
+	 *         null if no class declares it
+	 */
+	public Class<?> getImplementingClass(final String name) {
+		return lookup(name).implementingClass;
+	}
+
+	/**
+	 * @param name
+	 *            the name of the method
+	 * @return the first interface declaring the method, null if no interface
+	 *         declares it
+	 */
+	public Class<?> getDeclaringInterface(final String name) {
+		return lookup(name).declaringInterface;
+	}
+
+	/**
+	 * Returns the memoized result for the name, which is resolved on the first
+	 * query.
+	 */
+	private Lookup lookup(final String name) {
+		Lookup lookup = lookups.get(name);
+		if (lookup == null) {
+			lookup = resolve(name);
+			if (lookups.size() < MAX_LOOKUPS) {
+				final Lookup existing = lookups.putIfAbsent(name, lookup);
+				lookup = (existing != null) ? existing : lookup;
+			}
+		}
+		return lookup;
+	}
+
+	/**
+	 * Resolves the name by the maps of this hierarchy, a name not added by
+	 * this hierarchy shares the result of the super class.
+	 */
+	private Lookup resolve(final String name) {
+		final List<Class<?>> types = declaringTypes.get(name);
+		final Lookup inherited = (parent != null) ? parent.lookup(name) : MISS;
+		if (types == null) {
+			return inherited;
+		}
+		final Class<?> clazz = implementingClasses.get(name);
+		final Class<?> interfaze = declaringInterfaces.get(name);
+		return new Lookup(types, (clazz != null) ? clazz
+				: inherited.implementingClass, (interfaze != null) ? interfaze
+				: inherited.declaringInterface);
+	}
+
+	private static void register(final Class<?> type,
+			final Map<String, List<Class<?>>> declaring,
+			final Map<String, Class<?>> first) {
+		for (final String name : ClassMetadata.of(type)
+				.getDeclaredMethodNames()) {
+			List<Class<?>> types = declaring.get(name);
+			if (types == null) {
+				types = new ArrayList<Class<?>>(2);
+				declaring.put(name, types);
+			}
+			types.add(type);
+			if (!first.containsKey(name)) {
+				first.put(name, type);
+			}
+		}
+	}
+
+	/**
+	 * The result of the queries for a name.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class Lookup {
+
+		private final List<Class<?>> declaringTypes;
+		private final Class<?> implementingClass;
+		private final Class<?> declaringInterface;
+
+		/**
+		 * @param declaringTypes
+		 * @param implementingClass
+		 * @param declaringInterface
+		 */
+		private Lookup(final List<Class<?>> declaringTypes,
+				final Class<?> implementingClass,
+				final Class<?> declaringInterface) {
+			super();
+			this.declaringTypes = declaringTypes;
+			this.implementingClass = implementingClass;
+			this.declaringInterface = declaringInterface;
+		}
+	}
+}
@@ -0,0 +1,333 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.common.string;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class memoizes the camel case conversions of {@link StringUtils} for a
+ * small vocabulary of identifiers, e.g. column and property names.<br>
+ * The cache is thread safe and bounded. Reads are lock free, when the cache
+ * exceeds its maximum size the entries are evicted in insertion order, where
+ * entries read since the last sweep get a second chance (CLOCK).<br>
+ * Cached arrays are never handed out, {@link #splitCamel(String)} returns a
+ * copy and {@link #splitCamelAsList(String)} a read-only view, so callers
+ * cannot corrupt cached entries.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+public class CamelCaseCache {
+
+	/**
+	 * The default maximum number of cached conversions.
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+	private final int maximumSize;
+	private final ConcurrentMap<Object, Entry> entries;
+	private final Queue<Entry> clock;
+	private final AtomicInteger size;
+	private final LongAdder hits;
+	private final LongAdder misses;
+	private final LongAdder evictions;
+
+	/**
+	 * Creates a cache holding at most {@link #DEFAULT_MAXIMUM_SIZE}
+	 * conversions.
+	 */
+	public CamelCaseCache() {
+		this(DEFAULT_MAXIMUM_SIZE);
+	}
+
+	/**
+	 * @param maximumSize
+	 *            the maximum number of cached conversions
+	 * @throws IllegalArgumentException
+	 *             if the maximum size is less than 1
+	 */
+	public CamelCaseCache(final int maximumSize) {
+		super();
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException(
+					"Maximum size must be greater than 0");
+		}
+		this.maximumSize = maximumSize;
+		this.entries = new ConcurrentHashMap<Object, Entry>(Math.min(
+				maximumSize, DEFAULT_MAXIMUM_SIZE));
+		this.clock = new ConcurrentLinkedQueue<Entry>();
+		this.size = new AtomicInteger();
+		this.hits = new LongAdder();
+		this.misses = new LongAdder();
+		this.evictions = new LongAdder();
+	}
+
+	/**
+	 * Returns the cached result of {@link StringUtils#splitCamel(String)}.
+	 * 
+	 * @param camel
+	 *            the string to be split
+	 * @return a copy of the cached parts, an empty array if the given camel
+	 *         case string is either null or empty
+	 */
+	public String[] splitCamel(final String camel) {
+		final String[] parts = lookupSplit(camel);
+		return (parts.length > 0) ? parts.clone() : parts;
+	}
+
+	/**
+	 * Returns the cached result of {@link StringUtils#splitCamel(String)} as
+	 * a read-only list, which avoids copying the cached parts.
+	 * 
+	 * @param camel
+	 *            the string to be split
+	 * @return the read-only view of the cached parts, an empty list if the
+	 *         given camel case string is either null or empty
+	 */
+	public List<String> splitCamelAsList(final String camel) {
+		return Collections.unmodifiableList(Arrays.asList(lookupSplit(camel)));
+	}
+
+	/**
+	 * Returns the cached result of {@link StringUtils#toCamel(String...)}.
+	 * 
+	 * @param string
+	 *            the string parameters to merged to a camel case string
+	 * @return the build camel case string
+	 */
+	public String toCamel(final String... string) {
+		if (string == null) {
+			return StringUtils.toCamel(string);
+		}
+		final PartsKey key = new PartsKey(string);
+		final Entry entry = entries.get(key);
+		if (entry != null) {
+			return (String) hit(entry);
+		}
+		misses.increment();
+		final String camel = StringUtils.toCamel(string);
+		insert(new PartsKey(string.clone()), camel);
+		return camel;
+	}
+
+	/**
+	 * @return a snapshot of the statistics of this cache
+	 */
+	public Statistics getStatistics() {
+		return new Statistics(hits.sum(), misses.sum(), evictions.sum(),
+				size.get());
+	}
+
+	/**
+	 * @return the maximum number of cached conversions
+	 */
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * Removes all cached conversions. The statistics are kept.
+	 */
+	public void clear() {
+		Entry entry;
+		while ((entry = clock.poll()) != null) {
+			if (entries.remove(entry.key, entry)) {
+				size.decrementAndGet();
+			}
+		}
+	}
+
+	private String[] lookupSplit(final String camel) {
+		if (camel == null) {
+			return StringUtils.splitCamel(camel);
+		}
+		final Entry entry = entries.get(camel);
+		if (entry != null) {
+			return (String[]) hit(entry);
+		}
+		misses.increment();
+		final String[] parts = StringUtils.splitCamel(camel);
+		return (String[]) insert(camel, parts);
+	}
+
+	private Object hit(final Entry entry) {
+		hits.increment();
+		if (!entry.referenced) {
+			entry.referenced = true;
+		}
+		return entry.value;
+	}
+
+	private Object insert(final Object key, final Object value) {
+		final Entry entry = new Entry(key, value);
+		final Entry existing = entries.putIfAbsent(key, entry);
+		if (existing != null) {
+			return existing.value;
+		}
+		clock.add(entry);
+		if (size.incrementAndGet() > maximumSize) {
+			evict();
+		}
+		return value;
+	}
+
+	/**
+	 * Sweeps the clock until the cache fits its maximum size again. Entries
+	 * read since the last sweep are moved to the end of the clock once.
+	 */
+	private void evict() {
+		int sweeps = (maximumSize << 1) + 1;
+		while ((size.get() > maximumSize) && (sweeps-- > 0)) {
+			final Entry candidate = clock.poll();
+			if (candidate == null) {
+				return;
+			}
+			if ((candidate.referenced) && (sweeps > 0)) {
+				candidate.referenced = false;
+				clock.add(candidate);
+			} else if (entries.remove(candidate.key, candidate)) {
+				size.decrementAndGet();
+				evictions.increment();
+			}
+		}
+	}
+
+	/**
+	 * A cached conversion.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class Entry {
+
+		private final Object key;
+		private final Object value;
+		private volatile boolean referenced;
+
+		/**
+		 * @param key
+		 * @param value
+		 */
+		private Entry(final Object key, final Object value) {
+			super();
+			this.key = key;
+			this.value = value;
+		}
+	}
+
+	/**
+	 * The key of a {@link CamelCaseCache#toCamel(String...)} conversion,
+	 * which compares the parts by their values.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class PartsKey {
+
+		private final String[] parts;
+		private final int hash;
+
+		/**
+		 * @param parts
+		 */
+		private PartsKey(final String[] parts) {
+			super();
+			this.parts = parts;
+			this.hash = Arrays.hashCode(parts);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			return (obj == this)
+					|| ((obj instanceof PartsKey)
+							&& (((PartsKey) obj).hash == hash) && (Arrays
+								.equals(((PartsKey) obj).parts, parts)));
+		}
+	}
+
+	/**
+	 * An immutable snapshot of the statistics of a {@link CamelCaseCache}.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	public static final class Statistics {
+
+		private final long hitCount;
+		private final long missCount;
+		private final long evictionCount;
+		private final int size;
+
+		/**
+		 * @param hitCount
+		 * @param missCount
+		 * @param evictionCount
+		 * @param size
+		 */
+		private Statistics(final long hitCount, final long missCount,
+				final long evictionCount, final int size) {
+			super();
+			this.hitCount = hitCount;
+			this.missCount = missCount;
+			this.evictionCount = evictionCount;
+			this.size = size;
+		}
+
+		/**
+		 * @return the number of conversions answered from the cache
+		 */
+		public long getHitCount() {
+			return hitCount;
+		}
+
+		/**
+		 * @return the number of conversions which had to be computed
+		 */
+		public long getMissCount() {
+			return missCount;
+		}
+
+		/**
+		 * @return the number of evicted conversions
+		 */
+		public long getEvictionCount() {
+			return evictionCount;
+		}
+
+		/**
+		 * @return the number of cached conversions
+		 */
+		public int getSize() {
+			return size;
+		}
+
+		/**
+		 * @return the ratio of hits to all requests, 0 if there was no
+		 *         request yet
+		 */
+		public double getHitRate() {
+			final long requests = hitCount + missCount;
+			return (requests > 0) ? ((double) hitCount / requests) : 0;
+		}
+
+		@Override
+		public String toString() {
+			return "Statistics [hits=" + hitCount + ", misses=" + missCount
+					+ ", evictions=" + evictionCount + ", size=" + size + "]";
+		}
+	}
+}
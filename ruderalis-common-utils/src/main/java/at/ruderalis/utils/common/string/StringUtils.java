@@ -3,19 +3,26 @@
  */
 package at.ruderalis.utils.common.string;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
 
 import at.ruderalis.utils.common.regex.CommonRegexPattern;
 
 /**
  * This class provides common utility methods for the handling with Strings.
+ * Most methods are also available for {@link CharSequence} instances and can
+ * append their results to a given {@link Appendable}, so that buffers like
+ * {@link StringBuilder} or {@link java.nio.CharBuffer} can be processed
+ * without materializing them to Strings first.
  * 
  * @author Thomas Herzog
  * @date Feb 12, 2014
  */
 public class StringUtils {
 
+	private static final String[] NO_PARTS = new String[0];
+
 	/**
 	 * Answers the question if the given String instance is either null or
 	 * contains no characters. Spaces will be ignored.
@@ -24,33 +31,156 @@ public class StringUtils {
 	 *            the String instance to check if it is empty
 	 * @return true if the String instance is either null or contains no
 	 *         characters, false otherwise
+	 * @see #isBlank(CharSequence)
 	 */
 	public static boolean isEmpty(final String value) {
-		return (value == null) || (value.trim().length() == 0);
+		return isBlank(value);
+	}
+
+	/**
+	 * Answers the question if the given {@link CharSequence} instance is
+	 * either null or contains no characters. Spaces will be ignored.
+	 * 
+	 * @param value
+	 *            the CharSequence instance to check if it is empty
+	 * @return true if the CharSequence instance is either null or contains no
+	 *         characters, false otherwise
+	 * @see #isBlank(CharSequence)
+	 */
+	public static boolean isEmpty(final CharSequence value) {
+		return isBlank(value);
+	}
+
+	/**
+	 * Answers the question if the given {@link CharSequence} instance is
+	 * either null or contains only whitespace. Whitespace are all characters
+	 * removed by {@link String#trim()}. The characters are scanned in place,
+	 * so nothing is allocated.
+	 * 
+	 * @param value
+	 *            the CharSequence instance to check
+	 * @return true if the CharSequence instance is either null or contains
+	 *         only whitespace, false otherwise
+	 */
+	public static boolean isBlank(final CharSequence value) {
+		if (value != null) {
+			final int length = value.length();
+			for (int i = 0; i < length; i++) {
+				if (value.charAt(i) > ' ') {
+					return false;
+				}
+			}
+		}
+		return true;
 	}
 
 	/**
 	 * Splits a camel case string to its parts where all parts will be lower
-	 * case and all spaces will be removed case
+	 * case and all spaces will be removed case. A new part starts at each
+	 * upper case letter, which is a letter of the Unicode category 'Lu' as
+	 * matched by {@link CommonRegexPattern#UPPER_CASE}. The string is
+	 * scanned in a single pass without any regular expression, the parts are
+	 * collected into an array presized by the length of the string.
 	 * 
 	 * @param camel
 	 *            the string to be split
 	 * @return the split string represented by an String[], an empty array if
 	 *         the given camel case string is either null or empty
+	 * @see #splitCamel(CharSequence, CamelSegmentVisitor)
 	 */
 	public static String[] splitCamel(final String camel) {
-		if (!isEmpty(camel)) {
-			final List<String> split = new ArrayList<String>(camel.length());
-			final String[] temp = camel.split(CommonRegexPattern.UPPER_CASE);
-			for (int i = 0; i < temp.length; i++) {
-				if (!isEmpty(temp[i])) {
-					split.add(temp[i].trim().toLowerCase());
-				}
-			}
-			return split.toArray(new String[split.size()]);
-		} else {
-			return new String[0];
+		if ((camel == null) || (camel.isEmpty())) {
+			return NO_PARTS;
+		}
+		final CollectingVisitor visitor = new CollectingVisitor(camel);
+		final int count = scanCamel(camel, visitor);
+		if (count == 0) {
+			return NO_PARTS;
+		}
+		return (count == visitor.parts.length) ? visitor.parts : Arrays
+				.copyOf(visitor.parts, count);
+	}
+
+	/**
+	 * Splits a camel case string the same way as {@link #splitCamel(String)},
+	 * but reports the boundaries of the trimmed parts to the visitor instead
+	 * of creating substrings. The parts are reported in order and neither
+	 * converted to lower case nor copied, so this variant does not allocate
+	 * anything.
+	 * 
+	 * @param camel
+	 *            the character sequence to be split
+	 * @param visitor
+	 *            the visitor receiving the part boundaries
+	 * @return the number of reported parts, 0 if the given camel case string
+	 *         is either null or empty
+	 * @throws IllegalArgumentException
+	 *             if the visitor is null
+	 */
+	public static int splitCamel(final CharSequence camel,
+			final CamelSegmentVisitor visitor) {
+		if (visitor == null) {
+			throw new IllegalArgumentException("Visitor must not be null");
+		}
+		return scanCamel(camel, visitor);
+	}
+
+	/**
+	 * Splits a camel case string the same way as {@link #splitCamel(String)}
+	 * and appends the lower case parts separated by the given separator to
+	 * the target, e.g. 'OrderLineItem' is appended as 'order_line_item'.
+	 * 
+	 * @param target
+	 *            the builder to append the parts to
+	 * @param camel
+	 *            the character sequence to be split
+	 * @param separator
+	 *            the separator appended between the parts
+	 * @return the given target
+	 * @throws IllegalArgumentException
+	 *             if the target is null
+	 */
+	public static StringBuilder appendSplitCamel(final StringBuilder target,
+			final CharSequence camel, final char separator) {
+		try {
+			appendSplitCamel((Appendable) target, camel, separator);
+		} catch (final IOException e) {
+			throw new IllegalStateException("StringBuilder failed to append",
+					e);
+		}
+		return target;
+	}
+
+	/**
+	 * Splits a camel case string the same way as {@link #splitCamel(String)}
+	 * and appends the lower case parts separated by the given separator to
+	 * the target, e.g. 'OrderLineItem' is appended as 'order_line_item'.
+	 * 
+	 * @param target
+	 *            the appendable to append the parts to
+	 * @param camel
+	 *            the character sequence to be split
+	 * @param separator
+	 *            the separator appended between the parts
+	 * @return the given target
+	 * @throws IOException
+	 *             if the target fails to append
+	 * @throws IllegalArgumentException
+	 *             if the target is null
+	 */
+	public static <A extends Appendable> A appendSplitCamel(final A target,
+			final CharSequence camel, final char separator)
+			throws IOException {
+		if (target == null) {
+			throw new IllegalArgumentException("Target must not be null");
+		}
+		final AppendingVisitor visitor = new AppendingVisitor(target, camel,
+				separator);
+		scanCamel(camel, visitor);
+		if (visitor.failure != null) {
+			throw visitor.failure;
 		}
+		return target;
 	}
 
 	/**
@@ -63,19 +193,312 @@ public class StringUtils {
 	 * @return the build camel case string
 	 */
 	public static String toCamel(final String... string) {
-		StringBuilder builder = new StringBuilder(100);
-		if ((string != null) && (string.length > 0)) {
+		int length = 0;
+		if (string != null) {
 			for (int i = 0; i < string.length; i++) {
-				String part = string[i];
-				if (!isEmpty(part)) {
-					part = part.trim().toLowerCase();
-					builder.append(part.substring(0, 1).toUpperCase());
-					if (part.length() > 1) {
-						builder.append(part.substring(1, part.length()));
+				length += (string[i] != null) ? string[i].length() : 0;
+			}
+		}
+		return appendCamel(new StringBuilder(length), string).toString();
+	}
+
+	/**
+	 * Builds a camel case string out from the given parts the same way as
+	 * {@link #toCamel(String...)} and appends it to the target.
+	 * 
+	 * @param target
+	 *            the builder to append the camel case string to
+	 * @param parts
+	 *            the parts to be merged to a camel case string
+	 * @return the given target
+	 * @throws IllegalArgumentException
+	 *             if the target is null
+	 */
+	public static StringBuilder appendCamel(final StringBuilder target,
+			final CharSequence... parts) {
+		try {
+			appendCamel((Appendable) target, parts);
+		} catch (final IOException e) {
+			throw new IllegalStateException("StringBuilder failed to append",
+					e);
+		}
+		return target;
+	}
+
+	/**
+	 * Builds a camel case string out from the given parts the same way as
+	 * {@link #toCamel(String...)} and appends it to the target. Parts
+	 * consisting of ASCII characters only are appended character by character
+	 * without creating intermediate strings.
+	 * 
+	 * @param target
+	 *            the appendable to append the camel case string to
+	 * @param parts
+	 *            the parts to be merged to a camel case string
+	 * @return the given target
+	 * @throws IOException
+	 *             if the target fails to append
+	 * @throws IllegalArgumentException
+	 *             if the target is null
+	 */
+	public static <A extends Appendable> A appendCamel(final A target,
+			final CharSequence... parts) throws IOException {
+		if (target == null) {
+			throw new IllegalArgumentException("Target must not be null");
+		}
+		if (parts != null) {
+			for (int i = 0; i < parts.length; i++) {
+				if (!isBlank(parts[i])) {
+					appendCapitalized(target, parts[i]);
+				}
+			}
+		}
+		return target;
+	}
+
+	/**
+	 * Scans the camel case string and reports each trimmed, non blank part to
+	 * the visitor. ASCII characters are classified without a Unicode lookup.
+	 * 
+	 * @return the number of found parts
+	 */
+	private static int scanCamel(final CharSequence camel,
+			final CamelSegmentVisitor visitor) {
+		int count = 0;
+		if (camel != null) {
+			final int length = camel.length();
+			int start = 0;
+			int i = 0;
+			while (i < length) {
+				final char c = camel.charAt(i);
+				int next = i + 1;
+				final boolean upper;
+				if (c < 0x80) {
+					upper = (c >= 'A') && (c <= 'Z');
+				} else {
+					final int codePoint = Character.codePointAt(camel, i);
+					next = i + Character.charCount(codePoint);
+					upper = Character.getType(codePoint) == Character.UPPERCASE_LETTER;
+				}
+				if ((upper) && (i > start)) {
+					count += reportSegment(camel, start, i, visitor);
+					start = i;
+				}
+				i = next;
+			}
+			count += reportSegment(camel, start, length, visitor);
+		}
+		return count;
+	}
+
+	/**
+	 * Trims the part like {@link String#trim()} and reports it to the visitor
+	 * if it is not blank.
+	 * 
+	 * @return 1 if the part was reported, 0 otherwise
+	 */
+	private static int reportSegment(final CharSequence camel,
+			final int start, final int end, final CamelSegmentVisitor visitor) {
+		int trimmedStart = start;
+		int trimmedEnd = end;
+		while ((trimmedStart < trimmedEnd)
+				&& (camel.charAt(trimmedStart) <= ' ')) {
+			trimmedStart++;
+		}
+		while ((trimmedEnd > trimmedStart)
+				&& (camel.charAt(trimmedEnd - 1) <= ' ')) {
+			trimmedEnd--;
+		}
+		if (trimmedStart == trimmedEnd) {
+			return 0;
+		}
+		if (visitor != null) {
+			visitor.segment(trimmedStart, trimmedEnd);
+		}
+		return 1;
+	}
+
+	/**
+	 * Converts the part of the string to lower case like
+	 * {@link String#toLowerCase()}. Pure ASCII parts are converted directly,
+	 * unless the default locale maps ASCII letters differently.
+	 */
+	private static String toLowerCase(final String value, final int start,
+			final int end) {
+		if ((isAsciiLowerCaseLocale()) && (isAscii(value, start, end))) {
+			final char[] chars = new char[end - start];
+			for (int i = start; i < end; i++) {
+				chars[i - start] = toLowerCaseAscii(value.charAt(i));
+			}
+			return new String(chars);
+		}
+		return value.substring(start, end).toLowerCase();
+	}
+
+	/**
+	 * Appends the part of the character sequence converted to lower case like
+	 * {@link String#toLowerCase()}.
+	 */
+	private static void appendLowerCase(final Appendable target,
+			final CharSequence value, final int start, final int end)
+			throws IOException {
+		if ((isAsciiLowerCaseLocale()) && (isAscii(value, start, end))) {
+			for (int i = start; i < end; i++) {
+				target.append(toLowerCaseAscii(value.charAt(i)));
+			}
+		} else {
+			target.append(value.subSequence(start, end).toString()
+					.toLowerCase());
+		}
+	}
+
+	/**
+	 * Appends the trimmed part converted to lower case with an upper case
+	 * first character.
+	 */
+	private static void appendCapitalized(final Appendable target,
+			final CharSequence part) throws IOException {
+		int start = 0;
+		int end = part.length();
+		while ((start < end) && (part.charAt(start) <= ' ')) {
+			start++;
+		}
+		while ((end > start) && (part.charAt(end - 1) <= ' ')) {
+			end--;
+		}
+		if ((isAsciiLowerCaseLocale()) && (isAscii(part, start, end))) {
+			final char first = part.charAt(start);
+			target.append(((first >= 'a') && (first <= 'z')) ? (char) (first - ('a' - 'A'))
+					: first);
+			for (int i = start + 1; i < end; i++) {
+				target.append(toLowerCaseAscii(part.charAt(i)));
+			}
+		} else {
+			final String lower = part.subSequence(start, end).toString()
+					.toLowerCase();
+			target.append(lower.substring(0, 1).toUpperCase());
+			target.append(lower, 1, lower.length());
+		}
+	}
+
+	private static boolean isAscii(final CharSequence value, final int start,
+			final int end) {
+		for (int i = start; i < end; i++) {
+			if (value.charAt(i) >= 0x80) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static char toLowerCaseAscii(final char c) {
+		return ((c >= 'A') && (c <= 'Z')) ? (char) (c + ('a' - 'A')) : c;
+	}
+
+	/**
+	 * Answers the question if the default locale converts ASCII letters to
+	 * ASCII lower case letters. Turkish and Azerbaijani map 'I' to a dotless
+	 * 'i' and are therefore excluded.
+	 */
+	private static boolean isAsciiLowerCaseLocale() {
+		final String language = Locale.getDefault().getLanguage();
+		return (!"tr".equals(language)) && (!"az".equals(language));
+	}
+
+	/**
+	 * This visitor receives the boundaries of the parts of a camel case
+	 * string.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 * @see StringUtils#splitCamel(CharSequence, CamelSegmentVisitor)
+	 */
+	public interface CamelSegmentVisitor {
+
+		/**
+		 * Called for each trimmed, non blank part of the camel case string.
+		 * 
+		 * @param start
+		 *            the index of the first character of the part
+		 * @param end
+		 *            the index after the last character of the part
+		 */
+		void segment(int start, int end);
+	}
+
+	/**
+	 * Appends the lower case parts reported by the camel case scanner
+	 * separated by a separator. As the visitor cannot throw checked
+	 * exceptions, the first failure is kept and the remaining parts are
+	 * skipped.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class AppendingVisitor implements
+			CamelSegmentVisitor {
+
+		private final Appendable target;
+		private final CharSequence camel;
+		private final char separator;
+		private boolean first = true;
+		private IOException failure;
+
+		/**
+		 * @param target
+		 * @param camel
+		 * @param separator
+		 */
+		private AppendingVisitor(final Appendable target,
+				final CharSequence camel, final char separator) {
+			super();
+			this.target = target;
+			this.camel = camel;
+			this.separator = separator;
+		}
+
+		public void segment(final int start, final int end) {
+			if (failure == null) {
+				try {
+					if (!first) {
+						target.append(separator);
 					}
+					first = false;
+					appendLowerCase(target, camel, start, end);
+				} catch (final IOException e) {
+					failure = e;
 				}
 			}
 		}
-		return builder.toString();
+	}
+
+	/**
+	 * Collects the lower case parts reported by the camel case scanner into a
+	 * growing array, which is presized for parts of eight characters.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class CollectingVisitor implements CamelSegmentVisitor {
+
+		private final String camel;
+		private String[] parts;
+		private int count;
+
+		/**
+		 * @param camel
+		 */
+		private CollectingVisitor(final String camel) {
+			super();
+			this.camel = camel;
+			this.parts = new String[(camel.length() >>> 3) + 1];
+		}
+
+		public void segment(final int start, final int end) {
+			if (count == parts.length) {
+				parts = Arrays.copyOf(parts, count << 1);
+			}
+			parts[count++] = toLowerCase(camel, start, end);
+		}
 	}
 }
@@ -0,0 +1,195 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.test.common.collection;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import at.ruderalis.utils.common.collection.CollectionUtils;
+import at.ruderalis.utils.common.reflection.PropertyPath;
+
+/**
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@RunWith(JUnit4.class)
+public class CollectionUtilsTest {
+
+	public static class Address {
+
+		private final String city;
+
+		public Address(final String city) {
+			super();
+			this.city = city;
+		}
+
+		public String getCity() {
+			return city;
+		}
+	}
+
+	public static class Person {
+
+		private final String name;
+		private final Address address;
+
+		public Person(final String name, final Address address) {
+			super();
+			this.name = name;
+			this.address = address;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public Address getAddress() {
+			return address;
+		}
+	}
+
+	private final Person anna = new Person("Anna", new Address("Linz"));
+	private final Person bert = new Person("Bert", new Address("Wien"));
+	private final Person carl = new Person("Carl", new Address("Linz"));
+	private final Person dora = new Person("Dora", null);
+
+	private final List<Person> persons = Arrays.asList(anna, bert, carl, dora);
+
+	@Test
+	public void testSearch_null_source() {
+		assertTrue(CollectionUtils.search(null, anna, "name").isEmpty());
+	}
+
+	@Test
+	public void testSearch_empty_source() {
+		assertTrue(CollectionUtils.search(new ArrayList<Person>(), anna,
+				"name").isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSearch_null_path() {
+		CollectionUtils.search(persons, anna, (String) null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSearch_unknown_property() {
+		CollectionUtils.search(persons, anna, "address.doesNotExists");
+	}
+
+	@Test
+	public void testSearch() {
+		assertEquals(Arrays.asList(bert),
+				CollectionUtils.search(persons, bert, "name"));
+	}
+
+	@Test
+	public void testSearch_nested() {
+		assertEquals(Arrays.asList(anna, carl),
+				CollectionUtils.search(persons, anna, "address.city"));
+	}
+
+	@Test
+	public void testSearch_null_intermediate() {
+		assertEquals(Arrays.asList(dora),
+				CollectionUtils.search(persons, dora, "address.city"));
+	}
+
+	@Test
+	public void testParallelSearch_below_threshold() {
+		assertEquals(Arrays.asList(anna, carl),
+				CollectionUtils.parallelSearch(persons, anna, "address.city"));
+	}
+
+	@Test
+	public void testParallelSearch_ordered() {
+		final List<Person> source = largeSource();
+		final List<Person> expected = CollectionUtils.search(source, anna,
+				"address.city");
+		assertEquals(expected,
+				CollectionUtils.parallelSearch(source, anna, "address.city"));
+	}
+
+	@Test
+	public void testParallelSearch_unordered() {
+		final List<Person> source = largeSource();
+		final List<Person> expected = CollectionUtils.search(source, dora,
+				"address.city");
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			final List<Person> found = CollectionUtils.parallelSearch(source,
+					dora, PropertyPath.of("address.city"), pool, false);
+			assertEquals(expected.size(), found.size());
+			assertEquals(new HashSet<Person>(expected),
+					new HashSet<Person>(found));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelSearch_threshold() {
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			// forced parallel below the default threshold
+			final List<Person> source = largeSource().subList(0, 5000);
+			assertEquals(CollectionUtils.search(source, anna, "address.city"),
+					CollectionUtils.parallelSearch(source, anna,
+							PropertyPath.of("address.city"), pool, true, 0));
+			assertEquals(Arrays.asList(anna, carl),
+					CollectionUtils.parallelSearch(persons, anna,
+							PropertyPath.of("address.city"), pool, true, 0));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testParallelSearch_negative_threshold() {
+		CollectionUtils.parallelSearch(persons, anna,
+				PropertyPath.of("name"), ForkJoinPool.commonPool(), true, -1);
+	}
+
+	@Test
+	public void testParallelFindAny() {
+		final List<Person> source = largeSource();
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			final Person found = CollectionUtils.parallelFindAny(source, anna,
+					PropertyPath.of("address.city"), pool, 0);
+			assertEquals("Linz", found.getAddress().getCity());
+			assertSame(bert, CollectionUtils.parallelFindAny(source, bert,
+					PropertyPath.of("name"), pool, 0));
+			assertNull(CollectionUtils.parallelFindAny(source, new Person(
+					"Nobody", null), PropertyPath.of("name"), pool, 0));
+			// sequential below the threshold
+			assertSame(anna, CollectionUtils.parallelFindAny(persons, anna,
+					PropertyPath.of("address.city"), pool,
+					CollectionUtils.PARALLEL_THRESHOLD));
+			assertNull(CollectionUtils.parallelFindAny(null, anna,
+					PropertyPath.of("name"), pool, 0));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private List<Person> largeSource() {
+		final List<Person> source = new ArrayList<Person>();
+		for (int i = 0; i < (CollectionUtils.PARALLEL_THRESHOLD * 4); i++) {
+			source.add((i % 3 == 0) ? new Person("Anna" + i, new Address(
+					"Linz")) : ((i % 3 == 1) ? bert : new Person("Dora" + i,
+					null)));
+		}
+		return source;
+	}
+}
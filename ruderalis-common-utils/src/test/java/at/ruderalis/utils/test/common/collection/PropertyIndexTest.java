@@ -0,0 +1,158 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.test.common.collection;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import at.ruderalis.utils.common.collection.CollectionUtils;
+import at.ruderalis.utils.common.collection.PropertyIndex;
+import at.ruderalis.utils.common.iterable.IterableUtils;
+
+/**
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@RunWith(JUnit4.class)
+public class PropertyIndexTest {
+
+	public static class Item {
+
+		private final String name;
+		private final Integer rank;
+
+		public Item(final String name, final Integer rank) {
+			super();
+			this.name = name;
+			this.rank = rank;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public Integer getRank() {
+			return rank;
+		}
+	}
+
+	public static class Price {
+
+		private final BigDecimal amount;
+
+		public Price(final String amount) {
+			super();
+			this.amount = new BigDecimal(amount);
+		}
+
+		public BigDecimal getAmount() {
+			return amount;
+		}
+	}
+
+	private final Item a = new Item("a", 1);
+	private final Item b = new Item("b", 2);
+	private final Item c = new Item("c", 2);
+	private final Item d = new Item("d", 5);
+	private final Item e = new Item("e", null);
+
+	private final List<Item> items = Arrays.asList(a, b, c, d, e);
+
+	@Test
+	public void testGet() {
+		final PropertyIndex<Integer, Item> index = CollectionUtils.index(
+				items, "rank");
+		assertEquals(5, index.size());
+		assertEquals(Arrays.asList(b, c), index.get(2));
+		assertEquals(Arrays.asList(e), index.get(null));
+		assertTrue(index.get(3).isEmpty());
+		assertFalse(index.contains(3));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testGet_read_only() {
+		final PropertyIndex<Integer, Item> index = CollectionUtils.index(
+				items, "rank");
+		index.get(2).add(a);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testRange_unsorted() {
+		final PropertyIndex<Integer, Item> index = CollectionUtils.index(
+				items, "rank");
+		index.range(1, true, 2, true);
+	}
+
+	@Test
+	public void testRange() {
+		final PropertyIndex<Integer, Item> index = CollectionUtils
+				.sortedIndex(items, "rank");
+		assertEquals(Arrays.asList(a, b, c),
+				IterableUtils.toArrayList(index.range(1, true, 2, true)));
+		assertEquals(Arrays.asList(b, c, d),
+				IterableUtils.toArrayList(index.range(1, false, null, false)));
+		assertEquals(Arrays.asList(a, b, c, d),
+				IterableUtils.toArrayList(index.range(null, false, null, false)));
+	}
+
+	@Test
+	public void testAdd() {
+		final PropertyIndex<Integer, Item> index = CollectionUtils
+				.sortedIndex(items, "rank");
+		final Item f = new Item("f", 3);
+		index.add(f);
+		assertEquals(6, index.size());
+		assertEquals(Arrays.asList(f), index.get(3));
+		assertEquals(Arrays.asList(b, c, f),
+				IterableUtils.toArrayList(index.range(2, true, 3, true)));
+	}
+
+	@Test
+	public void testRemove() {
+		final PropertyIndex<Integer, Item> index = CollectionUtils
+				.sortedIndex(items, "rank");
+		assertTrue(index.remove(b));
+		assertTrue(index.remove(d));
+		assertFalse(index.remove(d));
+		assertEquals(3, index.size());
+		assertEquals(Arrays.asList(c), index.get(2));
+		assertFalse(index.contains(5));
+		assertEquals(Arrays.asList(a, c),
+				IterableUtils.toArrayList(index.range(null, false, null, false)));
+	}
+
+	@Test
+	public void testSorted_keysEqualByComparator() {
+		// 1.0 and 1.00 are equal by compareTo but not by equals
+		final Price first = new Price("1.0");
+		final Price second = new Price("1.00");
+		final Price third = new Price("2");
+		final PropertyIndex<BigDecimal, Price> index = CollectionUtils
+				.sortedIndex(Arrays.asList(first, second, third), "amount");
+		// equality lookups compare by equals, ranges by the comparator
+		assertEquals(Arrays.asList(first), index.get(new BigDecimal("1.0")));
+		assertEquals(Arrays.asList(second), index.get(new BigDecimal("1.00")));
+		assertTrue(index.get(new BigDecimal("1")).isEmpty());
+		assertEquals(3, index.keys().size());
+		assertEquals(Arrays.asList(first, second),
+				IterableUtils.toArrayList(index.range(new BigDecimal("1"),
+						true, new BigDecimal("1"), true)));
+		assertEquals(Arrays.asList(first, second, third),
+				IterableUtils.toArrayList(index.range(null, false, null, false)));
+		assertTrue(index.remove(first));
+		assertEquals(Arrays.asList(second, third),
+				IterableUtils.toArrayList(index.range(null, false, null, false)));
+		assertTrue(index.remove(second));
+		assertFalse(index.contains(new BigDecimal("1.0")));
+		assertEquals(Arrays.asList(third),
+				IterableUtils.toArrayList(index.range(null, false, null, false)));
+	}
+}
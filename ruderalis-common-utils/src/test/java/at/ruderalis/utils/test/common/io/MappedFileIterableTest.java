@@ -0,0 +1,242 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.test.common.io;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import at.ruderalis.utils.common.io.MappedFileIterable;
+import at.ruderalis.utils.common.io.RecordCodec;
+import at.ruderalis.utils.common.io.RecordFileWriter;
+import at.ruderalis.utils.common.iterable.IterableUtils;
+
+/**
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@RunWith(JUnit4.class)
+public class MappedFileIterableTest {
+
+	/**
+	 * Encodes a long pair as 16 bytes.
+	 */
+	private static final RecordCodec<long[]> PAIR = new RecordCodec<long[]>() {
+		public int size(final long[] record) {
+			return 16;
+		}
+
+		public void encode(final long[] record, final ByteBuffer target) {
+			target.putLong(record[0]).putLong(record[1]);
+		}
+
+		public long[] decode(final ByteBuffer source) {
+			return new long[] { source.getLong(), source.getLong() };
+		}
+	};
+
+	/**
+	 * Encodes a string as UTF-8 bytes.
+	 */
+	private static final RecordCodec<String> UTF8 = new RecordCodec<String>() {
+		public int size(final String record) {
+			return record.getBytes(StandardCharsets.UTF_8).length;
+		}
+
+		public void encode(final String record, final ByteBuffer target) {
+			target.put(record.getBytes(StandardCharsets.UTF_8));
+		}
+
+		public String decode(final ByteBuffer source) {
+			final byte[] bytes = new byte[source.remaining()];
+			source.get(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+	};
+
+	private Path file;
+
+	@Before
+	public void before() throws IOException {
+		file = Files.createTempFile("records", ".bin");
+	}
+
+	@After
+	public void after() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	private List<String> writeStrings(final int count) throws IOException {
+		final List<String> strings = new ArrayList<String>();
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			sb.append((char) ('a' + (i % 26)));
+			strings.add(sb.toString() + "ä" + i);
+		}
+		final RecordFileWriter<String> writer = RecordFileWriter
+				.lengthPrefixed(file, UTF8);
+		try {
+			writer.writeAll(strings);
+			assertEquals(count, writer.getCount());
+		} finally {
+			writer.close();
+		}
+		return strings;
+	}
+
+	@Test
+	public void testFixed() throws IOException {
+		final RecordFileWriter<long[]> writer = RecordFileWriter.fixed(file,
+				16, PAIR);
+		for (long i = 0; i < 1000; i++) {
+			writer.write(new long[] { i, -i });
+		}
+		writer.close();
+		assertEquals(16000, Files.size(file));
+		// windows of 40 bytes force records to cross the window ends
+		final MappedFileIterable<long[]> records = MappedFileIterable.fixed(
+				file, 16, PAIR, 40);
+		try {
+			assertEquals(1000, records.getRecordCount());
+			long i = 0;
+			for (final long[] record : records) {
+				assertEquals(i, record[0]);
+				assertEquals(-i, record[1]);
+				i++;
+			}
+			assertEquals(1000, i);
+		} finally {
+			records.close();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFixed_sizeMismatch() throws IOException {
+		Files.write(file, new byte[17]);
+		MappedFileIterable.fixed(file, 16, PAIR);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFixed_writeSizeMismatch() throws IOException {
+		final RecordFileWriter<String> writer = RecordFileWriter.fixed(file,
+				4, UTF8);
+		try {
+			writer.write("abc");
+		} finally {
+			writer.close();
+		}
+	}
+
+	@Test
+	public void testLengthPrefixed() throws IOException {
+		final List<String> strings = writeStrings(300);
+		// records up to 300 bytes are larger than the window
+		final MappedFileIterable<String> records = MappedFileIterable
+				.lengthPrefixed(file, UTF8, 64);
+		try {
+			assertEquals(-1, records.getRecordCount());
+			assertEquals(strings, IterableUtils.toArrayList(records));
+			// the iterable can be iterated again
+			assertEquals(strings, IterableUtils.toLinkedList(records));
+		} finally {
+			records.close();
+		}
+	}
+
+	@Test
+	public void testLargeBuffer() throws IOException {
+		final char[] chars = new char[100000];
+		Arrays.fill(chars, 'x');
+		final String large = new String(chars);
+		final RecordFileWriter<String> writer = RecordFileWriter
+				.lengthPrefixed(file, UTF8);
+		writer.writeAll(Arrays.asList("small", large, "small"));
+		writer.close();
+		final MappedFileIterable<String> records = MappedFileIterable
+				.lengthPrefixed(file, UTF8);
+		try {
+			assertEquals(Arrays.asList("small", large, "small"),
+					IterableUtils.toArrayList(records));
+		} finally {
+			records.close();
+		}
+	}
+
+	@Test
+	public void testEmpty() throws IOException {
+		final MappedFileIterable<String> records = MappedFileIterable
+				.lengthPrefixed(file, UTF8);
+		try {
+			assertTrue(IterableUtils.isEmpty(records));
+			assertTrue(IterableUtils.toHashSet(records).isEmpty());
+		} finally {
+			records.close();
+		}
+	}
+
+	@Test
+	public void testUnmodifiable() throws IOException {
+		final List<String> strings = writeStrings(10);
+		final MappedFileIterable<String> records = MappedFileIterable
+				.lengthPrefixed(file, UTF8);
+		try {
+			assertFalse(IterableUtils.isEmpty(records));
+			assertEquals(strings, IterableUtils.toArrayList(IterableUtils
+					.unmodifiableIterable(records)));
+		} finally {
+			records.close();
+		}
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testIterator_remove() throws IOException {
+		writeStrings(1);
+		final MappedFileIterable<String> records = MappedFileIterable
+				.lengthPrefixed(file, UTF8);
+		try {
+			final Iterator<String> it = records.iterator();
+			it.next();
+			it.remove();
+		} finally {
+			records.close();
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testTruncated() throws IOException {
+		writeStrings(5);
+		final byte[] bytes = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+		final MappedFileIterable<String> records = MappedFileIterable
+				.lengthPrefixed(file, UTF8);
+		try {
+			IterableUtils.toArrayList(records);
+		} finally {
+			records.close();
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testClosed() throws IOException {
+		writeStrings(5);
+		final MappedFileIterable<String> records = MappedFileIterable
+				.lengthPrefixed(file, UTF8);
+		records.close();
+		records.iterator();
+	}
+}
@@ -8,19 +8,35 @@ import static org.junit.Assert.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.Spliterator;
 import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.StreamSupport;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
+import at.ruderalis.utils.common.iterable.BatchIterator;
+import at.ruderalis.utils.common.iterable.Chunk;
 import at.ruderalis.utils.common.iterable.IterableUtils;
+import at.ruderalis.utils.common.primitive.IntHashSet;
+import at.ruderalis.utils.common.primitive.IntList;
+import at.ruderalis.utils.common.primitive.LongHashSet;
 
 /**
  * @author Thomas Herzog
@@ -145,6 +161,187 @@ public class IterableUtilsTest {
 		}
 	}
 
+	@Test
+	public void testUnmodifiableIterable_notNested() {
+		final Iterable<String> iterable = IterableUtils
+				.unmodifiableIterable(Arrays.asList("a", "b"));
+		assertSame(iterable, IterableUtils.unmodifiableIterable(iterable));
+		final Iterator<String> iterator = iterable.iterator();
+		assertSame(iterator, IterableUtils.unmodifiableIterator(iterator));
+	}
+
+	@Test
+	public void testUnmodifiableIterable_spliterator() {
+		final List<Integer> list = new ArrayList<Integer>();
+		for (int i = 0; i < 1000; i++) {
+			list.add(i);
+		}
+		final Spliterator<Integer> spliterator = IterableUtils
+				.unmodifiableIterable(list).spliterator();
+		assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+		assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+		assertEquals(1000, spliterator.getExactSizeIfKnown());
+		assertNotNull(spliterator.trySplit());
+		final long sum = StreamSupport
+				.stream(IterableUtils.unmodifiableIterable(list)
+						.spliterator(), true).mapToLong(Integer::longValue)
+				.sum();
+		assertEquals(499500L, sum);
+	}
+
+	@Test
+	public void testUnmodifiableIterable_forEach() {
+		final List<String> list = Arrays.asList("a", "b", "c");
+		final List<String> result = new ArrayList<String>();
+		IterableUtils.unmodifiableIterable(
+				new IterableImpl<String>(new LinkedList<String>(list)))
+				.forEach(new Consumer<String>() {
+					public void accept(final String value) {
+						result.add(value);
+					}
+				});
+		assertEquals(list, result);
+	}
+
+	@Test
+	public void testUnmodifiableIterator_randomAccess() {
+		final List<String> list = new ArrayList<String>(Arrays.asList("a",
+				"b", "c", "d"));
+		final Iterator<String> iterator = IterableUtils.unmodifiableIterable(
+				list).iterator();
+		assertEquals("a", iterator.next());
+		final List<String> result = new ArrayList<String>();
+		iterator.forEachRemaining(new Consumer<String>() {
+			public void accept(final String value) {
+				result.add(value);
+			}
+		});
+		assertEquals(Arrays.asList("b", "c", "d"), result);
+		assertFalse(iterator.hasNext());
+		try {
+			iterator.next();
+			fail("NoSuchElementException expected");
+		} catch (final NoSuchElementException e) {
+			// expected
+		}
+		try {
+			iterator.remove();
+			fail("UnsupportedOperationException expected");
+		} catch (final UnsupportedOperationException e) {
+			// expected
+		}
+		assertEquals(4, list.size());
+	}
+
+	@Test
+	public void testUnmodifiableIterator_copyOnWriteSnapshot() {
+		final List<String> list = new CopyOnWriteArrayList<String>(
+				Arrays.asList("a", "b", "c"));
+		final Iterator<String> iterator = IterableUtils.unmodifiableIterable(
+				list).iterator();
+		assertEquals("a", iterator.next());
+		list.clear();
+		// the iterator keeps the snapshot of the list
+		assertTrue(iterator.hasNext());
+		assertEquals("b", iterator.next());
+		assertEquals("c", iterator.next());
+		assertFalse(iterator.hasNext());
+	}
+
+	@Test
+	public void testUnmodifiableIterator_forEachRemaining() {
+		final List<String> list = Arrays.asList("a", "b", "c");
+		final Iterator<String> iterator = IterableUtils
+				.unmodifiableIterator(new LinkedList<String>(list).iterator());
+		final List<String> result = new ArrayList<String>();
+		iterator.forEachRemaining(new Consumer<String>() {
+			public void accept(final String value) {
+				result.add(value);
+			}
+		});
+		assertEquals(list, result);
+	}
+
+	@Test
+	public void testBottomK() {
+		final List<Integer> source = new ArrayList<Integer>();
+		final Random random = new Random(3);
+		for (int i = 0; i < 10000; i++) {
+			source.add(random.nextInt(500));
+		}
+		final List<Integer> sorted = new ArrayList<Integer>(source);
+		Collections.sort(sorted);
+		assertEquals(sorted.subList(0, 25),
+				IterableUtils.bottomK(new IterableImpl<Integer>(source), 25,
+						null));
+		assertEquals(sorted, IterableUtils.bottomK(source, 20000, null));
+		assertTrue(IterableUtils.bottomK(source, 0, null).isEmpty());
+		assertTrue(IterableUtils.bottomK(null, 3, null).isEmpty());
+	}
+
+	@Test
+	public void testTopK() {
+		final List<Integer> source = Arrays.asList(5, 1, 9, 3, 9, 7, 2);
+		assertEquals(Arrays.asList(9, 9, 7),
+				IterableUtils.topK(source, 3, null));
+		assertEquals(Arrays.asList(1, 2), IterableUtils.topK(source, 2,
+				Collections.<Integer> reverseOrder()));
+	}
+
+	@Test
+	public void testTopK_stableDuplicates() {
+		final List<String> source = Arrays.asList("b", "A", "c", "a", "B",
+				"C", "a");
+		assertEquals(Arrays.asList("A", "a", "a", "b"),
+				IterableUtils.bottomK(source, 4, String.CASE_INSENSITIVE_ORDER));
+		assertEquals(Arrays.asList("c", "C", "b"),
+				IterableUtils.topK(source, 3, String.CASE_INSENSITIVE_ORDER));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTopK_negative() {
+		IterableUtils.topK(Arrays.asList(1), -1, null);
+	}
+
+	@Test
+	public void testSortedIterator() {
+		final List<Integer> source = new ArrayList<Integer>();
+		final Random random = new Random(5);
+		for (int i = 0; i < 5000; i++) {
+			source.add(random.nextInt(1000));
+		}
+		final List<Integer> sorted = new ArrayList<Integer>(source);
+		Collections.sort(sorted);
+		final List<Integer> result = new ArrayList<Integer>();
+		final Iterator<Integer> it = IterableUtils.sortedIterator(
+				new IterableImpl<Integer>(source), null);
+		while (it.hasNext()) {
+			result.add(it.next());
+		}
+		assertEquals(sorted, result);
+		try {
+			it.next();
+			fail("NoSuchElementException expected");
+		} catch (final NoSuchElementException e) {
+			// expected
+		}
+		assertFalse(IterableUtils.sortedIterator(null, null).hasNext());
+	}
+
+	@Test
+	public void testSortedIterator_stableDuplicates() {
+		final List<String> source = Arrays.asList("b", "A", "c", "a", "B");
+		final Iterator<String> it = IterableUtils.sortedIterator(source,
+				String.CASE_INSENSITIVE_ORDER);
+		assertEquals("A", it.next());
+		assertEquals("a", it.next());
+		assertEquals("b", it.next());
+		assertEquals("B", it.next());
+		assertEquals("c", it.next());
+		assertFalse(it.hasNext());
+		assertEquals(Arrays.asList("b", "A", "c", "a", "B"), source);
+	}
+
 	@Test
 	public void testToLinkedList() {
 		final List<String> list = new LinkedList<String>(Arrays.asList("Not",
@@ -198,4 +395,386 @@ public class IterableUtilsTest {
 		assertEquals(set.getClass(), treeSet.getClass());
 		assertEquals(set, treeSet);
 	}
+
+	@Test
+	public void testToCollection_null() {
+		assertTrue(IterableUtils.toLinkedList(null).isEmpty());
+		assertTrue(IterableUtils.toArrayList(null).isEmpty());
+		assertTrue(IterableUtils.toHashSet(null).isEmpty());
+		assertTrue(IterableUtils.toTreeSet(null).isEmpty());
+	}
+
+	@Test
+	public void testToArrayList_collection() {
+		final List<String> list = Arrays.asList("Not", "meant", "to", "be");
+		final List<String> copy = IterableUtils.toArrayList(list);
+		assertEquals(ArrayList.class, copy.getClass());
+		assertEquals(list, copy);
+		assertNotSame(list, copy);
+	}
+
+	@Test
+	public void testToArrayList_unmodifiable() {
+		final List<String> list = Arrays.asList("Not", "meant", "to", "be");
+		assertEquals(list, IterableUtils.toArrayList(IterableUtils
+				.unmodifiableIterable(IterableUtils.unmodifiableIterable(list))));
+		assertEquals(list, IterableUtils.toLinkedList(IterableUtils
+				.unmodifiableIterable(list)));
+	}
+
+	@Test
+	public void testToArrayList_sized() {
+		final List<Integer> list = Arrays.asList(1, 2, 3);
+		final Iterable<Integer> sized = new Iterable<Integer>() {
+			public Iterator<Integer> iterator() {
+				return list.iterator();
+			}
+
+			@Override
+			public Spliterator<Integer> spliterator() {
+				return list.spliterator();
+			}
+		};
+		assertEquals(list, IterableUtils.toArrayList(sized));
+		assertEquals(new HashSet<Integer>(list), IterableUtils.toHashSet(sized));
+	}
+
+	@Test
+	public void testToHashSet_collection() {
+		final List<String> list = Arrays.asList("Not", "to", "be", "to");
+		final Set<String> set = IterableUtils.toHashSet(list);
+		assertEquals(HashSet.class, set.getClass());
+		assertEquals(new HashSet<String>(list), set);
+	}
+
+	@Test
+	public void testToTreeSet_sortedSet() {
+		final Comparator<String> reverse = new Comparator<String>() {
+			public int compare(String o1, String o2) {
+				return o2.compareTo(o1);
+			}
+		};
+		final SortedSet<String> set = new TreeSet<String>(reverse);
+		set.addAll(Arrays.asList("Not", "meant", "to", "be", "deleted"));
+		final TreeSet<String> sameOrder = (TreeSet<String>) IterableUtils
+				.toTreeSet(set, reverse);
+		assertEquals(new ArrayList<String>(set), new ArrayList<String>(
+				sameOrder));
+		final TreeSet<String> naturalOrder = (TreeSet<String>) IterableUtils
+				.toTreeSet(set);
+		assertEquals("Not", naturalOrder.first());
+		assertEquals("to", naturalOrder.last());
+	}
+
+	@Test
+	public void testToIntArray() {
+		assertArrayEquals(new int[] { 3, 1, 2 },
+				IterableUtils.toIntArray(Arrays.asList(3, 1, 2)));
+		assertEquals(0, IterableUtils.toIntArray(null).length);
+	}
+
+	@Test
+	public void testToLongArray() {
+		assertArrayEquals(new long[] { 3L, Long.MIN_VALUE },
+				IterableUtils.toLongArray(new IterableImpl<Long>(Arrays.asList(
+						3L, Long.MIN_VALUE))));
+	}
+
+	@Test
+	public void testToDoubleArray() {
+		final List<Double> values = new ArrayList<Double>();
+		for (int i = 0; i < 100; i++) {
+			values.add(i / 2.0);
+		}
+		final double[] array = IterableUtils
+				.toDoubleArray(new IterableImpl<Double>(values));
+		assertEquals(100, array.length);
+		assertEquals(49.5, array[99], 0.0);
+		assertEquals(0, IterableUtils.toDoubleArray(null).length);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testToIntArray_nullElement() {
+		IterableUtils.toIntArray(Arrays.asList(1, null));
+	}
+
+	@Test
+	public void testToIntList() {
+		final IntList list = IterableUtils.toIntList(IterableUtils
+				.unmodifiableIterable(Arrays.asList(1, 2, 2)));
+		assertArrayEquals(new int[] { 1, 2, 2 }, list.toArray());
+		assertArrayEquals(new long[] { 1L, 2L },
+				IterableUtils.toLongList(Arrays.asList(1L, 2L)).toArray());
+	}
+
+	@Test
+	public void testToIntHashSet() {
+		final IntHashSet set = IterableUtils
+				.toIntHashSet(new IterableImpl<Integer>(Arrays.asList(1, 2, 2,
+						0)));
+		assertEquals(3, set.size());
+		assertTrue(set.contains(0));
+		assertTrue(set.contains(2));
+		final LongHashSet longSet = IterableUtils.toLongHashSet(Arrays.asList(
+				1L, 1L, Long.MAX_VALUE));
+		assertEquals(2, longSet.size());
+		assertTrue(longSet.contains(Long.MAX_VALUE));
+	}
+
+	private static List<Integer> numbers(final int size) {
+		final List<Integer> numbers = new ArrayList<Integer>(size);
+		for (int i = 0; i < size; i++) {
+			numbers.add(Integer.valueOf((i * 7919) % 50000));
+		}
+		return numbers;
+	}
+
+	@Test
+	public void testParallelToArrayList() {
+		final List<Integer> numbers = numbers(100000);
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			final List<Integer> list = IterableUtils.parallelToArrayList(
+					numbers, pool);
+			assertEquals(ArrayList.class, list.getClass());
+			assertEquals(numbers, list);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelToArrayList_sequential() {
+		final List<String> list = Arrays.asList("Not", "meant", "to", "be");
+		assertEquals(list, IterableUtils.parallelToArrayList(list));
+		assertEquals(list, IterableUtils
+				.parallelToArrayList(new IterableImpl<String>(list)));
+		assertTrue(IterableUtils.parallelToArrayList(null).isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testParallelToArrayList_nullPool() {
+		IterableUtils.parallelToArrayList(numbers(10), null);
+	}
+
+	@Test
+	public void testParallelToHashSet() {
+		final List<Integer> numbers = numbers(100000);
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			final Set<Integer> set = IterableUtils.parallelToHashSet(numbers,
+					pool);
+			assertEquals(HashSet.class, set.getClass());
+			assertEquals(new HashSet<Integer>(numbers), set);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelToTreeSet() {
+		final List<Integer> numbers = numbers(100000);
+		final Comparator<Integer> reverse = new Comparator<Integer>() {
+			public int compare(Integer o1, Integer o2) {
+				return o2.compareTo(o1);
+			}
+		};
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			final TreeSet<Integer> expected = new TreeSet<Integer>(reverse);
+			expected.addAll(numbers);
+			final TreeSet<Integer> set = (TreeSet<Integer>) IterableUtils
+					.parallelToTreeSet(numbers, reverse, pool);
+			assertEquals(expected.size(), set.size());
+			assertEquals(new ArrayList<Integer>(expected),
+					new ArrayList<Integer>(set));
+			assertSame(reverse, set.comparator());
+			final Set<Integer> natural = IterableUtils.parallelToTreeSet(
+					numbers, null, pool);
+			assertEquals(Integer.valueOf(0), ((TreeSet<Integer>) natural)
+					.first());
+			assertEquals(expected, natural);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelToTreeSet_keepsFirst() {
+		final List<String> strings = new ArrayList<String>();
+		for (int i = 0; i < 20000; i++) {
+			// the lower case keys come first in encounter order
+			strings.add((((i / 100) % 2) == 0) ? "key" + (i % 100) : "KEY"
+					+ (i % 100));
+		}
+		final Set<String> set = IterableUtils.parallelToTreeSet(strings,
+				String.CASE_INSENSITIVE_ORDER);
+		assertEquals(IterableUtils.toTreeSet(strings,
+				String.CASE_INSENSITIVE_ORDER).toString(), set.toString());
+		assertEquals(100, set.size());
+		assertEquals("key0", ((TreeSet<String>) set).first());
+	}
+
+	@Test
+	public void testBatched() {
+		final List<Integer> numbers = numbers(10);
+		final List<List<Integer>> chunks = new ArrayList<List<Integer>>();
+		for (final Chunk<Integer> chunk : IterableUtils.batched(numbers, 4)) {
+			assertEquals(4, chunk.capacity());
+			chunks.add(chunk);
+		}
+		assertEquals(3, chunks.size());
+		assertEquals(numbers.subList(0, 4), chunks.get(0));
+		assertEquals(numbers.subList(4, 8), chunks.get(1));
+		assertEquals(numbers.subList(8, 10), chunks.get(2));
+		assertNotSame(chunks.get(0), chunks.get(1));
+		assertFalse(IterableUtils.batched(null, 4).iterator().hasNext());
+	}
+
+	@Test
+	public void testBatched_recycle() {
+		final List<Integer> numbers = numbers(10);
+		final List<Integer> collected = new ArrayList<Integer>();
+		Chunk<Integer> previous = null;
+		for (final Chunk<Integer> chunk : IterableUtils.batched(
+				new IterableImpl<Integer>(numbers), 3, true)) {
+			if (previous != null) {
+				assertSame(previous, chunk);
+			}
+			previous = chunk;
+			collected.addAll(chunk);
+		}
+		assertEquals(numbers, collected);
+		assertEquals(1, previous.size());
+	}
+
+	@Test
+	public void testBatched_delay() {
+		final Iterable<Integer> slow = new Iterable<Integer>() {
+			public Iterator<Integer> iterator() {
+				return new Iterator<Integer>() {
+
+					private int idx;
+
+					public boolean hasNext() {
+						return idx < 3;
+					}
+
+					public Integer next() {
+						try {
+							Thread.sleep(20);
+						} catch (final InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+						return idx++;
+					}
+				};
+			}
+		};
+		int count = 0;
+		for (final Chunk<Integer> chunk : IterableUtils.batched(slow, 100, 1,
+				TimeUnit.MILLISECONDS, false)) {
+			assertEquals(1, chunk.size());
+			count++;
+		}
+		assertEquals(3, count);
+	}
+
+	@Test(timeout = 5000)
+	public void testBatched_delayWithBlockingSource()
+			throws InterruptedException {
+		final CountDownLatch release = new CountDownLatch(1);
+		final Iterable<Integer> blocking = new Iterable<Integer>() {
+			public Iterator<Integer> iterator() {
+				return new Iterator<Integer>() {
+
+					private int idx;
+
+					public boolean hasNext() {
+						if (idx == 2) {
+							try {
+								release.await();
+							} catch (final InterruptedException e) {
+								Thread.currentThread().interrupt();
+							}
+						}
+						return idx < 3;
+					}
+
+					public Integer next() {
+						return idx++;
+					}
+				};
+			}
+		};
+		final BatchIterator<Integer> it = IterableUtils.batched(blocking, 10,
+				50, TimeUnit.MILLISECONDS, false).iterator();
+		try {
+			// completed by the delay while the source blocks
+			assertEquals(Arrays.asList(0, 1), it.next());
+			release.countDown();
+			assertEquals(Arrays.asList(2), it.next());
+			assertFalse(it.hasNext());
+		} finally {
+			release.countDown();
+			it.close();
+		}
+	}
+
+	@Test(timeout = 5000)
+	public void testBatched_sourceFailure() {
+		final Iterable<Integer> failing = new Iterable<Integer>() {
+			public Iterator<Integer> iterator() {
+				return new Iterator<Integer>() {
+
+					private int idx;
+
+					public boolean hasNext() {
+						return true;
+					}
+
+					public Integer next() {
+						if (idx == 3) {
+							throw new IllegalStateException("source failed");
+						}
+						return idx++;
+					}
+				};
+			}
+		};
+		for (final long delay : new long[] { 0, 1000 }) {
+			final BatchIterator<Integer> it = IterableUtils.batched(failing,
+					10, delay, TimeUnit.MILLISECONDS, false).iterator();
+			try {
+				// the taken elements are handed back before the failure
+				assertEquals(Arrays.asList(0, 1, 2), it.next());
+				try {
+					it.hasNext();
+					fail("Exception of the source expected");
+				} catch (final IllegalStateException e) {
+					assertEquals("source failed", e.getMessage());
+				}
+			} finally {
+				it.close();
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBatched_size() {
+		IterableUtils.batched(numbers(1), 0);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testBatched_readOnly() {
+		IterableUtils.batched(numbers(5), 2).iterator().next().add(1);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testBatched_remove() {
+		final Iterator<Chunk<Integer>> it = IterableUtils.batched(
+				IterableUtils.unmodifiableIterable(numbers(5)), 2).iterator();
+		it.next();
+		it.remove();
+	}
 }
@@ -0,0 +1,261 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.test.common.iterable;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import at.ruderalis.utils.common.iterable.IterableUtils;
+import at.ruderalis.utils.common.iterable.Pipeline;
+
+/**
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@RunWith(JUnit4.class)
+public class PipelineTest {
+
+	private static final List<Integer> NUMBERS = Arrays.asList(1, 2, 3, 4, 5,
+			6, 7, 8, 9, 10);
+
+	private static final Predicate<Integer> EVEN = new Predicate<Integer>() {
+		public boolean test(final Integer value) {
+			return (value % 2) == 0;
+		}
+	};
+
+	/**
+	 * Counts the elements pulled from the source.
+	 */
+	private static class CountingIterable<T> implements Iterable<T> {
+
+		int pulled;
+		final Iterable<T> iterable;
+
+		public CountingIterable(final Iterable<T> iterable) {
+			super();
+			this.iterable = iterable;
+		}
+
+		public Iterator<T> iterator() {
+			final Iterator<T> it = iterable.iterator();
+			return new Iterator<T>() {
+
+				public boolean hasNext() {
+					return it.hasNext();
+				}
+
+				public T next() {
+					pulled++;
+					return it.next();
+				}
+			};
+		}
+	}
+
+	@Test
+	public void testPipeline_null() {
+		assertTrue(IterableUtils.isEmpty(IterableUtils
+				.pipeline((Iterable<String>) null)));
+	}
+
+	@Test
+	public void testPipeline_noStages() {
+		assertEquals(NUMBERS, IterableUtils.pipeline(NUMBERS).toList());
+	}
+
+	@Test
+	public void testPipeline_of_pipeline() {
+		final Pipeline<Integer> pipeline = Pipeline.of(NUMBERS);
+		assertSame(pipeline, Pipeline.of(pipeline));
+	}
+
+	@Test
+	public void testFilter() {
+		assertEquals(Arrays.asList(2, 4, 6, 8, 10), Pipeline.of(NUMBERS)
+				.filter(EVEN).toList());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFilter_null() {
+		Pipeline.of(NUMBERS).filter(null);
+	}
+
+	@Test
+	public void testMap() {
+		assertEquals(Arrays.asList("1", "2", "3"),
+				Pipeline.of(Arrays.asList(1, 2, 3))
+						.map(new Function<Integer, String>() {
+							public String apply(final Integer value) {
+								return String.valueOf(value);
+							}
+						}).toList());
+	}
+
+	@Test
+	public void testFlatMap() {
+		final List<Integer> result = Pipeline.of(Arrays.asList(0, 1, 2, 3))
+				.flatMap(new Function<Integer, List<Integer>>() {
+					public List<Integer> apply(final Integer value) {
+						if (value == 2) {
+							return null;
+						}
+						return Collections.nCopies(value, value);
+					}
+				}).toList();
+		assertEquals(Arrays.asList(1, 3, 3, 3), result);
+	}
+
+	@Test
+	public void testLimit() {
+		assertEquals(Arrays.asList(1, 2, 3), Pipeline.of(NUMBERS).limit(3)
+				.toList());
+		assertTrue(Pipeline.of(NUMBERS).limit(0).toList().isEmpty());
+		assertEquals(NUMBERS, Pipeline.of(NUMBERS).limit(100).toList());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLimit_negative() {
+		Pipeline.of(NUMBERS).limit(-1);
+	}
+
+	@Test
+	public void testLimit_lazy() {
+		final CountingIterable<Integer> source = new CountingIterable<Integer>(
+				NUMBERS);
+		assertEquals(Arrays.asList(2, 4), Pipeline.of(source).filter(EVEN)
+				.limit(2).toList());
+		assertEquals(4, source.pulled);
+	}
+
+	@Test
+	public void testSkip() {
+		assertEquals(Arrays.asList(8, 9, 10), Pipeline.of(NUMBERS).skip(7)
+				.toList());
+		assertTrue(Pipeline.of(NUMBERS).skip(100).toList().isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSkip_negative() {
+		Pipeline.of(NUMBERS).skip(-1);
+	}
+
+	@Test
+	public void testDistinct() {
+		assertEquals(Arrays.asList(3, 1, 2, null),
+				Pipeline.of(Arrays.asList(3, 1, 3, 2, 1, null, null))
+						.distinct().toList());
+	}
+
+	@Test
+	public void testTakeWhile() {
+		assertEquals(Arrays.asList(1, 2, 3),
+				Pipeline.of(NUMBERS).takeWhile(new Predicate<Integer>() {
+					public boolean test(final Integer value) {
+						return value < 4;
+					}
+				}).toList());
+	}
+
+	@Test
+	public void testTakeWhile_stopsPulling() {
+		final CountingIterable<Integer> source = new CountingIterable<Integer>(
+				NUMBERS);
+		assertTrue(Pipeline.of(source).takeWhile(EVEN).toList().isEmpty());
+		assertEquals(1, source.pulled);
+	}
+
+	@Test
+	public void testChained_lazy() {
+		final CountingIterable<Integer> source = new CountingIterable<Integer>(
+				NUMBERS);
+		final Pipeline<Integer> pipeline = Pipeline.of(source).skip(1)
+				.filter(EVEN).map(new Function<Integer, Integer>() {
+					public Integer apply(final Integer value) {
+						return value * 10;
+					}
+				});
+		assertEquals(0, source.pulled);
+		assertEquals(Arrays.asList(20, 40, 60, 80, 100), pipeline.toList());
+		assertEquals(10, source.pulled);
+		// the pipeline is reusable
+		assertEquals(Arrays.asList(20, 40, 60, 80, 100), pipeline.toList());
+	}
+
+	@Test
+	public void testIterator_hasNextIdempotent() {
+		final Iterator<Integer> it = Pipeline.of(NUMBERS).filter(EVEN)
+				.iterator();
+		assertTrue(it.hasNext());
+		assertTrue(it.hasNext());
+		assertEquals(Integer.valueOf(2), it.next());
+		assertEquals(Integer.valueOf(4), it.next());
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testIterator_exhausted() {
+		final Iterator<Integer> it = Pipeline.of(NUMBERS).filter(EVEN).skip(5)
+				.iterator();
+		assertFalse(it.hasNext());
+		it.next();
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testIterator_remove() {
+		final Iterator<Integer> it = Pipeline
+				.of(new ArrayList<Integer>(NUMBERS)).filter(EVEN).iterator();
+		it.next();
+		it.remove();
+	}
+
+	@Test
+	public void testIterator_removeOnRoot() {
+		final List<Integer> source = new ArrayList<Integer>(NUMBERS);
+		final Iterator<Integer> it = Pipeline.of(source).iterator();
+		it.next();
+		try {
+			it.remove();
+			fail("UnsupportedOperationException expected");
+		} catch (final UnsupportedOperationException e) {
+			// expected
+		}
+		assertEquals(NUMBERS, source);
+	}
+
+	@Test
+	public void testIterator_unmodifiableSource() {
+		final Iterable<Integer> source = IterableUtils
+				.unmodifiableIterable(NUMBERS);
+		assertEquals(NUMBERS, Pipeline.of(source).toList());
+		final Iterator<Integer> it = Pipeline.of(source).iterator();
+		it.next();
+		try {
+			it.remove();
+			fail("UnsupportedOperationException expected");
+		} catch (final UnsupportedOperationException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testUnmodifiableIterable() {
+		final Pipeline<Integer> pipeline = Pipeline.of(
+				IterableUtils.unmodifiableIterable(NUMBERS)).filter(EVEN);
+		assertEquals(Arrays.asList(2, 4, 6, 8, 10),
+				IterableUtils.toArrayList(IterableUtils
+						.unmodifiableIterable(pipeline)));
+	}
+}
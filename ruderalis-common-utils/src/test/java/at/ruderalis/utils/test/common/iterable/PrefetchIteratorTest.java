@@ -0,0 +1,294 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.test.common.iterable;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import at.ruderalis.utils.common.iterable.IterableUtils;
+import at.ruderalis.utils.common.iterable.PrefetchIterable;
+import at.ruderalis.utils.common.iterable.PrefetchIterator;
+
+/**
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@RunWith(JUnit4.class)
+public class PrefetchIteratorTest {
+
+	/**
+	 * Produces an endless sequence of numbers and counts the pulled elements.
+	 */
+	private static class EndlessIterator implements Iterator<Integer> {
+
+		final AtomicInteger pulled = new AtomicInteger();
+
+		public boolean hasNext() {
+			return true;
+		}
+
+		public Integer next() {
+			return pulled.getAndIncrement();
+		}
+	}
+
+	/**
+	 * Waits until the counter reaches the expected value.
+	 */
+	private static void awaitCount(final AtomicInteger counter,
+			final int expected) throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + 5000;
+		while ((counter.get() < expected)
+				&& (System.currentTimeMillis() < deadline)) {
+			Thread.sleep(5);
+		}
+	}
+
+	@Test
+	public void testPrefetching_order() {
+		final List<String> source = Arrays.asList("a", null, "b", "c", null);
+		final List<String> result = new ArrayList<String>();
+		for (final String value : IterableUtils.prefetching(source, 2)) {
+			result.add(value);
+		}
+		assertEquals(source, result);
+	}
+
+	@Test
+	public void testPrefetching_null() {
+		final PrefetchIterator<Object> it = IterableUtils.prefetching(null, 4)
+				.iterator();
+		assertFalse(it.hasNext());
+		assertFalse(it.hasNext());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPrefetching_invalidBufferSize() {
+		IterableUtils.prefetching(Arrays.asList(1), 0);
+	}
+
+	@Test
+	public void testPrefetching_independentIterators() {
+		final PrefetchIterable<Integer> iterable = IterableUtils.prefetching(
+				Arrays.asList(1, 2, 3), 1);
+		final List<Integer> first = new ArrayList<Integer>();
+		for (final Integer value : iterable) {
+			first.add(value);
+		}
+		final List<Integer> second = new ArrayList<Integer>();
+		for (final Integer value : iterable) {
+			second.add(value);
+		}
+		assertEquals(Arrays.asList(1, 2, 3), first);
+		assertEquals(first, second);
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testNext_exhausted() {
+		final Iterator<Integer> it = IterableUtils.prefetching(
+				Arrays.asList(1), 1).iterator();
+		assertEquals(Integer.valueOf(1), it.next());
+		it.next();
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testRemove() {
+		final Iterator<Integer> it = IterableUtils.prefetching(
+				Arrays.asList(1), 1).iterator();
+		it.next();
+		it.remove();
+	}
+
+	@Test
+	public void testPrefetching_backpressure() throws InterruptedException {
+		final EndlessIterator source = new EndlessIterator();
+		final PrefetchIterator<Integer> it = IterableUtils
+				.prefetchingIterator(source, 4, null);
+		try {
+			awaitCount(source.pulled, 5);
+			Thread.sleep(50);
+			// the buffer holds 4 elements, the producer blocks on the 5th
+			assertEquals(5, source.pulled.get());
+			assertEquals(Integer.valueOf(0), it.next());
+			awaitCount(source.pulled, 6);
+			Thread.sleep(50);
+			assertEquals(6, source.pulled.get());
+		} finally {
+			it.close();
+		}
+	}
+
+	@Test
+	public void testPrefetching_runtimeException() {
+		final Iterator<Integer> source = new Iterator<Integer>() {
+
+			int count;
+
+			public boolean hasNext() {
+				return true;
+			}
+
+			public Integer next() {
+				if (count == 2) {
+					throw new IllegalStateException("source failed");
+				}
+				return count++;
+			}
+		};
+		final PrefetchIterator<Integer> it = IterableUtils
+				.prefetchingIterator(source, 8, null);
+		assertEquals(Integer.valueOf(0), it.next());
+		assertEquals(Integer.valueOf(1), it.next());
+		try {
+			it.hasNext();
+			fail("Exception of the source expected");
+		} catch (final IllegalStateException e) {
+			assertEquals("source failed", e.getMessage());
+		}
+		assertTrue(it.isClosed());
+		assertFalse(it.hasNext());
+	}
+
+	@Test
+	public void testPrefetching_checkedException() {
+		final Iterator<Integer> source = new Iterator<Integer>() {
+
+			public boolean hasNext() {
+				return true;
+			}
+
+			public Integer next() {
+				throw sneaky(new IOException("io failed"));
+			}
+		};
+		final PrefetchIterator<Integer> it = IterableUtils
+				.prefetchingIterator(source, 1, null);
+		try {
+			it.next();
+			fail("Exception of the source expected");
+		} catch (final UndeclaredThrowableException e) {
+			assertTrue(e.getCause() instanceof IOException);
+		}
+	}
+
+	@Test
+	public void testClose_stopsProducer() throws InterruptedException {
+		final EndlessIterator source = new EndlessIterator();
+		final PrefetchIterator<Integer> it = IterableUtils
+				.prefetchingIterator(source, 2, null);
+		awaitCount(source.pulled, 3);
+		it.close();
+		assertTrue(it.isClosed());
+		assertFalse(it.hasNext());
+		Thread.sleep(300);
+		final int pulled = source.pulled.get();
+		Thread.sleep(200);
+		assertEquals(pulled, source.pulled.get());
+		// closing twice has no effect
+		it.close();
+	}
+
+	@Test(timeout = 5000)
+	public void testClose_wakesBlockedConsumer() throws InterruptedException {
+		final CountDownLatch release = new CountDownLatch(1);
+		final Iterator<Integer> source = new Iterator<Integer>() {
+
+			public boolean hasNext() {
+				try {
+					release.await();
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return false;
+			}
+
+			public Integer next() {
+				throw new NoSuchElementException();
+			}
+		};
+		final PrefetchIterator<Integer> it = IterableUtils
+				.prefetchingIterator(source, 2, null);
+		final Thread closer = new Thread(new Runnable() {
+
+			public void run() {
+				try {
+					Thread.sleep(100);
+				} catch (final InterruptedException e) {
+					// close anyway
+				}
+				it.close();
+			}
+		});
+		closer.start();
+		try {
+			// blocks until the close of the other thread
+			assertFalse(it.hasNext());
+			assertTrue(it.isClosed());
+		} finally {
+			release.countDown();
+			closer.join();
+		}
+	}
+
+	@Test
+	public void testPrefetching_executor() throws InterruptedException {
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			final CountDownLatch used = new CountDownLatch(1);
+			final Iterator<Integer> source = new Iterator<Integer>() {
+
+				int count;
+
+				public boolean hasNext() {
+					return count < 3;
+				}
+
+				public Integer next() {
+					used.countDown();
+					return count++;
+				}
+			};
+			final List<Integer> result = new ArrayList<Integer>();
+			final PrefetchIterator<Integer> it = IterableUtils
+					.prefetchingIterator(source, 1, executor);
+			while (it.hasNext()) {
+				result.add(it.next());
+			}
+			assertEquals(Arrays.asList(0, 1, 2), result);
+			assertTrue(used.await(1, TimeUnit.SECONDS));
+			// the pooled thread is reusable after a close
+			final EndlessIterator endless = new EndlessIterator();
+			IterableUtils.prefetchingIterator(endless, 1, executor).close();
+			final PrefetchIterator<Integer> again = IterableUtils
+					.prefetchingIterator(Arrays.asList(7).iterator(), 1,
+							executor);
+			assertEquals(Integer.valueOf(7), again.next());
+			assertFalse(again.hasNext());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E extends Throwable> RuntimeException sneaky(
+			final Throwable e) throws E {
+		throw (E) e;
+	}
+}
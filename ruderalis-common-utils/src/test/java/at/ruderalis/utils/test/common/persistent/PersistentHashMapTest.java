@@ -0,0 +1,197 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.test.common.persistent;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import at.ruderalis.utils.common.iterable.IterableUtils;
+import at.ruderalis.utils.common.persistent.PersistentHashMap;
+import at.ruderalis.utils.common.persistent.PersistentHashSet;
+
+/**
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@RunWith(JUnit4.class)
+public class PersistentHashMapTest {
+
+	/**
+	 * A key whose hash code is given, so that keys collide on purpose.
+	 */
+	private static final class Key {
+
+		final int hash;
+		final String name;
+
+		Key(final int hash, final String name) {
+			super();
+			this.hash = hash;
+			this.name = name;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			return (obj instanceof Key) && (((Key) obj).name.equals(name));
+		}
+	}
+
+	@Test
+	public void testPlusMinus_random() {
+		final Random random = new Random(7);
+		final Map<Integer, Integer> expected = new HashMap<Integer, Integer>();
+		PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+		for (int i = 0; i < 50000; i++) {
+			final Integer key = random.nextInt(20000);
+			if (random.nextInt(3) == 0) {
+				map = map.minus(key);
+				expected.remove(key);
+			} else {
+				map = map.plus(key, i);
+				expected.put(key, i);
+			}
+		}
+		assertEquals(expected.size(), map.size());
+		assertEquals(expected, map);
+		assertEquals(map, expected);
+		assertEquals(expected.hashCode(), map.hashCode());
+		for (int key = 0; key < 20000; key++) {
+			assertEquals(expected.containsKey(key), map.containsKey(key));
+			assertEquals(expected.get(key), map.get(key));
+		}
+	}
+
+	@Test
+	public void testPlus_sharesStructure() {
+		final PersistentHashMap<String, Integer> original = PersistentHashMap
+				.<String, Integer> empty().plus("a", 1).plus("b", 2);
+		final PersistentHashMap<String, Integer> changed = original.plus("a",
+				3).plus("c", 4);
+		assertEquals(2, original.size());
+		assertEquals(Integer.valueOf(1), original.get("a"));
+		assertFalse(original.containsKey("c"));
+		assertEquals(3, changed.size());
+		assertEquals(Integer.valueOf(3), changed.get("a"));
+		assertSame(original, original.plus("a", 1));
+		assertSame(original, original.minus("x"));
+	}
+
+	@Test
+	public void testNullKeyAndValue() {
+		final PersistentHashMap<String, String> map = PersistentHashMap
+				.<String, String> empty().plus(null, "null").plus("a", null);
+		assertEquals(2, map.size());
+		assertEquals("null", map.get(null));
+		assertTrue(map.containsKey("a"));
+		assertNull(map.get("a"));
+		assertFalse(map.containsKey("b"));
+		assertTrue(map.keySet().contains(null));
+		assertFalse(map.minus(null).containsKey(null));
+	}
+
+	@Test
+	public void testCollisions() {
+		PersistentHashMap<Key, Integer> map = PersistentHashMap.empty();
+		for (int i = 0; i < 100; i++) {
+			map = map.plus(new Key(i % 3, "k" + i), i);
+		}
+		assertEquals(100, map.size());
+		for (int i = 0; i < 100; i++) {
+			assertEquals(Integer.valueOf(i), map.get(new Key(i % 3, "k" + i)));
+		}
+		assertNull(map.get(new Key(0, "k1")));
+		PersistentHashMap<Key, Integer> removed = map;
+		for (int i = 0; i < 100; i += 2) {
+			removed = removed.minus(new Key(i % 3, "k" + i));
+		}
+		assertEquals(50, removed.size());
+		assertEquals(100, map.size());
+		for (int i = 0; i < 100; i++) {
+			assertEquals((i % 2) != 0, removed.containsKey(new Key(i % 3, "k"
+					+ i)));
+		}
+	}
+
+	@Test
+	public void testBuilder() {
+		final PersistentHashMap<Integer, String> original = PersistentHashMap
+				.<Integer, String> empty().plus(1, "one");
+		final PersistentHashMap.Builder<Integer, String> builder = original
+				.toBuilder();
+		for (int i = 0; i < 10000; i++) {
+			builder.put(i, "v" + i);
+		}
+		builder.remove(3).remove(-1);
+		assertEquals(9999, builder.size());
+		final PersistentHashMap<Integer, String> built = builder.build();
+		assertEquals(9999, built.size());
+		assertEquals("v1", built.get(1));
+		assertFalse(built.containsKey(3));
+		assertEquals(1, original.size());
+		assertEquals("one", original.get(1));
+		try {
+			builder.put(1, "x");
+			fail("IllegalStateException expected");
+		} catch (final IllegalStateException e) {
+			// expected
+		}
+		built.toBuilder().put(1, "x").remove(2).build();
+		assertEquals("v1", built.get(1));
+		assertTrue(built.containsKey(2));
+	}
+
+	@Test
+	public void testIterator() {
+		final Map<Integer, Integer> expected = new HashMap<Integer, Integer>();
+		for (int i = 0; i < 5000; i++) {
+			expected.put(i * 31, i);
+		}
+		final PersistentHashMap<Integer, Integer> map = PersistentHashMap
+				.copyOf(expected);
+		final Map<Integer, Integer> iterated = new HashMap<Integer, Integer>();
+		for (final Map.Entry<Integer, Integer> entry : map.entrySet()) {
+			assertNull(iterated.put(entry.getKey(), entry.getValue()));
+		}
+		assertEquals(expected, iterated);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testPut_unsupported() {
+		PersistentHashMap.<String, String> empty().put("a", "b");
+	}
+
+	@Test
+	public void testHashSet() {
+		final Set<String> expected = new HashSet<String>(Arrays.asList("a",
+				"b", "c", null));
+		final PersistentHashSet<String> set = IterableUtils
+				.toPersistentHashSet(Arrays.asList("a", "b", "a", "c", null));
+		assertEquals(expected, set);
+		assertEquals(4, set.size());
+		assertSame(set, set.plus("a"));
+		assertSame(set, set.minus("x"));
+		final PersistentHashSet<String> changed = set.plus("d").minus("a");
+		assertTrue(changed.contains("d"));
+		assertFalse(changed.contains("a"));
+		assertTrue(set.contains("a"));
+		assertTrue(set.minus("a").minus("b").minus("c").minus(null).isEmpty());
+		assertSame(set, PersistentHashSet.copyOf(set));
+		assertTrue(IterableUtils.toPersistentHashSet(null).isEmpty());
+	}
+}
@@ -0,0 +1,191 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.test.common.persistent;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import at.ruderalis.utils.common.iterable.IterableUtils;
+import at.ruderalis.utils.common.persistent.PersistentVector;
+
+/**
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@RunWith(JUnit4.class)
+public class PersistentVectorTest {
+
+	/**
+	 * Covers a trie of three levels.
+	 */
+	private static final int SIZE = 40000;
+
+	private static List<Integer> numbers(final int size) {
+		final List<Integer> list = new ArrayList<Integer>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(i);
+		}
+		return list;
+	}
+
+	@Test
+	public void testEmpty() {
+		final PersistentVector<String> vector = PersistentVector.empty();
+		assertTrue(vector.isEmpty());
+		assertFalse(vector.iterator().hasNext());
+		assertEquals(new ArrayList<String>(), vector);
+	}
+
+	@Test
+	public void testPlus() {
+		final List<Integer> expected = new ArrayList<Integer>();
+		PersistentVector<Integer> vector = PersistentVector.empty();
+		for (int i = 0; i < SIZE; i++) {
+			vector = vector.plus(i);
+			expected.add(i);
+		}
+		assertEquals(SIZE, vector.size());
+		assertEquals(expected, vector);
+		for (int i = 0; i < SIZE; i++) {
+			assertEquals(Integer.valueOf(i), vector.get(i));
+		}
+	}
+
+	@Test
+	public void testPlus_sharesStructure() {
+		final PersistentVector<Integer> original = PersistentVector
+				.copyOf(numbers(1000));
+		final PersistentVector<Integer> appended = original.plus(1000);
+		assertEquals(1000, original.size());
+		assertEquals(1001, appended.size());
+		assertEquals(numbers(1000), original);
+		assertEquals(numbers(1001), appended);
+	}
+
+	@Test
+	public void testWith() {
+		final PersistentVector<Integer> original = PersistentVector
+				.copyOf(numbers(SIZE));
+		final List<Integer> expected = numbers(SIZE);
+		PersistentVector<Integer> vector = original;
+		final Random random = new Random(42);
+		for (int i = 0; i < 1000; i++) {
+			final int index = random.nextInt(SIZE);
+			vector = vector.with(index, -i);
+			expected.set(index, -i);
+		}
+		assertEquals(expected, vector);
+		assertEquals(numbers(SIZE), original);
+		assertEquals(numbers(3), PersistentVector.copyOf(numbers(2)).with(2, 2));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testWith_outOfBounds() {
+		PersistentVector.copyOf(numbers(3)).with(4, 4);
+	}
+
+	@Test
+	public void testPop() {
+		PersistentVector<Integer> vector = PersistentVector
+				.copyOf(numbers(SIZE));
+		final PersistentVector<Integer> original = vector;
+		for (int size = SIZE; size > 0; size--) {
+			assertEquals(Integer.valueOf(size - 1), vector.get(size - 1));
+			vector = vector.pop();
+			assertEquals(size - 1, vector.size());
+			if ((size % 997) == 0) {
+				assertEquals(numbers(size - 1), vector);
+			}
+		}
+		assertTrue(vector.isEmpty());
+		assertEquals(numbers(SIZE), original);
+		// the popped vector grows again like a new one
+		for (int i = 0; i < 2000; i++) {
+			vector = vector.plus(i);
+		}
+		assertEquals(numbers(2000), vector);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testPop_empty() {
+		PersistentVector.empty().pop();
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testAdd_unsupported() {
+		PersistentVector.copyOf(numbers(3)).add(3);
+	}
+
+	@Test
+	public void testIterator() {
+		final Iterator<Integer> it = PersistentVector.copyOf(numbers(SIZE))
+				.iterator();
+		for (int i = 0; i < SIZE; i++) {
+			assertTrue(it.hasNext());
+			assertEquals(Integer.valueOf(i), it.next());
+		}
+		assertFalse(it.hasNext());
+		try {
+			it.next();
+			fail("NoSuchElementException expected");
+		} catch (final NoSuchElementException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testBuilder() {
+		final PersistentVector<Integer> original = PersistentVector
+				.copyOf(numbers(100));
+		final PersistentVector.Builder<Integer> builder = original
+				.toBuilder();
+		for (int i = 100; i < SIZE; i++) {
+			builder.add(i);
+		}
+		builder.set(5, -5).set(SIZE - 1, -1);
+		assertEquals(Integer.valueOf(-5), builder.get(5));
+		final PersistentVector<Integer> built = builder.build();
+		final List<Integer> expected = numbers(SIZE);
+		expected.set(5, -5);
+		expected.set(SIZE - 1, -1);
+		assertEquals(expected, built);
+		assertEquals(numbers(100), original);
+		try {
+			builder.add(0);
+			fail("IllegalStateException expected");
+		} catch (final IllegalStateException e) {
+			// expected
+		}
+		// a vector built by a builder is not modified by a later builder
+		built.toBuilder().set(5, 5).set(SIZE - 1, SIZE - 1).build();
+		assertEquals(expected, built);
+	}
+
+	@Test
+	public void testCopyOf() {
+		final PersistentVector<Integer> vector = PersistentVector
+				.copyOf(numbers(10));
+		assertSame(vector, PersistentVector.copyOf(vector));
+		assertTrue(PersistentVector.copyOf(null).isEmpty());
+		assertEquals(vector.hashCode(), numbers(10).hashCode());
+	}
+
+	@Test
+	public void testToPersistentVector() {
+		final List<String> list = Arrays.asList("a", null, "c");
+		assertEquals(list, IterableUtils.toPersistentVector(IterableUtils
+				.unmodifiableIterable(list)));
+		assertTrue(IterableUtils.toPersistentVector(null).isEmpty());
+	}
+}
@@ -0,0 +1,136 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.test.common.primitive;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import at.ruderalis.utils.common.primitive.IntHashSet;
+
+/**
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@RunWith(JUnit4.class)
+public class IntHashSetTest {
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructor_negative() {
+		new IntHashSet(-1);
+	}
+
+	@Test
+	public void testAdd() {
+		final IntHashSet set = new IntHashSet();
+		assertTrue(set.isEmpty());
+		assertTrue(set.add(5));
+		assertFalse(set.add(5));
+		assertTrue(set.add(-5));
+		assertEquals(2, set.size());
+		assertTrue(set.contains(5));
+		assertTrue(set.contains(-5));
+		assertFalse(set.contains(6));
+	}
+
+	@Test
+	public void testZero() {
+		final IntHashSet set = new IntHashSet();
+		assertFalse(set.contains(0));
+		assertTrue(set.add(0));
+		assertFalse(set.add(0));
+		assertTrue(set.contains(0));
+		assertEquals(1, set.size());
+		assertArrayEquals(new int[] { 0 }, set.toArray());
+		assertTrue(set.remove(0));
+		assertFalse(set.remove(0));
+		assertTrue(set.isEmpty());
+	}
+
+	@Test
+	public void testGrow() {
+		final IntHashSet set = new IntHashSet();
+		for (int i = 0; i < 10000; i++) {
+			set.add(i * 7);
+		}
+		assertEquals(10000, set.size());
+		for (int i = 0; i < 10000; i++) {
+			assertTrue(set.contains(i * 7));
+			assertFalse(set.contains((i * 7) + 1));
+		}
+	}
+
+	@Test
+	public void testRemove_keepsProbeSequences() {
+		final Random random = new Random(42);
+		final IntHashSet set = new IntHashSet();
+		final Set<Integer> reference = new HashSet<Integer>();
+		for (int i = 0; i < 50000; i++) {
+			// a small value range forces collisions and removals of present
+			// values
+			final int value = random.nextInt(2000) - 1000;
+			if (random.nextBoolean()) {
+				assertEquals(reference.add(value), set.add(value));
+			} else {
+				assertEquals(reference.remove(value), set.remove(value));
+			}
+			assertEquals(reference.size(), set.size());
+		}
+		for (int value = -1000; value < 1000; value++) {
+			assertEquals(reference.contains(value), set.contains(value));
+		}
+	}
+
+	@Test
+	public void testIterator() {
+		final IntHashSet set = new IntHashSet();
+		set.addAll(3, 0, -1, 42);
+		final PrimitiveIterator.OfInt it = set.iterator();
+		final int[] values = new int[4];
+		for (int i = 0; i < values.length; i++) {
+			assertTrue(it.hasNext());
+			values[i] = it.nextInt();
+		}
+		assertFalse(it.hasNext());
+		Arrays.sort(values);
+		assertArrayEquals(new int[] { -1, 0, 3, 42 }, values);
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testIterator_exhausted() {
+		new IntHashSet().iterator().nextInt();
+	}
+
+	@Test
+	public void testClear() {
+		final IntHashSet set = new IntHashSet();
+		set.addAll(1, 2, 0);
+		set.clear();
+		assertTrue(set.isEmpty());
+		assertFalse(set.contains(1));
+		assertFalse(set.contains(0));
+		assertEquals(0, set.toArray().length);
+	}
+
+	@Test
+	public void testEquals() {
+		final IntHashSet set = new IntHashSet();
+		set.addAll(1, 2, 3, 0);
+		final IntHashSet other = new IntHashSet(1000);
+		other.addAll(0, 3, 2, 1);
+		assertEquals(set, other);
+		assertEquals(set.hashCode(), other.hashCode());
+		other.remove(0);
+		assertFalse(set.equals(other));
+	}
+}
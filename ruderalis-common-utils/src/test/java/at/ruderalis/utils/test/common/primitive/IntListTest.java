@@ -0,0 +1,95 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.test.common.primitive;
+
+import static org.junit.Assert.*;
+
+import java.util.PrimitiveIterator;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import at.ruderalis.utils.common.primitive.IntList;
+
+/**
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@RunWith(JUnit4.class)
+public class IntListTest {
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructor_negative() {
+		new IntList(-1);
+	}
+
+	@Test
+	public void testAdd() {
+		final IntList list = new IntList();
+		for (int i = 0; i < 1000; i++) {
+			list.add(i);
+		}
+		assertEquals(1000, list.size());
+		assertEquals(0, list.get(0));
+		assertEquals(999, list.get(999));
+	}
+
+	@Test
+	public void testAddAll() {
+		final IntList list = new IntList(1);
+		list.add(1);
+		list.addAll(2, 3, 4);
+		assertArrayEquals(new int[] { 1, 2, 3, 4 }, list.toArray());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testGet_outOfRange() {
+		final IntList list = new IntList(10);
+		list.add(1);
+		list.get(1);
+	}
+
+	@Test
+	public void testSetAndRemove() {
+		final IntList list = new IntList();
+		list.addAll(1, 2, 3);
+		assertEquals(2, list.set(1, 20));
+		assertEquals(1, list.removeAt(0));
+		assertArrayEquals(new int[] { 20, 3 }, list.toArray());
+		assertEquals(1, list.indexOf(3));
+		assertFalse(list.contains(1));
+	}
+
+	@Test
+	public void testSort() {
+		final IntList list = new IntList();
+		list.addAll(3, -1, 2);
+		list.sort();
+		assertEquals("[-1, 2, 3]", list.toString());
+	}
+
+	@Test
+	public void testIterator() {
+		final IntList list = new IntList();
+		list.addAll(1, 2);
+		final PrimitiveIterator.OfInt it = list.iterator();
+		assertEquals(1, it.nextInt());
+		assertEquals(2, it.nextInt());
+		assertFalse(it.hasNext());
+	}
+
+	@Test
+	public void testEquals() {
+		final IntList list = new IntList();
+		list.addAll(1, 2);
+		final IntList other = new IntList(100);
+		other.addAll(1, 2);
+		assertEquals(list, other);
+		assertEquals(list.hashCode(), other.hashCode());
+		other.clear();
+		assertFalse(list.equals(other));
+		assertTrue(other.isEmpty());
+	}
+}
@@ -0,0 +1,200 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.test.common.primitive;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import at.ruderalis.utils.common.primitive.LongHashSet;
+
+/**
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@RunWith(JUnit4.class)
+public class LongHashSetTest {
+
+	/**
+	 * The table size of a set created for 3 values.
+	 */
+	private static final int SMALL_TABLE = 8;
+
+	/**
+	 * Finds values sharing the last slot as home slot in a table of the given
+	 * size, so that their probe sequence wraps around. The hash is the one of
+	 * {@link LongHashSet}.
+	 */
+	private static long[] colliding(final int count, final int tableSize) {
+		final long[] values = new long[count];
+		int found = 0;
+		for (long value = 1; found < count; value++) {
+			final long h = value * 0x9E3779B97F4A7C15L;
+			if (((int) (h ^ (h >>> 32)) & (tableSize - 1)) == (tableSize - 1)) {
+				values[found++] = value;
+			}
+		}
+		return values;
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructor_negative() {
+		new LongHashSet(-1);
+	}
+
+	@Test
+	public void testAdd() {
+		final LongHashSet set = new LongHashSet();
+		assertTrue(set.isEmpty());
+		assertTrue(set.add(5L));
+		assertFalse(set.add(5L));
+		assertTrue(set.add(Long.MIN_VALUE));
+		assertTrue(set.add(5L << 32));
+		assertEquals(3, set.size());
+		assertTrue(set.contains(5L));
+		assertTrue(set.contains(Long.MIN_VALUE));
+		assertTrue(set.contains(5L << 32));
+		assertFalse(set.contains(6L));
+	}
+
+	@Test
+	public void testZero() {
+		final LongHashSet set = new LongHashSet();
+		assertFalse(set.contains(0L));
+		assertTrue(set.add(0L));
+		assertFalse(set.add(0L));
+		assertTrue(set.contains(0L));
+		assertEquals(1, set.size());
+		assertArrayEquals(new long[] { 0L }, set.toArray());
+		assertTrue(set.remove(0L));
+		assertFalse(set.remove(0L));
+		assertTrue(set.isEmpty());
+	}
+
+	@Test
+	public void testRemove_collidingKeys() {
+		final long[] values = colliding(4, SMALL_TABLE);
+		final LongHashSet set = new LongHashSet(3);
+		set.addAll(values);
+		assertEquals(4, set.size());
+		// removes the start, the middle and the end of the wrapped cluster
+		for (final int removed : new int[] { 0, 2, 3 }) {
+			assertTrue(set.remove(values[removed]));
+			assertFalse(set.contains(values[removed]));
+			for (int i = 0; i < values.length; i++) {
+				if (i != removed) {
+					assertTrue(set.contains(values[i]));
+				}
+			}
+			assertTrue(set.add(values[removed]));
+		}
+		assertEquals(4, set.size());
+	}
+
+	@Test
+	public void testRehash_collidingKeys() {
+		final long[] values = colliding(5, SMALL_TABLE);
+		final LongHashSet set = new LongHashSet(3);
+		set.addAll(Arrays.copyOf(values, 4));
+		assertTrue(set.remove(values[1]));
+		// the fifth value exceeds the table of 8 slots
+		set.addAll(values[1], values[4]);
+		assertEquals(5, set.size());
+		for (final long value : values) {
+			assertTrue(set.contains(value));
+		}
+		for (final long value : values) {
+			assertTrue(set.remove(value));
+			assertFalse(set.contains(value));
+		}
+		assertTrue(set.isEmpty());
+	}
+
+	@Test
+	public void testGrow() {
+		final LongHashSet set = new LongHashSet();
+		for (long i = 0; i < 10000; i++) {
+			set.add(i << 32);
+		}
+		assertEquals(10000, set.size());
+		for (long i = 0; i < 10000; i++) {
+			assertTrue(set.contains(i << 32));
+			assertFalse(set.contains((i << 32) + 1));
+		}
+	}
+
+	@Test
+	public void testRemove_keepsProbeSequences() {
+		final Random random = new Random(42);
+		final LongHashSet set = new LongHashSet();
+		final Set<Long> reference = new HashSet<Long>();
+		for (int i = 0; i < 50000; i++) {
+			// a small value range forces collisions and removals of present
+			// values, the values differ in the high bits only
+			final long value = (long) (random.nextInt(2000) - 1000) << 40;
+			if (random.nextBoolean()) {
+				assertEquals(reference.add(value), set.add(value));
+			} else {
+				assertEquals(reference.remove(value), set.remove(value));
+			}
+			assertEquals(reference.size(), set.size());
+		}
+		for (long value = -1000; value < 1000; value++) {
+			assertEquals(reference.contains(value << 40),
+					set.contains(value << 40));
+		}
+	}
+
+	@Test
+	public void testIterator() {
+		final LongHashSet set = new LongHashSet();
+		set.addAll(3L, 0L, -1L, Long.MAX_VALUE);
+		final PrimitiveIterator.OfLong it = set.iterator();
+		final long[] values = new long[4];
+		for (int i = 0; i < values.length; i++) {
+			assertTrue(it.hasNext());
+			values[i] = it.nextLong();
+		}
+		assertFalse(it.hasNext());
+		Arrays.sort(values);
+		assertArrayEquals(new long[] { -1L, 0L, 3L, Long.MAX_VALUE }, values);
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testIterator_exhausted() {
+		new LongHashSet().iterator().nextLong();
+	}
+
+	@Test
+	public void testClear() {
+		final LongHashSet set = new LongHashSet();
+		set.addAll(1L, 2L, 0L);
+		set.clear();
+		assertTrue(set.isEmpty());
+		assertFalse(set.contains(1L));
+		assertFalse(set.contains(0L));
+		assertEquals(0, set.toArray().length);
+	}
+
+	@Test
+	public void testEquals() {
+		final LongHashSet set = new LongHashSet();
+		set.addAll(1L, 2L, 3L, 0L);
+		final LongHashSet other = new LongHashSet(1000);
+		other.addAll(0L, 3L, 2L, 1L);
+		assertEquals(set, other);
+		assertEquals(set.hashCode(), other.hashCode());
+		other.remove(0L);
+		assertFalse(set.equals(other));
+	}
+}
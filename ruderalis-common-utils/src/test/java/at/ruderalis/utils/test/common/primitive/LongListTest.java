@@ -0,0 +1,141 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.test.common.primitive;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import at.ruderalis.utils.common.primitive.LongList;
+
+/**
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@RunWith(JUnit4.class)
+public class LongListTest {
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructor_negative() {
+		new LongList(-1);
+	}
+
+	@Test
+	public void testAdd() {
+		final LongList list = new LongList();
+		for (long i = 0; i < 1000; i++) {
+			list.add(i << 32);
+		}
+		assertEquals(1000, list.size());
+		assertEquals(0L, list.get(0));
+		assertEquals(999L << 32, list.get(999));
+	}
+
+	@Test
+	public void testAddAll() {
+		final LongList list = new LongList(1);
+		list.add(1L);
+		list.addAll(2L, Long.MIN_VALUE, Long.MAX_VALUE);
+		assertArrayEquals(new long[] { 1L, 2L, Long.MIN_VALUE, Long.MAX_VALUE },
+				list.toArray());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testGet_outOfRange() {
+		final LongList list = new LongList(10);
+		list.add(1L);
+		list.get(1);
+	}
+
+	@Test
+	public void testSetAndRemove() {
+		final LongList list = new LongList();
+		list.addAll(1L, 2L, 3L);
+		assertEquals(2L, list.set(1, 20L));
+		assertEquals(1L, list.removeAt(0));
+		assertArrayEquals(new long[] { 20L, 3L }, list.toArray());
+		assertEquals(1, list.indexOf(3L));
+		assertFalse(list.contains(1L));
+		assertEquals(3L, list.removeAt(1));
+		assertEquals(20L, list.removeAt(0));
+		assertTrue(list.isEmpty());
+	}
+
+	@Test
+	public void testRemoveAt_sameAsArrayList() {
+		final Random random = new Random(13);
+		final LongList list = new LongList();
+		final List<Long> reference = new ArrayList<Long>();
+		for (int i = 0; i < 5000; i++) {
+			if ((reference.isEmpty()) || (random.nextInt(3) > 0)) {
+				final long value = random.nextLong();
+				list.add(value);
+				reference.add(value);
+			} else {
+				final int idx = random.nextInt(reference.size());
+				assertEquals(reference.remove(idx).longValue(),
+						list.removeAt(idx));
+			}
+			assertEquals(reference.size(), list.size());
+		}
+		for (int i = 0; i < reference.size(); i++) {
+			assertEquals(reference.get(i).longValue(), list.get(i));
+		}
+	}
+
+	@Test
+	public void testSort() {
+		final LongList list = new LongList();
+		list.addAll(Long.MAX_VALUE, -1L);
+		list.add(0L);
+		list.sort();
+		assertArrayEquals(new long[] { -1L, 0L, Long.MAX_VALUE },
+				list.toArray());
+		list.trimToSize();
+		assertEquals(Long.MAX_VALUE, list.get(2));
+	}
+
+	@Test
+	public void testCapacity() {
+		final LongList list = new LongList(0);
+		list.ensureCapacity(100);
+		list.addAll(1L, 2L);
+		list.trimToSize();
+		list.add(3L);
+		assertArrayEquals(new long[] { 1L, 2L, 3L }, list.toArray());
+		list.clear();
+		list.trimToSize();
+		assertEquals(0, list.toArray().length);
+	}
+
+	@Test
+	public void testIterator() {
+		final LongList list = new LongList();
+		list.addAll(1L, 2L);
+		final PrimitiveIterator.OfLong it = list.iterator();
+		assertEquals(1L, it.nextLong());
+		assertEquals(2L, it.nextLong());
+		assertFalse(it.hasNext());
+	}
+
+	@Test
+	public void testEquals() {
+		final LongList list = new LongList();
+		list.addAll(1L, 2L);
+		final LongList other = new LongList(100);
+		other.addAll(1L, 2L);
+		assertEquals(list, other);
+		assertEquals(list.hashCode(), other.hashCode());
+		other.clear();
+		assertFalse(list.equals(other));
+		assertTrue(other.isEmpty());
+	}
+}
@@ -5,6 +5,9 @@ package at.ruderalis.utils.test.common.reflection;
 
 import static org.junit.Assert.*;
 
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -68,6 +71,60 @@ public class MethodUtilsTest {
 
 		public void publicMethod() {
 		}
+
+		public void overloadedMethod(final String value) {
+		}
+
+		public void overloadedMethod(final String value, final int count) {
+		}
+	}
+
+	public static class Bean {
+
+		private String name;
+		private int count;
+		private boolean active;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(final String name) {
+			this.name = name;
+		}
+
+		public int getCount() {
+			return count;
+		}
+
+		public void setCount(final int count) {
+			this.count = count;
+		}
+
+		public void setCount(final String count) {
+			this.count = Integer.parseInt(count);
+		}
+
+		public boolean isActive() {
+			return active;
+		}
+
+		public void setActive(final boolean active) {
+			this.active = active;
+		}
+	}
+
+	private static class HiddenBean extends Bean {
+
+		private String hidden;
+
+		public String getHidden() {
+			return hidden;
+		}
+
+		public void setHidden(final String hidden) {
+			this.hidden = hidden;
+		}
 	}
 
 	public interface SearchInterface1 {
@@ -83,6 +140,13 @@ public class MethodUtilsTest {
 		public void interfaceMethod3();
 	}
 
+	public interface SearchInterface4 extends SearchInterface2 {
+		public void interfaceMethod4();
+	}
+
+	public abstract class SearchInterfaceClass implements SearchInterface4 {
+	}
+
 	@Test
 	public void testHasMethod_not_found() {
 		assertFalse(MethodUtils.hasMethod(SearchSingleClass.class,
@@ -210,8 +274,45 @@ public class MethodUtilsTest {
 
 	@Test
 	public void testGetInterfaceDeclaresMethod_single_interface() {
-		assertNull(MethodUtils.getInterfaceDeclaresMethod(
-				SearchInterface1.class, "interfaceMethod1"));
+		assertEquals(SearchInterface1.class,
+				MethodUtils.getInterfaceDeclaresMethod(
+						SearchInterface1.class, "interfaceMethod1"));
+	}
+
+	@Test
+	public void testGetInterfaceDeclaresMethod_transitive_interface() {
+		assertEquals(SearchInterface1.class,
+				MethodUtils.getInterfaceDeclaresMethod(
+						SearchInterface4.class, "interfaceMethod1"));
+	}
+
+	@Test
+	public void testGetClassImplementsMethod_on_object() {
+		assertEquals(Object.class, MethodUtils.getClassImplementsMethod(
+				SearchSingleClass.class, "hashCode"));
+	}
+
+	@Test
+	public void testHasMethodTraverse_not_found() {
+		assertFalse(MethodUtils.hasMethodTraverse(SearchInheritClass.class,
+				"doesNotExists"));
+	}
+
+	@Test
+	public void testHasMethodTraverse_null_class() {
+		assertFalse(MethodUtils.hasMethodTraverse(null, "publicMethod"));
+	}
+
+	@Test
+	public void testHasMethodTraverse_super_class() {
+		assertTrue(MethodUtils.hasMethodTraverse(SearchInheritClass.class,
+				"privateAbstractMethod"));
+	}
+
+	@Test
+	public void testHasMethodTraverse_interface_of_class() {
+		assertTrue(MethodUtils.hasMethodTraverse(SearchInterfaceClass.class,
+				"interfaceMethod1"));
 	}
 
 	@Test
@@ -220,4 +321,132 @@ public class MethodUtilsTest {
 				MethodUtils.getInterfaceDeclaresMethod(
 						SearchInterface3.class, "interfaceMethod1"));
 	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetMethod_null_class() {
+		MethodUtils.getMethod((Class<?>) null, "publicMethod");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetMethod_null_name() {
+		MethodUtils.getMethod(SearchSingleClass.class, null);
+	}
+
+	@Test
+	public void testGetMethod_not_found() {
+		assertNull(MethodUtils.getMethod(SearchSingleClass.class,
+				"notFoundMethod"));
+	}
+
+	@Test
+	public void testGetMethod_wrong_parameters() {
+		assertNull(MethodUtils.getMethod(SearchSingleClass.class,
+				"publicMethod", String.class));
+	}
+
+	@Test
+	public void testGetMethod() throws Exception {
+		assertEquals(SearchSingleClass.class.getDeclaredMethod("publicMethod"),
+				MethodUtils.getMethod(SearchSingleClass.class, "publicMethod"));
+	}
+
+	@Test
+	public void testGetMethod_overloaded() throws Exception {
+		assertEquals(SearchSingleClass.class.getDeclaredMethod(
+				"overloadedMethod", String.class, int.class),
+				MethodUtils.getMethod(SearchSingleClass.class,
+						"overloadedMethod", String.class, int.class));
+	}
+
+	@Test
+	public void testGetMethod_instance() throws Exception {
+		assertEquals(SearchSingleClass.class.getDeclaredMethod(
+				"overloadedMethod", String.class), MethodUtils.getMethod(
+				new SearchSingleClass(), "overloadedMethod", String.class));
+	}
+
+	@Test
+	public void testGetMethod_cached() {
+		assertSame(MethodUtils.getMethod(SearchSingleClass.class,
+				"overloadedMethod", String.class), MethodUtils.getMethod(
+				SearchSingleClass.class, "overloadedMethod", String.class));
+		assertSame(MethodUtils.getGetter(Bean.class, "name"),
+				MethodUtils.getGetter(Bean.class, "name"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetGetter_null_class() {
+		MethodUtils.getGetter(null, "name");
+	}
+
+	@Test
+	public void testGetGetter_not_found() {
+		assertNull(MethodUtils.getGetter(Bean.class, "doesNotExists"));
+	}
+
+	@Test
+	public void testGetGetter() throws Exception {
+		assertEquals(Bean.class.getMethod("getName"),
+				MethodUtils.getGetter(Bean.class, "name"));
+	}
+
+	@Test
+	public void testGetGetter_boolean() throws Exception {
+		assertEquals(Bean.class.getMethod("isActive"),
+				MethodUtils.getGetter(Bean.class, "active"));
+	}
+
+	@Test
+	public void testGetSetter_overloaded() throws Exception {
+		assertEquals(Bean.class.getMethod("setCount", int.class),
+				MethodUtils.getSetter(Bean.class, "count"));
+	}
+
+	@Test
+	public void testGetGetterAccessor_not_found() {
+		assertNull(MethodUtils.getGetterAccessor(Bean.class, "doesNotExists"));
+	}
+
+	@Test
+	public void testGetGetterAccessor_cached() {
+		assertSame(MethodUtils.getGetterAccessor(Bean.class, "name"),
+				MethodUtils.getGetterAccessor(Bean.class, "name"));
+	}
+
+	@Test
+	public void testGetGetterAccessor() {
+		final Bean bean = new Bean();
+		bean.setName("bean");
+		bean.setCount(3);
+		final Function<Bean, String> name = MethodUtils.getGetterAccessor(
+				Bean.class, "name");
+		final Function<Bean, Integer> count = MethodUtils.getGetterAccessor(
+				Bean.class, "count");
+		assertEquals("bean", name.apply(bean));
+		assertEquals(Integer.valueOf(3), count.apply(bean));
+	}
+
+	@Test
+	public void testGetSetterAccessor() {
+		final Bean bean = new Bean();
+		final BiConsumer<Bean, Object> count = MethodUtils.getSetterAccessor(
+				Bean.class, "count");
+		final BiConsumer<Bean, Object> active = MethodUtils.getSetterAccessor(
+				Bean.class, "active");
+		count.accept(bean, 5);
+		active.accept(bean, Boolean.TRUE);
+		assertEquals(5, bean.getCount());
+		assertTrue(bean.isActive());
+	}
+
+	@Test
+	public void testGetAccessor_non_public_class() {
+		final HiddenBean bean = new HiddenBean();
+		final BiConsumer<HiddenBean, String> setter = MethodUtils
+				.getSetterAccessor(HiddenBean.class, "hidden");
+		final Function<HiddenBean, String> getter = MethodUtils
+				.getGetterAccessor(HiddenBean.class, "hidden");
+		setter.accept(bean, "hidden");
+		assertEquals("hidden", getter.apply(bean));
+	}
 }
@@ -0,0 +1,192 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.test.common.reflection;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import at.ruderalis.utils.common.reflection.PropertyPath;
+
+/**
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@RunWith(JUnit4.class)
+public class PropertyPathTest {
+
+	public static class Node {
+
+		private final String name;
+		private final Node child;
+
+		public Node(final String name, final Node child) {
+			super();
+			this.name = name;
+			this.child = child;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public Node getChild() {
+			return child;
+		}
+	}
+
+	public static class SpecialNode extends Node {
+
+		public SpecialNode(final String name, final Node child) {
+			super(name, child);
+		}
+
+		@Override
+		public String getName() {
+			return "special " + super.getName();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testOf_null() {
+		PropertyPath.of(null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testOf_empty_property() {
+		PropertyPath.of("child..name");
+	}
+
+	public static class Leaf {
+
+		public String getName() {
+			return "leaf";
+		}
+	}
+
+	/**
+	 * Loads its own copy of {@link Leaf}, so the class can be unloaded with
+	 * this loader.
+	 */
+	private static class IsolatingClassLoader extends ClassLoader {
+
+		public IsolatingClassLoader() {
+			super(PropertyPathTest.class.getClassLoader());
+		}
+
+		@Override
+		protected Class<?> loadClass(final String name, final boolean resolve)
+				throws ClassNotFoundException {
+			if (!Leaf.class.getName().equals(name)) {
+				return super.loadClass(name, resolve);
+			}
+			synchronized (getClassLoadingLock(name)) {
+				final Class<?> loaded = findLoadedClass(name);
+				if (loaded != null) {
+					return loaded;
+				}
+				final byte[] bytes = read(name.replace('.', '/') + ".class");
+				return defineClass(name, bytes, 0, bytes.length);
+			}
+		}
+
+		private byte[] read(final String resource)
+				throws ClassNotFoundException {
+			final InputStream in = getParent().getResourceAsStream(resource);
+			if (in == null) {
+				throw new ClassNotFoundException(resource);
+			}
+			try {
+				final ByteArrayOutputStream out = new ByteArrayOutputStream();
+				final byte[] buffer = new byte[4096];
+				int read;
+				while ((read = in.read(buffer)) > 0) {
+					out.write(buffer, 0, read);
+				}
+				in.close();
+				return out.toByteArray();
+			} catch (final IOException e) {
+				throw new ClassNotFoundException(resource, e);
+			}
+		}
+	}
+
+	@Test
+	public void testOf_cached() {
+		assertSame(PropertyPath.of("child.name"),
+				PropertyPath.of("child.name"));
+	}
+
+	@Test
+	public void testOf() {
+		final PropertyPath path = PropertyPath.of("child.child.name");
+		assertEquals(3, path.size());
+		assertEquals("child", path.getProperty(0));
+		assertEquals("name", path.getProperty(2));
+		assertEquals("child.child.name", path.getPath());
+	}
+
+	@Test
+	public void testResolve_null() {
+		assertNull(PropertyPath.of("child.name").resolve(null));
+	}
+
+	@Test
+	public void testResolve_null_intermediate() {
+		assertNull(PropertyPath.of("child.name").resolve(
+				new Node("root", null)));
+	}
+
+	@Test
+	public void testResolve() {
+		assertEquals("leaf", PropertyPath.of("child.name").resolve(
+				new Node("root", new Node("leaf", null))));
+	}
+
+	@Test
+	public void testResolve_changing_classes() {
+		final PropertyPath path = PropertyPath.of("child.name");
+		assertEquals("leaf",
+				path.resolve(new Node("root", new Node("leaf", null))));
+		assertEquals("special leaf",
+				path.resolve(new Node("root", new SpecialNode("leaf", null))));
+		assertEquals("leaf",
+				path.resolve(new Node("root", new Node("leaf", null))));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testResolve_unknown_property() {
+		PropertyPath.of("child.doesNotExist").resolve(
+				new Node("root", new Node("leaf", null)));
+	}
+
+	@Test
+	public void testResolve_classUnloadable() throws Exception {
+		final PropertyPath path = PropertyPath.of("name");
+		final WeakReference<ClassLoader> loader = resolveIsolated(path);
+		for (int i = 0; (i < 50) && (loader.get() != null); i++) {
+			System.gc();
+			Thread.sleep(20);
+		}
+		// the cached path does not keep the class loader reachable
+		assertNull(loader.get());
+		assertSame(path, PropertyPath.of("name"));
+	}
+
+	private static WeakReference<ClassLoader> resolveIsolated(
+			final PropertyPath path) throws Exception {
+		final ClassLoader loader = new IsolatingClassLoader();
+		final Class<?> type = loader.loadClass(Leaf.class.getName());
+		assertNotSame(Leaf.class, type);
+		assertEquals("leaf", path.resolve(type.newInstance()));
+		return new WeakReference<ClassLoader>(loader);
+	}
+}
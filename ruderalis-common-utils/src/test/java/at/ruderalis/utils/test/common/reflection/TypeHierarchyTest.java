@@ -0,0 +1,177 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.test.common.reflection;
+
+import static org.junit.Assert.*;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import at.ruderalis.utils.common.reflection.TypeHierarchy;
+
+/**
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@RunWith(JUnit4.class)
+public class TypeHierarchyTest {
+
+	public interface Named {
+
+		String getName();
+
+		int size();
+	}
+
+	/**
+	 * Implements RandomAccess again, which is inherited already.
+	 */
+	@SuppressWarnings("serial")
+	public static class NamedList extends ArrayList<String> implements Named,
+			RandomAccess {
+
+		public String getName() {
+			return "named";
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testOf_null() {
+		TypeHierarchy.of(null);
+	}
+
+	@Test
+	public void testOf_cached() {
+		assertSame(TypeHierarchy.of(ArrayList.class),
+				TypeHierarchy.of(ArrayList.class));
+	}
+
+	@Test
+	public void testGetClasses() {
+		assertEquals(Arrays.<Class<?>> asList(ArrayList.class,
+				AbstractList.class, AbstractCollection.class,
+				Object.class), TypeHierarchy.of(ArrayList.class).getClasses());
+	}
+
+	@Test
+	public void testGetClasses_interface() {
+		assertTrue(TypeHierarchy.of(List.class).getClasses().isEmpty());
+	}
+
+	@Test
+	public void testGetInterfaces() {
+		final List<Class<?>> interfaces = TypeHierarchy.of(ArrayList.class)
+				.getInterfaces();
+		assertTrue(interfaces.contains(List.class));
+		assertTrue(interfaces.contains(Collection.class));
+		assertTrue(interfaces.contains(Iterable.class));
+		assertTrue(interfaces.contains(RandomAccess.class));
+		assertTrue(interfaces.contains(Serializable.class));
+		assertFalse(interfaces.contains(ArrayList.class));
+	}
+
+	@Test
+	public void testGetInterfaces_interface() {
+		assertEquals(List.class, TypeHierarchy.of(List.class).getInterfaces()
+				.get(0));
+	}
+
+	@Test
+	public void testGetDeclaringTypes() {
+		final List<Class<?>> types = TypeHierarchy.of(ArrayList.class)
+				.getDeclaringTypes("iterator");
+		assertEquals(ArrayList.class, types.get(0));
+		assertTrue(types.contains(AbstractList.class));
+		assertTrue(types.contains(Iterable.class));
+	}
+
+	@Test
+	public void testGetDeclaringTypes_not_found() {
+		assertTrue(TypeHierarchy.of(ArrayList.class)
+				.getDeclaringTypes("doesNotExists").isEmpty());
+		assertFalse(TypeHierarchy.of(ArrayList.class).declaresMethod(
+				"doesNotExists"));
+	}
+
+	@Test
+	public void testGetImplementingClass() {
+		assertEquals(Object.class, TypeHierarchy.of(ArrayList.class)
+				.getImplementingClass("wait"));
+		assertEquals(ArrayList.class, TypeHierarchy.of(ArrayList.class)
+				.getImplementingClass("size"));
+	}
+
+	@Test
+	public void testGetDeclaringInterface() {
+		assertEquals(Iterable.class, TypeHierarchy.of(List.class)
+				.getDeclaringInterface("forEach"));
+		assertNull(TypeHierarchy.of(List.class).getDeclaringInterface("wait"));
+	}
+
+	@Test
+	public void testSubclass_addedTypes() {
+		final TypeHierarchy hierarchy = TypeHierarchy.of(NamedList.class);
+		assertEquals(Arrays.<Class<?>> asList(NamedList.class,
+				ArrayList.class, AbstractList.class, AbstractCollection.class,
+				Object.class), hierarchy.getClasses());
+		// the added interface comes first, the inherited ones keep their order
+		final List<Class<?>> interfaces = hierarchy.getInterfaces();
+		assertEquals(Named.class, interfaces.get(0));
+		assertEquals(TypeHierarchy.of(ArrayList.class).getInterfaces(),
+				interfaces.subList(1, interfaces.size()));
+		assertEquals(Arrays.<Class<?>> asList(NamedList.class, Named.class),
+				hierarchy.getDeclaringTypes("getName"));
+		assertEquals(Named.class, hierarchy.getDeclaringInterface("getName"));
+		assertEquals(NamedList.class,
+				hierarchy.getImplementingClass("getName"));
+		// the classes come first, the added interface before the inherited
+		final List<Class<?>> size = hierarchy.getDeclaringTypes("size");
+		assertEquals(ArrayList.class, size.get(0));
+		assertEquals(ArrayList.class, hierarchy.getImplementingClass("size"));
+		assertEquals(Named.class, hierarchy.getDeclaringInterface("size"));
+		assertTrue(size.indexOf(Named.class) < size.indexOf(List.class));
+		assertTrue(size.indexOf(Named.class) < size
+				.indexOf(Collection.class));
+		// inherited names are answered by the hierarchy of the super class
+		assertSame(TypeHierarchy.of(ArrayList.class).getDeclaringTypes(
+				"iterator"), hierarchy.getDeclaringTypes("iterator"));
+		assertTrue(hierarchy.declaresMethod("wait"));
+		assertFalse(hierarchy.declaresMethod("doesNotExists"));
+	}
+
+	@Test
+	public void testLookup_memoized() {
+		final TypeHierarchy hierarchy = TypeHierarchy.of(NamedList.class);
+		for (int i = 0; i < 2; i++) {
+			assertFalse(hierarchy.declaresMethod("doesNotExists"));
+			assertTrue(hierarchy.getDeclaringTypes("doesNotExists").isEmpty());
+			assertNull(hierarchy.getImplementingClass("doesNotExists"));
+			assertEquals(Object.class, hierarchy.getImplementingClass("wait"));
+		}
+		assertSame(hierarchy.getDeclaringTypes("getName"),
+				hierarchy.getDeclaringTypes("getName"));
+	}
+
+	@Test
+	public void testLookup_exceedsMemo() {
+		final TypeHierarchy hierarchy = TypeHierarchy.of(NamedList.class);
+		for (int i = 0; i <= TypeHierarchy.MAX_LOOKUPS; i++) {
+			assertFalse(hierarchy.declaresMethod("missing" + i));
+		}
+		// names beyond the limit are still resolved
+		assertTrue(hierarchy.declaresMethod("getName"));
+		assertEquals(Named.class, hierarchy.getDeclaringInterface("size"));
+		assertFalse(hierarchy.declaresMethod("doesNotExistsEither"));
+	}
+}
@@ -0,0 +1,103 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.test.common.string;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import at.ruderalis.utils.common.string.CamelCaseCache;
+import at.ruderalis.utils.common.string.CamelCaseCache.Statistics;
+
+/**
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@RunWith(JUnit4.class)
+public class CamelCaseCacheTest {
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCreate_invalid_size() {
+		new CamelCaseCache(0);
+	}
+
+	@Test
+	public void testSplitCamel_null() {
+		assertArrayEquals(new String[0], new CamelCaseCache().splitCamel(null));
+	}
+
+	@Test
+	public void testSplitCamel() {
+		final CamelCaseCache cache = new CamelCaseCache();
+		assertArrayEquals(new String[] { "customer", "id" },
+				cache.splitCamel("CustomerId"));
+		assertArrayEquals(new String[] { "customer", "id" },
+				cache.splitCamel("CustomerId"));
+		final Statistics statistics = cache.getStatistics();
+		assertEquals(1, statistics.getHitCount());
+		assertEquals(1, statistics.getMissCount());
+		assertEquals(1, statistics.getSize());
+		assertEquals(0.5, statistics.getHitRate(), 0);
+	}
+
+	@Test
+	public void testSplitCamel_copy_safe() {
+		final CamelCaseCache cache = new CamelCaseCache();
+		cache.splitCamel("CustomerId")[0] = "corrupted";
+		assertArrayEquals(new String[] { "customer", "id" },
+				cache.splitCamel("CustomerId"));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testSplitCamelAsList_read_only() {
+		final CamelCaseCache cache = new CamelCaseCache();
+		cache.splitCamelAsList("CustomerId").set(0, "corrupted");
+	}
+
+	@Test
+	public void testSplitCamelAsList() {
+		final CamelCaseCache cache = new CamelCaseCache();
+		final List<String> parts = cache.splitCamelAsList("OrderLineItem");
+		assertEquals(Arrays.asList("order", "line", "item"), parts);
+	}
+
+	@Test
+	public void testToCamel() {
+		final CamelCaseCache cache = new CamelCaseCache();
+		final String[] parts = new String[] { "order", "line" };
+		assertEquals("OrderLine", cache.toCamel(parts));
+		parts[1] = "item";
+		assertEquals("OrderItem", cache.toCamel(parts));
+		assertEquals("OrderLine", cache.toCamel("order", "line"));
+		assertEquals(1, cache.getStatistics().getHitCount());
+		assertEquals(2, cache.getStatistics().getMissCount());
+	}
+
+	@Test
+	public void testEviction() {
+		final CamelCaseCache cache = new CamelCaseCache(4);
+		for (int i = 0; i < 20; i++) {
+			cache.splitCamel("Column" + i + "Name");
+			cache.splitCamel("HotName");
+		}
+		final Statistics statistics = cache.getStatistics();
+		assertEquals(4, statistics.getSize());
+		assertEquals(17, statistics.getEvictionCount());
+		assertEquals(19, statistics.getHitCount());
+	}
+
+	@Test
+	public void testClear() {
+		final CamelCaseCache cache = new CamelCaseCache();
+		cache.splitCamel("CustomerId");
+		cache.toCamel("customer", "id");
+		cache.clear();
+		assertEquals(0, cache.getStatistics().getSize());
+	}
+}
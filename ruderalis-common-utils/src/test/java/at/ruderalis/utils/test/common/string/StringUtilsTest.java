@@ -5,11 +5,19 @@ package at.ruderalis.utils.test.common.string;
 
 import static org.junit.Assert.*;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
+import at.ruderalis.utils.common.regex.CommonRegexPattern;
 import at.ruderalis.utils.common.string.StringUtils;
+import at.ruderalis.utils.common.string.StringUtils.CamelSegmentVisitor;
 
 /**
  * @author Thomas Herzog
@@ -38,6 +46,20 @@ public class StringUtilsTest {
 		assertFalse(StringUtils.isEmpty("I am not empty"));
 	}
 
+	@Test
+	public void testIsEmpty_char_sequence() {
+		assertTrue(StringUtils.isEmpty(new StringBuilder(" \t ")));
+		assertFalse(StringUtils.isEmpty(new StringBuilder(" x ")));
+	}
+
+	@Test
+	public void testIsBlank() {
+		assertTrue(StringUtils.isBlank(null));
+		assertTrue(StringUtils.isBlank(""));
+		assertTrue(StringUtils.isBlank(CharBuffer.wrap(" \n\t")));
+		assertFalse(StringUtils.isBlank(CharBuffer.wrap("  a")));
+	}
+
 	@Test
 	public void testSplitCamel_null() {
 		assertArrayEquals(new String[0], StringUtils.splitCamel((String) null));
@@ -65,6 +87,123 @@ public class StringUtilsTest {
 				"string" }, StringUtils.splitCamel("IAmACamelCaseString"));
 	}
 
+	@Test
+	public void testSplitCamel_spaces_within() {
+		assertArrayEquals(new String[] { "i", "am", "spaced out" },
+				StringUtils.splitCamel(" I Am Spaced out "));
+	}
+
+	@Test
+	public void testSplitCamel_unicode() {
+		assertArrayEquals(new String[] { "\u00e4rger", "\u00fcber", "ma\u00df" },
+				StringUtils.splitCamel("\u00c4rger\u00dcberMa\u00df"));
+	}
+
+	@Test
+	public void testSplitCamel_supplementary() {
+		assertArrayEquals(new String[] { "a", "\ud801\udc28b" },
+				StringUtils.splitCamel("a\ud801\udc00b"));
+	}
+
+	@Test
+	public void testSplitCamel_as_regex() {
+		final String[] camels = { "IAmACamelCaseString", "lowerStart",
+				"  Trailing  Spaces  ", "X", "xY", "\u01c5Titlecase",
+				"\u2160RomanNumeral", "\u00c9mile\u00c7a", "tab\tSeparated",
+				"URLParser", "a1B2c3" };
+		for (final String camel : camels) {
+			assertArrayEquals(camel, splitCamelRegex(camel),
+					StringUtils.splitCamel(camel));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSplitCamel_visitor_null() {
+		StringUtils.splitCamel("Camel", null);
+	}
+
+	@Test
+	public void testSplitCamel_visitor() {
+		final List<int[]> segments = new ArrayList<int[]>();
+		final int count = StringUtils.splitCamel(" IAm ACamel ",
+				new CamelSegmentVisitor() {
+					public void segment(final int start, final int end) {
+						segments.add(new int[] { start, end });
+					}
+				});
+		assertEquals(4, count);
+		assertEquals(4, segments.size());
+		assertArrayEquals(new int[] { 1, 2 }, segments.get(0));
+		assertArrayEquals(new int[] { 2, 4 }, segments.get(1));
+		assertArrayEquals(new int[] { 5, 6 }, segments.get(2));
+		assertArrayEquals(new int[] { 6, 11 }, segments.get(3));
+	}
+
+	@Test
+	public void testSplitCamel_visitor_empty() {
+		assertEquals(0, StringUtils.splitCamel("   ", new CamelSegmentVisitor() {
+			public void segment(final int start, final int end) {
+				fail();
+			}
+		}));
+	}
+
+	@Test
+	public void testSplitCamel_visitor_char_buffer() {
+		final CharBuffer buffer = CharBuffer.wrap("xxOrderLine", 2, 11);
+		final List<String> parts = new ArrayList<String>();
+		StringUtils.splitCamel(buffer, new CamelSegmentVisitor() {
+			public void segment(final int start, final int end) {
+				parts.add(buffer.subSequence(start, end).toString());
+			}
+		});
+		assertEquals(2, parts.size());
+		assertEquals("Order", parts.get(0));
+		assertEquals("Line", parts.get(1));
+	}
+
+	@Test
+	public void testAppendSplitCamel() {
+		final StringBuilder builder = new StringBuilder("column: ");
+		assertSame(builder, StringUtils.appendSplitCamel(builder,
+				new StringBuilder("OrderLine \u00c4nderung"), '_'));
+		assertEquals("column: order_line_\u00e4nderung", builder.toString());
+	}
+
+	@Test
+	public void testAppendSplitCamel_empty() {
+		assertEquals("", StringUtils.appendSplitCamel(new StringBuilder(),
+				"  ", '_').toString());
+	}
+
+	@Test
+	public void testAppendSplitCamel_appendable() throws IOException {
+		final StringWriter writer = new StringWriter();
+		StringUtils.appendSplitCamel(writer, CharBuffer.wrap("CustomerId"),
+				'.');
+		assertEquals("customer.id", writer.toString());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAppendCamel_null_target() {
+		StringUtils.appendCamel((StringBuilder) null, "a");
+	}
+
+	@Test
+	public void testAppendCamel() {
+		final StringBuilder builder = new StringBuilder("get");
+		StringUtils.appendCamel(builder, new StringBuilder(" oRDER "), null,
+				CharBuffer.wrap("line"), "", "\u00e4nderung");
+		assertEquals("getOrderLine\u00c4nderung", builder.toString());
+	}
+
+	@Test
+	public void testAppendCamel_appendable() throws IOException {
+		final StringWriter writer = new StringWriter();
+		StringUtils.appendCamel(writer, "customer", "ID");
+		assertEquals("CustomerId", writer.toString());
+	}
+
 	@Test
 	public void testToCamel_null() {
 		assertEquals("", StringUtils.toCamel((String) null));
@@ -92,4 +231,18 @@ public class StringUtilsTest {
 				StringUtils.toCamel(new String[] { "i", null, "wanna", "be",
 						"", null, "a", "camel" }));
 	}
+
+	/**
+	 * The former regular expression based implementation of
+	 * {@link StringUtils#splitCamel(String)}.
+	 */
+	private static String[] splitCamelRegex(final String camel) {
+		final List<String> split = new ArrayList<String>();
+		for (final String part : camel.split(CommonRegexPattern.UPPER_CASE)) {
+			if (part.trim().length() > 0) {
+				split.add(part.trim().toLowerCase());
+			}
+		}
+		return split.toArray(new String[split.size()]);
+	}
 }
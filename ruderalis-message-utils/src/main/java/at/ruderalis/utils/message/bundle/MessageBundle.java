@@ -0,0 +1,139 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.bundle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import at.ruderalis.utils.message.template.MessageTemplate;
+
+/**
+ * This class holds the messages of a locale, with the messages of its
+ * fallback locales already merged in. A lookup is therefore a single probe of
+ * an immutable table, which does not lock.<br>
+ * The templates of the messages are compiled on their first use and kept by
+ * the bundle. Instances are thread safe.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @see MessageBundleRegistry
+ */
+public final class MessageBundle {
+
+	private final Locale locale;
+	private final MessageTable table;
+
+	/**
+	 * The compiled templates by the slots of their messages. Concurrent first
+	 * uses may compile a template twice, which is harmless because templates
+	 * are immutable.
+	 */
+	private final MessageTemplate[] templates;
+
+	/**
+	 * @param locale
+	 *            the locale of the bundle
+	 * @param messages
+	 *            the merged messages by their keys
+	 */
+	MessageBundle(final Locale locale, final Map<String, String> messages) {
+		super();
+		this.locale = locale;
+		this.table = new MessageTable(messages);
+		this.templates = new MessageTemplate[table.capacity()];
+	}
+
+	/**
+	 * @return the locale, which the messages have been resolved for
+	 */
+	public Locale getLocale() {
+		return locale;
+	}
+
+	/**
+	 * @param key
+	 *            the key of the message
+	 * @return the message, null if neither the locale nor its fallback
+	 *         locales define the key
+	 */
+	public String getMessage(final String key) {
+		return table.get(key);
+	}
+
+	/**
+	 * @param key
+	 *            the key of the message
+	 * @return true if the bundle contains the key
+	 */
+	public boolean containsKey(final String key) {
+		return table.indexOf(key) >= 0;
+	}
+
+	/**
+	 * @param key
+	 *            the key of the message
+	 * @return the compiled template of the message, null if the bundle does
+	 *         not contain the key
+	 * @throws IllegalArgumentException
+	 *             if the message is not a valid template
+	 */
+	public MessageTemplate getTemplate(final String key) {
+		final int idx = table.indexOf(key);
+		if (idx < 0) {
+			return null;
+		}
+		MessageTemplate template = templates[idx];
+		if (template == null) {
+			template = MessageTemplate.compile(table.messageAt(idx));
+			templates[idx] = template;
+		}
+		return template;
+	}
+
+	/**
+	 * Renders the message with positional arguments. A missing message is
+	 * rendered as its key, so that it shows up in the output instead of
+	 * failing the caller.
+	 * 
+	 * @param key
+	 *            the key of the message
+	 * @param args
+	 *            the arguments of the index placeholders
+	 * @return the rendered message, the key if the message is missing
+	 * @see MessageTemplate#format(Object...)
+	 */
+	public String format(final String key, final Object... args) {
+		final MessageTemplate template = getTemplate(key);
+		return (template != null) ? template.format(args) : key;
+	}
+
+	/**
+	 * @return the number of messages
+	 */
+	public int size() {
+		return table.size();
+	}
+
+	/**
+	 * @return the keys of the messages in no particular order
+	 */
+	public List<String> getKeys() {
+		final List<String> keys = new ArrayList<String>(table.size());
+		for (int i = 0; i < table.capacity(); i++) {
+			final String key = table.keyAt(i);
+			if (key != null) {
+				keys.add(key);
+			}
+		}
+		return Collections.unmodifiableList(keys);
+	}
+
+	@Override
+	public String toString() {
+		return "MessageBundle[" + locale + ", " + table.size() + " messages]";
+	}
+}
@@ -0,0 +1,34 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.bundle;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * This interface loads the messages of a single locale, without any
+ * fallback. The {@link MessageBundleRegistry} calls the loader once per
+ * locale and snapshot, so implementations do not need to cache.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @see PropertiesBundleLoader
+ */
+public interface MessageBundleLoader {
+
+	/**
+	 * @param baseName
+	 *            the base name of the bundle
+	 * @param locale
+	 *            the locale to be loaded, {@link Locale#ROOT} for the base
+	 *            bundle
+	 * @return the messages by their keys, null if there is no bundle for the
+	 *         locale
+	 * @throws IOException
+	 *             if an existing bundle can not be read
+	 */
+	Map<String, String> load(String baseName, Locale locale)
+			throws IOException;
+}
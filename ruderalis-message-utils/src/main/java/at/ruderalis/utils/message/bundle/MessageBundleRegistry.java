@@ -0,0 +1,258 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.bundle;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class looks up the messages of a bundle by locale. The messages of a
+ * locale are loaded lazily on its first lookup and merged with its fallback
+ * locales into a single {@link MessageBundle}, so the fallback chain is
+ * resolved once per locale and a lookup is a single probe of an immutable
+ * table.<br>
+ * The fallback chain of de_AT_vienna is de_AT_vienna, de_AT, de, followed by
+ * the chain of the fallback locale of the registry if there is one, and
+ * finally the base bundle of {@link Locale#ROOT}. Messages of a more specific
+ * locale override those of a less specific one.<br>
+ * The loaded bundles are held in a snapshot. Lookups only read the current
+ * snapshot and never block, apart from loading a locale for the first time.
+ * {@link #reload()} loads the bundles into a new snapshot and then swaps it
+ * in atomically, so readers see either all old or all new messages.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+public class MessageBundleRegistry {
+
+	/**
+	 * Stands for a locale without bundle in the loaded messages.
+	 */
+	private static final Map<String, String> NO_BUNDLE = Collections
+			.emptyMap();
+
+	private final String baseName;
+	private final MessageBundleLoader loader;
+	private final Locale fallbackLocale;
+	private final AtomicReference<Snapshot> snapshot;
+	private final Object reloadLock = new Object();
+
+	/**
+	 * Creates a registry reading UTF-8 properties files from the class path
+	 * without fallback locale.
+	 * 
+	 * @param baseName
+	 *            the base name of the bundle
+	 * @throws IllegalArgumentException
+	 *             if the base name is null
+	 * @see PropertiesBundleLoader
+	 */
+	public MessageBundleRegistry(final String baseName) {
+		this(baseName, new PropertiesBundleLoader(), null);
+	}
+
+	/**
+	 * @param baseName
+	 *            the base name of the bundle
+	 * @param loader
+	 *            the loader of the messages of a single locale
+	 * @param fallbackLocale
+	 *            the locale to fall back to before the base bundle, null for
+	 *            none
+	 * @throws IllegalArgumentException
+	 *             if the base name or the loader is null
+	 */
+	public MessageBundleRegistry(final String baseName,
+			final MessageBundleLoader loader, final Locale fallbackLocale) {
+		super();
+		if (baseName == null) {
+			throw new IllegalArgumentException("Base name must not be null");
+		}
+		if (loader == null) {
+			throw new IllegalArgumentException("Loader must not be null");
+		}
+		this.baseName = baseName;
+		this.loader = loader;
+		this.fallbackLocale = fallbackLocale;
+		this.snapshot = new AtomicReference<Snapshot>(new Snapshot());
+	}
+
+	/**
+	 * @param locale
+	 *            the locale of the messages
+	 * @return the bundle of the locale with its fallback locales merged in
+	 * @throws IllegalArgumentException
+	 *             if the locale is null
+	 * @throws IllegalStateException
+	 *             if a bundle of the fallback chain can not be read
+	 */
+	public MessageBundle getBundle(final Locale locale) {
+		if (locale == null) {
+			throw new IllegalArgumentException("Locale must not be null");
+		}
+		final Snapshot current = snapshot.get();
+		final MessageBundle bundle = current.bundles.get(locale);
+		return (bundle != null) ? bundle : resolve(current, locale);
+	}
+
+	/**
+	 * @param locale
+	 *            the locale of the message
+	 * @param key
+	 *            the key of the message
+	 * @return the message, null if the fallback chain does not define the
+	 *         key
+	 * @see #getBundle(Locale)
+	 */
+	public String getMessage(final Locale locale, final String key) {
+		return getBundle(locale).getMessage(key);
+	}
+
+	/**
+	 * @param locale
+	 *            the locale of the message
+	 * @param key
+	 *            the key of the message
+	 * @param args
+	 *            the arguments of the index placeholders
+	 * @return the rendered message, the key if the message is missing
+	 * @see MessageBundle#format(String, Object...)
+	 */
+	public String format(final Locale locale, final String key,
+			final Object... args) {
+		return getBundle(locale).format(key, args);
+	}
+
+	/**
+	 * Loads the bundles of all locales looked up so far into a new snapshot
+	 * and swaps it in. Lookups are served from the old snapshot until the new
+	 * one is complete. If a bundle can not be read, the old snapshot is kept.
+	 * 
+	 * @throws IllegalStateException
+	 *             if a bundle can not be read
+	 */
+	public void reload() {
+		synchronized (reloadLock) {
+			final Snapshot fresh = new Snapshot();
+			for (final Locale locale : snapshot.get().bundles.keySet()) {
+				resolve(fresh, locale);
+			}
+			snapshot.set(fresh);
+		}
+	}
+
+	/**
+	 * @return the base name of the bundle
+	 */
+	public String getBaseName() {
+		return baseName;
+	}
+
+	/**
+	 * @return the locales of the bundles resolved by the current snapshot
+	 */
+	public List<Locale> getLoadedLocales() {
+		return new ArrayList<Locale>(snapshot.get().bundles.keySet());
+	}
+
+	/**
+	 * Merges the messages of the fallback chain, from the most general to
+	 * the most specific locale.
+	 */
+	private MessageBundle resolve(final Snapshot target, final Locale locale) {
+		final List<Locale> chain = fallbackChain(locale);
+		final Map<String, String> merged = new HashMap<String, String>();
+		for (int i = chain.size() - 1; i >= 0; i--) {
+			merged.putAll(messages(target, chain.get(i)));
+		}
+		final MessageBundle bundle = new MessageBundle(locale, merged);
+		final MessageBundle previous = target.bundles.putIfAbsent(locale,
+				bundle);
+		return (previous != null) ? previous : bundle;
+	}
+
+	/**
+	 * Loads the messages of a single locale once per snapshot. The loader is
+	 * called without lock, so concurrent first lookups may load a locale
+	 * twice, but they share the first stored result.
+	 */
+	private Map<String, String> messages(final Snapshot target,
+			final Locale locale) {
+		final Map<String, String> loaded = target.messages.get(locale);
+		if (loaded != null) {
+			return loaded;
+		}
+		Map<String, String> messages;
+		try {
+			messages = loader.load(baseName, locale);
+		} catch (final IOException e) {
+			throw new IllegalStateException("Failed to load bundle "
+					+ baseName + " of locale '" + locale + "'", e);
+		}
+		if (messages == null) {
+			messages = NO_BUNDLE;
+		}
+		final Map<String, String> previous = target.messages.putIfAbsent(
+				locale, messages);
+		return (previous != null) ? previous : messages;
+	}
+
+	/**
+	 * @return the locales of the fallback chain, the most specific first
+	 */
+	private List<Locale> fallbackChain(final Locale locale) {
+		final List<Locale> chain = new ArrayList<Locale>(7);
+		addCandidates(chain, locale);
+		if (fallbackLocale != null) {
+			addCandidates(chain, fallbackLocale);
+		}
+		if (!chain.contains(Locale.ROOT)) {
+			chain.add(Locale.ROOT);
+		}
+		return chain;
+	}
+
+	private static void addCandidates(final List<Locale> chain,
+			final Locale locale) {
+		final String language = locale.getLanguage();
+		final String country = locale.getCountry();
+		final String variant = locale.getVariant();
+		if (!variant.isEmpty()) {
+			addCandidate(chain, new Locale(language, country, variant));
+		}
+		if (!country.isEmpty()) {
+			addCandidate(chain, new Locale(language, country));
+		}
+		if (!language.isEmpty()) {
+			addCandidate(chain, new Locale(language));
+		}
+	}
+
+	private static void addCandidate(final List<Locale> chain,
+			final Locale locale) {
+		if (!chain.contains(locale)) {
+			chain.add(locale);
+		}
+	}
+
+	/**
+	 * The bundles and loaded messages of one generation of the registry.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class Snapshot {
+
+		private final ConcurrentMap<Locale, MessageBundle> bundles = new ConcurrentHashMap<Locale, MessageBundle>();
+		private final ConcurrentMap<Locale, Map<String, String>> messages = new ConcurrentHashMap<Locale, Map<String, String>>();
+	}
+}
@@ -0,0 +1,112 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.bundle;
+
+import java.util.Map;
+
+/**
+ * This class is an immutable hash table of messages by their keys. The keys
+ * and messages are held in two arrays, collisions are resolved by linear
+ * probing and the table is at most half full, so a lookup mostly compares
+ * one or two keys and never allocates or locks.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+final class MessageTable {
+
+	private final String[] keys;
+	private final String[] messages;
+	private final int mask;
+	private final int size;
+
+	/**
+	 * @param entries
+	 *            the messages by their keys, null keys and messages are
+	 *            skipped
+	 */
+	MessageTable(final Map<String, String> entries) {
+		super();
+		int capacity = 2;
+		while (capacity < (entries.size() << 1)) {
+			capacity <<= 1;
+		}
+		this.keys = new String[capacity];
+		this.messages = new String[capacity];
+		this.mask = capacity - 1;
+		int count = 0;
+		for (final Map.Entry<String, String> entry : entries.entrySet()) {
+			final String key = entry.getKey();
+			if ((key == null) || (entry.getValue() == null)) {
+				continue;
+			}
+			int idx = hash(key) & mask;
+			while (keys[idx] != null) {
+				idx = (idx + 1) & mask;
+			}
+			keys[idx] = key;
+			messages[idx] = entry.getValue();
+			count++;
+		}
+		this.size = count;
+	}
+
+	/**
+	 * @param key
+	 *            the key of the message
+	 * @return the message, null if the table does not contain the key
+	 */
+	String get(final String key) {
+		final int idx = indexOf(key);
+		return (idx >= 0) ? messages[idx] : null;
+	}
+
+	/**
+	 * @param key
+	 *            the key of the message
+	 * @return the slot of the key, -1 if the table does not contain the key
+	 */
+	int indexOf(final String key) {
+		if (key == null) {
+			return -1;
+		}
+		int idx = hash(key) & mask;
+		String current;
+		while ((current = keys[idx]) != null) {
+			if ((current == key) || (current.equals(key))) {
+				return idx;
+			}
+			idx = (idx + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the number of slots, which bounds the slot indices
+	 */
+	int capacity() {
+		return keys.length;
+	}
+
+	String keyAt(final int idx) {
+		return keys[idx];
+	}
+
+	String messageAt(final int idx) {
+		return messages[idx];
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Spreads the higher bits of the hash code, because the slot is taken
+	 * from the lower bits.
+	 */
+	private static int hash(final String key) {
+		final int h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+}
@@ -0,0 +1,90 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.bundle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * This loader reads properties files from the class path, named like the
+ * files of a {@link java.util.PropertyResourceBundle}:
+ * <code>com/example/messages_de_AT.properties</code> for the base name
+ * <code>com.example.messages</code> and the locale de_AT. Unlike
+ * {@link java.util.PropertyResourceBundle} before Java 9 the files are read as
+ * UTF-8.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+public class PropertiesBundleLoader implements MessageBundleLoader {
+
+	private final ClassLoader classLoader;
+
+	/**
+	 * Creates a loader reading from the class loader of this class.
+	 */
+	public PropertiesBundleLoader() {
+		this(PropertiesBundleLoader.class.getClassLoader());
+	}
+
+	/**
+	 * @param classLoader
+	 *            the class loader to read the files from
+	 * @throws IllegalArgumentException
+	 *             if the class loader is null
+	 */
+	public PropertiesBundleLoader(final ClassLoader classLoader) {
+		super();
+		if (classLoader == null) {
+			throw new IllegalArgumentException("Class loader must not be null");
+		}
+		this.classLoader = classLoader;
+	}
+
+	public Map<String, String> load(final String baseName, final Locale locale)
+			throws IOException {
+		final InputStream in = classLoader.getResourceAsStream(toResourceName(
+				baseName, locale));
+		if (in == null) {
+			return null;
+		}
+		final Properties properties = new Properties();
+		final Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+		try {
+			properties.load(reader);
+		} finally {
+			reader.close();
+		}
+		final Map<String, String> messages = new HashMap<String, String>(
+				(int) (properties.size() / 0.75f) + 1);
+		for (final String key : properties.stringPropertyNames()) {
+			messages.put(key, properties.getProperty(key));
+		}
+		return messages;
+	}
+
+	/**
+	 * @param baseName
+	 *            the base name of the bundle
+	 * @param locale
+	 *            the locale of the file
+	 * @return the class path resource name of the file
+	 */
+	protected String toResourceName(final String baseName, final Locale locale) {
+		final StringBuilder name = new StringBuilder(baseName.replace('.',
+				'/'));
+		final String suffix = locale.toString();
+		if (!suffix.isEmpty()) {
+			name.append('_').append(suffix);
+		}
+		return name.append(".properties").toString();
+	}
+}
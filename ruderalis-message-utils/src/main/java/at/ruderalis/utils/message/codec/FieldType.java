@@ -0,0 +1,61 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.codec;
+
+/**
+ * The types of the fields of a {@link MessageSchema}, with their binary
+ * encoding.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+public enum FieldType {
+
+	/**
+	 * A varint of 0 or 1.
+	 */
+	BOOLEAN(Wire.VARINT),
+
+	/**
+	 * A zigzag encoded varint, so small negative values are short as well.
+	 */
+	INT(Wire.VARINT),
+
+	/**
+	 * A zigzag encoded varint, so small negative values are short as well.
+	 */
+	LONG(Wire.VARINT),
+
+	/**
+	 * The eight bytes of the IEEE 754 bits, little endian.
+	 */
+	DOUBLE(Wire.FIXED64),
+
+	/**
+	 * The varint length followed by the UTF-8 bytes.
+	 */
+	STRING(Wire.LENGTH),
+
+	/**
+	 * The varint length followed by the bytes.
+	 */
+	BYTES(Wire.LENGTH);
+
+	private final int wireType;
+
+	/**
+	 * @param wireType
+	 */
+	private FieldType(final int wireType) {
+		this.wireType = wireType;
+	}
+
+	/**
+	 * @return the encoding of the values, which allows skipping a field
+	 *         without knowing its type
+	 */
+	int getWireType() {
+		return wireType;
+	}
+}
@@ -0,0 +1,365 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.codec;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * This class reads a binary message written by a {@link MessageWriter} from
+ * the remaining bytes of a {@link ByteBuffer}. Reading does not change the
+ * position of the buffer and does not copy the message.<br>
+ * Fields are located lazily: the first access to a field scans the message
+ * only up to that field, skipping the values on the way without decoding
+ * them, and remembers where each passed field starts. Reading a header field
+ * written first therefore does not touch the payload behind it. Fields of
+ * the message, which are unknown to the schema, are skipped.<br>
+ * A field missing in the message is read as false, 0, null respectively, see
+ * {@link #has(int)}. A malformed message causes an
+ * {@link IllegalStateException} when the scan reaches the malformed part. A
+ * reader may be reused for further messages by {@link #reset(ByteBuffer)}.
+ * Instances are not thread safe.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+public final class MessageReader {
+
+	/**
+	 * The field has not been reached by the scan yet.
+	 */
+	private static final int UNKNOWN = -2;
+
+	/**
+	 * The message does not contain the field.
+	 */
+	private static final int ABSENT = -1;
+
+	private final MessageSchema schema;
+
+	/**
+	 * The absolute position of the value of each field.
+	 */
+	private final int[] offsets;
+
+	private ByteBuffer buffer;
+	private int start;
+	private int limit;
+
+	/**
+	 * The absolute position up to which the fields have been located.
+	 */
+	private int scanned;
+
+	/**
+	 * The position behind the varint read last.
+	 */
+	private int varintEnd;
+
+	/**
+	 * @param schema
+	 *            the schema of the message
+	 * @param buffer
+	 *            the buffer, whose remaining bytes are the message
+	 * @throws IllegalArgumentException
+	 *             if the schema or the buffer is null
+	 */
+	public MessageReader(final MessageSchema schema, final ByteBuffer buffer) {
+		super();
+		if (schema == null) {
+			throw new IllegalArgumentException("Schema must not be null");
+		}
+		this.schema = schema;
+		this.offsets = new int[schema.size()];
+		reset(buffer);
+	}
+
+	/**
+	 * Starts reading another message.
+	 * 
+	 * @param buffer
+	 *            the buffer, whose remaining bytes are the message
+	 * @return this reader
+	 * @throws IllegalArgumentException
+	 *             if the buffer is null
+	 */
+	public MessageReader reset(final ByteBuffer buffer) {
+		if (buffer == null) {
+			throw new IllegalArgumentException("Buffer must not be null");
+		}
+		this.buffer = buffer;
+		this.start = buffer.position();
+		this.limit = buffer.limit();
+		this.scanned = start;
+		Arrays.fill(offsets, UNKNOWN);
+		return this;
+	}
+
+	/**
+	 * @return the schema of the message
+	 */
+	public MessageSchema getSchema() {
+		return schema;
+	}
+
+	/**
+	 * @return the number of bytes of the message
+	 */
+	public int size() {
+		return limit - start;
+	}
+
+	/**
+	 * @param field
+	 *            the number of the field
+	 * @return true if the message contains the field
+	 * @throws IllegalArgumentException
+	 *             if the schema does not have the field
+	 * @throws IllegalStateException
+	 *             if the message is malformed
+	 */
+	public boolean has(final int field) {
+		if ((field < 0) || (field >= offsets.length)) {
+			throw new IllegalArgumentException("Unknown field " + field);
+		}
+		return offset(field) >= 0;
+	}
+
+	/**
+	 * @param field
+	 *            the number of a {@link FieldType#BOOLEAN} field
+	 * @return the value, false if the field is missing
+	 * @throws IllegalArgumentException
+	 *             if the field is not a boolean field
+	 * @throws IllegalStateException
+	 *             if the message is malformed
+	 */
+	public boolean getBoolean(final int field) {
+		final int offset = locate(field, FieldType.BOOLEAN);
+		return (offset >= 0) && (readVarint(offset) != 0);
+	}
+
+	/**
+	 * @param field
+	 *            the number of an {@link FieldType#INT} field
+	 * @return the value, 0 if the field is missing
+	 * @throws IllegalArgumentException
+	 *             if the field is not an int field
+	 * @throws IllegalStateException
+	 *             if the message is malformed
+	 */
+	public int getInt(final int field) {
+		final int offset = locate(field, FieldType.INT);
+		return (offset >= 0) ? (int) Wire.unzigzag(readVarint(offset)) : 0;
+	}
+
+	/**
+	 * @param field
+	 *            the number of a {@link FieldType#LONG} field
+	 * @return the value, 0 if the field is missing
+	 * @throws IllegalArgumentException
+	 *             if the field is not a long field
+	 * @throws IllegalStateException
+	 *             if the message is malformed
+	 */
+	public long getLong(final int field) {
+		final int offset = locate(field, FieldType.LONG);
+		return (offset >= 0) ? Wire.unzigzag(readVarint(offset)) : 0L;
+	}
+
+	/**
+	 * @param field
+	 *            the number of a {@link FieldType#DOUBLE} field
+	 * @return the value, 0 if the field is missing
+	 * @throws IllegalArgumentException
+	 *             if the field is not a double field
+	 * @throws IllegalStateException
+	 *             if the message is malformed
+	 */
+	public double getDouble(final int field) {
+		final int offset = locate(field, FieldType.DOUBLE);
+		return (offset >= 0) ? Double.longBitsToDouble(Wire.getFixed64(
+				buffer, offset)) : 0.0;
+	}
+
+	/**
+	 * @param field
+	 *            the number of a {@link FieldType#STRING} field
+	 * @return the value, null if the field is missing
+	 * @throws IllegalArgumentException
+	 *             if the field is not a string field
+	 * @throws IllegalStateException
+	 *             if the message is malformed
+	 */
+	public String getString(final int field) {
+		final int offset = locate(field, FieldType.STRING);
+		if (offset < 0) {
+			return null;
+		}
+		final int length = (int) readVarint(offset);
+		return Wire.getUtf8(buffer, varintEnd, length);
+	}
+
+	/**
+	 * @param field
+	 *            the number of a {@link FieldType#BYTES} field
+	 * @return a read only view of the value in the buffer of the message,
+	 *         null if the field is missing
+	 * @throws IllegalArgumentException
+	 *             if the field is not a bytes field
+	 * @throws IllegalStateException
+	 *             if the message is malformed
+	 */
+	public ByteBuffer getBytes(final int field) {
+		final int offset = locate(field, FieldType.BYTES);
+		if (offset < 0) {
+			return null;
+		}
+		final int length = (int) readVarint(offset);
+		final ByteBuffer view = buffer.asReadOnlyBuffer();
+		// casts keep the code runnable on Java 8, see Buffer#limit(int)
+		((Buffer) view).limit(varintEnd + length);
+		((Buffer) view).position(varintEnd);
+		return view.slice();
+	}
+
+	/**
+	 * @see #has(int)
+	 */
+	public boolean has(final String name) {
+		return has(schema.fieldOf(name));
+	}
+
+	/**
+	 * @see #getBoolean(int)
+	 */
+	public boolean getBoolean(final String name) {
+		return getBoolean(schema.fieldOf(name));
+	}
+
+	/**
+	 * @see #getInt(int)
+	 */
+	public int getInt(final String name) {
+		return getInt(schema.fieldOf(name));
+	}
+
+	/**
+	 * @see #getLong(int)
+	 */
+	public long getLong(final String name) {
+		return getLong(schema.fieldOf(name));
+	}
+
+	/**
+	 * @see #getDouble(int)
+	 */
+	public double getDouble(final String name) {
+		return getDouble(schema.fieldOf(name));
+	}
+
+	/**
+	 * @see #getString(int)
+	 */
+	public String getString(final String name) {
+		return getString(schema.fieldOf(name));
+	}
+
+	/**
+	 * @see #getBytes(int)
+	 */
+	public ByteBuffer getBytes(final String name) {
+		return getBytes(schema.fieldOf(name));
+	}
+
+	private int locate(final int field, final FieldType type) {
+		schema.checkType(field, type);
+		return offset(field);
+	}
+
+	private int offset(final int field) {
+		if (offsets[field] == UNKNOWN) {
+			scan(field);
+		}
+		return offsets[field];
+	}
+
+	/**
+	 * Locates the fields up to the given one, or up to the end of the
+	 * message, where the fields not found are marked as missing.
+	 */
+	private void scan(final int field) {
+		while (scanned < limit) {
+			final long header = readVarint(scanned);
+			final long number = header >>> Wire.TYPE_BITS;
+			final int wireType = (int) (header & Wire.TYPE_MASK);
+			final int valueStart = varintEnd;
+			final int valueEnd;
+			if (wireType == Wire.VARINT) {
+				readVarint(valueStart);
+				valueEnd = varintEnd;
+			} else if (wireType == Wire.FIXED64) {
+				if (limit - valueStart < 8) {
+					throw malformed("truncated value", valueStart);
+				}
+				valueEnd = valueStart + 8;
+			} else if (wireType == Wire.LENGTH) {
+				final long length = readVarint(valueStart);
+				if ((length < 0) || (length > limit - varintEnd)) {
+					throw malformed("truncated value", valueStart);
+				}
+				valueEnd = varintEnd + (int) length;
+			} else {
+				throw malformed("unknown wire type " + wireType, scanned);
+			}
+			if (number < offsets.length) {
+				final int current = (int) number;
+				if (schema.getType(current).getWireType() != wireType) {
+					throw malformed("wrong wire type of field '"
+							+ schema.getName(current) + "'", scanned);
+				}
+				if (offsets[current] == UNKNOWN) {
+					offsets[current] = valueStart;
+				}
+			}
+			scanned = valueEnd;
+			if (number == field) {
+				return;
+			}
+		}
+		for (int i = 0; i < offsets.length; i++) {
+			if (offsets[i] == UNKNOWN) {
+				offsets[i] = ABSENT;
+			}
+		}
+	}
+
+	/**
+	 * Reads a varint and stores the position behind it in
+	 * {@link #varintEnd}.
+	 */
+	private long readVarint(int pos) {
+		final int begin = pos;
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			if (pos >= limit) {
+				throw malformed("truncated varint", begin);
+			}
+			final byte b = buffer.get(pos++);
+			value |= (long) (b & 0x7F) << shift;
+			if (b >= 0) {
+				varintEnd = pos;
+				return value;
+			}
+		}
+		throw malformed("varint too long", begin);
+	}
+
+	private IllegalStateException malformed(final String reason,
+			final int pos) {
+		return new IllegalStateException("Malformed message, " + reason
+				+ " at offset " + (pos - start));
+	}
+}
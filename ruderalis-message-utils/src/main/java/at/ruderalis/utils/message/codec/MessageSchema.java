@@ -0,0 +1,190 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.codec;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class describes the fields of a binary message. The fields are
+ * numbered in the order they have been added to the builder and the number is
+ * what is written to the message, not the name. A schema may therefore be
+ * extended by appending fields, readers of the older schema skip the fields
+ * they do not know.<br>
+ * Instances are immutable and thread safe.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @see MessageWriter
+ * @see MessageReader
+ */
+public final class MessageSchema {
+
+	private final String[] names;
+	private final FieldType[] types;
+	private final Map<String, Integer> indices;
+
+	/**
+	 * @param names
+	 * @param types
+	 * @param indices
+	 */
+	private MessageSchema(final String[] names, final FieldType[] types,
+			final Map<String, Integer> indices) {
+		super();
+		this.names = names;
+		this.types = types;
+		this.indices = indices;
+	}
+
+	/**
+	 * @return a new builder of a schema
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * @return the number of fields
+	 */
+	public int size() {
+		return names.length;
+	}
+
+	/**
+	 * @param field
+	 *            the number of the field
+	 * @return the name of the field
+	 * @throws IndexOutOfBoundsException
+	 *             if the schema does not have the field
+	 */
+	public String getName(final int field) {
+		return names[field];
+	}
+
+	/**
+	 * @param field
+	 *            the number of the field
+	 * @return the type of the field
+	 * @throws IndexOutOfBoundsException
+	 *             if the schema does not have the field
+	 */
+	public FieldType getType(final int field) {
+		return types[field];
+	}
+
+	/**
+	 * @param name
+	 *            the name of the field
+	 * @return the number of the field, -1 if the schema does not have a field
+	 *         of this name
+	 */
+	public int indexOf(final String name) {
+		final Integer index = indices.get(name);
+		return (index != null) ? index : -1;
+	}
+
+	/**
+	 * @param name
+	 *            the name of the field
+	 * @return the number of the field
+	 * @throws IllegalArgumentException
+	 *             if the schema does not have a field of this name
+	 */
+	int fieldOf(final String name) {
+		final Integer index = indices.get(name);
+		if (index == null) {
+			throw new IllegalArgumentException("Unknown field '" + name + "'");
+		}
+		return index;
+	}
+
+	/**
+	 * @param field
+	 *            the number of the field
+	 * @param type
+	 *            the type the field is accessed as
+	 * @throws IllegalArgumentException
+	 *             if the schema does not have the field or the field is of
+	 *             another type
+	 */
+	void checkType(final int field, final FieldType type) {
+		if ((field < 0) || (field >= types.length)) {
+			throw new IllegalArgumentException("Unknown field " + field);
+		}
+		if (types[field] != type) {
+			throw new IllegalArgumentException("Field '" + names[field]
+					+ "' is of type " + types[field] + ", not " + type);
+		}
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder("MessageSchema[");
+		for (int i = 0; i < names.length; i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(names[i]).append(':').append(types[i]);
+		}
+		return sb.append(']').toString();
+	}
+
+	/**
+	 * This class builds a {@link MessageSchema} field by field.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	public static final class Builder {
+
+		private final List<String> names = new ArrayList<String>();
+		private final List<FieldType> types = new ArrayList<FieldType>();
+		private final Map<String, Integer> indices = new HashMap<String, Integer>();
+
+		private Builder() {
+			super();
+		}
+
+		/**
+		 * Appends a field, which gets the next number.
+		 * 
+		 * @param name
+		 *            the name of the field
+		 * @param type
+		 *            the type of the field
+		 * @return this builder
+		 * @throws IllegalArgumentException
+		 *             if the name or the type is null or the name is already
+		 *             used
+		 */
+		public Builder field(final String name, final FieldType type) {
+			if (name == null) {
+				throw new IllegalArgumentException("Name must not be null");
+			}
+			if (type == null) {
+				throw new IllegalArgumentException("Type must not be null");
+			}
+			if (indices.containsKey(name)) {
+				throw new IllegalArgumentException("Duplicate field '" + name
+						+ "'");
+			}
+			indices.put(name, names.size());
+			names.add(name);
+			types.add(type);
+			return this;
+		}
+
+		/**
+		 * @return the schema of the added fields
+		 */
+		public MessageSchema build() {
+			return new MessageSchema(names.toArray(new String[names.size()]),
+					types.toArray(new FieldType[types.size()]),
+					new HashMap<String, Integer>(indices));
+		}
+	}
+}
@@ -0,0 +1,256 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.codec;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * This class writes a binary message of a {@link MessageSchema} into a
+ * {@link ByteBuffer}, starting at its position. Values are written straight
+ * into the buffer, heap or direct, strings are encoded char by char without
+ * an intermediate byte array.<br>
+ * Fields may be written in any order and may be left out, but each at most
+ * once. A field written with a null value is left out. Writing routing fields
+ * like ids and topics first lets a {@link MessageReader} find them without
+ * scanning the payload.<br>
+ * If the buffer overflows, a {@link BufferOverflowException} is thrown and
+ * the bytes written so far must be discarded. A writer may be reused for
+ * further messages by {@link #reset(ByteBuffer)}. Instances are not thread
+ * safe.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+public final class MessageWriter {
+
+	private final MessageSchema schema;
+	private final boolean[] written;
+	private ByteBuffer buffer;
+	private int start;
+
+	/**
+	 * @param schema
+	 *            the schema of the message
+	 * @param buffer
+	 *            the buffer to write the message to, starting at its position
+	 * @throws IllegalArgumentException
+	 *             if the schema or the buffer is null
+	 */
+	public MessageWriter(final MessageSchema schema, final ByteBuffer buffer) {
+		super();
+		if (schema == null) {
+			throw new IllegalArgumentException("Schema must not be null");
+		}
+		this.schema = schema;
+		this.written = new boolean[schema.size()];
+		reset(buffer);
+	}
+
+	/**
+	 * Starts a new message.
+	 * 
+	 * @param buffer
+	 *            the buffer to write the message to, starting at its position
+	 * @return this writer
+	 * @throws IllegalArgumentException
+	 *             if the buffer is null
+	 */
+	public MessageWriter reset(final ByteBuffer buffer) {
+		if (buffer == null) {
+			throw new IllegalArgumentException("Buffer must not be null");
+		}
+		this.buffer = buffer;
+		this.start = buffer.position();
+		for (int i = 0; i < written.length; i++) {
+			written[i] = false;
+		}
+		return this;
+	}
+
+	/**
+	 * @return the number of bytes written to the current message
+	 */
+	public int size() {
+		return buffer.position() - start;
+	}
+
+	/**
+	 * @return the schema of the message
+	 */
+	public MessageSchema getSchema() {
+		return schema;
+	}
+
+	/**
+	 * @param field
+	 *            the number of a {@link FieldType#BOOLEAN} field
+	 * @param value
+	 *            the value
+	 * @return this writer
+	 * @throws IllegalArgumentException
+	 *             if the field is not a boolean field
+	 * @throws IllegalStateException
+	 *             if the field has already been written
+	 */
+	public MessageWriter writeBoolean(final int field, final boolean value) {
+		header(field, FieldType.BOOLEAN);
+		buffer.put((byte) (value ? 1 : 0));
+		return this;
+	}
+
+	/**
+	 * @param field
+	 *            the number of a {@link FieldType#INT} field
+	 * @param value
+	 *            the value
+	 * @return this writer
+	 * @throws IllegalArgumentException
+	 *             if the field is not an int field
+	 * @throws IllegalStateException
+	 *             if the field has already been written
+	 */
+	public MessageWriter writeInt(final int field, final int value) {
+		header(field, FieldType.INT);
+		Wire.putVarint(buffer, Wire.zigzag(value));
+		return this;
+	}
+
+	/**
+	 * @param field
+	 *            the number of a {@link FieldType#LONG} field
+	 * @param value
+	 *            the value
+	 * @return this writer
+	 * @throws IllegalArgumentException
+	 *             if the field is not a long field
+	 * @throws IllegalStateException
+	 *             if the field has already been written
+	 */
+	public MessageWriter writeLong(final int field, final long value) {
+		header(field, FieldType.LONG);
+		Wire.putVarint(buffer, Wire.zigzag(value));
+		return this;
+	}
+
+	/**
+	 * @param field
+	 *            the number of a {@link FieldType#DOUBLE} field
+	 * @param value
+	 *            the value
+	 * @return this writer
+	 * @throws IllegalArgumentException
+	 *             if the field is not a double field
+	 * @throws IllegalStateException
+	 *             if the field has already been written
+	 */
+	public MessageWriter writeDouble(final int field, final double value) {
+		header(field, FieldType.DOUBLE);
+		Wire.putFixed64(buffer, Double.doubleToRawLongBits(value));
+		return this;
+	}
+
+	/**
+	 * @param field
+	 *            the number of a {@link FieldType#STRING} field
+	 * @param value
+	 *            the value, null to leave the field out
+	 * @return this writer
+	 * @throws IllegalArgumentException
+	 *             if the field is not a string field
+	 * @throws IllegalStateException
+	 *             if the field has already been written
+	 */
+	public MessageWriter writeString(final int field, final CharSequence value) {
+		if (value == null) {
+			schema.checkType(field, FieldType.STRING);
+			return this;
+		}
+		final int length = Wire.utf8Length(value);
+		header(field, FieldType.STRING);
+		Wire.putVarint(buffer, length);
+		if (buffer.remaining() < length) {
+			throw new BufferOverflowException();
+		}
+		Wire.putUtf8(buffer, value);
+		return this;
+	}
+
+	/**
+	 * @param field
+	 *            the number of a {@link FieldType#BYTES} field
+	 * @param value
+	 *            the remaining bytes are the value, the position of the
+	 *            value is not changed, null to leave the field out
+	 * @return this writer
+	 * @throws IllegalArgumentException
+	 *             if the field is not a bytes field
+	 * @throws IllegalStateException
+	 *             if the field has already been written
+	 */
+	public MessageWriter writeBytes(final int field, final ByteBuffer value) {
+		if (value == null) {
+			schema.checkType(field, FieldType.BYTES);
+			return this;
+		}
+		header(field, FieldType.BYTES);
+		Wire.putVarint(buffer, value.remaining());
+		buffer.put(value.duplicate());
+		return this;
+	}
+
+	/**
+	 * @see #writeBoolean(int, boolean)
+	 */
+	public MessageWriter writeBoolean(final String name, final boolean value) {
+		return writeBoolean(schema.fieldOf(name), value);
+	}
+
+	/**
+	 * @see #writeInt(int, int)
+	 */
+	public MessageWriter writeInt(final String name, final int value) {
+		return writeInt(schema.fieldOf(name), value);
+	}
+
+	/**
+	 * @see #writeLong(int, long)
+	 */
+	public MessageWriter writeLong(final String name, final long value) {
+		return writeLong(schema.fieldOf(name), value);
+	}
+
+	/**
+	 * @see #writeDouble(int, double)
+	 */
+	public MessageWriter writeDouble(final String name, final double value) {
+		return writeDouble(schema.fieldOf(name), value);
+	}
+
+	/**
+	 * @see #writeString(int, CharSequence)
+	 */
+	public MessageWriter writeString(final String name,
+			final CharSequence value) {
+		return writeString(schema.fieldOf(name), value);
+	}
+
+	/**
+	 * @see #writeBytes(int, ByteBuffer)
+	 */
+	public MessageWriter writeBytes(final String name, final ByteBuffer value) {
+		return writeBytes(schema.fieldOf(name), value);
+	}
+
+	private void header(final int field, final FieldType type) {
+		schema.checkType(field, type);
+		if (written[field]) {
+			throw new IllegalStateException("Field '" + schema.getName(field)
+					+ "' has already been written");
+		}
+		written[field] = true;
+		Wire.putVarint(buffer, ((long) field << Wire.TYPE_BITS)
+				| type.getWireType());
+	}
+}
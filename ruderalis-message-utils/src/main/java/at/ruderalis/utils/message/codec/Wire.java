@@ -0,0 +1,217 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This class holds the primitive encodings of the binary messages. A field
+ * is written as the varint <code>number &lt;&lt; 2 | wire type</code>
+ * followed by its value. Strings are encoded and decoded char by char,
+ * directly from and to the buffer, so neither side needs a byte array.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+final class Wire {
+
+	/**
+	 * A varint value.
+	 */
+	static final int VARINT = 0;
+
+	/**
+	 * Eight bytes, little endian.
+	 */
+	static final int FIXED64 = 1;
+
+	/**
+	 * A varint length followed by as many bytes.
+	 */
+	static final int LENGTH = 2;
+
+	/**
+	 * The number of bits of the wire type in the field header.
+	 */
+	static final int TYPE_BITS = 2;
+
+	static final int TYPE_MASK = (1 << TYPE_BITS) - 1;
+
+	private Wire() {
+		super();
+	}
+
+	static long zigzag(final long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	static long unzigzag(final long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	static void putVarint(final ByteBuffer buffer, long value) {
+		while ((value & ~0x7FL) != 0) {
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+
+	static void putFixed64(final ByteBuffer buffer, final long value) {
+		for (int shift = 0; shift < 64; shift += 8) {
+			buffer.put((byte) (value >>> shift));
+		}
+	}
+
+	/**
+	 * @param buffer
+	 *            the buffer to read from
+	 * @param pos
+	 *            the absolute position of the first byte
+	 * @return the value
+	 */
+	static long getFixed64(final ByteBuffer buffer, final int pos) {
+		long value = 0;
+		for (int i = 7; i >= 0; i--) {
+			value = (value << 8) | (buffer.get(pos + i) & 0xFFL);
+		}
+		return value;
+	}
+
+	/**
+	 * @param text
+	 *            the text to be encoded
+	 * @return the number of bytes of the UTF-8 encoding, an unpaired
+	 *         surrogate is encoded as '?'
+	 */
+	static int utf8Length(final CharSequence text) {
+		final int length = text.length();
+		int bytes = length;
+		for (int i = 0; i < length; i++) {
+			final char c = text.charAt(i);
+			if (c < 0x80) {
+				continue;
+			} else if (c < 0x800) {
+				bytes += 1;
+			} else if (!Character.isSurrogate(c)) {
+				bytes += 2;
+			} else if (Character.isHighSurrogate(c) && (i + 1 < length)
+					&& Character.isLowSurrogate(text.charAt(i + 1))) {
+				// four bytes for the two chars
+				bytes += 2;
+				i++;
+			}
+		}
+		return bytes;
+	}
+
+	/**
+	 * Writes the UTF-8 encoding of the text, which must fit into the
+	 * remaining bytes of the buffer.
+	 * 
+	 * @param buffer
+	 *            the buffer to write to
+	 * @param text
+	 *            the text to be encoded
+	 * @see #utf8Length(CharSequence)
+	 */
+	static void putUtf8(final ByteBuffer buffer, final CharSequence text) {
+		final int length = text.length();
+		for (int i = 0; i < length; i++) {
+			final char c = text.charAt(i);
+			if (c < 0x80) {
+				buffer.put((byte) c);
+			} else if (c < 0x800) {
+				buffer.put((byte) (0xC0 | (c >>> 6)));
+				buffer.put((byte) (0x80 | (c & 0x3F)));
+			} else if (!Character.isSurrogate(c)) {
+				buffer.put((byte) (0xE0 | (c >>> 12)));
+				buffer.put((byte) (0x80 | ((c >>> 6) & 0x3F)));
+				buffer.put((byte) (0x80 | (c & 0x3F)));
+			} else if (Character.isHighSurrogate(c) && (i + 1 < length)
+					&& Character.isLowSurrogate(text.charAt(i + 1))) {
+				final int cp = Character.toCodePoint(c, text.charAt(++i));
+				buffer.put((byte) (0xF0 | (cp >>> 18)));
+				buffer.put((byte) (0x80 | ((cp >>> 12) & 0x3F)));
+				buffer.put((byte) (0x80 | ((cp >>> 6) & 0x3F)));
+				buffer.put((byte) (0x80 | (cp & 0x3F)));
+			} else {
+				buffer.put((byte) '?');
+			}
+		}
+	}
+
+	/**
+	 * Decodes UTF-8 bytes, a malformed sequence is decoded as U+FFFD. Like
+	 * the decoder of the JDK, each maximal prefix of a well formed sequence is
+	 * replaced by a single U+FFFD, which covers invalid lead bytes, unexpected
+	 * continuation bytes, truncated sequences, overlong encodings and code
+	 * points above U+10FFFF. An encoded surrogate is replaced as a whole.
+	 * 
+	 * @param buffer
+	 *            the buffer to read from
+	 * @param pos
+	 *            the absolute position of the first byte
+	 * @param length
+	 *            the number of bytes
+	 * @return the decoded string
+	 */
+	static String getUtf8(final ByteBuffer buffer, final int pos,
+			final int length) {
+		// a char never takes less than one byte
+		final char[] chars = new char[length];
+		final int end = pos + length;
+		int i = pos;
+		int n = 0;
+		while (i < end) {
+			final int b = buffer.get(i++);
+			if (b >= 0) {
+				chars[n++] = (char) b;
+			} else {
+				final int lead = b & 0xFF;
+				// the number of continuation bytes, and the range of the first
+				// one, which excludes overlong forms and code points above
+				// U+10FFFF
+				int count = 0;
+				int min = 0x80;
+				int max = 0xBF;
+				if ((lead >= 0xC2) && (lead <= 0xDF)) {
+					count = 1;
+				} else if ((lead >= 0xE0) && (lead <= 0xEF)) {
+					count = 2;
+					min = (lead == 0xE0) ? 0xA0 : 0x80;
+				} else if ((lead >= 0xF0) && (lead <= 0xF4)) {
+					count = 3;
+					min = (lead == 0xF0) ? 0x90 : 0x80;
+					max = (lead == 0xF4) ? 0x8F : 0xBF;
+				}
+				int cp = lead & (0x3F >>> count);
+				int read = 0;
+				while ((read < count) && (i < end)) {
+					final int c = buffer.get(i) & 0xFF;
+					if ((c < min) || (c > max)) {
+						break;
+					}
+					cp = (cp << 6) | (c & 0x3F);
+					min = 0x80;
+					max = 0xBF;
+					i++;
+					read++;
+				}
+				if ((count == 0) || (read < count)
+						|| ((cp >= Character.MIN_SURROGATE)
+								&& (cp <= Character.MAX_SURROGATE))) {
+					// an encoded surrogate is replaced as a whole
+					chars[n++] = '\uFFFD';
+				} else if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+					chars[n++] = (char) cp;
+				} else {
+					chars[n++] = Character.highSurrogate(cp);
+					chars[n++] = Character.lowSurrogate(cp);
+				}
+			}
+		}
+		return new String(chars, 0, n);
+	}
+}
@@ -0,0 +1,81 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.dispatch;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class records latencies into buckets of powers of two, so recording
+ * is a few atomic increments without allocation and a percentile is accurate
+ * to a factor of two, which is enough to tell microseconds from
+ * milliseconds.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+final class LatencyHistogram {
+
+	/**
+	 * Bucket i holds the values of [2^(i-1), 2^i - 1], bucket 0 holds 0.
+	 */
+	private final AtomicLongArray buckets = new AtomicLongArray(64);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder total = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	LatencyHistogram() {
+		super();
+	}
+
+	void record(final long nanos) {
+		final long value = Math.max(0, nanos);
+		buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(value));
+		count.increment();
+		total.add(value);
+		long current;
+		while (value > (current = max.get())) {
+			if (max.compareAndSet(current, value)) {
+				break;
+			}
+		}
+	}
+
+	long getCount() {
+		return count.sum();
+	}
+
+	long getMean() {
+		final long n = count.sum();
+		return (n == 0) ? 0 : total.sum() / n;
+	}
+
+	long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * @param percentile
+	 *            the percentile in [0, 1]
+	 * @return the upper bound of the bucket of the percentile, 0 if nothing
+	 *         has been recorded
+	 */
+	long getPercentile(final double percentile) {
+		long n = 0;
+		for (int i = 0; i < buckets.length(); i++) {
+			n += buckets.get(i);
+		}
+		final long rank = Math.max(1, (long) Math.ceil(percentile * n));
+		long seen = 0;
+		for (int i = 0; i < buckets.length(); i++) {
+			seen += buckets.get(i);
+			if (seen >= rank) {
+				return Math.min((i == 63) ? Long.MAX_VALUE : (1L << i) - 1,
+						max.get());
+			}
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,126 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.dispatch;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class is the bounded mailbox of a lane of a {@link Subscription}, a
+ * ring of preallocated slots guarded by a lock. Publishers waiting for room
+ * wait on a {@link Condition}, which does not pin virtual threads to their
+ * carrier thread.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <M>
+ *            the type of the messages
+ */
+final class Mailbox<M> {
+
+	/**
+	 * The message has been added.
+	 */
+	static final int ADDED = 0;
+
+	/**
+	 * The message has been added and the oldest message has been discarded.
+	 */
+	static final int DROPPED_OLDEST = 1;
+
+	/**
+	 * The message has not been added, because the mailbox is full.
+	 */
+	static final int REJECTED = 2;
+
+	private final Object[] slots;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notFull = lock.newCondition();
+	private int head;
+
+	/**
+	 * The number of messages, written under the lock and read without.
+	 */
+	private volatile int size;
+
+	/**
+	 * @param capacity
+	 *            the maximum number of messages
+	 */
+	Mailbox(final int capacity) {
+		super();
+		this.slots = new Object[capacity];
+	}
+
+	/**
+	 * @param message
+	 *            the message to be added
+	 * @param policy
+	 *            the behaviour if the mailbox is full
+	 * @return {@link #ADDED}, {@link #DROPPED_OLDEST} or {@link #REJECTED}
+	 * @throws InterruptedException
+	 *             if the thread has been interrupted while waiting for room
+	 */
+	int offer(final M message, final OverflowPolicy policy)
+			throws InterruptedException {
+		lock.lockInterruptibly();
+		try {
+			int result = ADDED;
+			if (size == slots.length) {
+				if (policy == OverflowPolicy.FAIL) {
+					return REJECTED;
+				} else if (policy == OverflowPolicy.DROP_OLDEST) {
+					removeFirst();
+					result = DROPPED_OLDEST;
+				} else {
+					while (size == slots.length) {
+						notFull.await();
+					}
+				}
+			}
+			slots[(head + size) % slots.length] = message;
+			size++;
+			return result;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return the oldest message, null if the mailbox is empty
+	 */
+	M poll() {
+		if (size == 0) {
+			return null;
+		}
+		lock.lock();
+		try {
+			if (size == 0) {
+				return null;
+			}
+			final M message = removeFirst();
+			notFull.signal();
+			return message;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	int size() {
+		return size;
+	}
+
+	int capacity() {
+		return slots.length;
+	}
+
+	@SuppressWarnings("unchecked")
+	private M removeFirst() {
+		final M message = (M) slots[head];
+		slots[head] = null;
+		head = (head + 1) % slots.length;
+		size--;
+		return message;
+	}
+}
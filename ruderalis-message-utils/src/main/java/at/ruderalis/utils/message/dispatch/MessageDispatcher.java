@@ -0,0 +1,298 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.dispatch;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * This class dispatches published messages by topic to the subscribed
+ * handlers, asynchronously on an executor. Each subscription has bounded
+ * mailboxes and an {@link OverflowPolicy}, so a load spike either slows down
+ * the publishers, discards old messages or is rejected, instead of filling
+ * an unbounded queue. See {@link Subscription} for the ordering and the
+ * metrics.<br>
+ * Publishing does not lock the subscriptions of a topic, which are held in a
+ * copy on write list. With a bounded executor, a handler must not publish to
+ * a full mailbox with {@link OverflowPolicy#BLOCK}, if that mailbox can only
+ * be drained by the same executor.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <M>
+ *            the type of the messages
+ */
+public final class MessageDispatcher<M> implements AutoCloseable {
+
+	private final Executor executor;
+
+	/**
+	 * The executor created by {@link #create()}, null for an executor
+	 * provided by the caller.
+	 */
+	private final ExecutorService ownedExecutor;
+
+	private final ConcurrentMap<String, List<Subscription<M>>> topics = new ConcurrentHashMap<String, List<Subscription<M>>>();
+
+	private volatile boolean closed;
+
+	/**
+	 * Creates a dispatcher handling the messages on the given executor, which
+	 * is not shut down by {@link #close()}.
+	 * 
+	 * @param executor
+	 *            the executor of the handlers
+	 * @throws IllegalArgumentException
+	 *             if the executor is null
+	 */
+	public MessageDispatcher(final Executor executor) {
+		this(executor, null);
+	}
+
+	/**
+	 * @param executor
+	 * @param ownedExecutor
+	 */
+	private MessageDispatcher(final Executor executor,
+			final ExecutorService ownedExecutor) {
+		super();
+		if (executor == null) {
+			throw new IllegalArgumentException("Executor must not be null");
+		}
+		this.executor = executor;
+		this.ownedExecutor = ownedExecutor;
+	}
+
+	/**
+	 * Creates a dispatcher handling each drain of a mailbox on a virtual
+	 * thread, if the runtime supports virtual threads, otherwise on a pool
+	 * of daemon threads, one per processor. The executor is shut down by
+	 * {@link #close()}.
+	 * 
+	 * @return a new dispatcher
+	 */
+	public static <M> MessageDispatcher<M> create() {
+		final ExecutorService executor = newExecutor();
+		return new MessageDispatcher<M>(executor, executor);
+	}
+
+	/**
+	 * Subscribes a handler, whose messages are handled one after another in
+	 * the order of publishing.
+	 * 
+	 * @param topic
+	 *            the topic to subscribe to
+	 * @param handler
+	 *            the handler of the messages
+	 * @param capacity
+	 *            the capacity of the mailbox
+	 * @param policy
+	 *            the behaviour if the mailbox is full
+	 * @return the subscription
+	 * @throws IllegalArgumentException
+	 *             if an argument is null or the capacity is less than 1
+	 * @throws IllegalStateException
+	 *             if the dispatcher has been closed
+	 */
+	public Subscription<M> subscribe(final String topic,
+			final MessageHandler<? super M> handler, final int capacity,
+			final OverflowPolicy policy) {
+		return subscribe(topic, handler, capacity, policy, null, 1);
+	}
+
+	/**
+	 * Subscribes a handler, whose messages are distributed over lanes by
+	 * their key. The messages of a key are handled one after another in the
+	 * order of publishing, the lanes are handled concurrently.
+	 * 
+	 * @param topic
+	 *            the topic to subscribe to
+	 * @param handler
+	 *            the handler of the messages
+	 * @param capacity
+	 *            the capacity of the mailbox of each lane
+	 * @param policy
+	 *            the behaviour if a mailbox is full
+	 * @param keyFunction
+	 *            the key of a message, which may return null, null if there
+	 *            is only one lane
+	 * @param lanes
+	 *            the number of lanes
+	 * @return the subscription
+	 * @throws IllegalArgumentException
+	 *             if the topic, the handler or the policy is null, the
+	 *             capacity or the number of lanes is less than 1 or the key
+	 *             function is null for more than one lane
+	 * @throws IllegalStateException
+	 *             if the dispatcher has been closed
+	 */
+	public Subscription<M> subscribe(final String topic,
+			final MessageHandler<? super M> handler, final int capacity,
+			final OverflowPolicy policy,
+			final Function<? super M, ?> keyFunction, final int lanes) {
+		if (topic == null) {
+			throw new IllegalArgumentException("Topic must not be null");
+		}
+		if (handler == null) {
+			throw new IllegalArgumentException("Handler must not be null");
+		}
+		if (policy == null) {
+			throw new IllegalArgumentException("Policy must not be null");
+		}
+		if (capacity < 1) {
+			throw new IllegalArgumentException(
+					"Capacity must be positive but was " + capacity);
+		}
+		if (lanes < 1) {
+			throw new IllegalArgumentException(
+					"Lanes must be positive but was " + lanes);
+		}
+		if ((lanes > 1) && (keyFunction == null)) {
+			throw new IllegalArgumentException(
+					"Key function must not be null for more than one lane");
+		}
+		checkOpen();
+		final Subscription<M> subscription = new Subscription<M>(this,
+				topic, handler, capacity, policy, keyFunction, lanes,
+				executor);
+		List<Subscription<M>> subscriptions = topics.get(topic);
+		if (subscriptions == null) {
+			final List<Subscription<M>> created = new CopyOnWriteArrayList<Subscription<M>>();
+			subscriptions = topics.putIfAbsent(topic, created);
+			if (subscriptions == null) {
+				subscriptions = created;
+			}
+		}
+		subscriptions.add(subscription);
+		return subscription;
+	}
+
+	/**
+	 * Puts the message into the mailboxes of the subscriptions of the topic.
+	 * If a mailbox rejects the message, the subscriptions before have
+	 * received the message already.
+	 * 
+	 * @param topic
+	 *            the topic of the message
+	 * @param message
+	 *            the message
+	 * @return the number of subscriptions, which have received the message
+	 * @throws IllegalArgumentException
+	 *             if the topic or the message is null
+	 * @throws IllegalStateException
+	 *             if the dispatcher has been closed, or a mailbox is full and
+	 *             its policy is {@link OverflowPolicy#FAIL}, or the thread has
+	 *             been interrupted while waiting for room in a mailbox
+	 */
+	public int publish(final String topic, final M message) {
+		if (topic == null) {
+			throw new IllegalArgumentException("Topic must not be null");
+		}
+		if (message == null) {
+			throw new IllegalArgumentException("Message must not be null");
+		}
+		checkOpen();
+		final List<Subscription<M>> subscriptions = topics.get(topic);
+		if (subscriptions == null) {
+			return 0;
+		}
+		int count = 0;
+		for (final Subscription<M> subscription : subscriptions) {
+			if (subscription.offer(message)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @param topic
+	 *            the topic
+	 * @return the current subscriptions of the topic
+	 */
+	public List<Subscription<M>> getSubscriptions(final String topic) {
+		final List<Subscription<M>> subscriptions = topics.get(topic);
+		if (subscriptions == null) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(new ArrayList<Subscription<M>>(
+				subscriptions));
+	}
+
+	/**
+	 * Rejects further messages. The messages already in the mailboxes are
+	 * handled, unless a given executor is shut down before. An executor
+	 * created by {@link #create()} is shut down, so it does not accept new
+	 * drain tasks, the drain tasks submitted before handle all remaining
+	 * messages of their lanes. A message published concurrently with the
+	 * close may remain in its mailbox, if the executor rejects its drain
+	 * task.
+	 */
+	public void close() {
+		closed = true;
+		if (ownedExecutor != null) {
+			ownedExecutor.shutdown();
+		}
+	}
+
+	/**
+	 * @return true if the dispatcher has been closed
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	void remove(final Subscription<M> subscription) {
+		final List<Subscription<M>> subscriptions = topics.get(subscription
+				.getTopic());
+		if (subscriptions != null) {
+			subscriptions.remove(subscription);
+		}
+	}
+
+	private void checkOpen() {
+		if (closed) {
+			throw new IllegalStateException("Dispatcher has been closed");
+		}
+	}
+
+	/**
+	 * Looks up the virtual thread executor by reflection, which keeps this
+	 * class compatible with runtimes before Java 21.
+	 */
+	private static ExecutorService newExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod(
+					"newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (final NoSuchMethodException e) {
+			// no virtual threads
+		} catch (final IllegalAccessException e) {
+			// no virtual threads
+		} catch (final InvocationTargetException e) {
+			// no virtual threads
+		}
+		final AtomicInteger count = new AtomicInteger();
+		return Executors.newFixedThreadPool(Runtime.getRuntime()
+				.availableProcessors(), new ThreadFactory() {
+
+			public Thread newThread(final Runnable runnable) {
+				final Thread thread = new Thread(runnable,
+						"message-dispatcher-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+}
@@ -0,0 +1,31 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.dispatch;
+
+/**
+ * This interface handles the messages of a subscription. The messages of a
+ * mailbox lane are handled one after another, so a handler is never called
+ * concurrently for messages of the same key.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <M>
+ *            the type of the messages
+ * @see MessageDispatcher#subscribe(String, MessageHandler, int,
+ *      OverflowPolicy)
+ */
+public interface MessageHandler<M> {
+
+	/**
+	 * @param topic
+	 *            the topic the message has been published to
+	 * @param message
+	 *            the message
+	 * @throws Exception
+	 *             if the message could not be handled, which is counted as
+	 *             failure and reported to the uncaught exception handler of
+	 *             the thread, the following messages are handled anyway
+	 */
+	void handle(String topic, M message) throws Exception;
+}
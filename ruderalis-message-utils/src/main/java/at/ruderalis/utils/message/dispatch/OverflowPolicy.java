@@ -0,0 +1,32 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.dispatch;
+
+/**
+ * The behaviour of {@link MessageDispatcher#publish(String, Object)} if the
+ * mailbox of a subscription is full.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+public enum OverflowPolicy {
+
+	/**
+	 * The publisher waits until the handler has made room. Slows down the
+	 * publishers to the pace of the handler.
+	 */
+	BLOCK,
+
+	/**
+	 * The oldest message of the mailbox is discarded to make room. Suited to
+	 * messages superseded by newer ones, like state updates.
+	 */
+	DROP_OLDEST,
+
+	/**
+	 * The publisher gets an {@link IllegalStateException}, so it can reject
+	 * the work it is doing.
+	 */
+	FAIL
+}
@@ -0,0 +1,329 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * This class is the subscription of a handler to a topic of a
+ * {@link MessageDispatcher}, with its metrics. The published messages are
+ * put into the bounded mailboxes of the lanes of the subscription, the lane
+ * of a message is chosen by the hash of its key. Each lane is drained by one
+ * task at a time on the executor of the dispatcher, actor style, so the
+ * messages of a key are handled in the order they have been published,
+ * while different lanes are handled concurrently.<br>
+ * A drain task handles a limited batch of messages and then reschedules
+ * itself, so a busy lane does not occupy an executor thread forever. If the
+ * executor rejects the rescheduling, because it has been shut down, the
+ * drain task handles the remaining messages of its lane before it ends.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <M>
+ *            the type of the messages
+ */
+public final class Subscription<M> {
+
+	/**
+	 * The maximum number of messages a drain task handles before it yields
+	 * its thread to the other lanes.
+	 */
+	private static final int BATCH = 64;
+
+	private final MessageDispatcher<M> dispatcher;
+	private final String topic;
+	private final MessageHandler<? super M> handler;
+	private final OverflowPolicy policy;
+	private final Function<? super M, ?> keyFunction;
+	private final List<Lane> lanes;
+	private final Executor executor;
+	private final LongAdder handled = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LatencyHistogram latency = new LatencyHistogram();
+	private volatile boolean cancelled;
+
+	/**
+	 * @param dispatcher
+	 * @param topic
+	 * @param handler
+	 * @param capacity
+	 * @param policy
+	 * @param keyFunction
+	 * @param lanes
+	 * @param executor
+	 */
+	Subscription(final MessageDispatcher<M> dispatcher, final String topic,
+			final MessageHandler<? super M> handler, final int capacity,
+			final OverflowPolicy policy,
+			final Function<? super M, ?> keyFunction, final int lanes,
+			final Executor executor) {
+		super();
+		this.dispatcher = dispatcher;
+		this.topic = topic;
+		this.handler = handler;
+		this.policy = policy;
+		this.keyFunction = keyFunction;
+		this.executor = executor;
+		this.lanes = new ArrayList<Lane>(lanes);
+		for (int i = 0; i < lanes; i++) {
+			this.lanes.add(new Lane(capacity));
+		}
+	}
+
+	/**
+	 * Puts the message into the mailbox of its lane and schedules the lane.
+	 * 
+	 * @return false if the subscription has been cancelled
+	 * @throws IllegalStateException
+	 *             if the mailbox is full and the policy is
+	 *             {@link OverflowPolicy#FAIL} or the thread has been
+	 *             interrupted while waiting for room
+	 */
+	boolean offer(final M message) {
+		if (cancelled) {
+			return false;
+		}
+		final Lane lane = lanes.get(laneOf(message));
+		final int result;
+		try {
+			result = lane.mailbox.offer(message, policy);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			rejected.increment();
+			throw new IllegalStateException(
+					"Interrupted while waiting for room in the mailbox of topic '"
+							+ topic + "'", e);
+		}
+		if (result == Mailbox.REJECTED) {
+			rejected.increment();
+			throw new IllegalStateException("Mailbox of topic '" + topic
+					+ "' is full");
+		} else if (result == Mailbox.DROPPED_OLDEST) {
+			dropped.increment();
+		}
+		lane.schedule();
+		return true;
+	}
+
+	/**
+	 * Removes the subscription from its topic. Messages already in the
+	 * mailboxes are still handled.
+	 */
+	public void cancel() {
+		cancelled = true;
+		dispatcher.remove(this);
+	}
+
+	/**
+	 * @return true if the subscription has been cancelled
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * @return the topic of the subscription
+	 */
+	public String getTopic() {
+		return topic;
+	}
+
+	/**
+	 * @return the behaviour if a mailbox is full
+	 */
+	public OverflowPolicy getOverflowPolicy() {
+		return policy;
+	}
+
+	/**
+	 * @return the number of lanes, which are handled concurrently
+	 */
+	public int getLaneCount() {
+		return lanes.size();
+	}
+
+	/**
+	 * @return the capacity of the mailbox of each lane
+	 */
+	public int getCapacity() {
+		return lanes.get(0).mailbox.capacity();
+	}
+
+	/**
+	 * @return the number of messages waiting in the mailboxes
+	 */
+	public int getQueueDepth() {
+		int depth = 0;
+		for (final Lane lane : lanes) {
+			depth += lane.mailbox.size();
+		}
+		return depth;
+	}
+
+	/**
+	 * @return the number of messages the handler has returned from normally
+	 */
+	public long getHandledCount() {
+		return handled.sum();
+	}
+
+	/**
+	 * @return the number of messages the handler has thrown an exception for
+	 */
+	public long getFailedCount() {
+		return failed.sum();
+	}
+
+	/**
+	 * @return the number of messages discarded by
+	 *         {@link OverflowPolicy#DROP_OLDEST}
+	 */
+	public long getDroppedCount() {
+		return dropped.sum();
+	}
+
+	/**
+	 * @return the number of messages, which have not been accepted, because
+	 *         the mailbox was full or the publisher was interrupted
+	 */
+	public long getRejectedCount() {
+		return rejected.sum();
+	}
+
+	/**
+	 * @return the mean time the handler took per message in nanoseconds
+	 */
+	public long getMeanLatencyNanos() {
+		return latency.getMean();
+	}
+
+	/**
+	 * @return the longest time the handler took for a message in nanoseconds
+	 */
+	public long getMaxLatencyNanos() {
+		return latency.getMax();
+	}
+
+	/**
+	 * @param percentile
+	 *            the percentile in [0, 1], like 0.99
+	 * @return the time the handler took for the percentile of the messages in
+	 *         nanoseconds, rounded up to the next power of two
+	 * @throws IllegalArgumentException
+	 *             if the percentile is not in [0, 1]
+	 */
+	public long getLatencyPercentileNanos(final double percentile) {
+		if (!((percentile >= 0) && (percentile <= 1))) {
+			throw new IllegalArgumentException(
+					"Percentile must be in [0, 1] but was " + percentile);
+		}
+		return latency.getPercentile(percentile);
+	}
+
+	@Override
+	public String toString() {
+		return "Subscription[topic=" + topic + ", lanes=" + lanes.size()
+				+ ", queueDepth=" + getQueueDepth() + ", handled="
+				+ getHandledCount() + ", failed=" + getFailedCount()
+				+ ", dropped=" + getDroppedCount() + ", rejected="
+				+ getRejectedCount() + "]";
+	}
+
+	private int laneOf(final M message) {
+		if (lanes.size() == 1) {
+			return 0;
+		}
+		final Object key = keyFunction.apply(message);
+		if (key == null) {
+			return 0;
+		}
+		final int h = key.hashCode();
+		return Math.floorMod(h ^ (h >>> 16), lanes.size());
+	}
+
+	private void deliver(final M message) {
+		final long start = System.nanoTime();
+		try {
+			handler.handle(topic, message);
+			handled.increment();
+		} catch (final Exception e) {
+			failed.increment();
+			final Thread thread = Thread.currentThread();
+			thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+		} finally {
+			latency.record(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * A mailbox with the flag whether a drain task is scheduled for it.
+	 * 
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private final class Lane implements Runnable {
+
+		private final Mailbox<M> mailbox;
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		/**
+		 * @param capacity
+		 */
+		private Lane(final int capacity) {
+			super();
+			this.mailbox = new Mailbox<M>(capacity);
+		}
+
+		/**
+		 * Submits a drain task unless one is scheduled already.
+		 */
+		private void schedule() {
+			if (scheduled.compareAndSet(false, true)) {
+				try {
+					executor.execute(this);
+				} catch (final RuntimeException e) {
+					scheduled.set(false);
+					throw e;
+				}
+			}
+		}
+
+		public void run() {
+			int batch = BATCH;
+			while (true) {
+				try {
+					for (int i = 0; i < batch; i++) {
+						final M message = mailbox.poll();
+						if (message == null) {
+							break;
+						}
+						deliver(message);
+					}
+				} finally {
+					scheduled.set(false);
+				}
+				// a message added after the last poll found the flag still set
+				if ((mailbox.size() == 0)
+						|| (!scheduled.compareAndSet(false, true))) {
+					return;
+				}
+				try {
+					executor.execute(this);
+					return;
+				} catch (final RejectedExecutionException e) {
+					// shut down, the remaining messages are handled right here
+					batch = Integer.MAX_VALUE;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,149 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.queue;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * This class is the base of the ring buffer queues. The slots are allocated
+ * once, a message is stored in the slot <code>sequence &amp; mask</code> and
+ * the slot is cleared when the message is removed, so adding and removing
+ * messages does not allocate.<br>
+ * The head and the tail are counters of the removed and added messages,
+ * which never wrap around and which are padded against false sharing.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <E>
+ *            the type of the messages
+ */
+abstract class AbstractRingQueue<E> implements MessageQueue<E> {
+
+	/**
+	 * The maximum capacity, the largest power of two array length.
+	 */
+	static final int MAX_CAPACITY = 1 << 30;
+
+	final AtomicReferenceArray<E> buffer;
+	final int mask;
+
+	/**
+	 * The number of removed messages, written by the consumer only.
+	 */
+	final Sequence head = new Sequence();
+
+	/**
+	 * The number of added, or in case of multiple producers claimed,
+	 * messages.
+	 */
+	final Sequence tail = new Sequence();
+
+	final WaitStrategy waitStrategy;
+
+	private final BooleanSupplier notEmpty = new BooleanSupplier() {
+
+		public boolean getAsBoolean() {
+			return !isEmpty();
+		}
+	};
+
+	private final BooleanSupplier notFull = new BooleanSupplier() {
+
+		public boolean getAsBoolean() {
+			return tail.get() - head.get() < buffer.length();
+		}
+	};
+
+	/**
+	 * @param capacity
+	 *            the minimum capacity, rounded up to a power of two
+	 * @param waitStrategy
+	 *            the strategy of waiting threads
+	 * @throws IllegalArgumentException
+	 *             if the capacity is less than 1 or greater than 2^30 or the
+	 *             wait strategy is null
+	 */
+	AbstractRingQueue(final int capacity, final WaitStrategy waitStrategy) {
+		super();
+		if ((capacity < 1) || (capacity > MAX_CAPACITY)) {
+			throw new IllegalArgumentException("Capacity must be in [1, "
+					+ MAX_CAPACITY + "] but was " + capacity);
+		}
+		if (waitStrategy == null) {
+			throw new IllegalArgumentException(
+					"Wait strategy must not be null");
+		}
+		final int size = (capacity == 1) ? 1 : Integer
+				.highestOneBit(capacity - 1) << 1;
+		this.buffer = new AtomicReferenceArray<E>(size);
+		this.mask = size - 1;
+		this.waitStrategy = waitStrategy;
+	}
+
+	public void put(final E message) throws InterruptedException {
+		while (!offer(message)) {
+			waitStrategy.await(notFull);
+		}
+	}
+
+	public E take() throws InterruptedException {
+		E message;
+		while ((message = poll()) == null) {
+			waitStrategy.await(notEmpty);
+		}
+		return message;
+	}
+
+	public int size() {
+		long after = head.get();
+		while (true) {
+			final long before = after;
+			final long added = tail.get();
+			after = head.get();
+			if (before == after) {
+				// a claimed but not yet stored message counts as well
+				return (int) Math.max(0, Math.min(added - after, capacity()));
+			}
+		}
+	}
+
+	public boolean isEmpty() {
+		return head.get() >= tail.get();
+	}
+
+	public int capacity() {
+		return buffer.length();
+	}
+
+	/**
+	 * @return the wait strategy of this queue
+	 */
+	public WaitStrategy getWaitStrategy() {
+		return waitStrategy;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[size=" + size() + ", capacity="
+				+ capacity() + ", waitStrategy=" + waitStrategy + "]";
+	}
+
+	static void checkMessage(final Object message) {
+		if (message == null) {
+			throw new IllegalArgumentException("Message must not be null");
+		}
+	}
+
+	static void checkDrain(final Consumer<?> consumer, final int max) {
+		if (consumer == null) {
+			throw new IllegalArgumentException("Consumer must not be null");
+		}
+		if (max < 0) {
+			throw new IllegalArgumentException(
+					"Maximum must not be negative but was " + max);
+		}
+	}
+}
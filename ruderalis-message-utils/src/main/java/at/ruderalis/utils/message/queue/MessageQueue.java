@@ -0,0 +1,89 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.queue;
+
+import java.util.function.Consumer;
+
+/**
+ * This interface is a bounded queue passing messages between threads. Null
+ * messages are not allowed.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <E>
+ *            the type of the messages
+ * @see SpscRingQueue
+ * @see MpscRingQueue
+ */
+public interface MessageQueue<E> {
+
+	/**
+	 * @param message
+	 *            the message to be added
+	 * @return true if the message has been added, false if the queue is full
+	 * @throws IllegalArgumentException
+	 *             if the message is null
+	 */
+	boolean offer(E message);
+
+	/**
+	 * Adds the message, waiting for space by the wait strategy of the queue
+	 * if the queue is full.
+	 * 
+	 * @param message
+	 *            the message to be added
+	 * @throws IllegalArgumentException
+	 *             if the message is null
+	 * @throws InterruptedException
+	 *             if the thread has been interrupted while waiting
+	 */
+	void put(E message) throws InterruptedException;
+
+	/**
+	 * @return the oldest message, null if the queue is empty
+	 */
+	E poll();
+
+	/**
+	 * Removes the oldest message, waiting for a message by the wait strategy
+	 * of the queue if the queue is empty.
+	 * 
+	 * @return the oldest message
+	 * @throws InterruptedException
+	 *             if the thread has been interrupted while waiting
+	 */
+	E take() throws InterruptedException;
+
+	/**
+	 * Removes the available messages in a batch and passes them to the
+	 * consumer, oldest first. The removal is published once per batch
+	 * instead of once per message. If the consumer throws an exception, the
+	 * messages up to and including the failed one have been removed.
+	 * 
+	 * @param consumer
+	 *            the consumer of the messages
+	 * @param max
+	 *            the maximum number of messages to be removed
+	 * @return the number of removed messages
+	 * @throws IllegalArgumentException
+	 *             if the consumer is null or the maximum is negative
+	 */
+	int drain(Consumer<? super E> consumer, int max);
+
+	/**
+	 * @return the number of messages, which may be outdated already when
+	 *         returned
+	 */
+	int size();
+
+	/**
+	 * @return true if the queue has been empty, when checked
+	 */
+	boolean isEmpty();
+
+	/**
+	 * @return the maximum number of messages
+	 */
+	int capacity();
+}
@@ -0,0 +1,107 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.queue;
+
+import java.util.function.Consumer;
+
+/**
+ * This class is a bounded, lock free queue for any number of producer
+ * threads and exactly one consumer thread. A producer claims a slot by a
+ * compare and set of the tail and then stores its message into the slot, the
+ * consumer takes the messages from the slots in order and frees them by an
+ * ordered store of the head. A claimed slot whose message is not stored yet
+ * ends a {@link #drain(Consumer, int)} and makes {@link #poll()} spin until
+ * the message arrives.<br>
+ * Polling from more than one thread at a time corrupts the queue.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <E>
+ *            the type of the messages
+ */
+public final class MpscRingQueue<E> extends AbstractRingQueue<E> {
+
+	/**
+	 * Creates a queue whose waiting threads park.
+	 * 
+	 * @param capacity
+	 *            the minimum capacity, rounded up to a power of two
+	 * @throws IllegalArgumentException
+	 *             if the capacity is less than 1 or greater than 2^30
+	 * @see WaitStrategies#parking()
+	 */
+	public MpscRingQueue(final int capacity) {
+		this(capacity, WaitStrategies.parking());
+	}
+
+	/**
+	 * @param capacity
+	 *            the minimum capacity, rounded up to a power of two
+	 * @param waitStrategy
+	 *            the strategy of waiting threads
+	 * @throws IllegalArgumentException
+	 *             if the capacity is less than 1 or greater than 2^30 or the
+	 *             wait strategy is null
+	 */
+	public MpscRingQueue(final int capacity, final WaitStrategy waitStrategy) {
+		super(capacity, waitStrategy);
+	}
+
+	public boolean offer(final E message) {
+		checkMessage(message);
+		long current;
+		do {
+			current = tail.get();
+			if (current - head.get() >= buffer.length()) {
+				return false;
+			}
+		} while (!tail.compareAndSet(current, current + 1));
+		buffer.lazySet((int) current & mask, message);
+		waitStrategy.signal();
+		return true;
+	}
+
+	public E poll() {
+		final long current = head.get();
+		final int idx = (int) current & mask;
+		E message = buffer.get(idx);
+		if (message == null) {
+			if (current == tail.get()) {
+				return null;
+			}
+			// the slot is claimed, the producer is about to store the message
+			do {
+				message = buffer.get(idx);
+			} while (message == null);
+		}
+		buffer.lazySet(idx, null);
+		head.lazySet(current + 1);
+		waitStrategy.signal();
+		return message;
+	}
+
+	public int drain(final Consumer<? super E> consumer, final int max) {
+		checkDrain(consumer, max);
+		final long first = head.get();
+		int i = 0;
+		try {
+			while (i < max) {
+				final int idx = (int) (first + i) & mask;
+				final E message = buffer.get(idx);
+				if (message == null) {
+					break;
+				}
+				buffer.lazySet(idx, null);
+				i++;
+				consumer.accept(message);
+			}
+		} finally {
+			if (i > 0) {
+				head.lazySet(first + i);
+				waitStrategy.signal();
+			}
+		}
+		return i;
+	}
+}
@@ -0,0 +1,74 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.queue;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * The cache line before the value of a {@link Sequence}. The fields of a
+ * super class are laid out before the fields of its sub classes, so the
+ * padding keeps the value off the cache lines of neighbouring objects.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+abstract class SequenceLeftPad {
+
+	long p01, p02, p03, p04, p05, p06, p07;
+}
+
+/**
+ * The value of a {@link Sequence}.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+abstract class SequenceValue extends SequenceLeftPad {
+
+	volatile long value;
+
+	/**
+	 * A plain value of the thread owning the sequence, which shares the
+	 * cache line of the value.
+	 */
+	long cache;
+}
+
+/**
+ * This class is a counter of a ring buffer position, which is padded to a
+ * cache line of its own on both sides. Without padding the counters of the
+ * producers and the consumer would share a cache line, so every update of
+ * one side would invalidate the cached counter of the other side.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+final class Sequence extends SequenceValue {
+
+	private static final AtomicLongFieldUpdater<SequenceValue> UPDATER = AtomicLongFieldUpdater
+			.newUpdater(SequenceValue.class, "value");
+
+	long p11, p12, p13, p14, p15, p16, p17;
+
+	Sequence() {
+		super();
+	}
+
+	long get() {
+		return value;
+	}
+
+	/**
+	 * Stores the value without a full fence. Other threads see the value
+	 * eventually and in order with the stores before it, which is all a
+	 * single writer needs.
+	 */
+	void lazySet(final long newValue) {
+		UPDATER.lazySet(this, newValue);
+	}
+
+	boolean compareAndSet(final long expect, final long update) {
+		return UPDATER.compareAndSet(this, expect, update);
+	}
+}
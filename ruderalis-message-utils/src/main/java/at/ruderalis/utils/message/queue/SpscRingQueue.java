@@ -0,0 +1,109 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.queue;
+
+import java.util.function.Consumer;
+
+/**
+ * This class is a bounded, lock free queue for exactly one producer thread
+ * and one consumer thread. Neither side needs an atomic read-modify-write
+ * operation: each side owns its counter and publishes it by an ordered
+ * store, and each side caches the last seen counter of the other side, so it
+ * only reads the cache line of the other side when the cached counter runs
+ * out.<br>
+ * Offering from more than one thread or polling from more than one thread at
+ * a time corrupts the queue, use {@link MpscRingQueue} for multiple
+ * producers.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @param <E>
+ *            the type of the messages
+ */
+public final class SpscRingQueue<E> extends AbstractRingQueue<E> {
+
+	/**
+	 * Creates a queue whose waiting threads park.
+	 * 
+	 * @param capacity
+	 *            the minimum capacity, rounded up to a power of two
+	 * @throws IllegalArgumentException
+	 *             if the capacity is less than 1 or greater than 2^30
+	 * @see WaitStrategies#parking()
+	 */
+	public SpscRingQueue(final int capacity) {
+		this(capacity, WaitStrategies.parking());
+	}
+
+	/**
+	 * @param capacity
+	 *            the minimum capacity, rounded up to a power of two
+	 * @param waitStrategy
+	 *            the strategy of waiting threads
+	 * @throws IllegalArgumentException
+	 *             if the capacity is less than 1 or greater than 2^30 or the
+	 *             wait strategy is null
+	 */
+	public SpscRingQueue(final int capacity, final WaitStrategy waitStrategy) {
+		super(capacity, waitStrategy);
+	}
+
+	public boolean offer(final E message) {
+		checkMessage(message);
+		final long current = tail.get();
+		// the cache of the tail is the last seen head
+		if (current - tail.cache >= buffer.length()) {
+			tail.cache = head.get();
+			if (current - tail.cache >= buffer.length()) {
+				return false;
+			}
+		}
+		buffer.lazySet((int) current & mask, message);
+		tail.lazySet(current + 1);
+		waitStrategy.signal();
+		return true;
+	}
+
+	public E poll() {
+		final long current = head.get();
+		// the cache of the head is the last seen tail
+		if (current >= head.cache) {
+			head.cache = tail.get();
+			if (current >= head.cache) {
+				return null;
+			}
+		}
+		final int idx = (int) current & mask;
+		final E message = buffer.get(idx);
+		buffer.lazySet(idx, null);
+		head.lazySet(current + 1);
+		waitStrategy.signal();
+		return message;
+	}
+
+	public int drain(final Consumer<? super E> consumer, final int max) {
+		checkDrain(consumer, max);
+		final long first = head.get();
+		if (first + max > head.cache) {
+			head.cache = tail.get();
+		}
+		final int count = (int) Math.min(head.cache - first, max);
+		int i = 0;
+		try {
+			while (i < count) {
+				final int idx = (int) (first + i) & mask;
+				final E message = buffer.get(idx);
+				buffer.lazySet(idx, null);
+				i++;
+				consumer.accept(message);
+			}
+		} finally {
+			if (i > 0) {
+				head.lazySet(first + i);
+				waitStrategy.signal();
+			}
+		}
+		return count;
+	}
+}
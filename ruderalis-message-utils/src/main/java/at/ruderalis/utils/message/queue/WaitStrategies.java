@@ -0,0 +1,260 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.queue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * This class provides the {@link WaitStrategy} implementations, ordered from
+ * the lowest latency and highest CPU usage to the highest latency and lowest
+ * CPU usage.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+public final class WaitStrategies {
+
+	/**
+	 * The number of checks of the condition before a waiting thread yields.
+	 */
+	private static final int SPIN_TRIES = 100;
+
+	/**
+	 * The number of yields before a waiting thread parks.
+	 */
+	private static final int YIELD_TRIES = 100;
+
+	/**
+	 * The default maximum time a thread parks before it checks the condition
+	 * again.
+	 */
+	private static final long DEFAULT_MAX_PARK_NANOS = TimeUnit.MILLISECONDS
+			.toNanos(1);
+
+	private static final WaitStrategy BUSY_SPIN = new BusySpinStrategy();
+	private static final WaitStrategy YIELDING = new YieldingStrategy();
+	private static final WaitStrategy PARKING = new ParkingStrategy(
+			DEFAULT_MAX_PARK_NANOS);
+
+	private WaitStrategies() {
+		super();
+	}
+
+	/**
+	 * Checks the condition in a loop. Lowest latency, but burns a core per
+	 * waiting thread, so only suited to threads pinned to dedicated cores.
+	 * 
+	 * @return the shared busy spin strategy
+	 */
+	public static WaitStrategy busySpin() {
+		return BUSY_SPIN;
+	}
+
+	/**
+	 * Checks the condition in a loop and yields the processor in between.
+	 * 
+	 * @return the shared yielding strategy
+	 */
+	public static WaitStrategy yielding() {
+		return YIELDING;
+	}
+
+	/**
+	 * Spins, then yields and then parks with a growing timeout of at most one
+	 * millisecond.
+	 * 
+	 * @return the shared parking strategy
+	 */
+	public static WaitStrategy parking() {
+		return PARKING;
+	}
+
+	/**
+	 * @param maxParkNanos
+	 *            the maximum time to park before checking the condition again
+	 * @return a parking strategy with the given maximum timeout
+	 * @throws IllegalArgumentException
+	 *             if the maximum timeout is less than 1
+	 * @see #parking()
+	 */
+	public static WaitStrategy parking(final long maxParkNanos) {
+		if (maxParkNanos < 1) {
+			throw new IllegalArgumentException(
+					"Maximum park time must be positive");
+		}
+		return new ParkingStrategy(maxParkNanos);
+	}
+
+	/**
+	 * Spins shortly and then blocks on a {@link Condition} until the queue
+	 * signals a change. Lowest CPU usage and suited to virtual threads, which
+	 * are unmounted from their carrier thread while they wait on the
+	 * condition. Each queue needs its own instance.
+	 * 
+	 * @return a new blocking strategy
+	 */
+	public static WaitStrategy blocking() {
+		return new BlockingStrategy();
+	}
+
+	private static void checkInterrupted() throws InterruptedException {
+		if (Thread.interrupted()) {
+			throw new InterruptedException();
+		}
+	}
+
+	/**
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class BusySpinStrategy implements WaitStrategy {
+
+		public void await(final BooleanSupplier condition)
+				throws InterruptedException {
+			while (!condition.getAsBoolean()) {
+				checkInterrupted();
+			}
+		}
+
+		public void signal() {
+			// nobody blocks
+		}
+
+		@Override
+		public String toString() {
+			return "busySpin";
+		}
+	}
+
+	/**
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class YieldingStrategy implements WaitStrategy {
+
+		public void await(final BooleanSupplier condition)
+				throws InterruptedException {
+			while (!condition.getAsBoolean()) {
+				checkInterrupted();
+				Thread.yield();
+			}
+		}
+
+		public void signal() {
+			// nobody blocks
+		}
+
+		@Override
+		public String toString() {
+			return "yielding";
+		}
+	}
+
+	/**
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class ParkingStrategy implements WaitStrategy {
+
+		private final long maxParkNanos;
+
+		/**
+		 * @param maxParkNanos
+		 */
+		private ParkingStrategy(final long maxParkNanos) {
+			super();
+			this.maxParkNanos = maxParkNanos;
+		}
+
+		public void await(final BooleanSupplier condition)
+				throws InterruptedException {
+			int round = 0;
+			long parkNanos = 1000;
+			while (!condition.getAsBoolean()) {
+				checkInterrupted();
+				if (round < SPIN_TRIES) {
+					round++;
+				} else if (round < SPIN_TRIES + YIELD_TRIES) {
+					round++;
+					Thread.yield();
+				} else {
+					LockSupport.parkNanos(this, parkNanos);
+					parkNanos = Math.min(parkNanos << 1, maxParkNanos);
+				}
+			}
+		}
+
+		public void signal() {
+			// parked threads wake up by their timeout
+		}
+
+		@Override
+		public String toString() {
+			return "parking(" + maxParkNanos + "ns)";
+		}
+	}
+
+	/**
+	 * @author Thomas Herzog
+	 * @date Oct 18, 2026
+	 */
+	private static final class BlockingStrategy implements WaitStrategy {
+
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Condition changed = lock.newCondition();
+		private final AtomicInteger waiters = new AtomicInteger();
+
+		private BlockingStrategy() {
+			super();
+		}
+
+		public void await(final BooleanSupplier condition)
+				throws InterruptedException {
+			for (int i = 0; i < SPIN_TRIES; i++) {
+				if (condition.getAsBoolean()) {
+					return;
+				}
+			}
+			lock.lockInterruptibly();
+			try {
+				waiters.incrementAndGet();
+				try {
+					while (!condition.getAsBoolean()) {
+						changed.await();
+					}
+				} finally {
+					waiters.decrementAndGet();
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		public void signal() {
+			/*
+			 * The atomic update is a full fence, like the increment of a
+			 * waiter before it checks the condition. So either the waiter
+			 * sees the change of the queue or the signal sees the waiter.
+			 */
+			if (waiters.getAndAdd(0) > 0) {
+				lock.lock();
+				try {
+					changed.signalAll();
+				} finally {
+					lock.unlock();
+				}
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "blocking";
+		}
+	}
+}
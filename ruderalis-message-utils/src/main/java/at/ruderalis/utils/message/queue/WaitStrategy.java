@@ -0,0 +1,36 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.queue;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * This interface defines how a thread waits for a {@link MessageQueue} to
+ * become non empty or non full. A queue calls {@link #signal()} after each
+ * change of its state, so a strategy which blocks its waiters can wake them
+ * up.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @see WaitStrategies
+ */
+public interface WaitStrategy {
+
+	/**
+	 * Returns when the condition is met.
+	 * 
+	 * @param condition
+	 *            the condition waited for, which may be evaluated several
+	 *            times
+	 * @throws InterruptedException
+	 *             if the thread has been interrupted while waiting
+	 */
+	void await(BooleanSupplier condition) throws InterruptedException;
+
+	/**
+	 * Wakes up the waiting threads, called after a change of the state of the
+	 * queue. Must be cheap if no thread waits.
+	 */
+	void signal();
+}
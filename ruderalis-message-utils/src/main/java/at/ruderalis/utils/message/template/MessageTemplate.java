@@ -0,0 +1,423 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.template;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class is a compiled message template. The template text is parsed
+ * once into its literal parts and placeholders, so rendering only appends
+ * the parts and the arguments to the target, without parsing, locking or
+ * building intermediate strings.<br>
+ * A placeholder is either an index like <code>{0}</code>, which is resolved
+ * from the positional arguments, or a name like <code>{user.name}</code>,
+ * which is resolved from the named arguments. Names consist of letters,
+ * digits, '_', '-' and '.'. Braces are written as <code>{{</code> and
+ * <code>}}</code>, a single closing brace is taken literally.<br>
+ * A placeholder without argument is rendered as it is written in the
+ * template, like {@link java.text.MessageFormat} does for missing arguments.
+ * Rendered into a {@link StringBuilder}, character sequences, integral
+ * numbers, characters and booleans are appended without creating a string,
+ * other arguments by {@link StringBuilder#append(Object)}.<br>
+ * Instances are immutable and thread safe.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ * @see MessageTemplateCache
+ */
+public final class MessageTemplate {
+
+	/**
+	 * The expected length of a rendered argument, used to presize the
+	 * rendered string.
+	 */
+	private static final int ARGUMENT_LENGTH_HINT = 16;
+
+	/**
+	 * Stands for a placeholder without argument.
+	 */
+	private static final Object MISSING = new Object();
+
+	private final String text;
+
+	/**
+	 * The literal parts concatenated, with the escaped braces resolved.
+	 */
+	private final String literals;
+
+	/**
+	 * The end of each literal part in the literals, the literal part i
+	 * precedes the placeholder i.
+	 */
+	private final int[] literalEnds;
+
+	/**
+	 * The index of each placeholder, -1 for a named placeholder.
+	 */
+	private final int[] indices;
+
+	/**
+	 * The name of each placeholder, which is the digits of an index
+	 * placeholder.
+	 */
+	private final String[] names;
+
+	/**
+	 * @param text
+	 * @param literals
+	 * @param literalEnds
+	 * @param indices
+	 * @param names
+	 */
+	private MessageTemplate(final String text, final String literals,
+			final int[] literalEnds, final int[] indices, final String[] names) {
+		super();
+		this.text = text;
+		this.literals = literals;
+		this.literalEnds = literalEnds;
+		this.indices = indices;
+		this.names = names;
+	}
+
+	/**
+	 * Parses the template text. Templates which are used repeatedly should
+	 * be looked up by {@link #of(String)} instead.
+	 * 
+	 * @param text
+	 *            the template text
+	 * @return the compiled template
+	 * @throws IllegalArgumentException
+	 *             if the text is null or contains an unclosed, empty or
+	 *             invalid placeholder
+	 */
+	public static MessageTemplate compile(final String text) {
+		if (text == null) {
+			throw new IllegalArgumentException("Template must not be null");
+		}
+		final StringBuilder literals = new StringBuilder(text.length());
+		final List<Integer> ends = new ArrayList<Integer>();
+		final List<String> names = new ArrayList<String>();
+		final int length = text.length();
+		int pos = 0;
+		while (pos < length) {
+			final char c = text.charAt(pos);
+			if (c == '}') {
+				literals.append(c);
+				pos += ((pos + 1 < length) && (text.charAt(pos + 1) == '}')) ? 2
+						: 1;
+			} else if (c != '{') {
+				literals.append(c);
+				pos++;
+			} else if ((pos + 1 < length) && (text.charAt(pos + 1) == '{')) {
+				literals.append(c);
+				pos += 2;
+			} else {
+				final int close = text.indexOf('}', pos + 1);
+				if (close < 0) {
+					throw new IllegalArgumentException(
+							"Unclosed placeholder at position " + pos + ": "
+									+ text);
+				}
+				final String name = text.substring(pos + 1, close);
+				if (!isValidName(name)) {
+					throw new IllegalArgumentException(
+							"Invalid placeholder name '" + name
+									+ "' at position " + pos + ": " + text);
+				}
+				ends.add(literals.length());
+				names.add(name);
+				pos = close + 1;
+			}
+		}
+		ends.add(literals.length());
+		final int count = names.size();
+		final int[] literalEnds = new int[count + 1];
+		final int[] indices = new int[count];
+		for (int i = 0; i <= count; i++) {
+			literalEnds[i] = ends.get(i);
+		}
+		for (int i = 0; i < count; i++) {
+			indices[i] = parseIndex(names.get(i));
+		}
+		return new MessageTemplate(text, literals.toString(), literalEnds,
+				indices, names.toArray(new String[count]));
+	}
+
+	/**
+	 * Looks up the compiled template in the shared cache, the template is
+	 * compiled on the first lookup.
+	 * 
+	 * @param text
+	 *            the template text
+	 * @return the compiled template
+	 * @throws IllegalArgumentException
+	 *             if the text is not a valid template
+	 * @see MessageTemplateCache#getDefault()
+	 */
+	public static MessageTemplate of(final String text) {
+		return MessageTemplateCache.getDefault().get(text);
+	}
+
+	/**
+	 * Renders the template with positional arguments into the builder.
+	 * 
+	 * @param builder
+	 *            the builder the message is appended to
+	 * @param args
+	 *            the arguments of the index placeholders
+	 * @return the given builder
+	 */
+	public StringBuilder render(final StringBuilder builder,
+			final Object... args) {
+		int start = 0;
+		for (int i = 0; i < names.length; i++) {
+			final int end = literalEnds[i];
+			builder.append(literals, start, end);
+			start = end;
+			appendValue(builder, i, positional(i, args));
+		}
+		return builder.append(literals, start, literals.length());
+	}
+
+	/**
+	 * Renders the template with named arguments into the builder. Index
+	 * placeholders are looked up by their digits.
+	 * 
+	 * @param builder
+	 *            the builder the message is appended to
+	 * @param args
+	 *            the arguments by the names of the placeholders
+	 * @return the given builder
+	 */
+	public StringBuilder render(final StringBuilder builder,
+			final Map<String, ?> args) {
+		int start = 0;
+		for (int i = 0; i < names.length; i++) {
+			final int end = literalEnds[i];
+			builder.append(literals, start, end);
+			start = end;
+			appendValue(builder, i, named(i, args));
+		}
+		return builder.append(literals, start, literals.length());
+	}
+
+	/**
+	 * Renders the template with positional arguments into the appendable. A
+	 * {@link StringBuilder} is rendered into directly, for other targets
+	 * arguments which are no character sequences are converted to strings.
+	 * 
+	 * @param target
+	 *            the appendable the message is appended to
+	 * @param args
+	 *            the arguments of the index placeholders
+	 * @return the given appendable
+	 * @throws IOException
+	 *             if the appendable fails
+	 */
+	public <A extends Appendable> A render(final A target,
+			final Object... args) throws IOException {
+		if (target instanceof StringBuilder) {
+			render((StringBuilder) target, args);
+			return target;
+		}
+		int start = 0;
+		for (int i = 0; i < names.length; i++) {
+			final int end = literalEnds[i];
+			target.append(literals, start, end);
+			start = end;
+			appendValue(target, i, positional(i, args));
+		}
+		target.append(literals, start, literals.length());
+		return target;
+	}
+
+	/**
+	 * Renders the template with named arguments into the appendable.
+	 * 
+	 * @param target
+	 *            the appendable the message is appended to
+	 * @param args
+	 *            the arguments by the names of the placeholders
+	 * @return the given appendable
+	 * @throws IOException
+	 *             if the appendable fails
+	 * @see #render(Appendable, Object...)
+	 */
+	public <A extends Appendable> A render(final A target,
+			final Map<String, ?> args) throws IOException {
+		if (target instanceof StringBuilder) {
+			render((StringBuilder) target, args);
+			return target;
+		}
+		int start = 0;
+		for (int i = 0; i < names.length; i++) {
+			final int end = literalEnds[i];
+			target.append(literals, start, end);
+			start = end;
+			appendValue(target, i, named(i, args));
+		}
+		target.append(literals, start, literals.length());
+		return target;
+	}
+
+	/**
+	 * Renders the template with positional arguments.
+	 * 
+	 * @param args
+	 *            the arguments of the index placeholders
+	 * @return the rendered message
+	 */
+	public String format(final Object... args) {
+		return render(new StringBuilder(estimateLength()), args).toString();
+	}
+
+	/**
+	 * Renders the template with named arguments.
+	 * 
+	 * @param args
+	 *            the arguments by the names of the placeholders
+	 * @return the rendered message
+	 */
+	public String format(final Map<String, ?> args) {
+		return render(new StringBuilder(estimateLength()), args).toString();
+	}
+
+	/**
+	 * @return the template text
+	 */
+	public String getText() {
+		return text;
+	}
+
+	/**
+	 * @return the number of placeholders
+	 */
+	public int getPlaceholderCount() {
+		return names.length;
+	}
+
+	/**
+	 * @return the names of the placeholders in template order, which are the
+	 *         digits of index placeholders
+	 */
+	public List<String> getPlaceholderNames() {
+		return Collections.unmodifiableList(Arrays.asList(names));
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		return (obj instanceof MessageTemplate)
+				&& (text.equals(((MessageTemplate) obj).text));
+	}
+
+	@Override
+	public int hashCode() {
+		return text.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return text;
+	}
+
+	private int estimateLength() {
+		return literals.length() + names.length * ARGUMENT_LENGTH_HINT;
+	}
+
+	/**
+	 * @return the positional argument of the placeholder, {@link #MISSING}
+	 *         if there is none
+	 */
+	private Object positional(final int i, final Object[] args) {
+		final int index = indices[i];
+		if ((args != null) && (index >= 0) && (index < args.length)) {
+			return args[index];
+		}
+		return MISSING;
+	}
+
+	/**
+	 * @return the named argument of the placeholder, {@link #MISSING} if
+	 *         there is none
+	 */
+	private Object named(final int i, final Map<String, ?> args) {
+		if (args == null) {
+			return MISSING;
+		}
+		final Object value = args.get(names[i]);
+		return ((value != null) || (args.containsKey(names[i]))) ? value
+				: MISSING;
+	}
+
+	/**
+	 * Appends the value, numbers and characters sequences without creating a
+	 * string.
+	 */
+	private void appendValue(final StringBuilder builder, final int i,
+			final Object value) {
+		if (value == MISSING) {
+			builder.append('{').append(names[i]).append('}');
+		} else if (value instanceof CharSequence) {
+			builder.append((CharSequence) value);
+		} else if (value instanceof Integer) {
+			builder.append(((Integer) value).intValue());
+		} else if (value instanceof Long) {
+			builder.append(((Long) value).longValue());
+		} else if (value instanceof Character) {
+			builder.append(((Character) value).charValue());
+		} else if (value instanceof Boolean) {
+			builder.append(((Boolean) value).booleanValue());
+		} else {
+			builder.append(value);
+		}
+	}
+
+	private void appendValue(final Appendable target, final int i,
+			final Object value) throws IOException {
+		if (value == MISSING) {
+			target.append('{').append(names[i]).append('}');
+		} else if (value instanceof CharSequence) {
+			target.append((CharSequence) value);
+		} else {
+			target.append(String.valueOf(value));
+		}
+	}
+
+	private static boolean isValidName(final String name) {
+		if (name.isEmpty()) {
+			return false;
+		}
+		for (int i = 0; i < name.length(); i++) {
+			final char c = name.charAt(i);
+			if ((!Character.isLetterOrDigit(c)) && (c != '_') && (c != '-')
+					&& (c != '.')) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the index of the placeholder name, -1 if it is no index
+	 */
+	private static int parseIndex(final String name) {
+		if (name.length() > 9) {
+			return -1;
+		}
+		int index = 0;
+		for (int i = 0; i < name.length(); i++) {
+			final char c = name.charAt(i);
+			if ((c < '0') || (c > '9')) {
+				return -1;
+			}
+			index = index * 10 + (c - '0');
+		}
+		return index;
+	}
+}
@@ -0,0 +1,96 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.message.template;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This class caches compiled {@link MessageTemplate} instances by their
+ * template text, so a template is parsed once and then shared by all
+ * threads. Lookups of cached templates do not lock.<br>
+ * The cache holds at most its maximum number of templates. Once it is full,
+ * further templates are compiled on each lookup without being cached, so
+ * templates built from arbitrary text can not exhaust the heap.
+ * 
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+public final class MessageTemplateCache {
+
+	/**
+	 * The maximum number of templates of the shared cache.
+	 */
+	public static final int DEFAULT_MAX_SIZE = 4096;
+
+	private static final MessageTemplateCache DEFAULT = new MessageTemplateCache(
+			DEFAULT_MAX_SIZE);
+
+	private final ConcurrentMap<String, MessageTemplate> templates;
+	private final int maxSize;
+
+	/**
+	 * @param maxSize
+	 *            the maximum number of cached templates
+	 * @throws IllegalArgumentException
+	 *             if the maximum size is negative
+	 */
+	public MessageTemplateCache(final int maxSize) {
+		super();
+		if (maxSize < 0) {
+			throw new IllegalArgumentException(
+					"Maximum size must not be negative");
+		}
+		this.maxSize = maxSize;
+		this.templates = new ConcurrentHashMap<String, MessageTemplate>();
+	}
+
+	/**
+	 * @return the cache shared by {@link MessageTemplate#of(String)}
+	 */
+	public static MessageTemplateCache getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Returns the cached template of the text, the template is compiled and
+	 * cached on the first lookup. Concurrent first lookups may compile the
+	 * text more than once, but all of them return the cached instance.
+	 * 
+	 * @param text
+	 *            the template text
+	 * @return the compiled template
+	 * @throws IllegalArgumentException
+	 *             if the text is not a valid template
+	 */
+	public MessageTemplate get(final String text) {
+		if (text == null) {
+			throw new IllegalArgumentException("Template must not be null");
+		}
+		final MessageTemplate cached = templates.get(text);
+		if (cached != null) {
+			return cached;
+		}
+		final MessageTemplate template = MessageTemplate.compile(text);
+		if (templates.size() >= maxSize) {
+			return template;
+		}
+		final MessageTemplate previous = templates.putIfAbsent(text, template);
+		return (previous != null) ? previous : template;
+	}
+
+	/**
+	 * @return the number of cached templates
+	 */
+	public int size() {
+		return templates.size();
+	}
+
+	/**
+	 * Removes all cached templates.
+	 */
+	public void clear() {
+		templates.clear();
+	}
+}
@@ -0,0 +1,168 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.test.message.bundle;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import at.ruderalis.utils.message.bundle.MessageBundle;
+import at.ruderalis.utils.message.bundle.MessageBundleLoader;
+import at.ruderalis.utils.message.bundle.MessageBundleRegistry;
+
+/**
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@RunWith(JUnit4.class)
+public class MessageBundleRegistryTest {
+
+	private static final String BASE_NAME = "at.ruderalis.utils.test.message.bundle.messages";
+
+	/**
+	 * Serves messages from memory and counts the loads per locale.
+	 */
+	private static class MemoryLoader implements MessageBundleLoader {
+
+		final Map<Locale, Map<String, String>> bundles = new HashMap<Locale, Map<String, String>>();
+		final Map<Locale, Integer> loads = new HashMap<Locale, Integer>();
+		boolean failing;
+
+		void put(final Locale locale, final String key, final String message) {
+			Map<String, String> bundle = bundles.get(locale);
+			if (bundle == null) {
+				bundle = new HashMap<String, String>();
+				bundles.put(locale, bundle);
+			}
+			bundle.put(key, message);
+		}
+
+		int loads(final Locale locale) {
+			final Integer count = loads.get(locale);
+			return (count != null) ? count : 0;
+		}
+
+		public synchronized Map<String, String> load(final String baseName,
+				final Locale locale) throws IOException {
+			if (failing) {
+				throw new IOException("broken");
+			}
+			loads.put(locale, loads(locale) + 1);
+			final Map<String, String> bundle = bundles.get(locale);
+			return (bundle != null) ? new HashMap<String, String>(bundle)
+					: null;
+		}
+	}
+
+	@Test
+	public void testGetMessage_properties() {
+		final MessageBundleRegistry registry = new MessageBundleRegistry(
+				BASE_NAME);
+		final Locale austria = new Locale("de", "AT");
+		assertEquals("Pfiat di", registry.getMessage(austria, "farewell"));
+		assertEquals("Grüß Gott {0}", registry.getMessage(austria, "greeting"));
+		assertEquals("root", registry.getMessage(austria, "only.root"));
+		assertNull(registry.getMessage(austria, "unknown"));
+		assertEquals("Servus", registry.getMessage(Locale.GERMANY, "farewell"));
+		assertEquals("Goodbye", registry.getMessage(Locale.FRENCH, "farewell"));
+		assertEquals("Grüß Gott Tom",
+				registry.format(austria, "greeting", "Tom"));
+		assertEquals("unknown", registry.format(austria, "unknown", "Tom"));
+	}
+
+	@Test
+	public void testGetBundle_cached() {
+		final MemoryLoader loader = new MemoryLoader();
+		loader.put(Locale.ROOT, "a", "root a");
+		loader.put(Locale.GERMAN, "a", "de a");
+		final MessageBundleRegistry registry = new MessageBundleRegistry(
+				"test", loader, null);
+		final MessageBundle bundle = registry.getBundle(Locale.GERMANY);
+		assertSame(bundle, registry.getBundle(Locale.GERMANY));
+		assertEquals("de a", bundle.getMessage("a"));
+		registry.getBundle(new Locale("de", "AT"));
+		registry.getBundle(Locale.GERMAN);
+		// each locale of the chains is loaded once
+		assertEquals(1, loader.loads(Locale.ROOT));
+		assertEquals(1, loader.loads(Locale.GERMAN));
+		assertEquals(1, loader.loads(Locale.GERMANY));
+		assertEquals(3, registry.getLoadedLocales().size());
+	}
+
+	@Test
+	public void testGetBundle_fallbackLocale() {
+		final MemoryLoader loader = new MemoryLoader();
+		loader.put(Locale.ROOT, "a", "root a");
+		loader.put(Locale.ROOT, "b", "root b");
+		loader.put(Locale.ENGLISH, "a", "en a");
+		loader.put(Locale.FRENCH, "b", "fr b");
+		final MessageBundleRegistry registry = new MessageBundleRegistry(
+				"test", loader, Locale.ENGLISH);
+		final MessageBundle bundle = registry.getBundle(Locale.FRANCE);
+		assertEquals("en a", bundle.getMessage("a"));
+		assertEquals("fr b", bundle.getMessage("b"));
+		assertEquals(2, bundle.size());
+		assertTrue(bundle.containsKey("a"));
+		assertFalse(bundle.containsKey("c"));
+		assertEquals(2, bundle.getKeys().size());
+	}
+
+	@Test
+	public void testGetTemplate() {
+		final MemoryLoader loader = new MemoryLoader();
+		loader.put(Locale.ROOT, "count", "{0} of {1}");
+		final MessageBundle bundle = new MessageBundleRegistry("test",
+				loader, null).getBundle(Locale.ROOT);
+		assertSame(bundle.getTemplate("count"), bundle.getTemplate("count"));
+		assertEquals("1 of 2", bundle.format("count", 1, 2));
+		assertNull(bundle.getTemplate("none"));
+	}
+
+	@Test
+	public void testReload() {
+		final MemoryLoader loader = new MemoryLoader();
+		loader.put(Locale.ROOT, "a", "old");
+		final MessageBundleRegistry registry = new MessageBundleRegistry(
+				"test", loader, null);
+		final MessageBundle old = registry.getBundle(Locale.ITALY);
+		assertEquals("old", old.getMessage("a"));
+		loader.put(Locale.ROOT, "a", "new");
+		assertEquals("old", registry.getMessage(Locale.ITALY, "a"));
+		registry.reload();
+		assertEquals(2, loader.loads(Locale.ROOT));
+		assertEquals("new", registry.getMessage(Locale.ITALY, "a"));
+		// a bundle once obtained is not changed by a reload
+		assertEquals("old", old.getMessage("a"));
+	}
+
+	@Test
+	public void testReload_failureKeepsSnapshot() {
+		final MemoryLoader loader = new MemoryLoader();
+		loader.put(Locale.ROOT, "a", "old");
+		final MessageBundleRegistry registry = new MessageBundleRegistry(
+				"test", loader, null);
+		registry.getBundle(Locale.ROOT);
+		loader.failing = true;
+		try {
+			registry.reload();
+			fail("IllegalStateException expected");
+		} catch (final IllegalStateException e) {
+			assertTrue(e.getCause() instanceof IOException);
+		}
+		assertEquals("old", registry.getMessage(Locale.ROOT, "a"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetBundle_nullLocale() {
+		new MessageBundleRegistry("test", new MemoryLoader(), null)
+				.getBundle(null);
+	}
+}
@@ -0,0 +1,238 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.test.message.codec;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import at.ruderalis.utils.message.codec.FieldType;
+import at.ruderalis.utils.message.codec.MessageReader;
+import at.ruderalis.utils.message.codec.MessageSchema;
+import at.ruderalis.utils.message.codec.MessageWriter;
+
+/**
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@RunWith(JUnit4.class)
+public class MessageCodecTest {
+
+	private static final MessageSchema SCHEMA = MessageSchema.builder()
+			.field("topic", FieldType.STRING).field("id", FieldType.LONG)
+			.field("urgent", FieldType.BOOLEAN)
+			.field("count", FieldType.INT).field("amount", FieldType.DOUBLE)
+			.field("body", FieldType.STRING)
+			.field("data", FieldType.BYTES).build();
+
+	private static void write(final ByteBuffer buffer) {
+		new MessageWriter(SCHEMA, buffer).writeString("topic", "orders")
+				.writeLong("id", -42L).writeBoolean("urgent", true)
+				.writeInt("count", Integer.MIN_VALUE)
+				.writeDouble("amount", 12.5)
+				.writeString("body", "Grüße € 😀")
+				.writeBytes("data", ByteBuffer.wrap(new byte[] { 1, 2, 3 }));
+	}
+
+	private static void assertMessage(final MessageReader reader) {
+		assertEquals("orders", reader.getString("topic"));
+		assertEquals(-42L, reader.getLong("id"));
+		assertTrue(reader.getBoolean("urgent"));
+		assertEquals(Integer.MIN_VALUE, reader.getInt("count"));
+		assertEquals(12.5, reader.getDouble("amount"), 0.0);
+		assertEquals("Grüße € 😀", reader.getString("body"));
+		final ByteBuffer data = reader.getBytes("data");
+		assertEquals(3, data.remaining());
+		assertEquals(2, data.get(1));
+		assertTrue(data.isReadOnly());
+	}
+
+	@Test
+	public void testRoundTrip_heap() {
+		final ByteBuffer buffer = ByteBuffer.allocate(128);
+		write(buffer);
+		buffer.flip();
+		assertMessage(new MessageReader(SCHEMA, buffer));
+		assertEquals(0, buffer.position());
+	}
+
+	@Test
+	public void testRoundTrip_direct() {
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(128);
+		buffer.position(7);
+		write(buffer);
+		buffer.limit(buffer.position()).position(7);
+		assertMessage(new MessageReader(SCHEMA, buffer));
+	}
+
+	@Test
+	public void testUtf8_sameAsJdk() {
+		final String text = "aäࠀ￿𐀀z";
+		final ByteBuffer buffer = ByteBuffer.allocate(64);
+		final MessageWriter writer = new MessageWriter(SCHEMA, buffer)
+				.writeString(0, text);
+		final byte[] expected = text.getBytes(StandardCharsets.UTF_8);
+		// header and length are one byte each
+		assertEquals(2 + expected.length, writer.size());
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], buffer.get(2 + i));
+		}
+		buffer.flip();
+		assertEquals(text, new MessageReader(SCHEMA, buffer).getString(0));
+	}
+
+	@Test
+	public void testUtf8_malformedSameAsJdk() {
+		final byte[][] samples = {
+				// unexpected continuation, invalid and overlong lead bytes
+				{ (byte) 0x80, 'a' }, { (byte) 0xC0, (byte) 0xAF },
+				{ (byte) 0xE0, (byte) 0x80, (byte) 0xAF },
+				{ (byte) 0xF5, (byte) 0x80 }, { (byte) 0xFF },
+				// lead bytes followed by no continuation byte
+				{ (byte) 0xC3, 'a' }, { (byte) 0xE2, (byte) 0x82, 'a' },
+				// encoded surrogate, above U+10FFFF and truncated at the end
+				{ (byte) 0xED, (byte) 0xA0, (byte) 0x80 },
+				{ (byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80 },
+				{ 'a', (byte) 0xF0, (byte) 0x9F, (byte) 0x98 } };
+		for (final byte[] sample : samples) {
+			assertEquals(new String(sample, StandardCharsets.UTF_8),
+					decode(sample));
+		}
+		final Random random = new Random(23);
+		for (int i = 0; i < 2000; i++) {
+			final byte[] bytes = new byte[1 + random.nextInt(16)];
+			random.nextBytes(bytes);
+			assertEquals(new String(bytes, StandardCharsets.UTF_8),
+					decode(bytes));
+		}
+	}
+
+	/**
+	 * Decodes the bytes as value of a string field.
+	 */
+	private static String decode(final byte[] bytes) {
+		final ByteBuffer buffer = ByteBuffer.allocate(64);
+		final StringBuilder placeholder = new StringBuilder();
+		for (int i = 0; i < bytes.length; i++) {
+			placeholder.append('x');
+		}
+		new MessageWriter(SCHEMA, buffer).writeString(0, placeholder);
+		// header and length are one byte each
+		for (int i = 0; i < bytes.length; i++) {
+			buffer.put(2 + i, bytes[i]);
+		}
+		buffer.flip();
+		return new MessageReader(SCHEMA, buffer).getString(0);
+	}
+
+	@Test
+	public void testVarint_smallValuesShort() {
+		final ByteBuffer buffer = ByteBuffer.allocate(64);
+		final MessageWriter writer = new MessageWriter(SCHEMA, buffer)
+				.writeLong(1, -1L);
+		assertEquals(2, writer.size());
+		writer.writeInt(3, 63);
+		assertEquals(4, writer.size());
+	}
+
+	@Test
+	public void testRead_lazy() {
+		final ByteBuffer buffer = ByteBuffer.allocate(128);
+		write(buffer);
+		buffer.flip();
+		// corrupting the payload does not affect the header fields before it
+		buffer.put(buffer.limit() - 5, (byte) 0x7F);
+		final MessageReader reader = new MessageReader(SCHEMA, buffer);
+		assertEquals("orders", reader.getString(0));
+		assertEquals(-42L, reader.getLong(1));
+		try {
+			reader.getBytes(6);
+			fail("IllegalStateException expected");
+		} catch (final IllegalStateException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testRead_missingFields() {
+		final ByteBuffer buffer = ByteBuffer.allocate(64);
+		new MessageWriter(SCHEMA, buffer).writeLong("id", 7L)
+				.writeString("topic", null);
+		buffer.flip();
+		final MessageReader reader = new MessageReader(SCHEMA, buffer);
+		assertFalse(reader.has("topic"));
+		assertTrue(reader.has("id"));
+		assertNull(reader.getString("topic"));
+		assertNull(reader.getBytes("data"));
+		assertEquals(0, reader.getInt("count"));
+		assertFalse(reader.getBoolean("urgent"));
+		assertEquals(7L, reader.getLong("id"));
+	}
+
+	@Test
+	public void testRead_unknownFieldsSkipped() {
+		final MessageSchema older = MessageSchema.builder()
+				.field("topic", FieldType.STRING).field("id", FieldType.LONG)
+				.build();
+		final ByteBuffer buffer = ByteBuffer.allocate(64);
+		new MessageWriter(SCHEMA, buffer).writeString("body", "new")
+				.writeDouble("amount", 1.0).writeLong("id", 3L);
+		buffer.flip();
+		final MessageReader reader = new MessageReader(older, buffer);
+		assertEquals(3L, reader.getLong("id"));
+		assertFalse(reader.has("topic"));
+	}
+
+	@Test
+	public void testReset() {
+		final ByteBuffer first = ByteBuffer.allocate(32);
+		final ByteBuffer second = ByteBuffer.allocate(32);
+		final MessageWriter writer = new MessageWriter(SCHEMA, first)
+				.writeLong(1, 1L);
+		writer.reset(second).writeLong(1, 2L);
+		first.flip();
+		second.flip();
+		final MessageReader reader = new MessageReader(SCHEMA, first);
+		assertEquals(1L, reader.getLong(1));
+		assertEquals(2L, reader.reset(second).getLong(1));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testWrite_twice() {
+		new MessageWriter(SCHEMA, ByteBuffer.allocate(32)).writeLong(1, 1L)
+				.writeLong(1, 2L);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWrite_wrongType() {
+		new MessageWriter(SCHEMA, ByteBuffer.allocate(32)).writeInt("id", 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWrite_unknownField() {
+		new MessageWriter(SCHEMA, ByteBuffer.allocate(32)).writeInt("none",
+				1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSchema_duplicateField() {
+		MessageSchema.builder().field("a", FieldType.INT)
+				.field("a", FieldType.LONG);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testRead_truncated() {
+		final ByteBuffer buffer = ByteBuffer.allocate(64);
+		new MessageWriter(SCHEMA, buffer).writeString(0, "orders");
+		buffer.flip();
+		buffer.limit(buffer.limit() - 1);
+		new MessageReader(SCHEMA, buffer).getString(0);
+	}
+}
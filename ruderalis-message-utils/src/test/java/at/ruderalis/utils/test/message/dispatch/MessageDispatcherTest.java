@@ -0,0 +1,279 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.test.message.dispatch;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import at.ruderalis.utils.message.dispatch.MessageDispatcher;
+import at.ruderalis.utils.message.dispatch.MessageHandler;
+import at.ruderalis.utils.message.dispatch.OverflowPolicy;
+import at.ruderalis.utils.message.dispatch.Subscription;
+
+/**
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@RunWith(JUnit4.class)
+public class MessageDispatcherTest {
+
+	private static final String TOPIC = "orders";
+
+	private ExecutorService executor;
+	private MessageDispatcher<int[]> dispatcher;
+
+	/**
+	 * Handles the first message only after being released, so the following
+	 * messages pile up in the mailbox.
+	 */
+	private static class GateHandler implements MessageHandler<int[]> {
+
+		final CountDownLatch entered = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final List<Integer> handled = Collections
+				.synchronizedList(new ArrayList<Integer>());
+
+		public void handle(final String topic, final int[] message)
+				throws Exception {
+			entered.countDown();
+			release.await();
+			handled.add(message[0]);
+		}
+	}
+
+	@Before
+	public void setup() {
+		executor = Executors.newFixedThreadPool(4, new ThreadFactory() {
+
+			public Thread newThread(final Runnable runnable) {
+				final Thread thread = new Thread(runnable);
+				// handler failures are expected by some tests
+				thread.setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+
+					public void uncaughtException(final Thread t,
+							final Throwable e) {
+						// ignored
+					}
+				});
+				return thread;
+			}
+		});
+		dispatcher = new MessageDispatcher<int[]>(executor);
+	}
+
+	@After
+	public void tearDown() throws InterruptedException {
+		dispatcher.close();
+		executor.shutdownNow();
+		executor.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@Test(timeout = 10000)
+	public void testPublish_orderedPerKey() throws Exception {
+		final int keys = 8;
+		final int perKey = 2000;
+		final int[] next = new int[keys];
+		final AtomicReference<String> failure = new AtomicReference<String>();
+		final CountDownLatch done = new CountDownLatch(keys * perKey);
+		final Subscription<int[]> subscription = dispatcher.subscribe(TOPIC,
+				new MessageHandler<int[]>() {
+
+					public void handle(final String topic, final int[] message) {
+						// each key is handled by one lane at a time
+						if (next[message[0]]++ != message[1]) {
+							failure.set("Out of order: key " + message[0]);
+						}
+						done.countDown();
+					}
+				}, 64, OverflowPolicy.BLOCK, new Function<int[], Integer>() {
+
+					public Integer apply(final int[] message) {
+						return message[0];
+					}
+				}, 4);
+		for (int i = 0; i < perKey; i++) {
+			for (int key = 0; key < keys; key++) {
+				assertEquals(1, dispatcher.publish(TOPIC, new int[] { key, i }));
+			}
+		}
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertNull(failure.get());
+		// the lane counts a message after the handler has returned
+		awaitHandled(subscription, keys * perKey);
+		assertEquals(keys * perKey, subscription.getHandledCount());
+		assertEquals(0, subscription.getRejectedCount());
+		assertEquals(4, subscription.getLaneCount());
+	}
+
+	@Test(timeout = 10000)
+	public void testPublish_dropOldest() throws Exception {
+		final GateHandler handler = new GateHandler();
+		final Subscription<int[]> subscription = dispatcher.subscribe(TOPIC,
+				handler, 2, OverflowPolicy.DROP_OLDEST);
+		dispatcher.publish(TOPIC, new int[] { 1 });
+		handler.entered.await();
+		for (int i = 2; i <= 4; i++) {
+			assertEquals(1, dispatcher.publish(TOPIC, new int[] { i }));
+		}
+		assertEquals(2, subscription.getQueueDepth());
+		assertEquals(1, subscription.getDroppedCount());
+		handler.release.countDown();
+		awaitHandled(subscription, 3);
+		assertEquals(Arrays.asList(1, 3, 4), handler.handled);
+	}
+
+	@Test(timeout = 10000)
+	public void testPublish_fail() throws Exception {
+		final GateHandler handler = new GateHandler();
+		final Subscription<int[]> subscription = dispatcher.subscribe(TOPIC,
+				handler, 1, OverflowPolicy.FAIL);
+		dispatcher.publish(TOPIC, new int[] { 1 });
+		handler.entered.await();
+		dispatcher.publish(TOPIC, new int[] { 2 });
+		try {
+			dispatcher.publish(TOPIC, new int[] { 3 });
+			fail("IllegalStateException expected");
+		} catch (final IllegalStateException e) {
+			// expected
+		}
+		assertEquals(1, subscription.getRejectedCount());
+		handler.release.countDown();
+		awaitHandled(subscription, 2);
+	}
+
+	@Test(timeout = 10000)
+	public void testPublish_block() throws Exception {
+		final GateHandler handler = new GateHandler();
+		final Subscription<int[]> subscription = dispatcher.subscribe(TOPIC,
+				handler, 1, OverflowPolicy.BLOCK);
+		dispatcher.publish(TOPIC, new int[] { 1 });
+		handler.entered.await();
+		dispatcher.publish(TOPIC, new int[] { 2 });
+		final Thread publisher = new Thread(new Runnable() {
+
+			public void run() {
+				dispatcher.publish(TOPIC, new int[] { 3 });
+			}
+		});
+		publisher.start();
+		publisher.join(200);
+		// waits for room in the mailbox
+		assertTrue(publisher.isAlive());
+		handler.release.countDown();
+		publisher.join();
+		awaitHandled(subscription, 3);
+		assertEquals(Arrays.asList(1, 2, 3), handler.handled);
+	}
+
+	@Test(timeout = 10000)
+	public void testHandler_failureCounted() throws Exception {
+		final Subscription<int[]> subscription = dispatcher.subscribe(TOPIC,
+				new MessageHandler<int[]>() {
+
+					public void handle(final String topic, final int[] message)
+							throws Exception {
+						if (message[0] == 1) {
+							throw new Exception("failed");
+						}
+						Thread.sleep(2);
+					}
+				}, 8, OverflowPolicy.BLOCK);
+		dispatcher.publish(TOPIC, new int[] { 1 });
+		dispatcher.publish(TOPIC, new int[] { 2 });
+		awaitHandled(subscription, 1);
+		assertEquals(1, subscription.getFailedCount());
+		assertTrue(subscription.getMaxLatencyNanos() >= 2000000);
+		assertTrue(subscription.getLatencyPercentileNanos(1.0) >= 2000000);
+		assertTrue(subscription.getLatencyPercentileNanos(0.5) <= subscription
+				.getLatencyPercentileNanos(1.0));
+		assertTrue(subscription.getMeanLatencyNanos() > 0);
+	}
+
+	@Test(timeout = 10000)
+	public void testCancel() throws Exception {
+		final GateHandler first = new GateHandler();
+		first.release.countDown();
+		final Subscription<int[]> subscription = dispatcher.subscribe(TOPIC,
+				first, 4, OverflowPolicy.FAIL);
+		final Subscription<int[]> other = dispatcher.subscribe(TOPIC,
+				new GateHandler(), 4, OverflowPolicy.FAIL);
+		assertEquals(2, dispatcher.getSubscriptions(TOPIC).size());
+		subscription.cancel();
+		assertTrue(subscription.isCancelled());
+		assertEquals(1, dispatcher.publish(TOPIC, new int[] { 1 }));
+		assertEquals(0, dispatcher.publish("none", new int[] { 1 }));
+		assertEquals(other, dispatcher.getSubscriptions(TOPIC).get(0));
+		assertEquals(0, subscription.getHandledCount());
+	}
+
+	@Test(timeout = 10000)
+	public void testCreate() throws Exception {
+		final MessageDispatcher<String> created = MessageDispatcher.create();
+		final CountDownLatch done = new CountDownLatch(1);
+		created.subscribe(TOPIC, new MessageHandler<String>() {
+
+			public void handle(final String topic, final String message) {
+				done.countDown();
+			}
+		}, 4, OverflowPolicy.BLOCK);
+		assertEquals(1, created.publish(TOPIC, "hello"));
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		created.close();
+		assertTrue(created.isClosed());
+		try {
+			created.publish(TOPIC, "closed");
+			fail("IllegalStateException expected");
+		} catch (final IllegalStateException e) {
+			// expected
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testClose_drainsMailboxes() throws Exception {
+		final MessageDispatcher<int[]> created = MessageDispatcher.create();
+		final GateHandler handler = new GateHandler();
+		final Subscription<int[]> subscription = created.subscribe(TOPIC,
+				handler, 256, OverflowPolicy.FAIL);
+		created.publish(TOPIC, new int[] { 0 });
+		handler.entered.await();
+		// more messages than a single drain task handles
+		for (int i = 1; i < 200; i++) {
+			created.publish(TOPIC, new int[] { i });
+		}
+		created.close();
+		handler.release.countDown();
+		awaitHandled(subscription, 200);
+		assertEquals(0, subscription.getQueueDepth());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSubscribe_lanesWithoutKey() {
+		dispatcher.subscribe(TOPIC, new GateHandler(), 4,
+				OverflowPolicy.BLOCK, null, 2);
+	}
+
+	private static void awaitHandled(final Subscription<?> subscription,
+			final long count) throws InterruptedException {
+		while (subscription.getHandledCount() < count) {
+			Thread.sleep(1);
+		}
+	}
+}
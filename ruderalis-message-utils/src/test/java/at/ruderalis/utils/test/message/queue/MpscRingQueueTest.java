@@ -0,0 +1,135 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.test.message.queue;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import at.ruderalis.utils.message.queue.MessageQueue;
+import at.ruderalis.utils.message.queue.MpscRingQueue;
+import at.ruderalis.utils.message.queue.WaitStrategies;
+import at.ruderalis.utils.message.queue.WaitStrategy;
+
+/**
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@RunWith(JUnit4.class)
+public class MpscRingQueueTest {
+
+	private static final int PRODUCERS = 4;
+	private static final int COUNT_PER_PRODUCER = 50000;
+
+	@Test
+	public void testOfferPoll_fifo() {
+		final MessageQueue<Integer> queue = new MpscRingQueue<Integer>(4);
+		for (int round = 0; round < 3; round++) {
+			for (int i = 0; i < 4; i++) {
+				assertTrue(queue.offer(i));
+			}
+			assertFalse(queue.offer(4));
+			for (int i = 0; i < 4; i++) {
+				assertEquals(Integer.valueOf(i), queue.poll());
+			}
+			assertNull(queue.poll());
+		}
+	}
+
+	@Test
+	public void testDrain_max() {
+		final MessageQueue<Integer> queue = new MpscRingQueue<Integer>(4);
+		for (int i = 0; i < 4; i++) {
+			queue.offer(i);
+		}
+		final List<Integer> drained = new ArrayList<Integer>();
+		final Consumer<Integer> consumer = new Consumer<Integer>() {
+
+			public void accept(final Integer message) {
+				drained.add(message);
+			}
+		};
+		assertEquals(3, queue.drain(consumer, 3));
+		assertTrue(queue.offer(4));
+		assertEquals(2, queue.drain(consumer, 100));
+		assertEquals(0, queue.drain(consumer, 100));
+		assertEquals(5, drained.size());
+		assertEquals(Integer.valueOf(4), drained.get(4));
+	}
+
+	@Test
+	public void testPutDrain_parking() throws Exception {
+		assertTransfer(WaitStrategies.parking());
+	}
+
+	@Test
+	public void testPutDrain_blocking() throws Exception {
+		assertTransfer(WaitStrategies.blocking());
+	}
+
+	@Test
+	public void testPutDrain_yielding() throws Exception {
+		assertTransfer(WaitStrategies.yielding());
+	}
+
+	/**
+	 * Passes the messages of several producers through a small queue and
+	 * checks that the messages of each producer arrive in order.
+	 */
+	private static void assertTransfer(final WaitStrategy waitStrategy)
+			throws Exception {
+		final MessageQueue<long[]> queue = new MpscRingQueue<long[]>(64,
+				waitStrategy);
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		final List<Thread> producers = new ArrayList<Thread>();
+		for (int p = 0; p < PRODUCERS; p++) {
+			final int producer = p;
+			final Thread thread = new Thread(new Runnable() {
+
+				public void run() {
+					try {
+						for (int i = 0; i < COUNT_PER_PRODUCER; i++) {
+							queue.put(new long[] { producer, i });
+						}
+					} catch (final Throwable e) {
+						failure.set(e);
+					}
+				}
+			});
+			producers.add(thread);
+			thread.start();
+		}
+		final long[] next = new long[PRODUCERS];
+		final Consumer<long[]> consumer = new Consumer<long[]>() {
+
+			public void accept(final long[] message) {
+				assertEquals(next[(int) message[0]]++, message[1]);
+			}
+		};
+		int received = 0;
+		while (received < PRODUCERS * COUNT_PER_PRODUCER) {
+			final int drained = queue.drain(consumer, 32);
+			if (drained == 0) {
+				consumer.accept(queue.take());
+				received++;
+			}
+			received += drained;
+		}
+		for (final Thread thread : producers) {
+			thread.join();
+		}
+		assertNull(failure.get());
+		assertTrue(queue.isEmpty());
+		for (int p = 0; p < PRODUCERS; p++) {
+			assertEquals(COUNT_PER_PRODUCER, next[p]);
+		}
+	}
+}
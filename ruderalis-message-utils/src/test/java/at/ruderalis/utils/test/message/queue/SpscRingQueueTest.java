@@ -0,0 +1,183 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.test.message.queue;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import at.ruderalis.utils.message.queue.MessageQueue;
+import at.ruderalis.utils.message.queue.SpscRingQueue;
+import at.ruderalis.utils.message.queue.WaitStrategies;
+import at.ruderalis.utils.message.queue.WaitStrategy;
+
+/**
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@RunWith(JUnit4.class)
+public class SpscRingQueueTest {
+
+	private static final int COUNT = 200000;
+
+	@Test
+	public void testCapacity_roundedUp() {
+		assertEquals(1, new SpscRingQueue<String>(1).capacity());
+		assertEquals(8, new SpscRingQueue<String>(5).capacity());
+		assertEquals(8, new SpscRingQueue<String>(8).capacity());
+	}
+
+	@Test
+	public void testOfferPoll_fifo() {
+		final MessageQueue<Integer> queue = new SpscRingQueue<Integer>(4);
+		assertTrue(queue.isEmpty());
+		assertNull(queue.poll());
+		for (int round = 0; round < 3; round++) {
+			for (int i = 0; i < 4; i++) {
+				assertTrue(queue.offer(i));
+			}
+			assertFalse(queue.offer(4));
+			assertEquals(4, queue.size());
+			for (int i = 0; i < 4; i++) {
+				assertEquals(Integer.valueOf(i), queue.poll());
+			}
+			assertNull(queue.poll());
+			assertEquals(0, queue.size());
+		}
+	}
+
+	@Test
+	public void testDrain_max() {
+		final MessageQueue<Integer> queue = new SpscRingQueue<Integer>(8);
+		for (int i = 0; i < 6; i++) {
+			queue.offer(i);
+		}
+		final List<Integer> drained = new ArrayList<Integer>();
+		final Consumer<Integer> consumer = new Consumer<Integer>() {
+
+			public void accept(final Integer message) {
+				drained.add(message);
+			}
+		};
+		assertEquals(4, queue.drain(consumer, 4));
+		assertEquals(2, queue.drain(consumer, 4));
+		assertEquals(0, queue.drain(consumer, 4));
+		assertEquals(6, drained.size());
+		assertEquals(Integer.valueOf(5), drained.get(5));
+		assertTrue(queue.offer(6));
+		assertEquals(1, queue.drain(consumer, 0) + queue.drain(consumer, 1));
+	}
+
+	@Test
+	public void testDrain_consumerFails() {
+		final MessageQueue<Integer> queue = new SpscRingQueue<Integer>(8);
+		for (int i = 0; i < 4; i++) {
+			queue.offer(i);
+		}
+		try {
+			queue.drain(new Consumer<Integer>() {
+
+				public void accept(final Integer message) {
+					if (message == 1) {
+						throw new IllegalStateException();
+					}
+				}
+			}, 8);
+			fail("IllegalStateException expected");
+		} catch (final IllegalStateException e) {
+			// expected
+		}
+		assertEquals(2, queue.size());
+		assertEquals(Integer.valueOf(2), queue.poll());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testOffer_null() {
+		new SpscRingQueue<String>(4).offer(null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstruct_invalidCapacity() {
+		new SpscRingQueue<String>(0);
+	}
+
+	@Test
+	public void testPutTake_busySpin() throws Exception {
+		// spinning threads without a core of their own hand over slowly
+		assertTransfer(WaitStrategies.busySpin(), 2000);
+	}
+
+	@Test
+	public void testPutTake_yielding() throws Exception {
+		assertTransfer(WaitStrategies.yielding(), COUNT);
+	}
+
+	@Test
+	public void testPutTake_parking() throws Exception {
+		assertTransfer(WaitStrategies.parking(), COUNT);
+	}
+
+	@Test
+	public void testPutTake_blocking() throws Exception {
+		assertTransfer(WaitStrategies.blocking(), COUNT);
+	}
+
+	@Test(timeout = 10000)
+	public void testTake_interrupted() throws Exception {
+		final MessageQueue<Integer> queue = new SpscRingQueue<Integer>(4,
+				WaitStrategies.blocking());
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		final Thread consumer = new Thread(new Runnable() {
+
+			public void run() {
+				try {
+					queue.take();
+				} catch (final Throwable e) {
+					failure.set(e);
+				}
+			}
+		});
+		consumer.start();
+		Thread.sleep(50);
+		consumer.interrupt();
+		consumer.join();
+		assertTrue(failure.get() instanceof InterruptedException);
+	}
+
+	/**
+	 * Passes the messages through a small queue, so both sides wait.
+	 */
+	private static void assertTransfer(final WaitStrategy waitStrategy,
+			final int count) throws Exception {
+		final MessageQueue<Integer> queue = new SpscRingQueue<Integer>(16,
+				waitStrategy);
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		final Thread producer = new Thread(new Runnable() {
+
+			public void run() {
+				try {
+					for (int i = 0; i < count; i++) {
+						queue.put(i);
+					}
+				} catch (final Throwable e) {
+					failure.set(e);
+				}
+			}
+		});
+		producer.start();
+		for (int i = 0; i < count; i++) {
+			assertEquals(i, queue.take().intValue());
+		}
+		producer.join();
+		assertNull(failure.get());
+		assertTrue(queue.isEmpty());
+	}
+}
@@ -0,0 +1,149 @@
+/**
+ * 
+ */
+package at.ruderalis.utils.test.message.template;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import at.ruderalis.utils.message.template.MessageTemplate;
+import at.ruderalis.utils.message.template.MessageTemplateCache;
+
+/**
+ * @author Thomas Herzog
+ * @date Oct 18, 2026
+ */
+@RunWith(JUnit4.class)
+public class MessageTemplateTest {
+
+	@Test
+	public void testFormat_positional() {
+		final MessageTemplate template = MessageTemplate
+				.compile("User {0} has {1} new messages, {0}!");
+		assertEquals("User tom has 3 new messages, tom!",
+				template.format("tom", 3));
+		assertEquals(3, template.getPlaceholderCount());
+		assertEquals(Arrays.asList("0", "1", "0"),
+				template.getPlaceholderNames());
+	}
+
+	@Test
+	public void testFormat_named() {
+		final MessageTemplate template = MessageTemplate
+				.compile("{user.name} logged in from {host-1} at {0}");
+		final Map<String, Object> args = new HashMap<String, Object>();
+		args.put("user.name", "tom");
+		args.put("host-1", null);
+		args.put("0", 12L);
+		assertEquals("tom logged in from null at 12", template.format(args));
+	}
+
+	@Test
+	public void testFormat_missingArguments() {
+		final MessageTemplate template = MessageTemplate
+				.compile("{0} and {1} and {name}");
+		assertEquals("a and {1} and {name}", template.format("a"));
+		assertEquals("{0} and {1} and {name}",
+				template.format((Object[]) null));
+		assertEquals("{0} and {1} and {name}",
+				template.format(new HashMap<String, Object>()));
+	}
+
+	@Test
+	public void testFormat_escapedBraces() {
+		final MessageTemplate template = MessageTemplate
+				.compile("{{0}} is {0}, }} and } stay");
+		assertEquals("{0} is x, } and } stay", template.format("x"));
+		assertEquals(1, template.getPlaceholderCount());
+	}
+
+	@Test
+	public void testFormat_noPlaceholders() {
+		assertEquals("", MessageTemplate.compile("").format());
+		assertEquals("plain", MessageTemplate.compile("plain").format(1, 2));
+	}
+
+	@Test
+	public void testFormat_values() {
+		final MessageTemplate template = MessageTemplate
+				.compile("{0}|{1}|{2}|{3}|{4}|{5}|{6}");
+		assertEquals("-7|9000000000|c|true|1.5|null|sb",
+				template.format(-7, 9000000000L, 'c', true, 1.5, null,
+						new StringBuilder("sb")));
+	}
+
+	@Test
+	public void testRender_stringBuilder() {
+		final StringBuilder builder = new StringBuilder("> ");
+		final MessageTemplate template = MessageTemplate.compile("{0}+{1}");
+		assertSame(builder, template.render(builder, 1, 2));
+		assertEquals("> 1+2", builder.toString());
+	}
+
+	@Test
+	public void testRender_appendable() throws IOException {
+		final MessageTemplate template = MessageTemplate
+				.compile("[{0}] {msg} {1}");
+		final StringWriter writer = new StringWriter();
+		template.render(writer, 42, "x");
+		assertEquals("[42] {msg} x", writer.toString());
+		final Map<String, Object> args = new HashMap<String, Object>();
+		args.put("msg", "hello");
+		final StringWriter named = new StringWriter();
+		template.render(named, args);
+		assertEquals("[{0}] hello {1}", named.toString());
+	}
+
+	@Test
+	public void testCompile_invalid() {
+		for (final String text : Arrays.asList("unclosed {0", "empty {}",
+				"space {a b}", "nested {a{b}}")) {
+			try {
+				MessageTemplate.compile(text);
+				fail("IllegalArgumentException expected for " + text);
+			} catch (final IllegalArgumentException e) {
+				// expected
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCompile_null() {
+		MessageTemplate.compile(null);
+	}
+
+	@Test
+	public void testEquals() {
+		assertEquals(MessageTemplate.compile("{0}"),
+				MessageTemplate.compile("{0}"));
+		assertEquals("{0}", MessageTemplate.compile("{0}").toString());
+		assertFalse(MessageTemplate.compile("{0}").equals(
+				MessageTemplate.compile("{1}")));
+	}
+
+	@Test
+	public void testCache() {
+		final MessageTemplateCache cache = new MessageTemplateCache(2);
+		final MessageTemplate first = cache.get("a {0}");
+		assertSame(first, cache.get("a {0}"));
+		cache.get("b {0}");
+		assertEquals(2, cache.size());
+		final MessageTemplate uncached = cache.get("c {0}");
+		assertEquals("c x", uncached.format("x"));
+		assertEquals(2, cache.size());
+		assertNotSame(uncached, cache.get("c {0}"));
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertSame(MessageTemplate.of("shared {0}"),
+				MessageTemplate.of("shared {0}"));
+	}
+}